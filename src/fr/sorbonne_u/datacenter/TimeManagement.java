@@ -1,5 +1,13 @@
 package fr.sorbonne_u.datacenter;
 
+import java.util.concurrent.ConcurrentHashMap;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.datacenter.clocks.AcceleratedClock;
+import fr.sorbonne_u.datacenter.clocks.WallClock;
+import fr.sorbonne_u.datacenter.interfaces.ClockI;
+import fr.sorbonne_u.datacenter.simulation.SimulationEngine;
+
 /**
  * The class <code>TimeManagement</code> manages the relationship between the
  * simulated time and the real time of the underlying operating system.
@@ -9,7 +17,12 @@ package fr.sorbonne_u.datacenter;
  * </p>
  * 
  * It allow to perform simulations in accelerated time compared to the real
- * time.
+ * time. The time is given by a <code>ClockI</code>: a default one, set by
+ * <code>setClock</code> or built from the acceleration factor, and optionally
+ * one per component, set by <code>setClock(ComponentI, ClockI)</code>, so that
+ * components of the same JVM can run at different speeds. When the
+ * <code>SimulationEngine</code> is enabled, all the components use its virtual
+ * clock instead.
  * 
  * <p>
  * <strong>Invariant</strong>
@@ -32,6 +45,8 @@ public class TimeManagement {
 
 	private static double ACCELERATION_FACTOR = 1.0;
 	private static long START_TIME;
+	private static volatile ClockI CLOCK = new WallClock();
+	private static final ConcurrentHashMap<ComponentI, ClockI> COMPONENT_CLOCKS = new ConcurrentHashMap<>();
 
 	// ------------------------------------------------------------------------
 	// Methods
@@ -39,6 +54,7 @@ public class TimeManagement {
 
 	public static void setACCELERATION_FACTOR(double accelerationFactor) {
 		ACCELERATION_FACTOR = accelerationFactor;
+		CLOCK = new AcceleratedClock(START_TIME, ACCELERATION_FACTOR);
 	}
 
 	public static long getSTART_TIME() {
@@ -47,14 +63,60 @@ public class TimeManagement {
 
 	public static void setSTART_TIME(long startTime) {
 		START_TIME = startTime;
+		CLOCK = new AcceleratedClock(START_TIME, ACCELERATION_FACTOR);
+	}
+
+	/**
+	 * @return the clock used by the components without a clock of their own.
+	 */
+	public static ClockI getClock() {
+		if (SimulationEngine.isEnabled()) return SimulationEngine.getClock();
+		return CLOCK;
+	}
+
+	/**
+	 * set the clock used by the components without a clock of their own.
+	 *
+	 * @param clock default clock.
+	 */
+	public static void setClock(ClockI clock) {
+		assert clock != null;
+
+		CLOCK = clock;
+	}
+
+	/**
+	 * @param component component reading the time.
+	 * @return the clock of the component, or the default one.
+	 */
+	public static ClockI getClock(ComponentI component) {
+		if (SimulationEngine.isEnabled()) return SimulationEngine.getClock();
+		ClockI clock = COMPONENT_CLOCKS.get(component);
+		return clock != null ? clock : CLOCK;
+	}
+
+	/**
+	 * give a component its own clock, before it starts.
+	 *
+	 * @param component component reading the time.
+	 * @param clock     clock of the component, null to use the default one.
+	 */
+	public static void setClock(ComponentI component, ClockI clock) {
+		assert component != null;
+
+		if (clock == null) {
+			COMPONENT_CLOCKS.remove(component);
+		} else {
+			COMPONENT_CLOCKS.put(component, clock);
+		}
 	}
 
 	public static long acceleratedDelay(long realDelay) {
-		return (long) (realDelay / ACCELERATION_FACTOR);
+		return getClock().acceleratedDelay(realDelay);
 	}
 
 	public static long realDelay(long acceleratedDelay) {
-		return (long) (acceleratedDelay * ACCELERATION_FACTOR);
+		return getClock().realDelay(acceleratedDelay);
 	}
 
 	public static long acceleratedTime(long realTime) {
@@ -62,14 +124,10 @@ public class TimeManagement {
 	}
 
 	public static long currentTime() {
-		return TimeManagement.realTime(System.currentTimeMillis());
-	}
-
-	private static long realTime(long acceleratedTime) {
-		return START_TIME + (long) ((acceleratedTime - START_TIME) * ACCELERATION_FACTOR);
+		return getClock().currentTime();
 	}
 
 	public static long timeStamp() {
-		return TimeManagement.realTime(System.currentTimeMillis());
+		return getClock().timeStamp();
 	}
 }
@@ -0,0 +1,83 @@
+package fr.sorbonne_u.datacenter.clocks;
+
+import fr.sorbonne_u.datacenter.interfaces.ClockI;
+
+/**
+ * The class <code>AcceleratedClock</code> implements a clock running
+ * <code>accelerationFactor</code> times faster than the real time from a given
+ * start time.
+ *
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant	accelerationFactor &gt; 0
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class AcceleratedClock implements ClockI {
+
+	private final long startTime;
+	private final long startNanoTime;
+	private final double accelerationFactor;
+
+	/**
+	 *
+	 * @param startTime          real time in ms from which the time is accelerated.
+	 * @param accelerationFactor number of simulated ms per real ms.
+	 */
+	public AcceleratedClock(long startTime, double accelerationFactor) {
+		assert accelerationFactor > 0;
+
+		this.startTime = startTime;
+		this.startNanoTime = System.nanoTime();
+		this.accelerationFactor = accelerationFactor;
+	}
+
+	public double getAccelerationFactor() {
+		return this.accelerationFactor;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#currentTime()
+	 */
+	@Override
+	public long currentTime() {
+		return this.startTime + (long) ((System.currentTimeMillis() - this.startTime) * this.accelerationFactor);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#timeStamp()
+	 */
+	@Override
+	public long timeStamp() {
+		return this.currentTime();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#nanoTime()
+	 */
+	@Override
+	public long nanoTime() {
+		return this.startNanoTime + (long) ((System.nanoTime() - this.startNanoTime) * this.accelerationFactor);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#acceleratedDelay(long)
+	 */
+	@Override
+	public long acceleratedDelay(long realDelay) {
+		return (long) (realDelay / this.accelerationFactor);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#realDelay(long)
+	 */
+	@Override
+	public long realDelay(long acceleratedDelay) {
+		return (long) (acceleratedDelay * this.accelerationFactor);
+	}
+}
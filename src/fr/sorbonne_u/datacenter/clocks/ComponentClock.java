@@ -0,0 +1,85 @@
+package fr.sorbonne_u.datacenter.clocks;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.datacenter.TimeManagement;
+import fr.sorbonne_u.datacenter.interfaces.ClockI;
+
+/**
+ * The class <code>ComponentClock</code> implements a clock giving the time of
+ * a component, as returned by <code>TimeManagement.getClock(component)</code>
+ * when it is read.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ *
+ * The clock of a component can only be set once the component is created, and
+ * the simulation engine can be enabled after that, so the objects a component
+ * creates in its constructor to measure time are given this clock rather than
+ * the one of the component at that time.
+ *
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ *
+ * <pre>
+ * invariant	component != null
+ * </pre>
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class ComponentClock implements ClockI {
+
+	private final ComponentI component;
+
+	/**
+	 *
+	 * @param component component which clock is read.
+	 */
+	public ComponentClock(ComponentI component) {
+		assert component != null;
+
+		this.component = component;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#currentTime()
+	 */
+	@Override
+	public long currentTime() {
+		return TimeManagement.getClock(this.component).currentTime();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#timeStamp()
+	 */
+	@Override
+	public long timeStamp() {
+		return TimeManagement.getClock(this.component).timeStamp();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#nanoTime()
+	 */
+	@Override
+	public long nanoTime() {
+		return TimeManagement.getClock(this.component).nanoTime();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#acceleratedDelay(long)
+	 */
+	@Override
+	public long acceleratedDelay(long realDelay) {
+		return TimeManagement.getClock(this.component).acceleratedDelay(realDelay);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#realDelay(long)
+	 */
+	@Override
+	public long realDelay(long acceleratedDelay) {
+		return TimeManagement.getClock(this.component).realDelay(acceleratedDelay);
+	}
+}
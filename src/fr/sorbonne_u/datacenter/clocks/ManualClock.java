@@ -0,0 +1,102 @@
+package fr.sorbonne_u.datacenter.clocks;
+
+import fr.sorbonne_u.datacenter.interfaces.ClockI;
+
+/**
+ * The class <code>ManualClock</code> implements a clock which time only moves
+ * when it is set or advanced explicitly, to step the time of a run.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ * 
+ * Delays are not converted: tasks scheduled on the executors of the components
+ * still wait in real time, only the time they read is stepped.
+ * 
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant	currentTime() &gt;= 0
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class ManualClock implements ClockI {
+
+	private volatile long time;
+
+	/**
+	 *
+	 * @param startTime initial time in ms.
+	 */
+	public ManualClock(long startTime) {
+		assert startTime >= 0;
+
+		this.time = startTime;
+	}
+
+	/**
+	 * move the time forward.
+	 *
+	 * @param delay delay in ms.
+	 */
+	public synchronized void advance(long delay) {
+		assert delay >= 0;
+
+		this.time += delay;
+	}
+
+	/**
+	 * set the time, not before the current one.
+	 *
+	 * @param time new time in ms.
+	 */
+	public synchronized void setTime(long time) {
+		assert time >= this.time;
+
+		this.time = time;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#currentTime()
+	 */
+	@Override
+	public long currentTime() {
+		return this.time;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#timeStamp()
+	 */
+	@Override
+	public long timeStamp() {
+		return this.time;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#nanoTime()
+	 */
+	@Override
+	public long nanoTime() {
+		return this.time * 1000000;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#acceleratedDelay(long)
+	 */
+	@Override
+	public long acceleratedDelay(long realDelay) {
+		return realDelay;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#realDelay(long)
+	 */
+	@Override
+	public long realDelay(long acceleratedDelay) {
+		return acceleratedDelay;
+	}
+}
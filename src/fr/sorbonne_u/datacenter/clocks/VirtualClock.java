@@ -0,0 +1,69 @@
+package fr.sorbonne_u.datacenter.clocks;
+
+import fr.sorbonne_u.datacenter.interfaces.ClockI;
+import fr.sorbonne_u.datacenter.simulation.SimulationEngine;
+
+/**
+ * The class <code>VirtualClock</code> implements a clock giving the simulated
+ * time of the <code>SimulationEngine</code>, which moves from event to event.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ * 
+ * Delays are not converted: in virtual time, tasks are scheduled as events of
+ * the engine instead of waiting on the executors of the components.
+ * 
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class VirtualClock implements ClockI {
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#currentTime()
+	 */
+	@Override
+	public long currentTime() {
+		return SimulationEngine.getCurrentTime();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#timeStamp()
+	 */
+	@Override
+	public long timeStamp() {
+		return SimulationEngine.getCurrentTime();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#nanoTime()
+	 */
+	@Override
+	public long nanoTime() {
+		return SimulationEngine.getCurrentTime() * 1000000;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#acceleratedDelay(long)
+	 */
+	@Override
+	public long acceleratedDelay(long realDelay) {
+		return realDelay;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#realDelay(long)
+	 */
+	@Override
+	public long realDelay(long acceleratedDelay) {
+		return acceleratedDelay;
+	}
+}
@@ -0,0 +1,61 @@
+package fr.sorbonne_u.datacenter.clocks;
+
+import fr.sorbonne_u.datacenter.interfaces.ClockI;
+
+/**
+ * The class <code>WallClock</code> implements a clock giving the real time of
+ * the underlying operating system.
+ *
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class WallClock implements ClockI {
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#currentTime()
+	 */
+	@Override
+	public long currentTime() {
+		return System.currentTimeMillis();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#timeStamp()
+	 */
+	@Override
+	public long timeStamp() {
+		return System.currentTimeMillis();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#nanoTime()
+	 */
+	@Override
+	public long nanoTime() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#acceleratedDelay(long)
+	 */
+	@Override
+	public long acceleratedDelay(long realDelay) {
+		return realDelay;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ClockI#realDelay(long)
+	 */
+	@Override
+	public long realDelay(long acceleratedDelay) {
+		return acceleratedDelay;
+	}
+}
@@ -3,8 +3,8 @@ package fr.sorbonne_u.datacenter.hardware.computers;
 import java.io.Serializable;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import fr.sorbonne_u.components.AbstractComponent;
@@ -22,8 +22,14 @@ import fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerStaticStat
 import fr.sorbonne_u.datacenter.hardware.computers.ports.ComputerDynamicStateDataInboundPort;
 import fr.sorbonne_u.datacenter.hardware.computers.ports.ComputerServicesInboundPort;
 import fr.sorbonne_u.datacenter.hardware.computers.ports.ComputerStaticStateDataInboundPort;
+import fr.sorbonne_u.datacenter.hardware.computers.utils.AllocationEventLog;
+import fr.sorbonne_u.datacenter.hardware.computers.utils.CoreAllocationMap;
+import fr.sorbonne_u.datacenter.hardware.computers.utils.CoreAllocationPolicy;
+import fr.sorbonne_u.datacenter.hardware.processors.FrequencyIndex;
 import fr.sorbonne_u.datacenter.hardware.processors.Processor;
 import fr.sorbonne_u.datacenter.hardware.processors.Processor.ProcessorPortTypes;
+import fr.sorbonne_u.datacenter.hardware.processors.UnacceptableFrequencyException;
+import fr.sorbonne_u.datacenter.hardware.processors.UnavailableFrequencyException;
 import fr.sorbonne_u.datacenter.hardware.processors.interfaces.ProcessorDynamicStateI;
 import fr.sorbonne_u.datacenter.hardware.processors.interfaces.ProcessorStateDataConsumerI;
 import fr.sorbonne_u.datacenter.hardware.processors.interfaces.ProcessorStaticStateI;
@@ -32,6 +38,7 @@ import fr.sorbonne_u.datacenter.hardware.processors.ports.ProcessorStaticStateDa
 import fr.sorbonne_u.datacenter.interfaces.ControlledDataOfferedI;
 import fr.sorbonne_u.datacenter.interfaces.ControlledDataRequiredI;
 import fr.sorbonne_u.datacenter.interfaces.PushModeControllingI;
+import fr.sorbonne_u.datacenter.simulation.SimulationEngine;
 
 /**
  * The class <code>Computer</code> implements a component that represents a
@@ -94,6 +101,13 @@ import fr.sorbonne_u.datacenter.interfaces.PushModeControllingI;
  * @author <a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
  */
 public class Computer extends AbstractComponent implements ProcessorStateDataConsumerI, PushModeControllingI {
+	/** Debug level of the computers created without one. */
+	public static final int DEFAULT_DEBUG_LEVEL = 1;
+	/** Minimum time in ms between two sampled dumps of the occupancy. */
+	public static final long STATE_DUMP_INTERVAL = 10000;
+	/** Number of allocation events kept. */
+	private static final int ALLOCATION_EVENT_LOG_CAPACITY = 1024;
+
 	/** The three types of interfaces offered by Computer. */
 	public static enum ComputerPortTypes {
 		SERVICES, // basic services: allocating and releasing cores
@@ -188,6 +202,25 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 		}
 	}
 
+	/**
+	 * The class <code>CoreReservation</code> holds the cores reserved by a call
+	 * to <code>reserveCores</code> until they are committed, aborted or the
+	 * reservation expires.
+	 */
+	private static class CoreReservation {
+		/** processor numbers of the reserved cores. */
+		final int[] processorNos;
+		/** core numbers of the reserved cores. */
+		final int[] coreNos;
+		/** future of the task releasing the cores when the reservation expires. */
+		ScheduledFuture<?> expiryFuture;
+
+		CoreReservation(int[] processorNos, int[] coreNos) {
+			this.processorNos = processorNos;
+			this.coreNos = coreNos;
+		}
+	}
+
 	// ------------------------------------------------------------------------
 	// Component internal state
 	// ------------------------------------------------------------------------
@@ -214,21 +247,43 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 	private final Map<Integer, String> processorsURI;
 	/** a map from processor URI to their different inbound ports URI. */
 	private final Map<String, Map<Processor.ProcessorPortTypes, String>> processorsInboundPortURI;
-	/** array collecting the reservation status of the cores. */
-	private boolean[][] reservedCores;
+	/** reservation status of the cores, with the count of free ones. */
+	private CoreAllocationMap reservedCores;
 	/** computer inbound port through which management methods are called. */
 	private ComputerServicesInboundPort computerServicesInboundPort;
 	/** computer data inbound port through which it pushes its static data. */
 	private ComputerStaticStateDataInboundPort computerStaticStateDataInboundPort;
 	/** computer data inbound port through which it pushes its dynamic data. */
 	private ComputerDynamicStateDataInboundPort computerDynamicStateDataInboundPort;
-	/** future of the task scheduled to push dynamic data. */
-	private ScheduledFuture<?> pushingFuture;
+	/** computer data inbound ports added for the other subscribers to its dynamic data. */
+	private final ArrayList<ComputerDynamicStateDataInboundPort> subscriberDynamicStateDataInboundPorts = new ArrayList<>();
+	/** future of the task scheduled to push dynamic data, for each dynamic data inbound port. */
+	private final ConcurrentHashMap<ComputerDynamicStateDataInboundPort, ScheduledFuture<?>> pushingFutures = new ConcurrentHashMap<>();
 
-	private ArrayList<Integer> possibleFrequencies;
+	/** possible frequencies of the cores and their power, shared with the processors. */
+	private FrequencyIndex possibleFrequencies;
 
 	private int[][] coreFrequencies;
 
+	/** last allocation, release and frequency change events. */
+	private AllocationEventLog allocationEvents;
+
+	/** time of the last sampled dump of the occupancy and frequencies. */
+	private long lastStateDumpTime;
+
+	/**
+	 * 0: allocation events are neither recorded nor dumped; 1: they are
+	 * recorded and the occupancy and frequencies are dumped at most once every
+	 * <code>STATE_DUMP_INTERVAL</code> ms; 2: they are dumped on every change.
+	 */
+	private int debugLevel;
+
+	/** pending core reservations by reservation id. */
+	private Map<String, CoreReservation> coreReservations;
+
+	/** number of core reservations made, used to build their ids. */
+	private long coreReservationCount;
+
 	// ------------------------------------------------------------------------
 	// Component constructor
 	// ------------------------------------------------------------------------
@@ -279,6 +334,102 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 			int defaultFrequency, int maxFrequencyGap, int numberOfProcessors, int numberOfCores,
 			String computerServicesInboundPortURI, String computerStaticStateDataInboundPortURI,
 			String computerDynamicStateDataInboundPortURI) throws Exception {
+		this(computerURI, possibleFrequencies, processingPower, defaultFrequency, maxFrequencyGap, numberOfProcessors,
+				numberOfCores, 1, computerServicesInboundPortURI, computerStaticStateDataInboundPortURI,
+				computerDynamicStateDataInboundPortURI);
+	}
+
+	/**
+	 * create a computer component which cores can each be shared by up to
+	 * <code>maxTasksPerCore</code> tasks in processor sharing mode.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	maxTasksPerCore &gt; 0
+	 * post	true			// no post condition.
+	 * </pre>
+	 *
+	 * @param computerURI                            URI of the computer.
+	 * @param possibleFrequencies                    possible frequencies for cores.
+	 * @param processingPower                        Mips for the different possible
+	 *                                               frequencies.
+	 * @param defaultFrequency                       default frequency at which the
+	 *                                               cores run.
+	 * @param maxFrequencyGap                        max frequency gap among cores
+	 *                                               of the same processor.
+	 * @param numberOfProcessors                     number of processors in the
+	 *                                               computer.
+	 * @param numberOfCores                          number of cores per processor
+	 *                                               (homogeneous).
+	 * @param maxTasksPerCore                        maximum number of tasks
+	 *                                               sharing a core, 1 to run
+	 *                                               tasks to completion.
+	 * @param computerServicesInboundPortURI         URI of the computer service
+	 *                                               inbound port.
+	 * @param computerStaticStateDataInboundPortURI  URI of the computer static data
+	 *                                               notification inbound port.
+	 * @param computerDynamicStateDataInboundPortURI URI of the computer dynamic
+	 *                                               data notification inbound port.
+	 * @throws Exception exception
+	 */
+	public Computer(String computerURI, Set<Integer> possibleFrequencies, Map<Integer, Integer> processingPower,
+			int defaultFrequency, int maxFrequencyGap, int numberOfProcessors, int numberOfCores, int maxTasksPerCore,
+			String computerServicesInboundPortURI, String computerStaticStateDataInboundPortURI,
+			String computerDynamicStateDataInboundPortURI) throws Exception {
+		this(computerURI, possibleFrequencies, processingPower, defaultFrequency, maxFrequencyGap, numberOfProcessors,
+				numberOfCores, maxTasksPerCore, DEFAULT_DEBUG_LEVEL, computerServicesInboundPortURI,
+				computerStaticStateDataInboundPortURI, computerDynamicStateDataInboundPortURI);
+	}
+
+	/**
+	 * create a computer component with its own debug level, which decides
+	 * whether its allocation events are recorded and how often its occupancy
+	 * and frequencies are dumped.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	maxTasksPerCore &gt; 0
+	 * pre	debugLevel &gt;= 0
+	 * post	true			// no post condition.
+	 * </pre>
+	 *
+	 * @param computerURI                            URI of the computer.
+	 * @param possibleFrequencies                    possible frequencies for cores.
+	 * @param processingPower                        Mips for the different possible
+	 *                                               frequencies.
+	 * @param defaultFrequency                       default frequency at which the
+	 *                                               cores run.
+	 * @param maxFrequencyGap                        max frequency gap among cores
+	 *                                               of the same processor.
+	 * @param numberOfProcessors                     number of processors in the
+	 *                                               computer.
+	 * @param numberOfCores                          number of cores per processor
+	 *                                               (homogeneous).
+	 * @param maxTasksPerCore                        maximum number of tasks
+	 *                                               sharing a core, 1 to run
+	 *                                               tasks to completion.
+	 * @param debugLevel                             0 to record nothing, 1 to
+	 *                                               record allocation events and
+	 *                                               sample the dumps, 2 to dump
+	 *                                               on every change.
+	 * @param computerServicesInboundPortURI         URI of the computer service
+	 *                                               inbound port.
+	 * @param computerStaticStateDataInboundPortURI  URI of the computer static data
+	 *                                               notification inbound port.
+	 * @param computerDynamicStateDataInboundPortURI URI of the computer dynamic
+	 *                                               data notification inbound port.
+	 * @throws Exception exception
+	 */
+	public Computer(String computerURI, Set<Integer> possibleFrequencies, Map<Integer, Integer> processingPower,
+			int defaultFrequency, int maxFrequencyGap, int numberOfProcessors, int numberOfCores, int maxTasksPerCore,
+			int debugLevel, String computerServicesInboundPortURI, String computerStaticStateDataInboundPortURI,
+			String computerDynamicStateDataInboundPortURI) throws Exception {
 		// The normal thread pool is used to process component services, while
 		// the scheduled one is used to schedule the pushes of dynamic state
 		// when requested.
@@ -312,6 +463,7 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 		assert computerServicesInboundPortURI != null;
 		assert computerStaticStateDataInboundPortURI != null;
 		assert computerDynamicStateDataInboundPortURI != null;
+		assert debugLevel >= 0;
 
 		// For processor static data
 		this.addRequiredInterface(DataRequiredI.PullI.class);
@@ -327,9 +479,7 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 		this.processorsURI = new HashMap<>();
 		this.processorsInboundPortURI = new HashMap<>();
 
-		this.possibleFrequencies = new ArrayList<>();
-		this.possibleFrequencies.addAll(possibleFrequencies);
-		Collections.sort(this.possibleFrequencies);
+		this.possibleFrequencies = new FrequencyIndex(possibleFrequencies, processingPower);
 
 		// Create the different processors
 		for (int i = 0; i < numberOfProcessors; i++) {
@@ -346,8 +496,8 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 			this.processorsURI.put(i, processorURI);
 
 			// create the processor component
-			this.processors[i] = new Processor(processorURI, possibleFrequencies, processingPower, defaultFrequency,
-					maxFrequencyGap, numberOfCores, psipURI, piipURI, pmipURI, pssdipURI, pdsdipURI);
+			this.processors[i] = new Processor(processorURI, this.possibleFrequencies, defaultFrequency,
+					maxFrequencyGap, numberOfCores, maxTasksPerCore, psipURI, piipURI, pmipURI, pssdipURI, pdsdipURI);
 			// add it to the deployed components in the CVM
 			AbstractCVM.getCVM().addDeployedComponent(this.processors[i]);
 
@@ -378,12 +528,7 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 		}
 
 		// Initialize the reservation status of the cores.
-		this.reservedCores = new boolean[this.numberOfProcessors][this.numberOfCores];
-		for (int np = 0; np < this.numberOfProcessors; np++) {
-			for (int nc = 0; nc < this.numberOfCores; nc++) {
-				this.reservedCores[np][nc] = false;
-			}
-		}
+		this.reservedCores = new CoreAllocationMap(this.numberOfProcessors, this.numberOfCores);
 
 		this.coreFrequencies = new int[this.numberOfProcessors][this.numberOfCores];
 		for (int np = 0; np < this.numberOfProcessors; np++) {
@@ -392,6 +537,12 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 			}
 		}
 
+		this.allocationEvents = new AllocationEventLog(ALLOCATION_EVENT_LOG_CAPACITY);
+		this.lastStateDumpTime = Long.MIN_VALUE;
+		this.debugLevel = debugLevel;
+		this.coreReservations = new HashMap<>();
+		this.coreReservationCount = 0;
+
 		// Adding computer interfaces, creating and publishing the related ports
 		this.addOfferedInterface(ComputerServicesI.class);
 		this.computerServicesInboundPort = new ComputerServicesInboundPort(computerServicesInboundPortURI, this);
@@ -444,6 +595,15 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 				throw new ComponentShutdownException(e);
 			}
 		}
+		try {
+			for (ComputerDynamicStateDataInboundPort port : this.subscriberDynamicStateDataInboundPorts) {
+				if (port.connected()) {
+					port.doDisconnection();
+				}
+			}
+		} catch (Exception e) {
+			throw new ComponentShutdownException(e);
+		}
 		super.finalise();
 	}
 
@@ -472,6 +632,9 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 			this.computerServicesInboundPort.unpublishPort();
 			this.computerStaticStateDataInboundPort.unpublishPort();
 			this.computerDynamicStateDataInboundPort.unpublishPort();
+			for (ComputerDynamicStateDataInboundPort port : this.subscriberDynamicStateDataInboundPorts) {
+				port.unpublishPort();
+			}
 		} catch (Exception e) {
 			throw new ComponentShutdownException(e);
 		}
@@ -554,7 +717,8 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 			}
 			pPortsURI.put(this.processorsURI.get(n), pIbpURIs);
 		}
-		return new ComputerStaticState(this.computerURI, this.numberOfProcessors, this.numberOfCores, pURIs, pPortsURI);
+		return new ComputerStaticState(this.computerURI, this.numberOfProcessors, this.numberOfCores, pURIs, pPortsURI,
+				this.possibleFrequencies.toProcessingPowerMap());
 	}
 
 	/**
@@ -599,62 +763,68 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 	 * @throws Exception exception
 	 */
 	public ComputerDynamicStateI getDynamicState() throws Exception {
-		return new ComputerDynamicState(this.computerURI, this.reservedCores, this.coreFrequencies);
+		return new ComputerDynamicState(this.computerURI, this.reservedCores.toReservedCores(),
+				this.reservedCores.toFreeCounts(), this.coreFrequencies);
 	}
 
 	/**
-	 * push the dynamic state of the computer through its notification data inbound
-	 * port.
+	 * push the dynamic state of the computer through the given dynamic state
+	 * data inbound port.
 	 * 
 	 * <p>
 	 * <strong>Contract</strong>
 	 * </p>
 	 * 
 	 * <pre>
-	 * pre	true			// no precondition.
+	 * pre	port != null
 	 * post	true			// no postcondition.
 	 * </pre>
 	 *
+	 * @param port dynamic state data inbound port of a subscriber.
 	 * @throws Exception exception
 	 */
-	private void sendDynamicState() throws Exception {
-		if (this.computerDynamicStateDataInboundPort.connected()) {
+	private void sendDynamicState(ComputerDynamicStateDataInboundPort port) throws Exception {
+		if (port.connected()) {
 			ComputerDynamicStateI cds = this.getDynamicState();
-			this.computerDynamicStateDataInboundPort.send(cds);
+			port.send(cds);
 		}
 	}
 
 	/**
-	 * push the dynamic state of the computer through its notification data inbound
-	 * port at a specified time interval in ms and for a specified number of times.
+	 * push the dynamic state of the computer through the given dynamic state
+	 * data inbound port at a specified time interval in ms and for a specified
+	 * number of times.
 	 * 
 	 * <p>
 	 * <strong>Contract</strong>
 	 * </p>
 	 * 
 	 * <pre>
-	 * pre	true			// no precondition.
+	 * pre	port != null
 	 * post	true			// no postcondition.
 	 * </pre>
 	 *
+	 * @param port                    dynamic state data inbound port of a subscriber.
 	 * @param interval                time interval between data pushes.
 	 * @param numberOfRemainingPushes number of data pushes yet to be done.
 	 * @throws Exception exception
 	 */
-	private void sendDynamicState(final int interval, int numberOfRemainingPushes) throws Exception {
-		this.sendDynamicState();
+	private void sendDynamicState(final ComputerDynamicStateDataInboundPort port, final int interval,
+			int numberOfRemainingPushes) throws Exception {
+		this.sendDynamicState(port);
 		final int fNumberOfRemainingPushes = numberOfRemainingPushes - 1;
-		if (fNumberOfRemainingPushes > 0) {
-			this.pushingFuture = this.scheduleTask(new AbstractComponent.AbstractTask() {
+		// unless pushing through this port was stopped meanwhile
+		if (fNumberOfRemainingPushes > 0 && this.pushingFutures.containsKey(port)) {
+			this.pushingFutures.put(port, SimulationEngine.scheduleTask(this, new AbstractComponent.AbstractTask() {
 				@Override
 				public void run() {
 					try {
-						((Computer) this.getOwner()).sendDynamicState(interval, fNumberOfRemainingPushes);
+						((Computer) this.getOwner()).sendDynamicState(port, interval, fNumberOfRemainingPushes);
 					} catch (Exception e) {
 						throw new RuntimeException(e);
 					}
 				}
-			}, TimeManagement.acceleratedDelay(interval), TimeUnit.MILLISECONDS);
+			}, interval));
 		}
 	}
 
@@ -663,27 +833,82 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 	 */
 	@Override
 	public void startUnlimitedPushing(int interval) throws Exception {
+		this.startUnlimitedPushing(this.computerDynamicStateDataInboundPort, interval);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.PushModeControllingI#startLimitedPushing(int,
+	 *      int)
+	 */
+	@Override
+	public void startLimitedPushing(final int interval, final int n) throws Exception {
+		this.startLimitedPushing(this.computerDynamicStateDataInboundPort, interval, n);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.PushModeControllingI#stopPushing()
+	 */
+	@Override
+	public void stopPushing() throws Exception {
+		this.stopPushing(this.computerDynamicStateDataInboundPort);
+	}
+
+	/**
+	 * start pushing the dynamic state through the given port at a fixed rate,
+	 * replacing the pushes previously started through it; the pushes through
+	 * the other ports are not changed.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	port != null and interval &gt; 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param port     dynamic state data inbound port of a subscriber.
+	 * @param interval time interval between data pushes.
+	 * @throws Exception exception
+	 */
+	public void startUnlimitedPushing(final ComputerDynamicStateDataInboundPort port, int interval)
+			throws Exception {
 		// first, send the static state if the corresponding port is connected
 		this.sendStaticState();
 
-		this.pushingFuture = this.scheduleTaskAtFixedRate(new AbstractComponent.AbstractTask() {
+		this.stopPushing(port);
+		this.pushingFutures.put(port, SimulationEngine.scheduleTaskAtFixedRate(this, new AbstractComponent.AbstractTask() {
 			@Override
 			public void run() {
 				try {
-					((Computer) this.getOwner()).sendDynamicState();
+					((Computer) this.getOwner()).sendDynamicState(port);
 				} catch (Exception e) {
 					throw new RuntimeException(e);
 				}
 			}
-		}, TimeManagement.acceleratedDelay(interval), TimeManagement.acceleratedDelay(interval), TimeUnit.MILLISECONDS);
+		}, interval, interval));
 	}
 
 	/**
-	 * @see fr.sorbonne_u.datacenter.interfaces.PushModeControllingI#startLimitedPushing(int,
-	 *      int)
+	 * start pushing the dynamic state through the given port <code>n</code>
+	 * times, replacing the pushes previously started through it.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	port != null and interval &gt; 0 and n &gt; 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param port     dynamic state data inbound port of a subscriber.
+	 * @param interval time interval between data pushes.
+	 * @param n        number of data pushes.
+	 * @throws Exception exception
 	 */
-	@Override
-	public void startLimitedPushing(final int interval, final int n) throws Exception {
+	public void startLimitedPushing(final ComputerDynamicStateDataInboundPort port, final int interval, final int n)
+			throws Exception {
 		assert n > 0;
 
 		this.logMessage(
@@ -692,28 +917,66 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 		// first, send the static state if the corresponding port is connected
 		this.sendStaticState();
 
-		this.pushingFuture = this.scheduleTask(new AbstractComponent.AbstractTask() {
+		this.stopPushing(port);
+		this.pushingFutures.put(port, SimulationEngine.scheduleTask(this, new AbstractComponent.AbstractTask() {
 			@Override
 			public void run() {
 				try {
-					((Computer) this.getOwner()).sendDynamicState(interval, n);
+					((Computer) this.getOwner()).sendDynamicState(port, interval, n);
 				} catch (Exception e) {
 					throw new RuntimeException(e);
 				}
 			}
-		}, TimeManagement.acceleratedDelay(interval), TimeUnit.MILLISECONDS);
+		}, interval));
 	}
 
 	/**
-	 * @see fr.sorbonne_u.datacenter.interfaces.PushModeControllingI#stopPushing()
+	 * stop pushing the dynamic state through the given port only.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	port != null
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param port dynamic state data inbound port of a subscriber.
+	 * @throws Exception exception
 	 */
-	@Override
-	public void stopPushing() throws Exception {
-		if (this.pushingFuture != null && !(this.pushingFuture.isCancelled() || this.pushingFuture.isDone())) {
-			this.pushingFuture.cancel(false);
+	public void stopPushing(ComputerDynamicStateDataInboundPort port) throws Exception {
+		ScheduledFuture<?> pushingFuture = this.pushingFutures.remove(port);
+		if (pushingFuture != null && !(pushingFuture.isCancelled() || pushingFuture.isDone())) {
+			pushingFuture.cancel(false);
 		}
 	}
 
+	/**
+	 * create and publish a new dynamic state data inbound port, so that a new
+	 * subscriber gets its own pushes, which it starts and stops without
+	 * changing those of the other subscribers.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return != null
+	 * </pre>
+	 *
+	 * @return the URI of the new port.
+	 * @throws Exception exception
+	 */
+	public String addDynamicStateDataInboundPort() throws Exception {
+		ComputerDynamicStateDataInboundPort port = new ComputerDynamicStateDataInboundPort(this);
+		this.addPort(port);
+		port.publishPort();
+		this.subscriberDynamicStateDataInboundPorts.add(port);
+		return port.getPortURI();
+	}
+
 	// ------------------------------------------------------------------------
 	// Component self-monitoring (ProcessorStateDataConsumerI)
 	// ------------------------------------------------------------------------
@@ -834,27 +1097,8 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 	 * @throws Exception exception
 	 */
 	public AllocatedCore allocateCore() throws Exception {
-		AllocatedCore ret = null;
-		int processorNo = -1;
-		int coreNo = -1;
-		boolean notFound = true;
-		for (int p = 0; notFound && p < this.numberOfProcessors; p++) {
-			for (int c = 0; notFound && c < this.numberOfCores; c++) {
-				if (!this.reservedCores[p][c]) {
-					notFound = false;
-					this.reservedCores[p][c] = true;
-					this.coreFrequencies[p][c] = this.processors[p].getCoreFrequency(c);
-					processorNo = p;
-					coreNo = c;
-				}
-			}
-		}
-		if (!notFound) {
-			ret = new AllocatedCore(processorNo, this.processorsURI.get(processorNo), coreNo,
-					this.processorsInboundPortURI.get(this.processorsURI.get(processorNo)));
-		}
-		printCurrentOccupancy();
-		return ret;
+		AllocatedCore[] allocated = this.allocateCores(1);
+		return allocated.length == 0 ? null : allocated[0];
 	}
 
 	/**
@@ -877,19 +1121,209 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 	 * @throws Exception exception
 	 */
 	public AllocatedCore[] allocateCores(int numberRequested) throws Exception {
-		printCurrentOccupancy();
-		Vector<AllocatedCore> allocated = new Vector<>(numberRequested);
-		boolean notExhausted = true;
-		for (int i = 0; notExhausted && i < numberRequested; i++) {
-			AllocatedCore c = this.allocateCore();
-			if (c != null) {
-				allocated.add(c);
-			} else {
-				notExhausted = false;
+		return this.allocateCores(numberRequested, CoreAllocationPolicy.FIRST_FREE);
+	}
+
+	/**
+	 * allocate up to <code>numberRequested</code> cores on this computer, chosen
+	 * among the processors by the given policy, and return and array of
+	 * <code>AllocatedCore</code> containing the data for each requested core;
+	 * return an empty array if no core is available.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	numberRequested &gt; 0 and policy != null
+	 * post	return.length &gt;= 0 and return.length &lt;= numberRequested
+	 * </pre>
+	 *
+	 * @param numberRequested number of cores to be allocated.
+	 * @param policy          how the processors of the cores are chosen.
+	 * @return an array of instances of <code>AllocatedCore</code> with the data
+	 *         about the allocated cores.
+	 * @throws Exception exception
+	 */
+	public AllocatedCore[] allocateCores(int numberRequested, CoreAllocationPolicy policy) throws Exception {
+		assert policy != null;
+
+		int n = Math.min(numberRequested, this.reservedCores.getFreeCount());
+		int[] processorNos = new int[n];
+		int[] coreNos = new int[n];
+		n = this.reservedCores.allocate(n, policy, processorNos, coreNos);
+
+		AllocatedCore[] allocated = this.toAllocatedCores(n, processorNos, coreNos);
+		this.dumpStateIfDue();
+		return allocated;
+	}
+
+	/**
+	 * return the number of cores of this computer which are neither allocated
+	 * nor reserved.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return &gt;= 0
+	 * </pre>
+	 *
+	 * @return the number of free cores.
+	 */
+	public int getFreeCoreCount() {
+		return this.reservedCores.getFreeCount();
+	}
+
+	/**
+	 * reserve <code>numberRequested</code> cores, chosen by the
+	 * <code>BEST_FIT</code> policy, for at most <code>ttl</code> ms and return
+	 * the id of the reservation, or null if fewer cores are free; the reserved
+	 * cores can no longer be allocated, and they are released when the
+	 * reservation is aborted or expires before being committed.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	numberRequested &gt; 0 and ttl &gt; 0
+	 * post	return == null or getFreeCoreCount() == old getFreeCoreCount() - numberRequested
+	 * </pre>
+	 *
+	 * @param numberRequested number of cores to be reserved.
+	 * @param ttl             time in ms after which the reservation expires.
+	 * @return the id of the reservation, or null if not enough cores are free.
+	 * @throws Exception exception
+	 */
+	public String reserveCores(int numberRequested, long ttl) throws Exception {
+		assert numberRequested > 0 && ttl > 0;
+
+		if (this.reservedCores.getFreeCount() < numberRequested) {
+			return null;
+		}
+
+		int[] processorNos = new int[numberRequested];
+		int[] coreNos = new int[numberRequested];
+		int n = this.reservedCores.allocate(numberRequested, CoreAllocationPolicy.BEST_FIT, processorNos, coreNos);
+		assert n == numberRequested;
+
+		final String reservationId = this.computerURI + "-reservation-" + this.coreReservationCount++;
+		CoreReservation reservation = new CoreReservation(processorNos, coreNos);
+		this.coreReservations.put(reservationId, reservation);
+		reservation.expiryFuture = SimulationEngine.scheduleTask(this, new AbstractComponent.AbstractTask() {
+			@Override
+			public void run() {
+				// release the cores on the thread running the services
+				this.getOwner().runTask(new AbstractComponent.AbstractTask() {
+					@Override
+					public void run() {
+						((Computer) this.getOwner()).expireReservation(reservationId);
+					}
+				});
+			}
+		}, ttl);
+
+		return reservationId;
+	}
+
+	/**
+	 * allocate the cores of a pending reservation and return them, or null if
+	 * the reservation is unknown, aborted or expired.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	reservationId != null
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param reservationId id returned by <code>reserveCores</code>.
+	 * @return the allocated cores, or null if the reservation is no longer
+	 *         pending.
+	 * @throws Exception exception
+	 */
+	public AllocatedCore[] commitReservation(String reservationId) throws Exception {
+		assert reservationId != null;
+
+		CoreReservation reservation = this.coreReservations.remove(reservationId);
+		if (reservation == null) {
+			return null;
+		}
+		reservation.expiryFuture.cancel(false);
+
+		AllocatedCore[] allocated = this.toAllocatedCores(reservation.coreNos.length, reservation.processorNos,
+				reservation.coreNos);
+		this.dumpStateIfDue();
+		return allocated;
+	}
+
+	/**
+	 * release the cores of a pending reservation; does nothing if the
+	 * reservation is unknown, committed or expired.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	reservationId != null
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param reservationId id returned by <code>reserveCores</code>.
+	 * @throws Exception exception
+	 */
+	public void abortReservation(String reservationId) throws Exception {
+		assert reservationId != null;
+
+		CoreReservation reservation = this.coreReservations.remove(reservationId);
+		if (reservation != null) {
+			reservation.expiryFuture.cancel(false);
+			this.reservedCores.releaseAll(reservation.coreNos.length, reservation.processorNos, reservation.coreNos);
+		}
+	}
+
+	/**
+	 * release the cores of a reservation which was neither committed nor aborted
+	 * in time.
+	 *
+	 * @param reservationId id of the expired reservation.
+	 */
+	private void expireReservation(String reservationId) {
+		CoreReservation reservation = this.coreReservations.remove(reservationId);
+		if (reservation != null) {
+			this.reservedCores.releaseAll(reservation.coreNos.length, reservation.processorNos, reservation.coreNos);
+			if (this.debugLevel > 1) {
+				this.logMessage("Computer " + this.computerURI + " core reservation " + reservationId + " expired");
 			}
 		}
-		printCurrentOccupancy();
-		return allocated.toArray(new AllocatedCore[0]);
+	}
+
+	/**
+	 * build the descriptions of cores which are reserved in
+	 * <code>reservedCores</code>, and record their allocation.
+	 *
+	 * @param n            number of cores.
+	 * @param processorNos processor numbers of the cores.
+	 * @param coreNos      core numbers of the cores.
+	 * @return the descriptions of the allocated cores.
+	 */
+	private AllocatedCore[] toAllocatedCores(int n, int[] processorNos, int[] coreNos) {
+		AllocatedCore[] allocated = new AllocatedCore[n];
+		for (int i = 0; i < n; i++) {
+			int p = processorNos[i];
+			int c = coreNos[i];
+			this.coreFrequencies[p][c] = this.processors[p].getCoreFrequency(c);
+			String processorURI = this.processorsURI.get(p);
+			allocated[i] = new AllocatedCore(p, processorURI, c, this.processorsInboundPortURI.get(processorURI));
+			this.recordAllocationEvent(AllocationEventLog.EventType.ALLOCATE, p, c, this.coreFrequencies[p][c]);
+		}
+		return allocated;
 	}
 
 	/**
@@ -910,8 +1344,9 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 	private void releaseCore(AllocatedCore ac) throws Exception {
 		assert this.isReserved(ac.processorNo, ac.coreNo);
 
-		this.reservedCores[ac.processorNo][ac.coreNo] = false;
-		printCurrentOccupancy();
+		this.reservedCores.release(ac.processorNo, ac.coreNo);
+		this.recordAllocationEvent(AllocationEventLog.EventType.RELEASE, ac.processorNo, ac.coreNo,
+				this.coreFrequencies[ac.processorNo][ac.coreNo]);
 		assert !this.isReserved(ac.processorNo, ac.coreNo);
 	}
 
@@ -934,6 +1369,7 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 		for (AllocatedCore ac : acs) {
 			this.releaseCore(ac);
 		}
+		this.dumpStateIfDue();
 	}
 
 	// ------------------------------------------------------------------------
@@ -959,7 +1395,7 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 	public void reserveCore(int processorNo, int coreNo) throws Exception {
 		assert !this.isReserved(processorNo, coreNo);
 
-		this.reservedCores[processorNo][coreNo] = true;
+		this.reservedCores.reserve(processorNo, coreNo);
 
 		assert this.isReserved(processorNo, coreNo);
 	}
@@ -983,7 +1419,7 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 	 * @throws Exception exception
 	 */
 	private boolean isReserved(int processorNo, int coreNo) throws Exception {
-		return this.reservedCores[processorNo][coreNo];
+		return this.reservedCores.isReserved(processorNo, coreNo);
 	}
 
 	/**
@@ -1038,60 +1474,201 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 
 
 	public boolean increaseFrequency(int coreNo, int processorNo) throws Exception {
-		printCurrentFrequencies ();
-		this.logMessage("Increasing frequency processor " + processorNo + " and core " + coreNo);
+		if (this.debugLevel > 1) {
+			this.logMessage("Increasing frequency processor " + processorNo + " and core " + coreNo);
+		}
 
-		int currentFrequency = getCurrentFrequency(coreNo, processorNo);
-		if (currentFrequency == -1) return false;
+		return this.stepFrequencies(new int[] { processorNo }, new int[] { coreNo }, true) > 0;
+	}
 
-		for (Integer possibleFrequency : this.possibleFrequencies) {
-			if (possibleFrequency > currentFrequency) { //stop at the first one
-				boolean res = setCurrentFrequency(possibleFrequency, coreNo, processorNo);
-				printCurrentFrequencies();
-				return res;
-			}
+	public boolean decreaseFrequency(int coreNo, int processorNo) throws Exception {
+		if (this.debugLevel > 1) {
+			this.logMessage("Decreasing frequency processor " + processorNo + " and core " + coreNo);
+		}
+
+		return this.stepFrequencies(new int[] { processorNo }, new int[] { coreNo }, false) > 0;
+	}
+
+	public int increaseFrequencies(AllocatedCore[] cores) throws Exception {
+		if (this.debugLevel > 1) {
+			this.logMessage("Increasing frequency of " + cores.length + " cores");
 		}
-		this.logMessage("Frequency increase not possible");
-		return false;
+
+		return this.stepFrequencies(processorNos(cores), coreNos(cores), true);
 	}
 
-	public boolean decreaseFrequency(int coreNo, int processorNo) throws Exception {
-		printCurrentFrequencies ();
-		this.logMessage("Decreasing frequency processor " + processorNo + " and core " + coreNo);
+	public int decreaseFrequencies(AllocatedCore[] cores) throws Exception {
+		if (this.debugLevel > 1) {
+			this.logMessage("Decreasing frequency of " + cores.length + " cores");
+		}
 
-		int currentFrequency = getCurrentFrequency(coreNo, processorNo);
-		if (currentFrequency == -1) return false;
+		return this.stepFrequencies(processorNos(cores), coreNos(cores), false);
+	}
 
-		for (int i = this.possibleFrequencies.size()-1; i >= 0; i--) {
-			if (this.possibleFrequencies.get(i) < currentFrequency) { //stop at the first one
-				boolean res =  setCurrentFrequency(possibleFrequencies.get(i), coreNo, processorNo);
-				printCurrentFrequencies ();
-				return res;
-			}
+	private static int[] processorNos(AllocatedCore[] cores) {
+		int[] processorNos = new int[cores.length];
+		for (int i = 0; i < cores.length; i++) {
+			processorNos[i] = cores[i].processorNo;
+		}
+		return processorNos;
+	}
+
+	private static int[] coreNos(AllocatedCore[] cores) {
+		int[] coreNos = new int[cores.length];
+		for (int i = 0; i < cores.length; i++) {
+			coreNos[i] = cores[i].coreNo;
 		}
-		this.logMessage("Frequency decrease not possible");
-		return false;
+		return coreNos;
 	}
 
-	private boolean setCurrentFrequency(int possibleFrequency, int coreNo, int processorNo) throws Exception {
+	/**
+	 * move the given cores one admissible frequency up or down; the cores of a
+	 * processor running at the same frequency are changed together by a single
+	 * call to <code>setCoreFrequencies</code>, so the gap constraint is checked
+	 * once for the group and the group is left unchanged when it is not met.
+	 *
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 *
+	 * <pre>
+	 * pre	processorNos.length == coreNos.length
+	 * post	return &gt;= 0 and return &lt;= coreNos.length
+	 * </pre>
+	 *
+	 * @param processorNos processor numbers of the cores.
+	 * @param coreNos      core numbers of the cores.
+	 * @param up           true to increase the frequency, false to decrease it.
+	 * @return the number of cores which frequency changed.
+	 * @throws Exception exception
+	 */
+	private int stepFrequencies(int[] processorNos, int[] coreNos, boolean up) throws Exception {
+		assert processorNos.length == coreNos.length;
+
+		int changed = 0;
+		boolean[] done = new boolean[coreNos.length];
+		int[] group = new int[coreNos.length];
+		for (int i = 0; i < coreNos.length; i++) {
+			int processorNo = processorNos[i];
+			Processor processor = this.processors[processorNo];
+			if (done[i] || !processor.isValidCoreNo(coreNos[i])) {
+				continue;
+			}
+
+			// cores of the same processor at the same frequency as core i
+			int index = processor.getCoreFrequencyIndex(coreNos[i]);
+			int size = 0;
+			for (int j = i; j < coreNos.length; j++) {
+				if (!done[j] && processorNos[j] == processorNo && processor.isValidCoreNo(coreNos[j])
+						&& processor.getCoreFrequencyIndex(coreNos[j]) == index) {
+					done[j] = true;
+					group[size++] = coreNos[j];
+				}
+			}
 
-		if (this.processors[processorNo].isValidCoreNo(coreNo)) {
-			if (this.processors[processorNo].isAdmissibleFrequency(possibleFrequency) &&
-					this.processors[processorNo].isCurrentlyPossibleFrequencyForCore(coreNo, possibleFrequency)) {
+			int next = up ? this.possibleFrequencies.higher(index) : this.possibleFrequencies.lower(index);
+			if (next < 0) {
+				if (this.debugLevel > 1) {
+					this.logMessage("Frequency " + (up ? "increase" : "decrease") + " not possible");
+				}
+				continue;
+			}
+			int frequency = this.possibleFrequencies.getFrequency(next);
+			int[] groupCoreNos = Arrays.copyOf(group, size);
+			try {
+				processor.setCoreFrequencies(groupCoreNos, frequency);
+			} catch (UnavailableFrequencyException | UnacceptableFrequencyException e) {
+				if (this.debugLevel > 1) {
+					this.logMessage("Frequency " + frequency + " not possible on processor " + processorNo);
+				}
+				continue;
+			}
+			for (int coreNo : groupCoreNos) {
+				this.coreFrequencies[processorNo][coreNo] = frequency;
+				this.recordAllocationEvent(AllocationEventLog.EventType.FREQUENCY, processorNo, coreNo, frequency);
+			}
+			changed += size;
+		}
+
+		if (changed > 0) {
+			this.dumpStateIfDue();
+		}
+		return changed;
+	}
+
+	/**
+	 * record an allocation, release or frequency change event, unless the debug
+	 * level is 0.
+	 *
+	 * @param type        type of the event.
+	 * @param processorNo number of the processor of the core.
+	 * @param coreNo      number of the core.
+	 * @param frequency   frequency of the core.
+	 */
+	private void recordAllocationEvent(AllocationEventLog.EventType type, int processorNo, int coreNo,
+			int frequency) {
+		if (this.debugLevel > 0) {
+			this.allocationEvents.record(type, TimeManagement.getClock(this).currentTime(), processorNo, coreNo,
+					frequency);
+		}
+	}
 
-				this.processors[processorNo].setCoreFrequency(coreNo, possibleFrequency);
-				this.coreFrequencies[processorNo][coreNo] = possibleFrequency;
-				return true;
+	/**
+	 * dump the occupancy and frequencies of the cores on every change at debug
+	 * level 2, and at most once every <code>STATE_DUMP_INTERVAL</code> ms at
+	 * debug level 1.
+	 */
+	private void dumpStateIfDue() {
+		if (this.debugLevel > 1) {
+			this.dumpState();
+		} else if (this.debugLevel == 1) {
+			long now = TimeManagement.getClock(this).currentTime();
+			if (this.lastStateDumpTime == Long.MIN_VALUE || now - this.lastStateDumpTime >= STATE_DUMP_INTERVAL) {
+				this.lastStateDumpTime = now;
+				this.dumpState();
 			}
 		}
+	}
 
-		return false;
+	/**
+	 * log the current occupancy and frequencies of the cores.
+	 */
+	public void dumpState() {
+		this.printCurrentOccupancy();
+		this.printCurrentFrequencies();
 	}
 
-	private int getCurrentFrequency(int coreNo, int processorNo) {
-		return this.processors[processorNo].getCoreFrequency(coreNo);
+	/**
+	 * set the debug level of this computer; events are only recorded from then
+	 * on when it is raised from 0.
+	 *
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 *
+	 * <pre>
+	 * pre	debugLevel &gt;= 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param debugLevel 0, 1 or 2, as for the constructor.
+	 */
+	public void setDebugLevel(int debugLevel) {
+		assert debugLevel >= 0;
+
+		this.debugLevel = debugLevel;
 	}
 
+	/**
+	 * log the allocation, release and frequency change events kept, oldest
+	 * first.
+	 */
+	public void dumpAllocationEvents() {
+		StringBuilder sb = new StringBuilder("--> Last ");
+		sb.append(this.allocationEvents.size()).append(" of ").append(this.allocationEvents.getTotalCount())
+				.append(" allocation events\n");
+		this.logMessage(this.allocationEvents.appendTo(sb).toString());
+	}
 
 	private void printCurrentFrequencies () {
 		this.logMessage("--> Current frequencies");
@@ -1111,7 +1688,7 @@ public class Computer extends AbstractComponent implements ProcessorStateDataCon
 		for (int np = 0; np < this.numberOfProcessors; np++) {
 			StringBuilder sb = new StringBuilder();
 			for (int nc = 0; nc < this.numberOfCores; nc++) {
-				sb.append(this.reservedCores[np][nc]).append(" ");
+				sb.append(this.reservedCores.isReserved(np, nc)).append(" ");
 			}
 			this.logMessage("-----> processor " + np + ": " + sb);
 		}
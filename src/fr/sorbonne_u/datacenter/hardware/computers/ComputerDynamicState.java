@@ -39,6 +39,8 @@ public class ComputerDynamicState extends AbstractTimeStampedData implements Com
 	protected final String computerURI;
 	/** reservation status of the cores of all computer's processors. */
 	private final boolean[][] reservedCores;
+	/** number of free cores of each of the computer's processors. */
+	private final int[] freeCores;
 
 	private final int[][] coreFrequencies;
 
@@ -57,16 +59,22 @@ public class ComputerDynamicState extends AbstractTimeStampedData implements Com
 	 * <pre>
 	 * pre	computerURI != null
 	 * pre	reservedCores != null
+	 * pre	freeCores != null and freeCores.length == reservedCores.length
 	 * post	true			// no postcondition.
 	 * </pre>
 	 *
 	 * @param computerURI   URI of the computer to which this dynamic state relates.
 	 * @param reservedCores reservation status of the cores of all computer's
 	 *                      processors.
+	 * @param freeCores     number of free cores of each of the computer's
+	 *                      processors.
+	 * @param coreFrequencies current frequencies of the cores of all computer's
+	 *                      processors.
 	 * @throws Exception exception
 	 */
 	ComputerDynamicState(String computerURI,
 	                     boolean[][] reservedCores,
+	                     int[] freeCores,
 	                     int[][] coreFrequencies) throws Exception {
 		super();
 
@@ -77,6 +85,8 @@ public class ComputerDynamicState extends AbstractTimeStampedData implements Com
 			System.arraycopy(reservedCores[p], 0, this.reservedCores[p], 0, reservedCores[0].length);
 		}
 
+		this.freeCores = freeCores.clone();
+
 		this.coreFrequencies = new int[coreFrequencies.length][coreFrequencies[0].length];
 		for (int p = 0; p < coreFrequencies.length; p++) {
 			System.arraycopy(coreFrequencies[p], 0, this.coreFrequencies[p], 0, coreFrequencies[0].length);
@@ -109,6 +119,15 @@ public class ComputerDynamicState extends AbstractTimeStampedData implements Com
 		return ret;
 	}
 
+	/**
+	 * @see fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerDynamicStateI#getCurrentFreeCores()
+	 */
+	@Override
+	public int[] getCurrentFreeCores() {
+		// copy not to provide direct access to internal data structures.
+		return this.freeCores.clone();
+	}
+
 	@Override
 	public int[][] getCurrentCoreFrequencies() {
 		// copy not to provide direct access to internal data structures.
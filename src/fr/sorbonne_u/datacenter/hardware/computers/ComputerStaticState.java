@@ -53,6 +53,8 @@ public class ComputerStaticState extends AbstractTimeStampedData implements Comp
 	private final Map<Integer, String> processorURIs;
 	/** map between processor URI and their different ports URI. */
 	private final Map<String, Map<ProcessorPortTypes, String>> processorsPortURIs;
+	/** map between admissible frequencies and the processing power of cores. */
+	private final Map<Integer, Integer> processingPower;
 
 	// ------------------------------------------------------------------------
 	// Constructors
@@ -72,6 +74,7 @@ public class ComputerStaticState extends AbstractTimeStampedData implements Comp
 	 * pre	processorURIs != null and processorURIs.size() == numberOfProcessors
 	 * pre	processorsPortURIs != null
 	 * pre	processorsPortURIs.keySet().size() == numberOfProcessors
+	 * pre	processingPower != null
 	 * post	true			// no postcondition.
 	 * </pre>
 	 *
@@ -83,10 +86,13 @@ public class ComputerStaticState extends AbstractTimeStampedData implements Comp
 	 * @param processorURIs             map between processor numbers and their URI.
 	 * @param processorsPortURIs        map between processor URI and their
 	 *                                  different ports URI.
+	 * @param processingPower           map between admissible frequencies and the
+	 *                                  processing power of cores.
 	 * @throws Exception exception
 	 */
 	ComputerStaticState(String computerURI, int numberOfProcessors, int numberOfCoresPerProcessor,
-	                    Map<Integer, String> processorURIs, Map<String, Map<ProcessorPortTypes, String>> processorsPortURIs)
+	                    Map<Integer, String> processorURIs, Map<String, Map<ProcessorPortTypes, String>> processorsPortURIs,
+	                    Map<Integer, Integer> processingPower)
 			throws Exception {
 		super();
 
@@ -97,12 +103,14 @@ public class ComputerStaticState extends AbstractTimeStampedData implements Comp
 		assert processorURIs != null && processorURIs.size() == numberOfProcessors;
 		assert processorsPortURIs != null;
 		assert processorsPortURIs.keySet().size() == numberOfProcessors;
+		assert processingPower != null;
 
 		this.computerURI = computerURI;
 		this.numberOfProcessors = numberOfProcessors;
 		this.numberOfCoresPerProcessor = numberOfCoresPerProcessor;
 		this.processorURIs = processorURIs;
 		this.processorsPortURIs = processorsPortURIs;
+		this.processingPower = processingPower;
 	}
 
 	// ------------------------------------------------------------------------
@@ -164,4 +172,13 @@ public class ComputerStaticState extends AbstractTimeStampedData implements Comp
 		}
 		return ret;
 	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerStaticStateI#getProcessingPower()
+	 */
+	@Override
+	public Map<Integer, Integer> getProcessingPower() {
+		// copy not to provide direct access to internal data structures.
+		return new HashMap<>(this.processingPower);
+	}
 }
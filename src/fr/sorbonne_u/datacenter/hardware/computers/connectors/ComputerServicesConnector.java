@@ -3,6 +3,7 @@ package fr.sorbonne_u.datacenter.hardware.computers.connectors;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
 import fr.sorbonne_u.datacenter.hardware.computers.Computer.AllocatedCore;
 import fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI;
+import fr.sorbonne_u.datacenter.hardware.computers.utils.CoreAllocationPolicy;
 
 /**
  * The class <code>ComputerServiceConnector</code> implements a connector for
@@ -35,6 +36,14 @@ public class ComputerServicesConnector extends AbstractConnector implements Comp
 		return ((ComputerServicesI) this.offering).allocateCores(numberRequested);
 	}
 
+	/**
+	 * @see fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI#allocateCores(int, fr.sorbonne_u.datacenter.hardware.computers.utils.CoreAllocationPolicy)
+	 */
+	@Override
+	public AllocatedCore[] allocateCores(int numberRequested, CoreAllocationPolicy policy) throws Exception {
+		return ((ComputerServicesI) this.offering).allocateCores(numberRequested, policy);
+	}
+
 	@Override
 	public boolean increaseFrequency(int coreNo, int processorNo) throws Exception {
 		return ((ComputerServicesI) this.offering).increaseFrequency(coreNo, processorNo);
@@ -45,9 +54,54 @@ public class ComputerServicesConnector extends AbstractConnector implements Comp
 		return ((ComputerServicesI) this.offering).decreaseFrequency(coreNo, processorNo);
 	}
 
+	@Override
+	public int increaseFrequencies(AllocatedCore[] cores) throws Exception {
+		return ((ComputerServicesI) this.offering).increaseFrequencies(cores);
+	}
+
+	@Override
+	public int decreaseFrequencies(AllocatedCore[] cores) throws Exception {
+		return ((ComputerServicesI) this.offering).decreaseFrequencies(cores);
+	}
+
+	@Override
+	public String addDynamicStateDataInboundPort() throws Exception {
+		return ((ComputerServicesI) this.offering).addDynamicStateDataInboundPort();
+	}
+
 	@Override
 	public void releaseCores(AllocatedCore[] allocateCores) throws Exception {
 		((ComputerServicesI) this.offering).releaseCores(allocateCores);
 	}
 
+	@Override
+	public int getFreeCoreCount() throws Exception {
+		return ((ComputerServicesI) this.offering).getFreeCoreCount();
+	}
+
+	@Override
+	public String reserveCores(int numberRequested, long ttl) throws Exception {
+		return ((ComputerServicesI) this.offering).reserveCores(numberRequested, ttl);
+	}
+
+	@Override
+	public AllocatedCore[] commitReservation(String reservationId) throws Exception {
+		return ((ComputerServicesI) this.offering).commitReservation(reservationId);
+	}
+
+	@Override
+	public void abortReservation(String reservationId) throws Exception {
+		((ComputerServicesI) this.offering).abortReservation(reservationId);
+	}
+
+	@Override
+	public void setDebugLevel(int debugLevel) throws Exception {
+		((ComputerServicesI) this.offering).setDebugLevel(debugLevel);
+	}
+
+	@Override
+	public void dumpAllocationEvents() throws Exception {
+		((ComputerServicesI) this.offering).dumpAllocationEvents();
+	}
+
 }
@@ -45,5 +45,13 @@ public interface ComputerDynamicStateI extends DataOfferedI.DataI, DataRequiredI
 	 */
 	boolean[][] getCurrentCoreReservations();
 
+	/**
+	 * return an array containing in each cell <code>p</code> the number of cores
+	 * of processor <code>p</code> which are neither allocated nor reserved.
+	 *
+	 * @return the number of free cores of each processor.
+	 */
+	int[] getCurrentFreeCores();
+
 	int[][] getCurrentCoreFrequencies();
 }
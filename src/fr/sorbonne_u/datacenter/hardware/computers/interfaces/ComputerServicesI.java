@@ -3,6 +3,7 @@ package fr.sorbonne_u.datacenter.hardware.computers.interfaces;
 import fr.sorbonne_u.components.interfaces.OfferedI;
 import fr.sorbonne_u.components.interfaces.RequiredI;
 import fr.sorbonne_u.datacenter.hardware.computers.Computer.AllocatedCore;
+import fr.sorbonne_u.datacenter.hardware.computers.utils.CoreAllocationPolicy;
 
 /**
  * The interface <code>ComputerServicesI</code> defines the services offered by
@@ -51,9 +52,166 @@ public interface ComputerServicesI extends OfferedI, RequiredI {
 	 */
 	AllocatedCore[] allocateCores(final int numberRequested) throws Exception;
 
+	/**
+	 * allocate up to <code>numberRequested</code> cores on this computer, chosen
+	 * among its processors by the given policy, and return and array of
+	 * <code>AllocatedCore</code> containing the data for each requested core;
+	 * return an empty array if no core is available.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	numberRequested &gt; 0 and policy != null
+	 * post	return.length &gt;= 0 and return.length &lt;= numberRequested
+	 * </pre>
+	 *
+	 * @param numberRequested number of cores to be allocated.
+	 * @param policy          how the processors of the cores are chosen.
+	 * @return an array of instances of <code>AllocatedCore</code> with the data
+	 *         about the allocated cores.
+	 * @throws Exception exception
+	 */
+	AllocatedCore[] allocateCores(final int numberRequested, final CoreAllocationPolicy policy) throws Exception;
+
 	boolean increaseFrequency(int coreNo, int processorNo) throws Exception;
 
 	boolean decreaseFrequency(int coreNo, int processorNo) throws Exception;
 
+	/**
+	 * raise the given cores to the next admissible frequency, the cores of a
+	 * processor being changed together so that the gap constraint is checked
+	 * once per processor rather than once per core.
+	 *
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 *
+	 * <pre>
+	 * pre	cores != null
+	 * post	return &gt;= 0 and return &lt;= cores.length
+	 * </pre>
+	 *
+	 * @param cores cores which frequency is increased.
+	 * @return the number of cores which frequency was increased.
+	 * @throws Exception exception
+	 */
+	int increaseFrequencies(AllocatedCore[] cores) throws Exception;
+
+	/**
+	 * lower the given cores to the previous admissible frequency, the cores of
+	 * a processor being changed together.
+	 *
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 *
+	 * <pre>
+	 * pre	cores != null
+	 * post	return &gt;= 0 and return &lt;= cores.length
+	 * </pre>
+	 *
+	 * @param cores cores which frequency is decreased.
+	 * @return the number of cores which frequency was decreased.
+	 * @throws Exception exception
+	 */
+	int decreaseFrequencies(AllocatedCore[] cores) throws Exception;
+
+	/**
+	 * add a dynamic state data inbound port for a new subscriber to the dynamic
+	 * state of the computer; each port has its own pushes, so stopping them
+	 * through one port does not stop those of the other subscribers.
+	 *
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 *
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return != null
+	 * </pre>
+	 *
+	 * @return the URI of the new dynamic state data inbound port.
+	 * @throws Exception exception
+	 */
+	String addDynamicStateDataInboundPort() throws Exception;
+
 	void releaseCores (AllocatedCore[] allocateCores) throws Exception;
+
+	/**
+	 * return the number of cores of this computer which are neither allocated
+	 * nor reserved, without changing anything.
+	 *
+	 * @return the number of free cores.
+	 * @throws Exception exception
+	 */
+	int getFreeCoreCount() throws Exception;
+
+	/**
+	 * reserve <code>numberRequested</code> cores for at most <code>ttl</code> ms
+	 * and return the id of the reservation, or null if fewer cores are free; the
+	 * reservation must then be committed or aborted, otherwise its cores are
+	 * released when it expires.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	numberRequested &gt; 0 and ttl &gt; 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param numberRequested number of cores to be reserved.
+	 * @param ttl             time in ms after which the reservation expires.
+	 * @return the id of the reservation, or null if not enough cores are free.
+	 * @throws Exception exception
+	 */
+	String reserveCores(final int numberRequested, final long ttl) throws Exception;
+
+	/**
+	 * allocate the cores of a pending reservation and return them, or null if
+	 * the reservation was aborted or expired.
+	 *
+	 * @param reservationId id returned by <code>reserveCores</code>.
+	 * @return the allocated cores, or null.
+	 * @throws Exception exception
+	 */
+	AllocatedCore[] commitReservation(final String reservationId) throws Exception;
+
+	/**
+	 * release the cores of a pending reservation.
+	 *
+	 * @param reservationId id returned by <code>reserveCores</code>.
+	 * @throws Exception exception
+	 */
+	void abortReservation(final String reservationId) throws Exception;
+
+	/**
+	 * set the debug level of the computer: 0 to record nothing, 1 to record
+	 * its allocation events and sample the dumps of its occupancy, 2 to dump
+	 * it on every change.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	debugLevel &gt;= 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param debugLevel new debug level of the computer.
+	 * @throws Exception exception
+	 */
+	void setDebugLevel(final int debugLevel) throws Exception;
+
+	/**
+	 * log the allocation, release and frequency change events kept by the
+	 * computer, oldest first.
+	 *
+	 * @throws Exception exception
+	 */
+	void dumpAllocationEvents() throws Exception;
 }
@@ -120,4 +120,22 @@ public interface ComputerStaticStateI extends DataOfferedI.DataI, DataRequiredI.
 	 *         processors' ports URI.
 	 */
 	Map<String, Map<Processor.ProcessorPortTypes, String>> getProcessorPortMap();
+
+	/**
+	 * return the map giving the processing power of the cores of the computer
+	 * for their different admissible frequencies.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true // no precondition.
+	 * post	true // no postcondition.
+	 * </pre>
+	 *
+	 * @return map giving the processing power of the cores for their different
+	 *         admissible frequencies.
+	 */
+	Map<Integer, Integer> getProcessingPower();
 }
@@ -35,6 +35,12 @@ public class ComputerDynamicStateDataInboundPort extends AbstractControlledDataI
 	// Constructors
 	// ------------------------------------------------------------------------
 
+	public ComputerDynamicStateDataInboundPort(ComponentI owner) throws Exception {
+		super(owner);
+
+		assert owner instanceof Computer;
+	}
+
 	public ComputerDynamicStateDataInboundPort(String uri, ComponentI owner) throws Exception {
 		super(uri, owner);
 
@@ -57,4 +63,54 @@ public class ComputerDynamicStateDataInboundPort extends AbstractControlledDataI
 			}
 		});
 	}
+
+	/**
+	 * start pushing through this port only, so that the subscribers connected
+	 * to other ports of the computer keep their own pushes.
+	 *
+	 * @see fr.sorbonne_u.datacenter.interfaces.ControlledDataOfferedI.ControlledPullI#startUnlimitedPushing(int)
+	 */
+	@Override
+	public void startUnlimitedPushing(final int interval) throws Exception {
+		final ComputerDynamicStateDataInboundPort port = this;
+		this.getOwner().handleRequestSync(new AbstractComponent.AbstractService<Void>() {
+			@Override
+			public Void call() throws Exception {
+				((Computer) this.getOwner()).startUnlimitedPushing(port, interval);
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.interfaces.ControlledDataOfferedI.ControlledPullI#startLimitedPushing(int, int)
+	 */
+	@Override
+	public void startLimitedPushing(final int interval, final int n) throws Exception {
+		final ComputerDynamicStateDataInboundPort port = this;
+		this.getOwner().handleRequestSync(new AbstractComponent.AbstractService<Void>() {
+			@Override
+			public Void call() throws Exception {
+				((Computer) this.getOwner()).startLimitedPushing(port, interval, n);
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * stop pushing through this port only.
+	 *
+	 * @see fr.sorbonne_u.datacenter.interfaces.ControlledDataOfferedI.ControlledPullI#stopPushing()
+	 */
+	@Override
+	public void stopPushing() throws Exception {
+		final ComputerDynamicStateDataInboundPort port = this;
+		this.getOwner().handleRequestSync(new AbstractComponent.AbstractService<Void>() {
+			@Override
+			public Void call() throws Exception {
+				((Computer) this.getOwner()).stopPushing(port);
+				return null;
+			}
+		});
+	}
 }
@@ -6,6 +6,7 @@ import fr.sorbonne_u.components.ports.AbstractInboundPort;
 import fr.sorbonne_u.datacenter.hardware.computers.Computer;
 import fr.sorbonne_u.datacenter.hardware.computers.Computer.AllocatedCore;
 import fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI;
+import fr.sorbonne_u.datacenter.hardware.computers.utils.CoreAllocationPolicy;
 
 /**
  * The class <code>ComputerServicesInboundPort</code> implements an inbound port
@@ -78,6 +79,20 @@ public class ComputerServicesInboundPort extends AbstractInboundPort implements
 		});
 	}
 
+	/**
+	 * @see fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI#allocateCores(int, fr.sorbonne_u.datacenter.hardware.computers.utils.CoreAllocationPolicy)
+	 */
+	@Override
+	public AllocatedCore[] allocateCores(final int numberRequested, final CoreAllocationPolicy policy)
+			throws Exception {
+		return this.getOwner().handleRequestSync(new AbstractComponent.AbstractService<>() {
+			@Override
+			public AllocatedCore[] call() throws Exception {
+				return ((Computer) this.getOwner()).allocateCores(numberRequested, policy);
+			}
+		});
+	}
+
 	@Override
 	public boolean increaseFrequency(int coreNo, int processorNo) throws Exception {
 		final Computer computer = (Computer) this.getOwner();
@@ -106,6 +121,45 @@ public class ComputerServicesInboundPort extends AbstractInboundPort implements
 
 	}
 
+	@Override
+	public int increaseFrequencies(AllocatedCore[] cores) throws Exception {
+		final Computer computer = (Computer) this.getOwner();
+
+		return this.getOwner().handleRequestSync(
+				new AbstractComponent.AbstractService<Integer>() {
+					@Override
+					public Integer call() throws Exception {
+						return computer.increaseFrequencies(cores);
+					}
+				});
+	}
+
+	@Override
+	public int decreaseFrequencies(AllocatedCore[] cores) throws Exception {
+		final Computer computer = (Computer) this.getOwner();
+
+		return this.getOwner().handleRequestSync(
+				new AbstractComponent.AbstractService<Integer>() {
+					@Override
+					public Integer call() throws Exception {
+						return computer.decreaseFrequencies(cores);
+					}
+				});
+	}
+
+	@Override
+	public String addDynamicStateDataInboundPort() throws Exception {
+		final Computer computer = (Computer) this.getOwner();
+
+		return this.getOwner().handleRequestSync(
+				new AbstractComponent.AbstractService<String>() {
+					@Override
+					public String call() throws Exception {
+						return computer.addDynamicStateDataInboundPort();
+					}
+				});
+	}
+
 	@Override
 	public void releaseCores(AllocatedCore[] allocateCores) throws Exception {
 		final Computer computer = (Computer) this.getOwner();
@@ -118,4 +172,85 @@ public class ComputerServicesInboundPort extends AbstractInboundPort implements
 					}
 				});
 	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI#getFreeCoreCount()
+	 */
+	@Override
+	public int getFreeCoreCount() throws Exception {
+		return this.getOwner().handleRequestSync(new AbstractComponent.AbstractService<Integer>() {
+			@Override
+			public Integer call() throws Exception {
+				return ((Computer) this.getOwner()).getFreeCoreCount();
+			}
+		});
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI#reserveCores(int, long)
+	 */
+	@Override
+	public String reserveCores(final int numberRequested, final long ttl) throws Exception {
+		return this.getOwner().handleRequestSync(new AbstractComponent.AbstractService<String>() {
+			@Override
+			public String call() throws Exception {
+				return ((Computer) this.getOwner()).reserveCores(numberRequested, ttl);
+			}
+		});
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI#commitReservation(java.lang.String)
+	 */
+	@Override
+	public AllocatedCore[] commitReservation(final String reservationId) throws Exception {
+		return this.getOwner().handleRequestSync(new AbstractComponent.AbstractService<AllocatedCore[]>() {
+			@Override
+			public AllocatedCore[] call() throws Exception {
+				return ((Computer) this.getOwner()).commitReservation(reservationId);
+			}
+		});
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI#abortReservation(java.lang.String)
+	 */
+	@Override
+	public void abortReservation(final String reservationId) throws Exception {
+		this.getOwner().handleRequestSync(new AbstractComponent.AbstractService<Void>() {
+			@Override
+			public Void call() throws Exception {
+				((Computer) this.getOwner()).abortReservation(reservationId);
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI#setDebugLevel(int)
+	 */
+	@Override
+	public void setDebugLevel(final int debugLevel) throws Exception {
+		this.getOwner().handleRequestSync(new AbstractComponent.AbstractService<Void>() {
+			@Override
+			public Void call() throws Exception {
+				((Computer) this.getOwner()).setDebugLevel(debugLevel);
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI#dumpAllocationEvents()
+	 */
+	@Override
+	public void dumpAllocationEvents() throws Exception {
+		this.getOwner().handleRequestSync(new AbstractComponent.AbstractService<Void>() {
+			@Override
+			public Void call() throws Exception {
+				((Computer) this.getOwner()).dumpAllocationEvents();
+				return null;
+			}
+		});
+	}
 }
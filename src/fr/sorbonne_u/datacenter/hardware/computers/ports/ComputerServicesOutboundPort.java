@@ -4,6 +4,7 @@ import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
 import fr.sorbonne_u.datacenter.hardware.computers.Computer.AllocatedCore;
 import fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI;
+import fr.sorbonne_u.datacenter.hardware.computers.utils.CoreAllocationPolicy;
 
 /**
  * The class <code>ComputerServiceOutboundPort</code> implements an outbound
@@ -62,6 +63,15 @@ public class ComputerServicesOutboundPort extends AbstractOutboundPort implement
 		return ((ComputerServicesI) this.connector).allocateCores(numberRequested);
 	}
 
+	/**
+	 * @see fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI#allocateCores(int, fr.sorbonne_u.datacenter.hardware.computers.utils.CoreAllocationPolicy)
+	 */
+	@Override
+	public AllocatedCore[] allocateCores(final int numberRequested, final CoreAllocationPolicy policy)
+			throws Exception {
+		return ((ComputerServicesI) this.connector).allocateCores(numberRequested, policy);
+	}
+
 	@Override
 	public boolean increaseFrequency(int coreNo, int processorNo) throws Exception{
 		return ((ComputerServicesI) this.connector).increaseFrequency(coreNo, processorNo);
@@ -72,8 +82,53 @@ public class ComputerServicesOutboundPort extends AbstractOutboundPort implement
 		return ((ComputerServicesI) this.connector).decreaseFrequency(coreNo, processorNo);
 	}
 
+	@Override
+	public int increaseFrequencies(AllocatedCore[] cores) throws Exception {
+		return ((ComputerServicesI) this.connector).increaseFrequencies(cores);
+	}
+
+	@Override
+	public int decreaseFrequencies(AllocatedCore[] cores) throws Exception {
+		return ((ComputerServicesI) this.connector).decreaseFrequencies(cores);
+	}
+
+	@Override
+	public String addDynamicStateDataInboundPort() throws Exception {
+		return ((ComputerServicesI) this.connector).addDynamicStateDataInboundPort();
+	}
+
 	@Override
 	public void releaseCores(AllocatedCore[] allocateCores) throws Exception {
 		((ComputerServicesI) this.connector).releaseCores(allocateCores);
 	}
+
+	@Override
+	public int getFreeCoreCount() throws Exception {
+		return ((ComputerServicesI) this.connector).getFreeCoreCount();
+	}
+
+	@Override
+	public String reserveCores(final int numberRequested, final long ttl) throws Exception {
+		return ((ComputerServicesI) this.connector).reserveCores(numberRequested, ttl);
+	}
+
+	@Override
+	public AllocatedCore[] commitReservation(final String reservationId) throws Exception {
+		return ((ComputerServicesI) this.connector).commitReservation(reservationId);
+	}
+
+	@Override
+	public void abortReservation(final String reservationId) throws Exception {
+		((ComputerServicesI) this.connector).abortReservation(reservationId);
+	}
+
+	@Override
+	public void setDebugLevel(final int debugLevel) throws Exception {
+		((ComputerServicesI) this.connector).setDebugLevel(debugLevel);
+	}
+
+	@Override
+	public void dumpAllocationEvents() throws Exception {
+		((ComputerServicesI) this.connector).dumpAllocationEvents();
+	}
 }
@@ -0,0 +1,174 @@
+package fr.sorbonne_u.datacenter.hardware.computers.utils;
+
+/**
+ * The class <code>AllocationEventLog</code> keeps the last allocation,
+ * release and frequency change events of a computer in a fixed size ring
+ * buffer.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ *
+ * The events are stored in parallel primitive arrays, so recording one only
+ * writes a few array entries, without allocation; once the buffer is full,
+ * the oldest events are overwritten. The events are only formatted as text
+ * when the log is dumped.
+ *
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ *
+ * <pre>
+ * invariant	0 &lt;= size() &lt;= getCapacity()
+ * invariant	size() &lt;= getTotalCount()
+ * </pre>
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class AllocationEventLog {
+
+	public enum EventType {
+		/** a core was allocated, the value is its frequency. */
+		ALLOCATE,
+		/** a core was released, the value is its frequency. */
+		RELEASE,
+		/** the frequency of a core changed, the value is the new frequency. */
+		FREQUENCY
+	}
+
+	private static final EventType[] EVENT_TYPES = EventType.values();
+
+	private final long[] times;
+	private final byte[] types;
+	private final int[] processorNos;
+	private final int[] coreNos;
+	private final int[] values;
+	/** total number of events recorded, the next one going at total % capacity. */
+	private long totalCount;
+
+	/**
+	 *
+	 * @param capacity number of events kept.
+	 */
+	public AllocationEventLog(int capacity) {
+		assert capacity > 0;
+
+		this.times = new long[capacity];
+		this.types = new byte[capacity];
+		this.processorNos = new int[capacity];
+		this.coreNos = new int[capacity];
+		this.values = new int[capacity];
+		this.totalCount = 0;
+	}
+
+	/**
+	 * record an event, overwriting the oldest one if the buffer is full.
+	 *
+	 * @param type        type of the event.
+	 * @param time        time of the event in ms.
+	 * @param processorNo number of the processor of the core.
+	 * @param coreNo      number of the core.
+	 * @param value       frequency of the core.
+	 */
+	public void record(EventType type, long time, int processorNo, int coreNo, int value) {
+		int i = (int) (this.totalCount % this.times.length);
+		this.times[i] = time;
+		this.types[i] = (byte) type.ordinal();
+		this.processorNos[i] = processorNo;
+		this.coreNos[i] = coreNo;
+		this.values[i] = value;
+		this.totalCount++;
+	}
+
+	/**
+	 *
+	 * @return the number of events kept.
+	 */
+	public int size() {
+		return (int) Math.min(this.totalCount, this.times.length);
+	}
+
+	/**
+	 *
+	 * @return the maximum number of events kept.
+	 */
+	public int getCapacity() {
+		return this.times.length;
+	}
+
+	/**
+	 *
+	 * @return the number of events recorded since the creation of the log.
+	 */
+	public long getTotalCount() {
+		return this.totalCount;
+	}
+
+	/**
+	 *
+	 * @param i index of an event, 0 being the oldest kept.
+	 * @return the type of the event.
+	 */
+	public EventType getType(int i) {
+		return EVENT_TYPES[this.types[this.slot(i)]];
+	}
+
+	/**
+	 *
+	 * @param i index of an event, 0 being the oldest kept.
+	 * @return the time of the event in ms.
+	 */
+	public long getTime(int i) {
+		return this.times[this.slot(i)];
+	}
+
+	/**
+	 *
+	 * @param i index of an event, 0 being the oldest kept.
+	 * @return the processor number of the event.
+	 */
+	public int getProcessorNo(int i) {
+		return this.processorNos[this.slot(i)];
+	}
+
+	/**
+	 *
+	 * @param i index of an event, 0 being the oldest kept.
+	 * @return the core number of the event.
+	 */
+	public int getCoreNo(int i) {
+		return this.coreNos[this.slot(i)];
+	}
+
+	/**
+	 *
+	 * @param i index of an event, 0 being the oldest kept.
+	 * @return the frequency of the core at the event.
+	 */
+	public int getValue(int i) {
+		return this.values[this.slot(i)];
+	}
+
+	/**
+	 * append the events kept, oldest first, one per line.
+	 *
+	 * @param sb string builder receiving the events.
+	 * @return the string builder.
+	 */
+	public StringBuilder appendTo(StringBuilder sb) {
+		int size = this.size();
+		for (int i = 0; i < size; i++) {
+			sb.append(this.getTime(i)).append(' ').append(this.getType(i)).append(" processor ")
+					.append(this.getProcessorNo(i)).append(" core ").append(this.getCoreNo(i)).append(" frequency ")
+					.append(this.getValue(i)).append('\n');
+		}
+		return sb;
+	}
+
+	private int slot(int i) {
+		assert i >= 0 && i < this.size();
+		long first = this.totalCount - this.size();
+		return (int) ((first + i) % this.times.length);
+	}
+}
@@ -0,0 +1,291 @@
+package fr.sorbonne_u.datacenter.hardware.computers.utils;
+
+/**
+ * The class <code>CoreAllocationMap</code> keeps the reservation status of the
+ * cores of a computer in bitmasks, with a count of the free cores of each
+ * processor.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ *
+ * Each processor has <code>ceil(numberOfCores / 64)</code> words, which bit
+ * <code>c % 64</code> of word <code>c / 64</code> is set when core
+ * <code>c</code> is reserved. Processors without free cores are skipped using
+ * their free count, and free cores are found a word at a time with
+ * <code>Long.numberOfTrailingZeros</code>, so allocating or releasing
+ * <code>n</code> cores costs <code>O(processors + words + n)</code>, without
+ * boxing. The processors the cores are taken from can also be chosen by a
+ * <code>CoreAllocationPolicy</code>.
+ *
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ *
+ * <pre>
+ * invariant	0 &lt;= getFreeCount() &lt;= numberOfProcessors * numberOfCores
+ * invariant	for all p, getFreeCount(p) == number of cores of p not reserved
+ * </pre>
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class CoreAllocationMap {
+
+	private final int numberOfProcessors;
+	private final int numberOfCores;
+	private final int wordsPerProcessor;
+	/** reservation bits, processor after processor. */
+	private final long[] reserved;
+	/** number of free cores of each processor. */
+	private final int[] freeCounts;
+	private int freeCount;
+
+	/**
+	 *
+	 * @param numberOfProcessors number of processors of the computer.
+	 * @param numberOfCores      number of cores per processor.
+	 */
+	public CoreAllocationMap(int numberOfProcessors, int numberOfCores) {
+		assert numberOfProcessors > 0 && numberOfCores > 0;
+
+		this.numberOfProcessors = numberOfProcessors;
+		this.numberOfCores = numberOfCores;
+		this.wordsPerProcessor = (numberOfCores + 63) >>> 6;
+		this.reserved = new long[numberOfProcessors * this.wordsPerProcessor];
+		this.freeCounts = new int[numberOfProcessors];
+		for (int p = 0; p < numberOfProcessors; p++) {
+			this.freeCounts[p] = numberOfCores;
+		}
+		this.freeCount = numberOfProcessors * numberOfCores;
+	}
+
+	/**
+	 *
+	 * @param processorNo number of a processor.
+	 * @param coreNo      number of a core of the processor.
+	 * @return true if the core is reserved.
+	 */
+	public boolean isReserved(int processorNo, int coreNo) {
+		assert this.isValid(processorNo, coreNo);
+		return (this.reserved[this.wordIndex(processorNo, coreNo)] & (1L << coreNo)) != 0;
+	}
+
+	/**
+	 * reserve a free core.
+	 *
+	 * @param processorNo number of a processor.
+	 * @param coreNo      number of a free core of the processor.
+	 */
+	public void reserve(int processorNo, int coreNo) {
+		assert !this.isReserved(processorNo, coreNo);
+
+		this.reserved[this.wordIndex(processorNo, coreNo)] |= 1L << coreNo;
+		this.freeCounts[processorNo]--;
+		this.freeCount--;
+	}
+
+	/**
+	 * release a reserved core.
+	 *
+	 * @param processorNo number of a processor.
+	 * @param coreNo      number of a reserved core of the processor.
+	 */
+	public void release(int processorNo, int coreNo) {
+		assert this.isReserved(processorNo, coreNo);
+
+		this.reserved[this.wordIndex(processorNo, coreNo)] &= ~(1L << coreNo);
+		this.freeCounts[processorNo]++;
+		this.freeCount++;
+	}
+
+	/**
+	 * reserve up to <code>n</code> free cores, in processor then core order, and
+	 * write their numbers in the given arrays.
+	 *
+	 * @param n            number of cores to reserve.
+	 * @param processorNos array receiving the processor numbers, of length at
+	 *                     least <code>n</code>.
+	 * @param coreNos      array receiving the core numbers, of length at least
+	 *                     <code>n</code>.
+	 * @return the number of cores reserved, less than <code>n</code> if fewer
+	 *         cores were free.
+	 */
+	public int allocate(int n, int[] processorNos, int[] coreNos) {
+		assert n >= 0 && processorNos.length >= n && coreNos.length >= n;
+
+		int count = 0;
+		for (int p = 0; count < n && p < this.numberOfProcessors; p++) {
+			if (this.freeCounts[p] > 0) {
+				count = this.allocateOn(p, n - count, processorNos, coreNos, count);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * reserve up to <code>n</code> free cores chosen by the given policy, and
+	 * write their numbers in the given arrays.
+	 *
+	 * @param n            number of cores to reserve.
+	 * @param policy       how the processors of the cores are chosen.
+	 * @param processorNos array receiving the processor numbers, of length at
+	 *                     least <code>n</code>.
+	 * @param coreNos      array receiving the core numbers, of length at least
+	 *                     <code>n</code>.
+	 * @return the number of cores reserved, less than <code>n</code> if fewer
+	 *         cores were free.
+	 */
+	public int allocate(int n, CoreAllocationPolicy policy, int[] processorNos, int[] coreNos) {
+		assert policy != null;
+
+		switch (policy) {
+			case PACK:
+				return this.allocatePacked(n, processorNos, coreNos, 0);
+			case BEST_FIT:
+				int best = -1;
+				for (int p = 0; p < this.numberOfProcessors; p++) {
+					if (this.freeCounts[p] >= n && (best < 0 || this.freeCounts[p] < this.freeCounts[best])) {
+						best = p;
+					}
+				}
+				if (best >= 0) {
+					return this.allocateOn(best, n, processorNos, coreNos, 0);
+				}
+				return this.allocatePacked(n, processorNos, coreNos, 0);
+			case SPREAD:
+				int count = 0;
+				while (count < n && this.freeCount > 0) {
+					count = this.allocateOn(this.mostFreeProcessor(), 1, processorNos, coreNos, count);
+				}
+				return count;
+			default:
+				return this.allocate(n, processorNos, coreNos);
+		}
+	}
+
+	/**
+	 * reserve up to <code>n</code> free cores of one processor and write their
+	 * numbers in the given arrays from index <code>from</code>.
+	 *
+	 * @param processorNo  number of the processor.
+	 * @param n            number of cores to reserve.
+	 * @param processorNos array receiving the processor numbers.
+	 * @param coreNos      array receiving the core numbers.
+	 * @param from         index of the first entry to write.
+	 * @return the index following the last entry written.
+	 */
+	public int allocateOn(int processorNo, int n, int[] processorNos, int[] coreNos, int from) {
+		assert processorNo >= 0 && processorNo < this.numberOfProcessors;
+
+		int count = from;
+		int wanted = from + Math.min(n, this.freeCounts[processorNo]);
+		int base = processorNo * this.wordsPerProcessor;
+		for (int w = 0; count < wanted && w < this.wordsPerProcessor; w++) {
+			long free = ~this.reserved[base + w] & this.wordMask(w);
+			while (count < wanted && free != 0) {
+				int bit = Long.numberOfTrailingZeros(free);
+				free &= free - 1;
+				this.reserved[base + w] |= 1L << bit;
+				processorNos[count] = processorNo;
+				coreNos[count] = (w << 6) + bit;
+				count++;
+			}
+		}
+		this.freeCounts[processorNo] -= count - from;
+		this.freeCount -= count - from;
+		return count;
+	}
+
+	/**
+	 * release the first <code>n</code> cores which numbers are in the given
+	 * arrays.
+	 *
+	 * @param n            number of cores to release.
+	 * @param processorNos processor numbers of the cores.
+	 * @param coreNos      core numbers of the cores.
+	 */
+	public void releaseAll(int n, int[] processorNos, int[] coreNos) {
+		for (int i = 0; i < n; i++) {
+			this.release(processorNos[i], coreNos[i]);
+		}
+	}
+
+	/**
+	 *
+	 * @return the number of free cores of the computer.
+	 */
+	public int getFreeCount() {
+		return this.freeCount;
+	}
+
+	/**
+	 *
+	 * @param processorNo number of a processor.
+	 * @return the number of free cores of the processor.
+	 */
+	public int getFreeCount(int processorNo) {
+		assert processorNo >= 0 && processorNo < this.numberOfProcessors;
+		return this.freeCounts[processorNo];
+	}
+
+	/**
+	 *
+	 * @return a new array of the number of free cores of each processor.
+	 */
+	public int[] toFreeCounts() {
+		return this.freeCounts.clone();
+	}
+
+	/**
+	 *
+	 * @return a new matrix of the reservation status of the cores.
+	 */
+	public boolean[][] toReservedCores() {
+		boolean[][] ret = new boolean[this.numberOfProcessors][this.numberOfCores];
+		for (int p = 0; p < this.numberOfProcessors; p++) {
+			for (int c = 0; c < this.numberOfCores; c++) {
+				ret[p][c] = this.isReserved(p, c);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * reserve up to <code>n</code> free cores, taking all the free cores of the
+	 * processor with the most of them before moving to the next one.
+	 */
+	private int allocatePacked(int n, int[] processorNos, int[] coreNos, int from) {
+		int count = from;
+		while (count < from + n && this.freeCount > 0) {
+			count = this.allocateOn(this.mostFreeProcessor(), from + n - count, processorNos, coreNos, count);
+		}
+		return count;
+	}
+
+	/** the first processor having the most free cores. */
+	private int mostFreeProcessor() {
+		int most = 0;
+		for (int p = 1; p < this.numberOfProcessors; p++) {
+			if (this.freeCounts[p] > this.freeCounts[most]) {
+				most = p;
+			}
+		}
+		return most;
+	}
+
+	private boolean isValid(int processorNo, int coreNo) {
+		return processorNo >= 0 && processorNo < this.numberOfProcessors && coreNo >= 0
+				&& coreNo < this.numberOfCores;
+	}
+
+	private int wordIndex(int processorNo, int coreNo) {
+		return processorNo * this.wordsPerProcessor + (coreNo >>> 6);
+	}
+
+	/** mask of the bits of word <code>w</code> which are actual cores. */
+	private long wordMask(int w) {
+		int bits = this.numberOfCores - (w << 6);
+		return bits >= 64 ? -1L : (1L << bits) - 1;
+	}
+}
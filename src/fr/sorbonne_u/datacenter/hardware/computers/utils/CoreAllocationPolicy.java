@@ -0,0 +1,31 @@
+package fr.sorbonne_u.datacenter.hardware.computers.utils;
+
+/**
+ * How a computer chooses the cores it allocates among its processors.
+ *
+ * <ul>
+ * <li><code>FIRST_FREE</code>: the first free cores in processor order.</li>
+ * <li><code>PACK</code>: the cores of the processors with the most free cores
+ * first, so the cores come from as few processors as possible.</li>
+ * <li><code>BEST_FIT</code>: all the cores from the processor with the fewest
+ * free cores that still has enough of them, keeping the larger holes for
+ * larger requests; as <code>PACK</code> when no processor has enough.</li>
+ * <li><code>SPREAD</code>: one core per processor in turn, starting with the
+ * processors with the most free cores, so each processor hosts few of the
+ * cores and their frequency can be raised with fewer gap constraints from
+ * the same application.</li>
+ * </ul>
+ *
+ * Fewer processors per application VM means fewer processor ports and
+ * notification ports in the VM, so <code>PACK</code> and
+ * <code>BEST_FIT</code> reduce cross-component calls.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public enum CoreAllocationPolicy {
+	FIRST_FREE,
+	PACK,
+	BEST_FIT,
+	SPREAD
+}
@@ -1,13 +1,11 @@
 package fr.sorbonne_u.datacenter.hardware.processors;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.datacenter.TimeManagement;
+import fr.sorbonne_u.datacenter.simulation.SimulationEngine;
 import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskI;
 
 /**
@@ -34,6 +32,14 @@ import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskI;
  * threshold.</li>
  * </ol>
  * 
+ * When the core can hold more than one task (<code>maxTasks &gt; 1</code>), it
+ * runs in processor sharing mode instead: the running tasks share the
+ * processing power equally, as in a round robin with an infinitely small
+ * quantum. The core keeps the remaining number of instructions of each task,
+ * updates them whenever a task starts or ends or the frequency changes, and
+ * plans a single event for the next task to end. A long task then only slows
+ * down the short ones sharing its core, instead of blocking them.
+ * 
  * A core is owned by a processor component, which threads will be used to
  * execute the core's methods. Callbacks to the processor of accesses to its
  * instance variables assume that no synchronization is required.
@@ -43,11 +49,8 @@ import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskI;
  * </p>
  * 
  * <pre>
- * invariant		owner != null and admissibleFrequencies != null
- * invariant		admissibleFrequencies.contains(defaultFrequency)
- * invariant		for all i in admissibleFrequencies, i &gt; 0
- * invariant		processingPower != null
- * invariant		for all i in processingPower.values(), i &gt; 0
+ * invariant		owner != null and frequencies != null
+ * invariant		frequencies.getFrequency(currentFrequencyIndex) == currentFrequency
  * </pre>
  * 
  * <p>
@@ -76,12 +79,12 @@ public class Core {
 	protected final Processor owner;
 	/** number of the core in the processor. */
 	protected final int coreNo;
-	/** possible frequencies in MHz. */
-	private final Set<Integer> admissibleFrequencies;
-	/** Mips for the different possible frequencies. */
-	protected final HashMap<Integer, Integer> processingPower;
+	/** possible frequencies in MHz and Mips for each of them. */
+	protected final FrequencyIndex frequencies;
 	/** current frequency of the core. */
 	private int currentFrequency;
+	/** index of the current frequency in <code>frequencies</code>. */
+	private int currentFrequencyIndex;
 	/** true if the core is currently idle, false otherwise. */
 	private boolean idle;
 	/** task currently running on the core, if any, null otherwise. */
@@ -95,6 +98,16 @@ public class Core {
 	 * allowing to cancel it when a replanning of the end if necessary.
 	 */
 	private Future<?> currentTaskEndFuture;
+	/** maximum number of tasks sharing the core, 1 to run tasks to completion. */
+	private final int maxTasks;
+	/** tasks sharing the core in processor sharing mode. */
+	private final TaskI[] sharedTasks;
+	/** remaining number of instructions of each shared task. */
+	private final long[] remainingInstructions;
+	/** number of tasks sharing the core. */
+	private int sharedTaskCount;
+	/** time up to which the remaining instructions are computed. */
+	private long lastSharingUpdateTime;
 
 	// ------------------------------------------------------------------------
 	// Constructors
@@ -125,45 +138,93 @@ public class Core {
 	 */
 	public Core(Processor owner, int coreNo, Set<Integer> admissibleFrequencies, Map<Integer, Integer> processingPower,
 			int defaultFrequency) {
+		this(owner, coreNo, admissibleFrequencies, processingPower, defaultFrequency, 1);
+	}
+
+	/**
+	 * create a core object running up to <code>maxTasks</code> tasks at the same
+	 * time in processor sharing mode.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	owner != null
+	 * pre	coreNo &gt;= 0
+	 * pre	admissibleFrequencies != null and for all i in admissibleFrequencies, i &gt;= 0
+	 * pre	processingPower != null and for all i in processingPower.values(), i &gt;= 0
+	 * pre	for all i in admissibleFrequencies, processingPower.containsKey(i)
+	 * pre	admissibleFrequencies.contains(defaultFrequency)
+	 * pre	maxTasks &gt; 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param owner                 owner processor.
+	 * @param coreNo                number of the core.
+	 * @param admissibleFrequencies possible frequencies in MHz.
+	 * @param processingPower       Mips for the different possible frequencies.
+	 * @param defaultFrequency      default frequency at which the cores run.
+	 * @param maxTasks              maximum number of tasks sharing the core, 1
+	 *                              to run each task to completion.
+	 */
+	public Core(Processor owner, int coreNo, Set<Integer> admissibleFrequencies, Map<Integer, Integer> processingPower,
+			int defaultFrequency, int maxTasks) {
+		this(owner, coreNo, new FrequencyIndex(admissibleFrequencies, processingPower), defaultFrequency, maxTasks);
+	}
+
+	/**
+	 * create a core object which frequencies are given by an index shared with
+	 * its processor.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	owner != null
+	 * pre	coreNo &gt;= 0
+	 * pre	frequencies != null and frequencies.contains(defaultFrequency)
+	 * pre	maxTasks &gt; 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param owner            owner processor.
+	 * @param coreNo           number of the core.
+	 * @param frequencies      possible frequencies and their processing power.
+	 * @param defaultFrequency default frequency at which the cores run.
+	 * @param maxTasks         maximum number of tasks sharing the core, 1 to run
+	 *                         each task to completion.
+	 */
+	public Core(Processor owner, int coreNo, FrequencyIndex frequencies, int defaultFrequency, int maxTasks) {
 		super();
 
+		assert maxTasks > 0;
+
 		// Invariant checking
 		assert owner != null;
 		assert coreNo >= 0 && coreNo < owner.cores.length;
-		assert admissibleFrequencies != null;
-		assert processingPower != null;
-		boolean positiveAdmissibleFrequencies = true;
-		boolean positiveProcessingPower = true;
-		boolean frequenciesProcessingPowerDefined = true;
-		for (Integer af : admissibleFrequencies) {
-			positiveAdmissibleFrequencies = positiveAdmissibleFrequencies && af >= 0;
-			frequenciesProcessingPowerDefined = frequenciesProcessingPowerDefined && processingPower.containsKey(af);
-			if (frequenciesProcessingPowerDefined) {
-				positiveProcessingPower = positiveProcessingPower && processingPower.get(af) >= 0;
-			}
-		}
-		assert positiveAdmissibleFrequencies;
-		assert frequenciesProcessingPowerDefined;
-		assert positiveProcessingPower;
-		assert admissibleFrequencies.contains(defaultFrequency);
+		assert frequencies != null;
+		assert frequencies.contains(defaultFrequency);
 
 		// Setting the internal representation of the core object.
 		this.owner = owner;
 		this.coreNo = coreNo;
-		this.admissibleFrequencies = new HashSet<>(admissibleFrequencies.size());
-		this.admissibleFrequencies.addAll(admissibleFrequencies);
-		this.processingPower = new HashMap<>(this.admissibleFrequencies.size());
-		for (int f : processingPower.keySet()) {
-			this.processingPower.put(f, processingPower.get(f));
-		}
+		this.frequencies = frequencies;
 		/* default frequency at which the cores run. */
 
 		this.currentFrequency = defaultFrequency;
+		this.currentFrequencyIndex = frequencies.indexOf(defaultFrequency);
 		this.idle = true;
 		this.currentTask = null;
 		this.lastTaskReStartTime = -1;
 		this.currentTaskProjectedTermination = -1;
 		this.currentTaskEndFuture = null;
+		this.maxTasks = maxTasks;
+		this.sharedTasks = new TaskI[maxTasks];
+		this.remainingInstructions = new long[maxTasks];
+		this.sharedTaskCount = 0;
+		this.lastSharingUpdateTime = -1;
 
 		// Debugging mode information
 		if (Processor.DEBUG) {
@@ -193,6 +254,25 @@ public class Core {
 		return this.idle;
 	}
 
+	/**
+	 * return true if a new task can be started on the core: it is idle or, in
+	 * processor sharing mode, it runs less than <code>maxTasks</code> tasks.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @return true if a new task can be started on the core.
+	 */
+	synchronized boolean canAcceptTask() {
+		return this.maxTasks == 1 ? this.idle : this.sharedTaskCount < this.maxTasks;
+	}
+
 	/**
 	 * return the current frequency of the core.
 	 * 
@@ -211,6 +291,25 @@ public class Core {
 		return this.currentFrequency;
 	}
 
+	/**
+	 * return the index of the current frequency of the core in the frequency
+	 * index shared with its processor.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return &gt;= 0
+	 * </pre>
+	 *
+	 * @return the index of the current frequency of the core.
+	 */
+	int getCurrentFrequencyIndex() {
+		return this.currentFrequencyIndex;
+	}
+
 	/**
 	 * modify the current frequency of the core, and therefore modify the duration
 	 * of the task currently executing if any, and if the delay until the end of the
@@ -222,7 +321,7 @@ public class Core {
 	 * 
 	 * <pre>
 	 * pre	newFrequency != this.currentFrequency
-	 * pre	this.admissibleFrequencies.contains(newFrequency)
+	 * pre	this.frequencies.contains(newFrequency)
 	 * post	true			// no postcondition.
 	 * </pre>
 	 *
@@ -230,15 +329,23 @@ public class Core {
 	 */
 	public void setFrequency(int newFrequency) throws Exception {
 		assert newFrequency != this.currentFrequency;
-		assert this.admissibleFrequencies.contains(newFrequency);
+		int newFrequencyIndex = this.frequencies.indexOf(newFrequency);
+		assert newFrequencyIndex >= 0;
 
 		if (debugLevel > 0) {
 			this.owner.logMessage("Core >> setCoreFrequency(" + newFrequency + ")");
 		}
 
+		if (this.maxTasks > 1) {
+			this.setSharedFrequency(newFrequency, newFrequencyIndex);
+			return;
+		}
+
 		boolean raising = (newFrequency > this.currentFrequency);
 		int oldFrequency = this.currentFrequency;
+		int oldFrequencyIndex = this.currentFrequencyIndex;
 		this.currentFrequency = newFrequency;
+		this.currentFrequencyIndex = newFrequencyIndex;
 
 		if (debugLevel > 0) {
 			this.owner.logMessage("Core >> setCoreFrequency\n" + "    oldFrequency = " + oldFrequency + "\n"
@@ -249,9 +356,9 @@ public class Core {
 			assert this.currentTask != null;
 			// recompute an ending time when changing the frequency and
 			// a task is running.
-			long currentTime = TimeManagement.currentTime();
+			long currentTime = TimeManagement.getClock(this.owner).currentTime();
 			long elapsedTime = currentTime - this.lastTaskReStartTime;
-			long executedInstructions = this.computeNumberOfInstructionsForTime(elapsedTime, oldFrequency);
+			long executedInstructions = this.computeNumberOfInstructionsForTime(elapsedTime, oldFrequencyIndex);
 
 			if (debugLevel > 1) {
 				this.owner.logMessage("Core >> setCoreFrequency 4\n" + "    numberOfInstructions = "
@@ -282,7 +389,7 @@ public class Core {
 
 				// reschedule an end of current task storing the future if
 				// another replanning occurs.
-				this.currentTaskEndFuture = this.owner.scheduleTask(new AbstractComponent.AbstractTask() {
+				this.currentTaskEndFuture = SimulationEngine.scheduleTask(this.owner, new AbstractComponent.AbstractTask() {
 					@Override
 					public void run() {
 						try {
@@ -291,7 +398,7 @@ public class Core {
 							throw new RuntimeException(e);
 						}
 					}
-				}, TimeManagement.acceleratedDelay(remainingTime), TimeUnit.MILLISECONDS);
+				}, remainingTime);
 			}
 		}
 	}
@@ -345,6 +452,10 @@ public class Core {
 	 * @param task task to be started.
 	 */
 	void startTask(TaskI task) {
+		if (this.maxTasks > 1) {
+			this.startSharedTask(task);
+			return;
+		}
 		assert this.isIdle();
 
 		this.idle = false;
@@ -356,7 +467,7 @@ public class Core {
 					"core " + this.coreNo + " of " + this.owner.processorURI + " starts a task for " + delay + " ms.");
 		}
 
-		this.lastTaskReStartTime = TimeManagement.currentTime();
+		this.lastTaskReStartTime = TimeManagement.getClock(this.owner).currentTime();
 		this.currentTaskProjectedTermination = this.lastTaskReStartTime + delay;
 
 		if (debugLevel > 1) {
@@ -367,7 +478,7 @@ public class Core {
 		// schedule the end of current task processing, storing the future to
 		// be able to cancel it when a change in the frequency of the core
 		// occurs.
-		this.currentTaskEndFuture = this.owner.scheduleTask(new AbstractComponent.AbstractTask() {
+		this.currentTaskEndFuture = SimulationEngine.scheduleTask(this.owner, new AbstractComponent.AbstractTask() {
 			@Override
 			public void run() {
 				try {
@@ -376,7 +487,141 @@ public class Core {
 					throw new RuntimeException(e);
 				}
 			}
-		}, TimeManagement.acceleratedDelay(delay), TimeUnit.MILLISECONDS);
+		}, delay);
+	}
+
+	// ------------------------------------------------------------------------
+	// Processor sharing mode
+	// ------------------------------------------------------------------------
+
+	/**
+	 * add a task to the tasks sharing the core and replan the next end of task.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	task != null and this.canAcceptTask()
+	 * post	!this.isIdle()
+	 * </pre>
+	 *
+	 * @param task task to be started.
+	 */
+	private synchronized void startSharedTask(TaskI task) {
+		assert task != null && this.sharedTaskCount < this.maxTasks;
+
+		this.updateRemainingInstructions(TimeManagement.getClock(this.owner).currentTime());
+		this.sharedTasks[this.sharedTaskCount] = task;
+		this.remainingInstructions[this.sharedTaskCount] = task.getRequest().getPredictedNumberOfInstructions();
+		this.sharedTaskCount++;
+		this.idle = false;
+
+		if (debugLevel > 1) {
+			this.owner.logMessage("core " + this.coreNo + " of " + this.owner.processorURI + " shares with "
+					+ this.sharedTaskCount + " tasks.");
+		}
+		this.planNextSharedTaskEnd();
+	}
+
+	/**
+	 * change the frequency, the remaining instructions being computed at the old
+	 * one up to now, and replan the next end of task.
+	 *
+	 * @param newFrequency      new frequency of the core.
+	 * @param newFrequencyIndex index of the new frequency.
+	 */
+	private synchronized void setSharedFrequency(int newFrequency, int newFrequencyIndex) {
+		this.updateRemainingInstructions(TimeManagement.getClock(this.owner).currentTime());
+		this.currentFrequency = newFrequency;
+		this.currentFrequencyIndex = newFrequencyIndex;
+		this.planNextSharedTaskEnd();
+	}
+
+	/**
+	 * end the tasks which executed all their instructions, replan the next end of
+	 * task and notify the processor of the ended tasks.
+	 */
+	private void endSharedTasks() throws Exception {
+		TaskI[] ended = new TaskI[this.maxTasks];
+		int endedCount = 0;
+
+		synchronized (this) {
+			this.updateRemainingInstructions(TimeManagement.getClock(this.owner).currentTime());
+
+			// less than a millisecond of work left is done: planned delays are in ms
+			long instructionsPerMs = this.frequencies.getPower(this.currentFrequencyIndex)
+					/ Math.max(1, this.sharedTaskCount);
+			int i = 0;
+			while (i < this.sharedTaskCount) {
+				if (this.remainingInstructions[i] <= instructionsPerMs) {
+					ended[endedCount++] = this.sharedTasks[i];
+					this.sharedTaskCount--;
+					this.sharedTasks[i] = this.sharedTasks[this.sharedTaskCount];
+					this.remainingInstructions[i] = this.remainingInstructions[this.sharedTaskCount];
+					this.sharedTasks[this.sharedTaskCount] = null;
+				} else {
+					i++;
+				}
+			}
+			this.idle = this.sharedTaskCount == 0;
+			this.planNextSharedTaskEnd();
+		}
+
+		for (int i = 0; i < endedCount; i++) {
+			if (debugLevel > 1) {
+				this.owner.logMessage("core " + this.coreNo + " of " + this.owner.processorURI + " ends the task "
+						+ ended[i].getTaskURI() + ".");
+			}
+			this.owner.endOfTask(ended[i]);
+		}
+	}
+
+	/**
+	 * subtract the instructions executed by each shared task since the last
+	 * update, each one getting an equal share of the processing power.
+	 *
+	 * @param now current time in ms.
+	 */
+	private void updateRemainingInstructions(long now) {
+		if (this.sharedTaskCount > 0 && now > this.lastSharingUpdateTime) {
+			long executed = this.computeNumberOfInstructionsForTime(now - this.lastSharingUpdateTime,
+					this.currentFrequencyIndex) / this.sharedTaskCount;
+			for (int i = 0; i < this.sharedTaskCount; i++) {
+				this.remainingInstructions[i] = Math.max(0, this.remainingInstructions[i] - executed);
+			}
+		}
+		this.lastSharingUpdateTime = now;
+	}
+
+	/**
+	 * cancel the planned end of task, if any, and plan the end of the shared task
+	 * with the fewest remaining instructions.
+	 */
+	private void planNextSharedTaskEnd() {
+		if (this.currentTaskEndFuture != null) {
+			this.currentTaskEndFuture.cancel(false);
+			this.currentTaskEndFuture = null;
+		}
+		if (this.sharedTaskCount == 0) return;
+
+		long fewest = this.remainingInstructions[0];
+		for (int i = 1; i < this.sharedTaskCount; i++) {
+			fewest = Math.min(fewest, this.remainingInstructions[i]);
+		}
+		// each of the n tasks runs at 1/n of the processing power
+		long delay = this.computeCurrentProcessingTime(Math.max(1, fewest) * this.sharedTaskCount);
+
+		this.currentTaskEndFuture = SimulationEngine.scheduleTask(this.owner, new AbstractComponent.AbstractTask() {
+			@Override
+			public void run() {
+				try {
+					((Processor) this.getOwner()).cores[coreNo].endSharedTasks();
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			}
+		}, delay);
 	}
 
 	/**
@@ -398,7 +643,7 @@ public class Core {
 	private long computeCurrentProcessingTime(long numberOfInstructions) {
 		assert numberOfInstructions > 0;
 
-		int ret = (int) (numberOfInstructions / this.owner.processingPower.get(this.currentFrequency));
+		int ret = (int) (numberOfInstructions / this.frequencies.getPower(this.currentFrequencyIndex));
 		return ret > 0 ? ret : 1;
 	}
 
@@ -411,17 +656,18 @@ public class Core {
 	 * </p>
 	 * 
 	 * <pre>
-	 * pre	time &gt; 0 and this.admissibleFrequency(frequency)
+	 * pre	time &gt; 0 and 0 &lt;= frequencyIndex &lt; this.frequencies.size()
 	 * post	return &gt;= 0
 	 * </pre>
 	 *
-	 * @param time      time given to execute (in milliseconds).
-	 * @param frequency frequency at which the core would execute (in MHz).
+	 * @param time           time given to execute (in milliseconds).
+	 * @param frequencyIndex index of the frequency at which the core would
+	 *                       execute.
 	 * @return number of instructions that can be executed.
 	 */
-	private long computeNumberOfInstructionsForTime(long time, int frequency) {
-		assert time > 0 && this.admissibleFrequencies.contains(frequency);
+	private long computeNumberOfInstructionsForTime(long time, int frequencyIndex) {
+		assert time > 0;
 
-		return time * this.owner.processingPower.get(frequency);
+		return time * this.frequencies.getPower(frequencyIndex);
 	}
 }
@@ -0,0 +1,200 @@
+package fr.sorbonne_u.datacenter.hardware.processors;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The class <code>FrequencyIndex</code> implements an immutable table of the
+ * admissible frequencies of cores and of their processing power.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ *
+ * The frequencies are kept sorted in an <code>int</code> array, with the
+ * processing power at each frequency in a parallel array. A frequency is
+ * designated by its index in the table, so getting its power and stepping to
+ * the next higher or lower frequency are array accesses, without boxing nor
+ * allocation; finding the index of a frequency is a binary search.
+ *
+ * The same index is shared by a computer, its processors and their cores.
+ *
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ *
+ * <pre>
+ * invariant	size() &gt; 0
+ * invariant	for all 0 &lt; i &lt; size(), getFrequency(i - 1) &lt; getFrequency(i)
+ * invariant	for all 0 &lt;= i &lt; size(), getPower(i) &gt; 0
+ * </pre>
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public final class FrequencyIndex {
+	// ------------------------------------------------------------------------
+	// Instance variables
+	// ------------------------------------------------------------------------
+
+	/** admissible frequencies in MHz, in increasing order. */
+	private final int[] frequencies;
+	/** number of instructions per ms at each frequency. */
+	private final int[] power;
+
+	// ------------------------------------------------------------------------
+	// Constructors
+	// ------------------------------------------------------------------------
+
+	/**
+	 * create the index of the given admissible frequencies.
+	 *
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 *
+	 * <pre>
+	 * pre	admissibleFrequencies != null and !admissibleFrequencies.isEmpty()
+	 * pre	processingPower != null and processingPower.keySet().containsAll(admissibleFrequencies)
+	 * pre	for all f in admissibleFrequencies, f &gt; 0 and processingPower.get(f) &gt; 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param admissibleFrequencies admissible frequencies in MHz.
+	 * @param processingPower       Mips for the admissible frequencies.
+	 */
+	public FrequencyIndex(Set<Integer> admissibleFrequencies, Map<Integer, Integer> processingPower) {
+		assert admissibleFrequencies != null && !admissibleFrequencies.isEmpty();
+		assert processingPower != null && processingPower.keySet().containsAll(admissibleFrequencies);
+
+		this.frequencies = new int[admissibleFrequencies.size()];
+		int i = 0;
+		for (int f : admissibleFrequencies) {
+			assert f > 0;
+			this.frequencies[i++] = f;
+		}
+		Arrays.sort(this.frequencies);
+
+		this.power = new int[this.frequencies.length];
+		for (i = 0; i < this.frequencies.length; i++) {
+			this.power[i] = processingPower.get(this.frequencies[i]);
+			assert this.power[i] > 0;
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	// Methods
+	// ------------------------------------------------------------------------
+
+	/**
+	 *
+	 * @return the number of admissible frequencies.
+	 */
+	public int size() {
+		return this.frequencies.length;
+	}
+
+	/**
+	 * return the index of a frequency, or a negative value if it is not
+	 * admissible.
+	 *
+	 * @param frequency frequency in MHz.
+	 * @return the index of the frequency, or a negative value.
+	 */
+	public int indexOf(int frequency) {
+		int index = Arrays.binarySearch(this.frequencies, frequency);
+		return index >= 0 ? index : -1;
+	}
+
+	/**
+	 *
+	 * @param frequency frequency in MHz.
+	 * @return true if the frequency is admissible.
+	 */
+	public boolean contains(int frequency) {
+		return this.indexOf(frequency) >= 0;
+	}
+
+	/**
+	 *
+	 * @param index index of a frequency.
+	 * @return the frequency in MHz at this index.
+	 */
+	public int getFrequency(int index) {
+		assert index >= 0 && index < this.frequencies.length;
+		return this.frequencies[index];
+	}
+
+	/**
+	 *
+	 * @param index index of a frequency.
+	 * @return the number of instructions per ms at the frequency at this index.
+	 */
+	public int getPower(int index) {
+		assert index >= 0 && index < this.power.length;
+		return this.power[index];
+	}
+
+	/**
+	 *
+	 * @param index index of a frequency.
+	 * @return the index of the next higher frequency, or -1 at the highest one.
+	 */
+	public int higher(int index) {
+		assert index >= 0 && index < this.frequencies.length;
+		return index + 1 < this.frequencies.length ? index + 1 : -1;
+	}
+
+	/**
+	 *
+	 * @param index index of a frequency.
+	 * @return the index of the next lower frequency, or -1 at the lowest one.
+	 */
+	public int lower(int index) {
+		assert index >= 0 && index < this.frequencies.length;
+		return index - 1;
+	}
+
+	/**
+	 *
+	 * @return the lowest admissible frequency in MHz.
+	 */
+	public int getMinFrequency() {
+		return this.frequencies[0];
+	}
+
+	/**
+	 *
+	 * @return the highest admissible frequency in MHz.
+	 */
+	public int getMaxFrequency() {
+		return this.frequencies[this.frequencies.length - 1];
+	}
+
+	/**
+	 *
+	 * @return a new set of the admissible frequencies.
+	 */
+	public Set<Integer> toFrequencySet() {
+		Set<Integer> ret = new HashSet<>(this.frequencies.length);
+		for (int f : this.frequencies) {
+			ret.add(f);
+		}
+		return ret;
+	}
+
+	/**
+	 *
+	 * @return a new map from the admissible frequencies to their power.
+	 */
+	public Map<Integer, Integer> toProcessingPowerMap() {
+		Map<Integer, Integer> ret = new HashMap<>(this.frequencies.length);
+		for (int i = 0; i < this.frequencies.length; i++) {
+			ret.put(this.frequencies[i], this.power[i]);
+		}
+		return ret;
+	}
+}
@@ -1,11 +1,10 @@
 package fr.sorbonne_u.datacenter.hardware.processors;
 
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.interfaces.DataOfferedI;
@@ -25,6 +24,7 @@ import fr.sorbonne_u.datacenter.hardware.processors.ports.ProcessorServicesNotif
 import fr.sorbonne_u.datacenter.hardware.processors.ports.ProcessorStaticStateDataInboundPort;
 import fr.sorbonne_u.datacenter.interfaces.ControlledDataOfferedI;
 import fr.sorbonne_u.datacenter.interfaces.PushModeControllingI;
+import fr.sorbonne_u.datacenter.simulation.SimulationEngine;
 import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskI;
 
 /**
@@ -56,6 +56,14 @@ import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskI;
  * duration is computed, and a new <code>endCurrentTask</code> execution is
  * scheduled accordingly.
  * 
+ * The end of a task is notified through an outbound port connected to the
+ * notification inbound port given with the task. These ports are kept in a
+ * pool keyed by inbound port URI and reused for the following tasks; a port
+ * not used for <code>NOTIFICATION_PORT_IDLE_TIME</code> ms is disconnected
+ * and destroyed. The pool can be turned off with
+ * <code>setNotificationPortPooling</code>, each end of task then creating and
+ * destroying its own port.
+ * 
  * Processors can also be introspected through a port
  * <code>ProcessorIntrospectionInboundPort</code> implementing the interface
  * <code>ProcessorIntrospectionI</code> that allows clients to know what are the
@@ -73,9 +81,7 @@ import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskI;
  * 
  * <pre>
  * invariant		processorURI != null
- * invariant		admissibleFrequencies != null and for all i in admissibleFrequencies, i &gt; 0
- * invariant		processingPower != null and for all i in processingPower.values(), i &gt; 0
- * invariant		admissibleFrequencies.contains(defaultFrequency)
+ * invariant		frequencies != null and frequencies.contains(defaultFrequency)
  * invariant		maxFrequencyGap &gt;= 0 and for all i in possibleFrequencies, maxFrequencyGap &lt;= i
  * invariant		numberOfCores &gt; 0
  * invariant		servicesInboundPortURI != null
@@ -117,17 +123,22 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 
 	private ProcessorDynamicStateDataInboundPort processorDynamicStateDataInboundPort;
 	private ProcessorStaticStateDataInboundPort processorStaticStateDataInboundPort;
-	/** Possible frequencies in MHz. */
-	private final Set<Integer> admissibleFrequencies;
+	/**
+	 * Possible frequencies in MHz and processing power of the cores in number
+	 * of instructions that they can execute at each of them, shared with the
+	 * cores.
+	 */
+	protected final FrequencyIndex frequencies;
 	/** Default frequency of the cores, when powering up the processor. */
 	private final int defaultFrequency;
 	/** Maximum gap between the current frequencies of the cores. */
 	private final int maxFrequencyGap;
-	/**
-	 * Map providing the processing power of the cores in number of instructions
-	 * that they can execute at each of their admissible frequencies in MHz.
-	 */
-	protected final HashMap<Integer, Integer> processingPower;
+	/** Number of cores currently running at each frequency index. */
+	private final int[] coresPerFrequency;
+	/** Index of the lowest current frequency among the cores. */
+	private int minFrequencyIndex;
+	/** Index of the highest current frequency among the cores. */
+	private int maxFrequencyIndex;
 	/** Future of the dynamic data pushing task. */
 	private ScheduledFuture<?> pushingFuture;
 	/**
@@ -135,6 +146,20 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 	 */
 	private Map<TaskI, String> notificationInboundPortURIs;
 
+	/** Time in ms after which an unused notification outbound port is destroyed. */
+	public static final long NOTIFICATION_PORT_IDLE_TIME = 30000;
+	/**
+	 * Pool of connected notification outbound ports, by URI of the inbound port
+	 * they are connected to; synchronized on itself.
+	 */
+	private Map<String, ProcessorServicesNotificationOutboundPort> notificationOutboundPorts;
+	/** Last time in ms each pooled notification outbound port was used. */
+	private Map<String, Long> notificationPortsLastUse;
+	/** Future of the task destroying unused notification outbound ports. */
+	private ScheduledFuture<?> notificationPortsEvictionFuture;
+	/** true if the notification outbound ports are pooled, false if one is created per task. */
+	private volatile boolean notificationPortPooling = true;
+
 	// ------------------------------------------------------------------------
 	// Component constructor
 	// ------------------------------------------------------------------------
@@ -191,6 +216,60 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 			String introspectionInboundPortURI, String managementInboundPortURI,
 			String processorStaticStateDataInboundPortURI, String processorDynamicStateDataInboundPortURI)
 			throws Exception {
+		this(processorURI, new FrequencyIndex(admissibleFrequencies, processingPower), defaultFrequency,
+				maxFrequencyGap, numberOfCores, 1,
+				servicesInboundPortURI, introspectionInboundPortURI, managementInboundPortURI,
+				processorStaticStateDataInboundPortURI, processorDynamicStateDataInboundPortURI);
+	}
+
+	/**
+	 * create a processor component which cores can each be shared by up to
+	 * <code>maxTasksPerCore</code> tasks in processor sharing mode, and which
+	 * frequencies are given by an index shared with its computer.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	frequencies != null and frequencies.contains(defaultFrequency)
+	 * pre	maxFrequencyGap &gt;= 0 and maxFrequencyGap &lt;= frequencies.getMaxFrequency()
+	 * pre	maxTasksPerCore &gt; 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param processorURI                            URI of the processor
+	 *                                                component.
+	 * @param frequencies                             admissible frequencies for
+	 *                                                cores and their processing
+	 *                                                power.
+	 * @param defaultFrequency                        default frequency at which the
+	 *                                                cores run.
+	 * @param maxFrequencyGap                         max frequency gap among cores
+	 *                                                of the same processor.
+	 * @param numberOfCores                           number of cores of the
+	 *                                                processor.
+	 * @param maxTasksPerCore                         maximum number of tasks
+	 *                                                sharing a core, 1 to run
+	 *                                                tasks to completion.
+	 * @param servicesInboundPortURI                  URI of the service inbound
+	 *                                                port of the processor.
+	 * @param introspectionInboundPortURI             URI of the introspection
+	 *                                                inbound port of the processor.
+	 * @param managementInboundPortURI                URI of the management inbound
+	 *                                                port of the processor.
+	 * @param processorStaticStateDataInboundPortURI  URI of the static state
+	 *                                                notification inbound port of
+	 *                                                the processor.
+	 * @param processorDynamicStateDataInboundPortURI URI of the dynamic state
+	 *                                                notification inbound port of
+	 *                                                the processor.
+	 */
+	public Processor(String processorURI, FrequencyIndex frequencies, int defaultFrequency, int maxFrequencyGap,
+			int numberOfCores, int maxTasksPerCore,
+			String servicesInboundPortURI, String introspectionInboundPortURI, String managementInboundPortURI,
+			String processorStaticStateDataInboundPortURI, String processorDynamicStateDataInboundPortURI)
+			throws Exception {
 
 		// The normal thread pool is used to process component services, while
 		// the scheduled one is used to schedule the pushes of dynamic state
@@ -198,36 +277,25 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 		super(1, 1);
 
 		// Preconditions
-		boolean allPositive = true;
-		for (int f : admissibleFrequencies) {
-			allPositive = allPositive && (f > 0);
-		}
-		assert allPositive;
-		assert admissibleFrequencies.contains(defaultFrequency);
-		int max = -1;
-		for (int f : admissibleFrequencies) {
-			if (max < f) {
-				max = f;
-			}
-		}
-		assert maxFrequencyGap <= max;
-		assert processingPower.keySet().containsAll(admissibleFrequencies);
+		assert frequencies != null;
+		assert frequencies.contains(defaultFrequency);
+		assert maxFrequencyGap <= frequencies.getMaxFrequency();
 		assert numberOfCores > 0;
+		assert maxTasksPerCore > 0;
 
 		this.processorURI = processorURI;
-		this.admissibleFrequencies = new HashSet<>(admissibleFrequencies.size());
-		this.admissibleFrequencies.addAll(admissibleFrequencies);
-		this.processingPower = new HashMap<>(this.admissibleFrequencies.size());
-		for (int f : processingPower.keySet()) {
-			this.processingPower.put(f, processingPower.get(f));
-		}
+		this.frequencies = frequencies;
 		this.defaultFrequency = defaultFrequency;
 		this.maxFrequencyGap = maxFrequencyGap;
 
 		this.cores = new Core[numberOfCores];
 		for (int i = 0; i < numberOfCores; i++) {
-			this.cores[i] = new Core(this, i, admissibleFrequencies, processingPower, defaultFrequency);
+			this.cores[i] = new Core(this, i, frequencies, defaultFrequency, maxTasksPerCore);
 		}
+		this.coresPerFrequency = new int[frequencies.size()];
+		this.minFrequencyIndex = frequencies.indexOf(defaultFrequency);
+		this.maxFrequencyIndex = this.minFrequencyIndex;
+		this.coresPerFrequency[this.minFrequencyIndex] = numberOfCores;
 
 		this.addRequiredInterface(ProcessorServicesNotificationI.class);
 
@@ -261,6 +329,9 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 
 		this.pushingFuture = null;
 		this.notificationInboundPortURIs = new HashMap<>();
+		this.notificationOutboundPorts = new HashMap<>();
+		this.notificationPortsLastUse = new HashMap<>();
+		this.notificationPortsEvictionFuture = null;
 
 		this.tracer.setTitle(processorURI);
 		this.tracer.setRelativePosition(0,3);
@@ -281,6 +352,15 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 		if (this.processorDynamicStateDataInboundPort.connected()) {
 			this.processorDynamicStateDataInboundPort.doDisconnection();
 		}
+		synchronized (this.notificationOutboundPorts) {
+			if (this.notificationPortsEvictionFuture != null) {
+				this.notificationPortsEvictionFuture.cancel(false);
+				this.notificationPortsEvictionFuture = null;
+			}
+			for (ProcessorServicesNotificationOutboundPort p : this.notificationOutboundPorts.values()) {
+				if (p.connected()) this.doPortDisconnection(p.getPortURI());
+			}
+		}
 
 		super.finalise();
 	}
@@ -296,6 +376,13 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 			this.processorManagementInboundPort.unpublishPort();
 			this.processorStaticStateDataInboundPort.unpublishPort();
 			this.processorDynamicStateDataInboundPort.unpublishPort();
+			synchronized (this.notificationOutboundPorts) {
+				for (ProcessorServicesNotificationOutboundPort p : this.notificationOutboundPorts.values()) {
+					if (p.isPublished()) p.unpublishPort();
+				}
+				this.notificationOutboundPorts.clear();
+				this.notificationPortsLastUse.clear();
+			}
 		} catch (Exception e) {
 			throw new ComponentShutdownException("processor ports unpublishing error.", e);
 		}
@@ -399,7 +486,7 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 	 * @return true if frequency is admissible for cores.
 	 */
 	public boolean isAdmissibleFrequency(int frequency) throws Exception {
-		return this.admissibleFrequencies.contains(frequency);
+		return this.frequencies.contains(frequency);
 	}
 
 	/**
@@ -423,13 +510,42 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 		assert this.isValidCoreNo(coreNo);
 		assert this.isAdmissibleFrequency(frequency);
 
-		boolean ret = true;
-		for (int i = 0; i < this.cores.length; i++) {
-			if (i != coreNo && Math.abs(frequency - this.cores[i].getCurrentFrequency()) > this.maxFrequencyGap) {
-				ret = false;
-			}
+		return this.isWithinGapOfCounted(frequency, this.cores[coreNo].getCurrentFrequencyIndex());
+	}
+
+	/**
+	 * return true if frequency is within the maximum gap of the frequencies of
+	 * all the cores counted in <code>coresPerFrequency</code>, one core at
+	 * <code>excludedIndex</code> being left out.
+	 * 
+	 * <p>
+	 * <strong>Description</strong>
+	 * </p>
+	 * 
+	 * The lowest and highest counted frequencies are found from the kept min and
+	 * max indexes, moving past the frequencies which cores are left out, so the
+	 * cost does not depend on the number of cores.
+	 *
+	 * @param frequency     frequency to be tested.
+	 * @param excludedIndex frequency index of a core to leave out, or -1.
+	 * @return true if frequency is within the gap of all the counted cores.
+	 */
+	private boolean isWithinGapOfCounted(int frequency, int excludedIndex) {
+		int low = this.minFrequencyIndex;
+		while (low <= this.maxFrequencyIndex
+				&& this.coresPerFrequency[low] - (low == excludedIndex ? 1 : 0) == 0) {
+			low++;
+		}
+		if (low > this.maxFrequencyIndex) {
+			// no other core to keep within the gap
+			return true;
+		}
+		int high = this.maxFrequencyIndex;
+		while (this.coresPerFrequency[high] - (high == excludedIndex ? 1 : 0) == 0) {
+			high--;
 		}
-		return ret;
+		return frequency - this.frequencies.getFrequency(low) <= this.maxFrequencyGap
+				&& this.frequencies.getFrequency(high) - frequency <= this.maxFrequencyGap;
 	}
 
 	// ------------------------------------------------------------------------
@@ -453,7 +569,7 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 	 */
 	public ProcessorStaticStateI getStaticState() throws Exception {
 		return new ProcessorStaticState(this.getNumberOfCores(), this.defaultFrequency, this.maxFrequencyGap,
-				this.admissibleFrequencies, this.processingPower);
+				this.frequencies.toFrequencySet(), this.frequencies.toProcessingPowerMap());
 	}
 
 	/**
@@ -552,7 +668,7 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 		this.sendDynamicState();
 		final int fNumberOfRemainingPushes = numberOfRemainingPushes - 1;
 		if (fNumberOfRemainingPushes > 0) {
-			this.pushingFuture = this.scheduleTask(new AbstractComponent.AbstractTask() {
+			this.pushingFuture = SimulationEngine.scheduleTask(this, new AbstractComponent.AbstractTask() {
 				@Override
 				public void run() {
 					try {
@@ -561,7 +677,7 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 						throw new RuntimeException(e);
 					}
 				}
-			}, TimeManagement.acceleratedDelay(interval), TimeUnit.MILLISECONDS);
+			}, interval);
 		}
 	}
 
@@ -574,7 +690,7 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 		this.sendStaticState();
 
 		// schedule the first dynamic data push
-		this.pushingFuture = this.scheduleTaskAtFixedRate(new AbstractComponent.AbstractTask() {
+		this.pushingFuture = SimulationEngine.scheduleTaskAtFixedRate(this, new AbstractComponent.AbstractTask() {
 			@Override
 			public void run() {
 				try {
@@ -583,7 +699,7 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 					throw new RuntimeException(e);
 				}
 			}
-		}, TimeManagement.acceleratedDelay(interval), TimeManagement.acceleratedDelay(interval), TimeUnit.MILLISECONDS);
+		}, interval, interval);
 	}
 
 	/**
@@ -602,7 +718,7 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 		this.sendStaticState();
 
 		// schedule the first dynamic data push
-		this.pushingFuture = this.scheduleTask(new AbstractComponent.AbstractTask() {
+		this.pushingFuture = SimulationEngine.scheduleTask(this, new AbstractComponent.AbstractTask() {
 			@Override
 			public void run() {
 				try {
@@ -611,7 +727,7 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 					throw new RuntimeException(e);
 				}
 			}
-		}, TimeManagement.acceleratedDelay(interval), TimeUnit.MILLISECONDS);
+		}, interval);
 
 	}
 
@@ -639,7 +755,7 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 	 * 
 	 * <pre>
 	 * pre	task != null
-	 * pre	this.isValidCoreNo(coreNo) and this.cores[coreNo].isIdle()
+	 * pre	this.isValidCoreNo(coreNo) and this.cores[coreNo].canAcceptTask()
 	 * post	!this.cores[coreNo].isIdle()
 	 * </pre>
 	 *
@@ -648,7 +764,7 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 	 */
 	public void executeTaskOnCore(TaskI task, int coreNo) throws Exception {
 		assert this.isValidCoreNo(coreNo);
-		assert this.cores[coreNo].isIdle();
+		assert this.cores[coreNo].canAcceptTask();
 
 		if (debugLevel > 1) {
 			this.logMessage("processor execute task on core " + coreNo);
@@ -669,7 +785,7 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 	 * 
 	 * <pre>
 	 * pre	task != null and notificationPortURI != null
-	 * pre	this.isValidCoreNo(coreNo) and this.cores[coreNo].isIdle()
+	 * pre	this.isValidCoreNo(coreNo) and this.cores[coreNo].canAcceptTask()
 	 * post	!this.cores[coreNo].isIdle()
 	 * </pre>
 	 *
@@ -682,7 +798,7 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 	public void executeTaskOnCoreAndNotify(TaskI task, int coreNo, String notificationInboundPortURI) throws Exception {
 		assert task != null;
 		assert this.isValidCoreNo(coreNo);
-		assert this.cores[coreNo].isIdle();
+		assert this.cores[coreNo].canAcceptTask();
 
 		if (debugLevel > 1) {
 			this.logMessage("processor execute task " + task.getTaskURI() + " on core " + coreNo
@@ -716,7 +832,7 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 					+ notificationInboundPortURI);
 		}
 
-		if (notificationInboundPortURI != null) {
+		if (notificationInboundPortURI != null && !this.notificationPortPooling) {
 			try {
 				ProcessorServicesNotificationOutboundPort p = new ProcessorServicesNotificationOutboundPort(this);
 				this.addPort(p);
@@ -732,6 +848,125 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 						+ " unpublish notification outbound port in endTask (" + e.getMessage() + ").");
 				throw e;
 			}
+		} else if (notificationInboundPortURI != null) {
+			try {
+				this.getNotificationOutboundPort(notificationInboundPortURI).notifyEndOfTask(t);
+			} catch (Exception e) {
+				this.logMessage("Processor " + this.processorURI + " could not create, publish, connect or"
+						+ " notify through notification outbound port in endTask (" + e.getMessage() + ").");
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * turn the pool of notification outbound ports on or off; when it is off,
+	 * each end of task creates, publishes, connects then destroys its own
+	 * outbound port, and the pooled ports are kept until they are evicted.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param pooling true to reuse the notification outbound ports.
+	 */
+	public void setNotificationPortPooling(boolean pooling) {
+		this.notificationPortPooling = pooling;
+	}
+
+	/**
+	 * return the pooled outbound port connected to the given notification
+	 * inbound port, creating, publishing and connecting it on first use.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	notificationInboundPortURI != null
+	 * post	return != null and return.connected()
+	 * </pre>
+	 *
+	 * @param notificationInboundPortURI URI of the inbound port to notify.
+	 * @return the outbound port connected to this inbound port.
+	 */
+	private ProcessorServicesNotificationOutboundPort getNotificationOutboundPort(String notificationInboundPortURI)
+			throws Exception {
+		synchronized (this.notificationOutboundPorts) {
+			ProcessorServicesNotificationOutboundPort p = this.notificationOutboundPorts.get(notificationInboundPortURI);
+
+			if (p == null) {
+				p = new ProcessorServicesNotificationOutboundPort(this);
+				this.addPort(p);
+				p.publishPort();
+				this.doPortConnection(p.getPortURI(), notificationInboundPortURI,
+						ProcessorServicesNotificationConnector.class.getCanonicalName());
+				this.notificationOutboundPorts.put(notificationInboundPortURI, p);
+
+				if (this.notificationPortsEvictionFuture == null) {
+					this.notificationPortsEvictionFuture = SimulationEngine.scheduleTaskAtFixedRate(this, new AbstractComponent.AbstractTask() {
+							@Override
+							public void run() {
+								try {
+									((Processor) this.getOwner()).evictIdleNotificationOutboundPorts();
+								} catch (Exception e) {
+									throw new RuntimeException(e);
+								}
+							}
+						},
+						NOTIFICATION_PORT_IDLE_TIME, NOTIFICATION_PORT_IDLE_TIME);
+				}
+			}
+
+			this.notificationPortsLastUse.put(notificationInboundPortURI, TimeManagement.getClock(this).currentTime());
+			return p;
+		}
+	}
+
+	/**
+	 * disconnect and destroy the pooled notification outbound ports not used
+	 * for <code>NOTIFICATION_PORT_IDLE_TIME</code> ms, and stop the eviction
+	 * task when the pool is empty.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	true			// no postcondition.
+	 * </pre>
+	 */
+	private void evictIdleNotificationOutboundPorts() throws Exception {
+		synchronized (this.notificationOutboundPorts) {
+			long now = TimeManagement.getClock(this).currentTime();
+			Iterator<Map.Entry<String, ProcessorServicesNotificationOutboundPort>> it =
+					this.notificationOutboundPorts.entrySet().iterator();
+
+			while (it.hasNext()) {
+				Map.Entry<String, ProcessorServicesNotificationOutboundPort> entry = it.next();
+				if (now - this.notificationPortsLastUse.get(entry.getKey()) < NOTIFICATION_PORT_IDLE_TIME) continue;
+
+				// a task may still run for this inbound port: keep the port until it ends
+				if (this.notificationInboundPortURIs.containsValue(entry.getKey())) continue;
+
+				ProcessorServicesNotificationOutboundPort p = entry.getValue();
+				this.doPortDisconnection(p.getPortURI());
+				p.unpublishPort();
+				p.destroyPort();
+				this.notificationPortsLastUse.remove(entry.getKey());
+				it.remove();
+			}
+
+			if (this.notificationOutboundPorts.isEmpty() && this.notificationPortsEvictionFuture != null) {
+				this.notificationPortsEvictionFuture.cancel(false);
+				this.notificationPortsEvictionFuture = null;
+			}
 		}
 	}
 
@@ -771,10 +1006,93 @@ public class Processor extends AbstractComponent implements PushModeControllingI
 			throw new UnacceptableFrequencyException(frequency);
 		}
 
+		this.changeCoreFrequency(coreNo, frequency);
+	}
+
+	/**
+	 * set a new frequency for a set of cores on this processor, the gap
+	 * constraint being checked once between the new frequency and the cores not
+	 * in the set; exceptions are raised if the frequency is not admissible for
+	 * this processor or not currently possible for the set of cores, in which
+	 * case no core is modified.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	coreNos != null and for all i in coreNos, this.isValidCoreNo(i)
+	 * pre	coreNos contains no duplicates
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param coreNos   numbers of the cores to be modified.
+	 * @param frequency new frequency for the given cores.
+	 */
+	public void setCoreFrequencies(int[] coreNos, int frequency)
+			throws UnavailableFrequencyException, UnacceptableFrequencyException, Exception {
+		assert coreNos != null;
+
+		if (debugLevel > 0) {
+			this.logMessage("Processor >> setCoreFrequencies(" + coreNos.length + " cores, " + frequency + ")");
+		}
+
+		if (!this.isAdmissibleFrequency(frequency)) {
+			throw new UnavailableFrequencyException(frequency);
+		}
+
+		for (int coreNo : coreNos) {
+			assert this.isValidCoreNo(coreNo);
+			this.coresPerFrequency[this.cores[coreNo].getCurrentFrequencyIndex()]--;
+		}
+		boolean possible = this.isWithinGapOfCounted(frequency, -1);
+		for (int coreNo : coreNos) {
+			this.coresPerFrequency[this.cores[coreNo].getCurrentFrequencyIndex()]++;
+		}
+		if (!possible) {
+			throw new UnacceptableFrequencyException(frequency);
+		}
+
+		for (int coreNo : coreNos) {
+			if (this.cores[coreNo].getCurrentFrequency() != frequency) {
+				this.changeCoreFrequency(coreNo, frequency);
+			}
+		}
+	}
+
+	/**
+	 * set the frequency of a core and update the count of cores per frequency
+	 * and the min and max frequency indexes.
+	 *
+	 * @param coreNo    number of the core to be modified.
+	 * @param frequency new admissible frequency for the core.
+	 */
+	private void changeCoreFrequency(int coreNo, int frequency) throws Exception {
+		int oldIndex = this.cores[coreNo].getCurrentFrequencyIndex();
 		this.cores[coreNo].setFrequency(frequency);
+		int newIndex = this.cores[coreNo].getCurrentFrequencyIndex();
+
+		this.coresPerFrequency[oldIndex]--;
+		this.coresPerFrequency[newIndex]++;
+		this.minFrequencyIndex = Math.min(this.minFrequencyIndex, newIndex);
+		this.maxFrequencyIndex = Math.max(this.maxFrequencyIndex, newIndex);
+		while (this.coresPerFrequency[this.minFrequencyIndex] == 0) {
+			this.minFrequencyIndex++;
+		}
+		while (this.coresPerFrequency[this.maxFrequencyIndex] == 0) {
+			this.maxFrequencyIndex--;
+		}
 	}
 
 	public int getCoreFrequency (int coreNo) {
 		return this.cores[coreNo].getCurrentFrequency();
 	}
+
+	public int getCoreFrequencyIndex (int coreNo) {
+		return this.cores[coreNo].getCurrentFrequencyIndex();
+	}
+
+	public FrequencyIndex getFrequencyIndex () {
+		return this.frequencies;
+	}
 }
@@ -47,4 +47,19 @@ public class ProcessorManagementConnector extends AbstractConnector implements P
 
 		((ProcessorManagementI) this.offering).setCoreFrequency(coreNo, frequency);
 	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.hardware.processors.interfaces.ProcessorManagementI#setCoreFrequencies(int[],
+	 *      int)
+	 */
+	@Override
+	public void setCoreFrequencies(final int[] coreNos, final int frequency)
+			throws UnavailableFrequencyException, UnacceptableFrequencyException, Exception {
+		if (AbstractCVM.DEBUG_MODE.contains(CVMDebugModes.CALLING)) {
+			System.out.println("ProcessorManagementConnector>>setCoreFrequencies(" + coreNos.length + " cores, "
+					+ frequency + ")");
+		}
+
+		((ProcessorManagementI) this.offering).setCoreFrequencies(coreNos, frequency);
+	}
 }
@@ -16,7 +16,8 @@ import fr.sorbonne_u.datacenter.hardware.processors.UnavailableFrequencyExceptio
  * 
  * The method <code>setCoreFrequency</code> changes the frequency of a given
  * core if the new frequency is admissible and currently possible, otherwise it
- * raises exceptions.
+ * raises exceptions. The method <code>setCoreFrequencies</code> does the same
+ * for a set of cores, checking the frequency gap once for the whole set.
  * 
  * <p>
  * <strong>Invariant</strong>
@@ -52,4 +53,24 @@ public interface ProcessorManagementI extends OfferedI, RequiredI {
 	 */
 	void setCoreFrequency(final int coreNo, final int frequency)
 			throws UnavailableFrequencyException, UnacceptableFrequencyException, Exception;
+
+	/**
+	 * set a new frequency for a set of cores on this processor; exceptions are
+	 * raised, and no core is modified, if the required frequency is not
+	 * admissible for this processor or not currently possible for the set.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	coreNos != null and for all i in coreNos, this.isValidCoreNo(i)
+	 * post	true // no postcondition.
+	 * </pre>
+	 *
+	 * @param coreNos numbers of the cores to be modified.
+	 * @param frequency new frequency for the given cores.
+	 */
+	void setCoreFrequencies(final int[] coreNos, final int frequency)
+			throws UnavailableFrequencyException, UnacceptableFrequencyException, Exception;
 }
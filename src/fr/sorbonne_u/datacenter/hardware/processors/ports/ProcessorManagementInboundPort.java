@@ -70,4 +70,25 @@ public class ProcessorManagementInboundPort extends AbstractInboundPort implemen
 			}
 		});
 	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.hardware.processors.interfaces.ProcessorManagementI#setCoreFrequencies(int[],
+	 *      int)
+	 */
+	@Override
+	public void setCoreFrequencies(final int[] coreNos, final int frequency)
+			throws UnavailableFrequencyException, UnacceptableFrequencyException, Exception {
+		if (AbstractCVM.DEBUG_MODE.contains(CVMDebugModes.CALLING)) {
+			System.out.println("ProcessorManagementInboundPort>>setCoreFrequencies(" + coreNos.length + " cores, "
+					+ frequency + ")");
+		}
+
+		this.getOwner().handleRequestAsync(new AbstractComponent.AbstractService<Void>() {
+			@Override
+			public Void call() throws Exception {
+				((Processor) this.getOwner()).setCoreFrequencies(coreNos, frequency);
+				return null;
+			}
+		});
+	}
 }
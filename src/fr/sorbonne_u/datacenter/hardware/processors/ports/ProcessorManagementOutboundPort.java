@@ -62,4 +62,19 @@ public class ProcessorManagementOutboundPort extends AbstractOutboundPort implem
 
 		((ProcessorManagementI) this.connector).setCoreFrequency(coreNo, frequency);
 	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.hardware.processors.interfaces.ProcessorManagementI#setCoreFrequencies(int[],
+	 *      int)
+	 */
+	@Override
+	public void setCoreFrequencies(final int[] coreNos, final int frequency)
+			throws UnavailableFrequencyException, UnacceptableFrequencyException, Exception {
+		if (AbstractCVM.DEBUG_MODE.contains(CVMDebugModes.CALLING)) {
+			System.out.println("ProcessorManagementOutboundPort>>setCoreFrequencies(" + coreNos.length + " cores, "
+					+ frequency + ")");
+		}
+
+		((ProcessorManagementI) this.connector).setCoreFrequencies(coreNos, frequency);
+	}
 }
@@ -0,0 +1,111 @@
+package fr.sorbonne_u.datacenter.hardware.tests;
+
+import fr.sorbonne_u.datacenter.hardware.computers.utils.CoreAllocationMap;
+
+/**
+ * The class <code>BenchCoreAllocation</code> measures the cost of allocating
+ * and releasing cores on a computer with 64 processors of 64 cores, with the
+ * bitmask <code>CoreAllocationMap</code> and with the former scan of a boolean
+ * matrix from the first core for each allocated core.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ *
+ * Half of the cores are first reserved, one out of two, to fragment the
+ * computer; each round then allocates and releases blocks of 8 cores until
+ * the computer is full. No component is deployed.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class BenchCoreAllocation {
+
+	private static final int PROCESSORS = 64;
+	private static final int CORES = 64;
+	private static final int BLOCK = 8;
+	private static final int WARMUP_ROUNDS = 200;
+	private static final int ROUNDS = 1000;
+
+	public static void main(String[] args) {
+		System.out.println(PROCESSORS + " processors x " + CORES + " cores, blocks of " + BLOCK + " cores");
+
+		benchBitmask(WARMUP_ROUNDS);
+		long start = System.nanoTime();
+		long allocated = benchBitmask(ROUNDS);
+		report("bitmask", allocated, System.nanoTime() - start);
+
+		benchScan(WARMUP_ROUNDS);
+		start = System.nanoTime();
+		allocated = benchScan(ROUNDS);
+		report("boolean scan", allocated, System.nanoTime() - start);
+	}
+
+	private static void report(String name, long allocated, long elapsed) {
+		System.out.println(name + " : " + allocated + " cores allocated and released, "
+				+ (elapsed / Math.max(1, allocated)) + " ns per core");
+	}
+
+	private static long benchBitmask(int rounds) {
+		CoreAllocationMap map = new CoreAllocationMap(PROCESSORS, CORES);
+		for (int p = 0; p < PROCESSORS; p++) {
+			for (int c = 0; c < CORES; c += 2) {
+				map.reserve(p, c);
+			}
+		}
+
+		int blocks = PROCESSORS * CORES / 2 / BLOCK;
+		int[][] processorNos = new int[blocks][BLOCK];
+		int[][] coreNos = new int[blocks][BLOCK];
+		int[] counts = new int[blocks];
+		long allocated = 0;
+		for (int r = 0; r < rounds; r++) {
+			for (int b = 0; b < blocks; b++) {
+				counts[b] = map.allocate(BLOCK, processorNos[b], coreNos[b]);
+				allocated += counts[b];
+			}
+			for (int b = 0; b < blocks; b++) {
+				map.releaseAll(counts[b], processorNos[b], coreNos[b]);
+			}
+		}
+		return allocated;
+	}
+
+	private static long benchScan(int rounds) {
+		boolean[][] reserved = new boolean[PROCESSORS][CORES];
+		for (int p = 0; p < PROCESSORS; p++) {
+			for (int c = 0; c < CORES; c += 2) {
+				reserved[p][c] = true;
+			}
+		}
+
+		int blocks = PROCESSORS * CORES / 2 / BLOCK;
+		int[][] processorNos = new int[blocks][BLOCK];
+		int[][] coreNos = new int[blocks][BLOCK];
+		long allocated = 0;
+		for (int r = 0; r < rounds; r++) {
+			for (int b = 0; b < blocks; b++) {
+				for (int i = 0; i < BLOCK; i++) {
+					boolean notFound = true;
+					for (int p = 0; notFound && p < PROCESSORS; p++) {
+						for (int c = 0; notFound && c < CORES; c++) {
+							if (!reserved[p][c]) {
+								notFound = false;
+								reserved[p][c] = true;
+								processorNos[b][i] = p;
+								coreNos[b][i] = c;
+							}
+						}
+					}
+					allocated++;
+				}
+			}
+			for (int b = 0; b < blocks; b++) {
+				for (int i = 0; i < BLOCK; i++) {
+					reserved[processorNos[b][i]][coreNos[b][i]] = false;
+				}
+			}
+		}
+		return allocated;
+	}
+}
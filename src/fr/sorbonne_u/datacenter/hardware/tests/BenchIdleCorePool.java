@@ -0,0 +1,132 @@
+package fr.sorbonne_u.datacenter.hardware.tests;
+
+import java.util.HashMap;
+import java.util.Map;
+import fr.sorbonne_u.datacenter.hardware.computers.Computer.AllocatedCore;
+import fr.sorbonne_u.datacenter.hardware.processors.Processor.ProcessorPortTypes;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.IdleCorePool;
+
+/**
+ * The class <code>BenchIdleCorePool</code> measures the cost of finding an
+ * idle core of an application VM with 32 cores, with the
+ * <code>IdleCorePool</code> free list and with the former scan of a
+ * <code>HashMap</code> from cores to boxed idle flags.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ *
+ * The VM is kept loaded: all its cores but one are busy, and at each step
+ * the task started first ends, its core is marked idle, and an idle core is
+ * found and marked busy for a new task, as <code>endTask</code> then
+ * <code>startTasks</code> do. No component is deployed.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class BenchIdleCorePool {
+
+	private static final int PROCESSORS = 4;
+	private static final int CORES = 8;
+	private static final int STEPS = 10000;
+	private static final int WARMUP_ROUNDS = 100;
+	private static final int ROUNDS = 1000;
+
+	public static void main(String[] args) {
+		System.out.println(PROCESSORS * CORES + " cores per AVM");
+
+		Map<ProcessorPortTypes, String> portURIs = new HashMap<>();
+		for (ProcessorPortTypes ppt : ProcessorPortTypes.values()) {
+			portURIs.put(ppt, ppt.name());
+		}
+		AllocatedCore[] cores = new AllocatedCore[PROCESSORS * CORES];
+		for (int p = 0; p < PROCESSORS; p++) {
+			for (int c = 0; c < CORES; c++) {
+				cores[p * CORES + c] = new AllocatedCore(p, "processor-" + p, c, portURIs);
+			}
+		}
+
+		benchPool(cores, WARMUP_ROUNDS);
+		long start = System.nanoTime();
+		long started = benchPool(cores, ROUNDS);
+		report("free list", started, System.nanoTime() - start);
+
+		benchScan(cores, WARMUP_ROUNDS);
+		start = System.nanoTime();
+		started = benchScan(cores, ROUNDS);
+		report("HashMap scan", started, System.nanoTime() - start);
+	}
+
+	private static void report(String name, long started, long elapsed) {
+		System.out.println(name + " : " + started + " tasks started, "
+				+ (elapsed / Math.max(1, started)) + " ns per task");
+	}
+
+	private static long benchPool(AllocatedCore[] cores, int rounds) {
+		IdleCorePool pool = new IdleCorePool();
+		for (AllocatedCore ac : cores) {
+			pool.add(ac);
+		}
+
+		// running tasks, in start order
+		int[] running = new int[cores.length];
+		for (int i = 0; i < cores.length - 1; i++) {
+			running[i] = pool.acquire();
+		}
+
+		long started = 0;
+		int first = 0;
+		int last = cores.length - 1;
+		for (int r = 0; r < rounds; r++) {
+			for (int s = 0; s < STEPS; s++) {
+				pool.release(running[first]);
+				first = (first + 1) % running.length;
+
+				running[last] = pool.acquire();
+				last = (last + 1) % running.length;
+				started++;
+			}
+		}
+		return started;
+	}
+
+	private static long benchScan(AllocatedCore[] cores, int rounds) {
+		HashMap<AllocatedCore, Boolean> idleStatus = new HashMap<>();
+		for (AllocatedCore ac : cores) {
+			idleStatus.put(ac, true);
+		}
+
+		AllocatedCore[] running = new AllocatedCore[cores.length];
+		for (int i = 0; i < cores.length - 1; i++) {
+			running[i] = findIdleCore(idleStatus);
+			idleStatus.remove(running[i]);
+			idleStatus.put(running[i], false);
+		}
+
+		long started = 0;
+		int first = 0;
+		int last = cores.length - 1;
+		for (int r = 0; r < rounds; r++) {
+			for (int s = 0; s < STEPS; s++) {
+				idleStatus.remove(running[first]);
+				idleStatus.put(running[first], true);
+				first = (first + 1) % running.length;
+
+				AllocatedCore ac = findIdleCore(idleStatus);
+				idleStatus.remove(ac);
+				idleStatus.put(ac, false);
+				running[last] = ac;
+				last = (last + 1) % running.length;
+				started++;
+			}
+		}
+		return started;
+	}
+
+	private static AllocatedCore findIdleCore(HashMap<AllocatedCore, Boolean> idleStatus) {
+		for (AllocatedCore ac : idleStatus.keySet()) {
+			if (idleStatus.get(ac)) return ac;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,194 @@
+package fr.sorbonne_u.datacenter.hardware.tests;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.cvm.AbstractCVM;
+import fr.sorbonne_u.datacenter.hardware.processors.Processor;
+import fr.sorbonne_u.datacenter.hardware.processors.connectors.ProcessorServicesConnector;
+import fr.sorbonne_u.datacenter.hardware.processors.interfaces.ProcessorServicesNotificationConsumerI;
+import fr.sorbonne_u.datacenter.hardware.processors.interfaces.ProcessorServicesNotificationI;
+import fr.sorbonne_u.datacenter.hardware.processors.ports.ProcessorServicesNotificationInboundPort;
+import fr.sorbonne_u.datacenter.hardware.processors.ports.ProcessorServicesOutboundPort;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskI;
+import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
+import fr.sorbonne_u.datacenterclient.requestgenerator.Request;
+
+/**
+ * The class <code>BenchNotificationPorts</code> measures the task end
+ * throughput of a processor, with its notification outbound ports pooled and
+ * with one port created, published, connected, disconnected, unpublished and
+ * destroyed for each task, as <code>Processor.endOfTask</code> did before the
+ * pool.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ *
+ * A processor with one core is deployed with a consumer of its end of task
+ * notifications. Tasks of one instruction are run one after the other on the
+ * core, each one being submitted once the previous one was notified, so the
+ * time per task is the cost of starting a task, ending it in
+ * <code>endOfTask</code> and notifying the consumer.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class BenchNotificationPorts extends AbstractCVM {
+
+	private static final String processorServicesInboundPortURI = "ps-ibp";
+	private static final String processorServicesOutboundPortURI = "ps-obp";
+	private static final String processorServicesNotificationInboundPortURI = "psn-ibp";
+	private static final String processorIntrospectionInboundPortURI = "pi-ibp";
+	private static final String processorManagementInboundPortURI = "pm-ibp";
+	private static final String processorStaticStateDataInboundPortURI = "pss-dip";
+	private static final String processorDynamicStateDataInboundPortURI = "pds-dip";
+
+	private static final int WARMUP_TASKS = 2000;
+	private static final int TASKS = 20000;
+
+	/**
+	 * Count the end of task notifications.
+	 */
+	public static class EndOfTaskCounter extends AbstractComponent implements ProcessorServicesNotificationConsumerI {
+
+		private final AtomicLong ended = new AtomicLong();
+
+		EndOfTaskCounter(String processorServicesNotificationInboundPortURI) throws Exception {
+			super(1, 0);
+
+			this.addOfferedInterface(ProcessorServicesNotificationI.class);
+			ProcessorServicesNotificationInboundPort pnPort = new ProcessorServicesNotificationInboundPort(
+					processorServicesNotificationInboundPortURI, this);
+			this.addPort(pnPort);
+			pnPort.publishPort();
+		}
+
+		@Override
+		public void acceptNotifyEndOfTask(TaskI t) {
+			this.ended.incrementAndGet();
+		}
+
+		long getEnded() {
+			return this.ended.get();
+		}
+	}
+
+	private Processor processor;
+	private EndOfTaskCounter counter;
+	private ProcessorServicesOutboundPort psPort;
+	private long taskCount;
+
+	private BenchNotificationPorts() throws Exception {
+		super();
+	}
+
+	@Override
+	public void deploy() throws Exception {
+		Processor.DEBUG = false;
+
+		Set<Integer> admissibleFrequencies = new HashSet<>();
+		admissibleFrequencies.add(1500);
+
+		Map<Integer, Integer> processingPower = new HashMap<>();
+		processingPower.put(1500, 1500000);
+
+		this.processor = new Processor(
+				"processor0",
+				admissibleFrequencies,
+				processingPower,
+				1500,
+				1500,
+				1,
+				processorServicesInboundPortURI,
+				processorIntrospectionInboundPortURI,
+				processorManagementInboundPortURI,
+				processorStaticStateDataInboundPortURI,
+				processorDynamicStateDataInboundPortURI
+		);
+		this.addDeployedComponent(this.processor);
+
+		this.counter = new EndOfTaskCounter(processorServicesNotificationInboundPortURI);
+		this.addDeployedComponent(this.counter);
+
+		ComponentI nullComponent = new AbstractComponent(0, 0) {};
+		this.psPort = new ProcessorServicesOutboundPort(processorServicesOutboundPortURI, nullComponent);
+		this.psPort.publishPort();
+		nullComponent.doPortConnection(this.psPort.getPortURI(), processorServicesInboundPortURI,
+				ProcessorServicesConnector.class.getCanonicalName());
+
+		super.deploy();
+	}
+
+	@Override
+	public void shutdown() throws Exception {
+		this.psPort.doDisconnection();
+
+		super.shutdown();
+	}
+
+	private void bench() throws Exception {
+		System.out.println("1 core, tasks of 1 instruction run one after the other");
+
+		for (boolean pooling : new boolean[] { true, false }) {
+			this.processor.setNotificationPortPooling(pooling);
+			String name = pooling ? "pooled port" : "port per task";
+
+			this.runTasks(WARMUP_TASKS);
+			long start = System.nanoTime();
+			this.runTasks(TASKS);
+			report(name, TASKS, System.nanoTime() - start);
+		}
+	}
+
+	private static void report(String name, long tasks, long elapsed) {
+		System.out.println(name + " : " + tasks + " tasks ended, "
+				+ (tasks * 1000000000L / Math.max(1, elapsed)) + " tasks per second, "
+				+ (elapsed / Math.max(1, tasks)) + " ns per task");
+	}
+
+	/**
+	 * Run tasks on core 0, each one once the previous one was notified.
+	 */
+	private void runTasks(int n) throws Exception {
+		for (int i = 0; i < n; i++) {
+			long ended = this.counter.getEnded();
+			final RequestI request = new Request(1L);
+			final String taskURI = "task-" + this.taskCount++;
+			this.psPort.executeTaskOnCoreAndNotify(new TaskI() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				public RequestI getRequest() {
+					return request;
+				}
+
+				@Override
+				public String getTaskURI() {
+					return taskURI;
+				}
+			}, 0, processorServicesNotificationInboundPortURI);
+
+			while (this.counter.getEnded() == ended) {
+				Thread.yield();
+			}
+		}
+	}
+
+	public static void main(String[] args) {
+		try {
+			BenchNotificationPorts bench = new BenchNotificationPorts();
+			bench.deploy();
+			bench.start();
+			bench.bench();
+			bench.shutdown();
+			System.exit(0);
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package fr.sorbonne_u.datacenter.hardware.tests;
+
+import java.util.LinkedList;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskI;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.BoundedTaskQueue;
+import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
+import fr.sorbonne_u.datacenterclient.requestgenerator.Request;
+
+/**
+ * The class <code>BenchTaskQueue</code> measures the cost of queueing and
+ * starting a task in an application VM, with the ring buffer
+ * <code>BoundedTaskQueue</code> and with the former unbounded
+ * <code>LinkedList</code>.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ *
+ * Two loads are measured on a queue of 1024 tasks: a queue kept half full,
+ * where each new task is queued and the oldest one started, and a full queue
+ * with the <code>SHED_OLDEST</code> policy, where each new task makes the
+ * oldest one dropped. No component is deployed.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class BenchTaskQueue {
+
+	private static final int CAPACITY = 1024;
+	private static final int TASKS = 4096;
+	private static final int WARMUP_ROUNDS = 200;
+	private static final int ROUNDS = 2000;
+
+	private static class BenchTask implements TaskI {
+		private static final long serialVersionUID = 1L;
+		private final RequestI request;
+
+		BenchTask(RequestI request) {
+			this.request = request;
+		}
+
+		@Override
+		public RequestI getRequest() {
+			return this.request;
+		}
+
+		@Override
+		public String getTaskURI() {
+			return this.request.getRequestURI();
+		}
+	}
+
+	public static void main(String[] args) {
+		System.out.println("queue of " + CAPACITY + " tasks");
+
+		TaskI[] tasks = new TaskI[TASKS];
+		for (int i = 0; i < TASKS; i++) {
+			tasks[i] = new BenchTask(new Request(1000000000L));
+		}
+
+		for (boolean shed : new boolean[] { false, true }) {
+			String load = shed ? "full queue, shed oldest" : "half full queue";
+
+			benchBounded(tasks, shed, WARMUP_ROUNDS);
+			long start = System.nanoTime();
+			long queued = benchBounded(tasks, shed, ROUNDS);
+			report("ring buffer, " + load, queued, System.nanoTime() - start);
+
+			benchLinkedList(tasks, shed, WARMUP_ROUNDS);
+			start = System.nanoTime();
+			queued = benchLinkedList(tasks, shed, ROUNDS);
+			report("LinkedList, " + load, queued, System.nanoTime() - start);
+		}
+	}
+
+	private static void report(String name, long queued, long elapsed) {
+		System.out.println(name + " : " + queued + " tasks queued, "
+				+ (elapsed / Math.max(1, queued)) + " ns per task");
+	}
+
+	private static long benchBounded(TaskI[] tasks, boolean shed, int rounds) {
+		BoundedTaskQueue queue = new BoundedTaskQueue(CAPACITY);
+		int initial = shed ? CAPACITY : CAPACITY / 2;
+		for (int i = 0; i < initial; i++) {
+			queue.offer(tasks[i]);
+		}
+
+		long queued = 0;
+		for (int r = 0; r < rounds; r++) {
+			for (TaskI t : tasks) {
+				if (shed) {
+					if (!queue.offer(t)) {
+						queue.shed();
+						queue.offer(t);
+					}
+				} else {
+					queue.offer(t);
+					queue.poll();
+				}
+				queued++;
+			}
+		}
+		return queued;
+	}
+
+	private static long benchLinkedList(TaskI[] tasks, boolean shed, int rounds) {
+		LinkedList<TaskI> queue = new LinkedList<>();
+		int initial = shed ? CAPACITY : CAPACITY / 2;
+		for (int i = 0; i < initial; i++) {
+			queue.add(tasks[i]);
+		}
+
+		long queued = 0;
+		for (int r = 0; r < rounds; r++) {
+			for (TaskI t : tasks) {
+				if (shed) {
+					if (queue.size() >= CAPACITY) {
+						queue.removeFirst();
+					}
+					queue.add(t);
+				} else {
+					queue.add(t);
+					queue.poll();
+				}
+				queued++;
+			}
+		}
+		return queued;
+	}
+}
@@ -85,6 +85,24 @@ public class TestApplicationVM extends AbstractCVM {
 				this.logMessage(" Request " + r.getRequestURI() + " has ended.");
 			}
 		}
+
+		@Override
+		public void acceptRequestsTerminationNotification(RequestI[] requests, long[] terminationTimes) {
+			for (RequestI r : requests) {
+				this.acceptRequestTerminationNotification(r);
+			}
+		}
+
+		@Override
+		public void acceptRequestRejectionNotification(RequestI r) {
+			if (RequestNotificationConsumer.ACTIVE) {
+				this.logMessage(" Request " + r.getRequestURI() + " was rejected.");
+			}
+		}
+
+		@Override
+		public void acceptRequestsWithdrawalNotification(RequestI[] requests) {
+		}
 	}
 
 	// ------------------------------------------------------------------------
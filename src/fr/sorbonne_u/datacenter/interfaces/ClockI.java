@@ -0,0 +1,112 @@
+package fr.sorbonne_u.datacenter.interfaces;
+
+/**
+ * The interface <code>ClockI</code> defines the source of time used by the
+ * data center components, so that simulations can run in real, accelerated,
+ * manually stepped or virtual time.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ * 
+ * The simulated time is the time seen by the components, in milliseconds. A
+ * delay given in simulated time is converted by <code>acceleratedDelay</code>
+ * into the real delay to wait before a scheduled task runs.
+ * 
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant	true
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public interface ClockI {
+	/**
+	 * return the current simulated time in milliseconds.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return &gt;= 0
+	 * </pre>
+	 *
+	 * @return the current simulated time.
+	 */
+	long currentTime();
+
+	/**
+	 * return the simulated time in milliseconds used to timestamp data.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return &gt;= 0
+	 * </pre>
+	 *
+	 * @return the timestamp for data gathered now.
+	 */
+	long timeStamp();
+
+	/**
+	 * return a simulated time in nanoseconds, only meaningful to measure
+	 * durations as the difference of two values.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @return the current simulated time in nanoseconds.
+	 */
+	long nanoTime();
+
+	/**
+	 * return the real delay in milliseconds corresponding to a delay in
+	 * simulated time.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	realDelay &gt;= 0
+	 * post	return &gt;= 0
+	 * </pre>
+	 *
+	 * @param realDelay delay in simulated time.
+	 * @return the delay to wait in real time.
+	 */
+	long acceleratedDelay(long realDelay);
+
+	/**
+	 * return the delay in simulated time corresponding to a real delay in
+	 * milliseconds.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	acceleratedDelay &gt;= 0
+	 * post	return &gt;= 0
+	 * </pre>
+	 *
+	 * @param acceleratedDelay delay in real time.
+	 * @return the delay in simulated time.
+	 */
+	long realDelay(long acceleratedDelay);
+}
@@ -0,0 +1,254 @@
+package fr.sorbonne_u.datacenter.simulation;
+
+import java.util.ArrayList;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.datacenter.TimeManagement;
+import fr.sorbonne_u.datacenter.clocks.VirtualClock;
+import fr.sorbonne_u.datacenter.interfaces.ClockI;
+
+/**
+ * The class <code>SimulationEngine</code> implements a discrete event
+ * simulation engine in virtual time, shared by all the components of a JVM.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ * 
+ * When the engine is disabled (the default), <code>scheduleTask</code> and
+ * <code>scheduleTaskAtFixedRate</code> schedule the tasks on the executor of
+ * their component, in accelerated time as given by
+ * the clock of the component given by <code>TimeManagement</code>. Once enabled, they put events in a global
+ * calendar instead, and the simulated clock only moves when
+ * <code>runUntil</code> fires the next events, so hours of load can be
+ * simulated in seconds. <code>TimeManagement</code> then gives all the
+ * components the <code>VirtualClock</code> reading the simulated time.
+ * 
+ * Events fire in simulated time order, and in scheduling order for the same
+ * time. The task of an event is run on its component as any other scheduled
+ * component task, and the engine waits until it has completed before firing
+ * the next event. The calls this task makes through the ports of other
+ * components (for instance an end of task notified to an AVM, which then
+ * notifies its dispatcher) run on the executors of these components and are
+ * not awaited: a small real quiescence delay after each simulated instant
+ * lets them complete before the clock moves on. The order in which these
+ * downstream calls run, and so a run, is therefore not deterministic, and a
+ * call taking longer than the quiescence delay sees a later simulated time.
+ * 
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant	for all events e in the calendar, e.getTime() &gt;= getCurrentTime()
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class SimulationEngine {
+	// ------------------------------------------------------------------------
+	// Constants and class variables
+	// ------------------------------------------------------------------------
+
+	/** Default real delay in ms let to the components after each simulated instant. */
+	public static final long DEFAULT_QUIESCENCE_DELAY = 1;
+
+	/** volatile rather than guarded by the class lock, as it is read at each time read of every component. */
+	private static volatile boolean enabled = false;
+	/** simulated time in ms. */
+	private static long currentTime = 0;
+	private static long nextSequence = 0;
+	private static final PriorityQueue<SimulationEvent> calendar = new PriorityQueue<>();
+	private static final ClockI clock = new VirtualClock();
+
+	// ------------------------------------------------------------------------
+	// Methods
+	// ------------------------------------------------------------------------
+
+	/**
+	 * switch the components to virtual time, starting at the given simulated
+	 * time; must be called before the components schedule their first tasks.
+	 *
+	 * @param startTime simulated time in ms at the start of the simulation.
+	 */
+	public static synchronized void enable(long startTime) {
+		enabled = true;
+		currentTime = startTime;
+		nextSequence = 0;
+		calendar.clear();
+	}
+
+	/**
+	 * go back to real time scheduling, dropping the pending events.
+	 */
+	public static synchronized void disable() {
+		enabled = false;
+		for (SimulationEvent e : calendar) {
+			e.cancel(false);
+		}
+		calendar.clear();
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return simulated time in ms.
+	 */
+	public static synchronized long getCurrentTime() {
+		return currentTime;
+	}
+
+	/**
+	 * @return clock reading the simulated time.
+	 */
+	public static ClockI getClock() {
+		return clock;
+	}
+
+	/**
+	 * @return number of events in the calendar, including cancelled ones not
+	 *         yet reached.
+	 */
+	public static synchronized int getPendingEventCount() {
+		return calendar.size();
+	}
+
+	/**
+	 * schedule a task of a component after a delay in simulated time.
+	 *
+	 * @param owner component running the task.
+	 * @param task  task to run.
+	 * @param delay delay in simulated ms.
+	 * @return future of the scheduled task, to cancel it.
+	 */
+	public static ScheduledFuture<?> scheduleTask(AbstractComponent owner, AbstractComponent.AbstractTask task,
+			long delay) {
+		assert owner != null && task != null;
+
+		synchronized (SimulationEngine.class) {
+			if (enabled) {
+				SimulationEvent e = new SimulationEvent(owner, task, currentTime + Math.max(0, delay), 0,
+						nextSequence++);
+				calendar.add(e);
+				return e;
+			}
+		}
+		return owner.scheduleTask(task, TimeManagement.getClock(owner).acceleratedDelay(delay), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * schedule a task of a component periodically in simulated time.
+	 *
+	 * @param owner        component running the task.
+	 * @param task         task to run.
+	 * @param initialDelay delay in simulated ms before the first run.
+	 * @param period       period in simulated ms.
+	 * @return future of the scheduled task, to cancel it.
+	 */
+	public static ScheduledFuture<?> scheduleTaskAtFixedRate(AbstractComponent owner,
+			AbstractComponent.AbstractTask task, long initialDelay, long period) {
+		assert owner != null && task != null && period > 0;
+
+		synchronized (SimulationEngine.class) {
+			if (enabled) {
+				SimulationEvent e = new SimulationEvent(owner, task, currentTime + Math.max(0, initialDelay), period,
+						nextSequence++);
+				calendar.add(e);
+				return e;
+			}
+		}
+		ClockI ownerClock = TimeManagement.getClock(owner);
+		return owner.scheduleTaskAtFixedRate(task, ownerClock.acceleratedDelay(initialDelay),
+				ownerClock.acceleratedDelay(period), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * fire the events of the calendar in order until the simulated time reaches
+	 * <code>endTime</code> or no event is left.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	isEnabled() and quiescenceDelay &gt;= 0
+	 * post	getCurrentTime() &gt;= endTime or no event is left before endTime
+	 * </pre>
+	 *
+	 * @param endTime         simulated time in ms at which to stop.
+	 * @param quiescenceDelay real delay in ms let to the components after each
+	 *                        simulated instant.
+	 * @return number of events fired.
+	 * @throws InterruptedException if interrupted while waiting for a task.
+	 */
+	public static long runUntil(long endTime, long quiescenceDelay) throws InterruptedException {
+		assert isEnabled() && quiescenceDelay >= 0;
+
+		long fired = 0;
+		ArrayList<SimulationEvent> due = new ArrayList<>();
+
+		while (true) {
+			due.clear();
+			synchronized (SimulationEngine.class) {
+				while (!calendar.isEmpty() && calendar.peek().isCancelled()) {
+					calendar.poll();
+				}
+				SimulationEvent next = calendar.peek();
+				if (next == null || next.getTime() > endTime) {
+					currentTime = Math.max(currentTime, endTime);
+					break;
+				}
+
+				// all the events of the next simulated instant, in scheduling order
+				currentTime = next.getTime();
+				while (!calendar.isEmpty() && calendar.peek().getTime() == currentTime) {
+					SimulationEvent e = calendar.poll();
+					if (e.isCancelled()) continue;
+
+					due.add(e);
+					if (e.getPeriod() > 0) {
+						e.reschedule(currentTime + e.getPeriod(), nextSequence++);
+						calendar.add(e);
+					}
+				}
+			}
+
+			for (SimulationEvent e : due) {
+				e.fire();
+				fired++;
+			}
+			if (quiescenceDelay > 0) Thread.sleep(quiescenceDelay);
+		}
+		return fired;
+	}
+
+	/**
+	 * fire the events of the calendar in order until the simulated time reaches
+	 * <code>endTime</code>, with the default quiescence delay.
+	 *
+	 * @param endTime simulated time in ms at which to stop.
+	 * @return number of events fired.
+	 * @throws InterruptedException if interrupted while waiting for a task.
+	 */
+	public static long runUntil(long endTime) throws InterruptedException {
+		return runUntil(endTime, DEFAULT_QUIESCENCE_DELAY);
+	}
+
+	/**
+	 * fire the events of the next <code>duration</code> simulated ms, with the
+	 * default quiescence delay.
+	 *
+	 * @param duration simulated duration in ms.
+	 * @return number of events fired.
+	 * @throws InterruptedException if interrupted while waiting for a task.
+	 */
+	public static long run(long duration) throws InterruptedException {
+		return runUntil(getCurrentTime() + duration);
+	}
+}
@@ -0,0 +1,207 @@
+package fr.sorbonne_u.datacenter.simulation;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import fr.sorbonne_u.components.AbstractComponent;
+
+/**
+ * The class <code>SimulationEvent</code> represents a task of a component
+ * scheduled at a given simulated time in the calendar of the
+ * <code>SimulationEngine</code>.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ * 
+ * Events are ordered by simulated time, then by sequence number, i.e. the
+ * order in which they were scheduled, so events at the same time fire in
+ * the order they were scheduled. A periodic event is put back in the calendar with a new
+ * time and sequence number each time it fires. As a
+ * <code>ScheduledFuture</code>, an event can be cancelled like a task
+ * scheduled on the executor of a component.
+ * 
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant	task != null and period &gt;= 0
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class SimulationEvent implements ScheduledFuture<Object> {
+	// ------------------------------------------------------------------------
+	// Instance variables
+	// ------------------------------------------------------------------------
+
+	/** component running the task, or null to run it in the engine thread. */
+	private final AbstractComponent owner;
+	/** task to run when the event fires. */
+	private final AbstractComponent.AbstractTask task;
+	/** period in simulated ms of a periodic event, 0 for a single one. */
+	private final long period;
+	/** simulated time in ms at which the event fires. */
+	private long time;
+	/** order of scheduling among the events at the same time. */
+	private long sequence;
+	private volatile boolean cancelled;
+	private volatile boolean done;
+
+	// ------------------------------------------------------------------------
+	// Constructors
+	// ------------------------------------------------------------------------
+
+	SimulationEvent(AbstractComponent owner, AbstractComponent.AbstractTask task, long time, long period,
+			long sequence) {
+		assert task != null && period >= 0;
+
+		this.owner = owner;
+		this.task = task;
+		this.time = time;
+		this.period = period;
+		this.sequence = sequence;
+		this.cancelled = false;
+		this.done = false;
+	}
+
+	// ------------------------------------------------------------------------
+	// Methods
+	// ------------------------------------------------------------------------
+
+	long getTime() {
+		return this.time;
+	}
+
+	long getSequence() {
+		return this.sequence;
+	}
+
+	long getPeriod() {
+		return this.period;
+	}
+
+	/**
+	 * move a periodic event to its next occurrence.
+	 *
+	 * @param time     simulated time of the next occurrence.
+	 * @param sequence new sequence number.
+	 */
+	void reschedule(long time, long sequence) {
+		assert this.period > 0;
+
+		this.time = time;
+		this.sequence = sequence;
+	}
+
+	/**
+	 * run the task on its owner, or in the calling thread if it has none, and
+	 * wait until it has completed.
+	 *
+	 * @throws InterruptedException if interrupted while waiting for the task.
+	 */
+	void fire() throws InterruptedException {
+		if (this.cancelled) return;
+
+		if (this.owner != null) {
+			try {
+				this.owner.scheduleTask(this.task, 0, TimeUnit.MILLISECONDS).get();
+			} catch (ExecutionException e) {
+				// as on the executor of a component, a failing task does not stop the others
+			}
+		} else {
+			this.task.run();
+		}
+
+		if (this.period == 0) {
+			synchronized (this) {
+				this.done = true;
+				this.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * @see java.util.concurrent.Delayed#getDelay(java.util.concurrent.TimeUnit)
+	 */
+	@Override
+	public long getDelay(TimeUnit unit) {
+		return unit.convert(this.time - SimulationEngine.getCurrentTime(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @see java.lang.Comparable#compareTo(java.lang.Object)
+	 */
+	@Override
+	public int compareTo(Delayed o) {
+		if (o instanceof SimulationEvent) {
+			SimulationEvent e = (SimulationEvent) o;
+			if (this.time != e.time) return Long.compare(this.time, e.time);
+			return Long.compare(this.sequence, e.sequence);
+		}
+		return Long.compare(this.getDelay(TimeUnit.MILLISECONDS), o.getDelay(TimeUnit.MILLISECONDS));
+	}
+
+	/**
+	 * @see java.util.concurrent.Future#cancel(boolean)
+	 */
+	@Override
+	public synchronized boolean cancel(boolean mayInterruptIfRunning) {
+		if (this.done || this.cancelled) return false;
+
+		this.cancelled = true;
+		this.notifyAll();
+		return true;
+	}
+
+	/**
+	 * @see java.util.concurrent.Future#isCancelled()
+	 */
+	@Override
+	public boolean isCancelled() {
+		return this.cancelled;
+	}
+
+	/**
+	 * @see java.util.concurrent.Future#isDone()
+	 */
+	@Override
+	public boolean isDone() {
+		return this.done || this.cancelled;
+	}
+
+	/**
+	 * wait until the event has fired and its task has completed.
+	 * 
+	 * @see java.util.concurrent.Future#get()
+	 */
+	@Override
+	public synchronized Object get() throws InterruptedException {
+		while (!this.isDone()) {
+			this.wait();
+		}
+		if (this.cancelled) throw new CancellationException();
+		return null;
+	}
+
+	/**
+	 * @see java.util.concurrent.Future#get(long, java.util.concurrent.TimeUnit)
+	 */
+	@Override
+	public synchronized Object get(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+		long deadline = System.currentTimeMillis() + unit.toMillis(timeout);
+		while (!this.isDone()) {
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0) throw new TimeoutException();
+			this.wait(remaining);
+		}
+		if (this.cancelled) throw new CancellationException();
+		return null;
+	}
+}
@@ -1,16 +1,17 @@
 package fr.sorbonne_u.datacenter.software.applicationvm;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.Map;
-import java.util.Queue;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import fr.sorbonne_u.datacenter.TimeManagement;
+import fr.sorbonne_u.datacenter.interfaces.ControlledDataOfferedI;
 import fr.sorbonne_u.datacenter.hardware.computers.Computer.AllocatedCore;
 import fr.sorbonne_u.datacenter.hardware.processors.Processor.ProcessorPortTypes;
 import fr.sorbonne_u.datacenter.hardware.processors.connectors.ProcessorServicesConnector;
@@ -20,14 +21,21 @@ import fr.sorbonne_u.datacenter.hardware.processors.interfaces.ProcessorServices
 import fr.sorbonne_u.datacenter.hardware.processors.ports.ProcessorServicesNotificationInboundPort;
 import fr.sorbonne_u.datacenter.hardware.processors.ports.ProcessorServicesOutboundPort;
 import fr.sorbonne_u.datacenter.interfaces.PushModeControllingI;
+import fr.sorbonne_u.datacenter.simulation.SimulationEngine;
 import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMDynamicStateI;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMIntrospectionI;
 import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMManagementI;
 import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMStaticStateI;
 import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskI;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskQueueI;
 import fr.sorbonne_u.datacenter.software.applicationvm.ports.ApplicationVMDynamicStateDataInboundPort;
 import fr.sorbonne_u.datacenter.software.applicationvm.ports.ApplicationVMIntrospectionInboundPort;
 import fr.sorbonne_u.datacenter.software.applicationvm.ports.ApplicationVMManagementInboundPort;
 import fr.sorbonne_u.datacenter.software.applicationvm.ports.ApplicationVMStaticStateDataInboundPort;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.IdleCorePool;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.ServiceTimeHistogram;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskQueueOverflowPolicy;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskSchedulingPolicy;
 import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
 import fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationI;
 import fr.sorbonne_u.datacenter.software.interfaces.RequestSubmissionHandlerI;
@@ -50,7 +58,11 @@ import fr.sorbonne_u.datacenter.software.ports.RequestSubmissionInboundPort;
  * 
  * The AVM is allocated cores on processors of a single computer and uses them
  * to execute the submitted requests. It maintain a queue for requests waiting a
- * core to become idle before beginning their execution.
+ * core to become idle before beginning their execution. The queue is bounded;
+ * when it is full, new requests are rejected, wait for room, or replace the
+ * oldest waiting request, depending on the <code>TaskQueueOverflowPolicy</code>.
+ * Waiting requests are started in arrival order, or by predicted size, deadline
+ * or priority class, depending on the <code>TaskSchedulingPolicy</code>.
  * 
  * As a component, the AVM offers a request submission service through the
  * interface <code>RequestSubmissionI</code> implemented by
@@ -70,6 +82,17 @@ import fr.sorbonne_u.datacenter.software.ports.RequestSubmissionInboundPort;
  * <code>ProcessorServicesNotificationI</code> through the inbound port
  * <code>ProcessorServicesNotificationInboundPort</code>.
  * 
+ * Termination notifications can be aggregated: they are then sent together
+ * when <code>notificationBatchSize</code> requests have terminated, or at the
+ * latest <code>notificationFlushDelay</code> ms after the first one, with the
+ * time at which each request terminated. By default, each termination is
+ * notified as soon as it occurs.
+ * 
+ * The AVM offers its static state (task queue configuration) and its dynamic
+ * state (queue length, running and completed requests, busy cores and service
+ * time histogram) through data inbound ports, to be pulled or pushed
+ * periodically using <code>PushModeControllingI</code>.
+ * 
  * <p>
  * <strong>Invariant</strong>
  * </p>
@@ -97,6 +120,9 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 		RequestSubmissionHandlerI, ApplicationVMManagementI, PushModeControllingI {
 	private static boolean DEBUG = false;
 
+	/** Default maximum number of requests waiting for a core. */
+	public static final int DEFAULT_TASK_QUEUE_CAPACITY = 1024;
+
 	public enum ApplicationVMPortTypes {
 		REQUEST_SUBMISSION, MANAGEMENT, INTROSPECTION, STATIC_STATE, DYNAMIC_STATE
 	}
@@ -108,8 +134,14 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 	/** URI of this application VM. */
 	private String vmURI;
 	
-	/** Status, idle or in use, of each core allocated to this VM. */
-	private Map<AllocatedCore, Boolean> allocatedCoresIdleStatus;
+	/**
+	 * Cores allocated to this VM, in slots, with the list of idle ones; each
+	 * core has <code>tasksPerCore</code> consecutive slots.
+	 */
+	private IdleCorePool allocatedCores;
+
+	/** Number of tasks the VM keeps running on each core at the same time. */
+	private int tasksPerCore;
 	
 	/** Map between processor URIs and the outbound ports to call them. */
 	private Map<String, ProcessorServicesOutboundPort> processorServicesPorts;
@@ -121,15 +153,36 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 	private Map<String, ProcessorServicesNotificationInboundPort> processorNotificationInboundPorts;
 	
 	/**
-	 * Map between running task URIs and the processor cores running them.
+	 * Map between running task URIs and the slots of the processor cores running them.
 	 */
-	private Map<String, AllocatedCore> runningTasks;
+	private Map<String, Integer> runningTasks;
 	
-	/** Queue of tasks waiting to be started. */
-	private Queue<TaskI> taskQueue;
+	/** Queue of tasks waiting to be started, ordered by the scheduling policy. */
+	private TaskQueueI taskQueue;
+
+	/** Maximum number of tasks waiting to be started. */
+	private int taskQueueCapacity;
+
+	/** Order in which waiting tasks are started. */
+	private TaskSchedulingPolicy taskSchedulingPolicy;
+
+	/** What to do with a new task when the queue is full. */
+	private TaskQueueOverflowPolicy taskQueueOverflowPolicy;
+
+	/**
+	 * Tasks which found the queue full with the <code>BLOCK</code> policy, in
+	 * arrival order; they enter the queue as soon as there is room.
+	 */
+	private ArrayDeque<TaskI> blockedTasks;
 	
 	/* Set of task URIs which termination will need to be notified. */
 	private HashSet<String> tasksToNotify;
+
+	/** Start time in ns of the task running on each core slot. */
+	private long[] taskStartTimes;
+
+	/** Service times of the completed tasks, synchronized on itself. */
+	private ServiceTimeHistogram serviceTimes;
 	
 	/** Inbound port offering the management interface. */
 	private ApplicationVMManagementInboundPort applicationVMManagementInboundPort;
@@ -151,6 +204,21 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 	/** future of the task scheduled to push dynamic data. */
 	private ScheduledFuture<?> pushingFuture;
 
+	/** Terminated requests which notification is not sent yet, synchronized on itself. */
+	private ArrayList<RequestI> pendingNotifications;
+
+	/** Termination time of the pending requests, in ns of the clock of the VM. */
+	private long[] pendingTerminationTimes;
+
+	/** Number of terminated requests after which their notifications are sent. */
+	private int notificationBatchSize;
+
+	/** Maximum delay in ms before the notification of a terminated request is sent. */
+	private long notificationFlushDelay;
+
+	/** future of the task scheduled to send the pending notifications. */
+	private ScheduledFuture<?> notificationFlushFuture;
+
 	// ------------------------------------------------------------------------
 	// Component constructor
 	// ------------------------------------------------------------------------
@@ -186,6 +254,163 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 			String requestSubmissionInboundPortURI, 
 			String requestNotificationInboundPortURI,
 			String requestNotificationOutboundPortURI) throws Exception {
+		this(vmURI, applicationVMManagementInboundPortURI, requestSubmissionInboundPortURI,
+				requestNotificationInboundPortURI, requestNotificationOutboundPortURI, 1, 0L);
+	}
+
+	/**
+	 * create a new application VM aggregating the termination notifications of
+	 * its requests, with the default task queue.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 *
+	 * <pre>
+	 * pre	vmURI != null
+	 * pre	applicationVMManagementInboundPortURI != null
+	 * pre	requestSubmissionInboundPortURI != null
+	 * pre	requestNotificationOutboundPortURI != null
+	 * pre	notificationBatchSize &gt; 0 and notificationFlushDelay &gt;= 0
+	 * post	true			// no post condition.
+	 * </pre>
+	 *
+	 * @param vmURI                                 URI of the newly created VM.
+	 * @param applicationVMManagementInboundPortURI URI of the VM management inbound
+	 *                                              port.
+	 * @param requestSubmissionInboundPortURI       URI of the request submission
+	 *                                              inbound port.
+	 * @param requestNotificationInboundPortURI     URI of the request notification
+	 *                                              inbound port.
+	 * @param notificationBatchSize                 number of terminated requests
+	 *                                              notified together, 1 to notify
+	 *                                              each one.
+	 * @param notificationFlushDelay                maximum delay in ms before a
+	 *                                              termination is notified.
+	 */
+	public ApplicationVM (
+			String vmURI, 
+			String applicationVMManagementInboundPortURI,
+			String requestSubmissionInboundPortURI, 
+			String requestNotificationInboundPortURI,
+			String requestNotificationOutboundPortURI,
+			Integer notificationBatchSize,
+			Long notificationFlushDelay) throws Exception {
+		this(vmURI, applicationVMManagementInboundPortURI, requestSubmissionInboundPortURI,
+				requestNotificationInboundPortURI, requestNotificationOutboundPortURI,
+				notificationBatchSize, notificationFlushDelay,
+				DEFAULT_TASK_QUEUE_CAPACITY, TaskQueueOverflowPolicy.BLOCK, TaskSchedulingPolicy.FIFO);
+	}
+
+	/**
+	 * create a new application VM aggregating the termination notifications of
+	 * its requests, with a task queue of the given capacity and scheduling policy.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 *
+	 * <pre>
+	 * pre	vmURI != null
+	 * pre	applicationVMManagementInboundPortURI != null
+	 * pre	requestSubmissionInboundPortURI != null
+	 * pre	requestNotificationOutboundPortURI != null
+	 * pre	notificationBatchSize &gt; 0 and notificationFlushDelay &gt;= 0
+	 * pre	taskQueueCapacity &gt; 0 and taskQueueOverflowPolicy != null
+	 * pre	taskSchedulingPolicy != null
+	 * post	true			// no post condition.
+	 * </pre>
+	 *
+	 * @param vmURI                                 URI of the newly created VM.
+	 * @param applicationVMManagementInboundPortURI URI of the VM management inbound
+	 *                                              port.
+	 * @param requestSubmissionInboundPortURI       URI of the request submission
+	 *                                              inbound port.
+	 * @param requestNotificationInboundPortURI     URI of the request notification
+	 *                                              inbound port.
+	 * @param notificationBatchSize                 number of terminated requests
+	 *                                              notified together, 1 to notify
+	 *                                              each one.
+	 * @param notificationFlushDelay                maximum delay in ms before a
+	 *                                              termination is notified.
+	 * @param taskQueueCapacity                     maximum number of requests
+	 *                                              waiting for a core.
+	 * @param taskQueueOverflowPolicy               what to do with a request
+	 *                                              submitted when the queue is full.
+	 * @param taskSchedulingPolicy                  order in which waiting requests
+	 *                                              are started.
+	 */
+	public ApplicationVM (
+			String vmURI, 
+			String applicationVMManagementInboundPortURI,
+			String requestSubmissionInboundPortURI, 
+			String requestNotificationInboundPortURI,
+			String requestNotificationOutboundPortURI,
+			Integer notificationBatchSize,
+			Long notificationFlushDelay,
+			Integer taskQueueCapacity,
+			TaskQueueOverflowPolicy taskQueueOverflowPolicy,
+			TaskSchedulingPolicy taskSchedulingPolicy) throws Exception {
+		this(vmURI, applicationVMManagementInboundPortURI, requestSubmissionInboundPortURI,
+				requestNotificationInboundPortURI, requestNotificationOutboundPortURI,
+				notificationBatchSize, notificationFlushDelay,
+				taskQueueCapacity, taskQueueOverflowPolicy, taskSchedulingPolicy, 1);
+	}
+
+	/**
+	 * create a new application VM keeping up to <code>tasksPerCore</code> tasks
+	 * running on each of its cores, which processors must then run their cores
+	 * in processor sharing mode with at least as many tasks per core.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 *
+	 * <pre>
+	 * pre	vmURI != null
+	 * pre	applicationVMManagementInboundPortURI != null
+	 * pre	requestSubmissionInboundPortURI != null
+	 * pre	requestNotificationOutboundPortURI != null
+	 * pre	notificationBatchSize &gt; 0 and notificationFlushDelay &gt;= 0
+	 * pre	taskQueueCapacity &gt; 0 and taskQueueOverflowPolicy != null
+	 * pre	taskSchedulingPolicy != null
+	 * pre	tasksPerCore &gt; 0
+	 * post	true			// no post condition.
+	 * </pre>
+	 *
+	 * @param vmURI                                 URI of the newly created VM.
+	 * @param applicationVMManagementInboundPortURI URI of the VM management inbound
+	 *                                              port.
+	 * @param requestSubmissionInboundPortURI       URI of the request submission
+	 *                                              inbound port.
+	 * @param requestNotificationInboundPortURI     URI of the request notification
+	 *                                              inbound port.
+	 * @param notificationBatchSize                 number of terminated requests
+	 *                                              notified together, 1 to notify
+	 *                                              each one.
+	 * @param notificationFlushDelay                maximum delay in ms before a
+	 *                                              termination is notified.
+	 * @param taskQueueCapacity                     maximum number of requests
+	 *                                              waiting for a core.
+	 * @param taskQueueOverflowPolicy               what to do with a request
+	 *                                              submitted when the queue is full.
+	 * @param taskSchedulingPolicy                  order in which waiting requests
+	 *                                              are started.
+	 * @param tasksPerCore                          number of requests running at
+	 *                                              the same time on each core.
+	 */
+	public ApplicationVM (
+			String vmURI, 
+			String applicationVMManagementInboundPortURI,
+			String requestSubmissionInboundPortURI, 
+			String requestNotificationInboundPortURI,
+			String requestNotificationOutboundPortURI,
+			Integer notificationBatchSize,
+			Long notificationFlushDelay,
+			Integer taskQueueCapacity,
+			TaskQueueOverflowPolicy taskQueueOverflowPolicy,
+			TaskSchedulingPolicy taskSchedulingPolicy,
+			Integer tasksPerCore) throws Exception {
 		
 		// The normal thread pool is used to process component services, while
 		// the scheduled one is used to schedule the pushes of dynamic state
@@ -197,16 +422,33 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 		assert applicationVMManagementInboundPortURI != null;
 		assert requestSubmissionInboundPortURI != null;
 		assert requestNotificationInboundPortURI != null;
+		assert notificationBatchSize > 0 && notificationFlushDelay >= 0;
+		assert taskQueueCapacity > 0 && taskQueueOverflowPolicy != null;
+		assert taskSchedulingPolicy != null;
+		assert tasksPerCore > 0;
 
 		this.vmURI = vmURI;
-		// hash map keeping track of the idle status of cores
-		this.allocatedCoresIdleStatus = new HashMap<>();
+		// allocated cores and free list of the idle ones
+		this.allocatedCores = new IdleCorePool();
+		this.tasksPerCore = tasksPerCore;
 		// queue of awaiting tasks
-		this.taskQueue = new LinkedList<>();
+		this.taskQueue = taskSchedulingPolicy.createQueue(taskQueueCapacity);
+		this.taskQueueCapacity = taskQueueCapacity;
+		this.taskQueueOverflowPolicy = taskQueueOverflowPolicy;
+		this.taskSchedulingPolicy = taskSchedulingPolicy;
+		this.blockedTasks = new ArrayDeque<>();
 		// tasks needing a end of execution notification
 		this.tasksToNotify = new HashSet<>();
 		// tasks currently running on the cores
 		this.runningTasks = new HashMap<>();
+		this.taskStartTimes = new long[0];
+		// service times of the completed tasks
+		this.serviceTimes = new ServiceTimeHistogram();
+		// terminated requests waiting to be notified
+		this.pendingNotifications = new ArrayList<>();
+		this.pendingTerminationTimes = new long[notificationBatchSize];
+		this.notificationBatchSize = notificationBatchSize;
+		this.notificationFlushDelay = notificationFlushDelay;
 
 		// Interfaces and ports
 		this.addOfferedInterface(ApplicationVMManagementI.class);
@@ -230,6 +472,20 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 		this.addPort(this.requestNotificationOutboundPort);
 		this.requestNotificationOutboundPort.publishPort();
 
+		this.addOfferedInterface(ApplicationVMIntrospectionI.class);
+		this.avmIntrospectionInboundPort = new ApplicationVMIntrospectionInboundPort(this);
+		this.addPort(this.avmIntrospectionInboundPort);
+		this.avmIntrospectionInboundPort.publishPort();
+
+		this.addOfferedInterface(ControlledDataOfferedI.ControlledPullI.class);
+		this.avmStaticStateDataInboundPort = new ApplicationVMStaticStateDataInboundPort(this);
+		this.addPort(this.avmStaticStateDataInboundPort);
+		this.avmStaticStateDataInboundPort.publishPort();
+
+		this.avmdsdip = new ApplicationVMDynamicStateDataInboundPort(this);
+		this.addPort(this.avmdsdip);
+		this.avmdsdip.publishPort();
+
         this.tracer.setRelativePosition(0, 2);
 	}
 
@@ -247,7 +503,14 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 
 	@Override
 	public void finalise() throws Exception {
+		synchronized (this.pendingNotifications) {
+			if (this.notificationFlushFuture != null) this.notificationFlushFuture.cancel(false);
+			if (this.requestNotificationOutboundPort.connected()) this.sendPendingNotifications();
+		}
 		if (this.requestNotificationOutboundPort.connected()) this.doPortDisconnection(this.requestNotificationOutboundPort.getPortURI());
+		this.stopPushing();
+		if (this.avmStaticStateDataInboundPort.connected()) this.avmStaticStateDataInboundPort.doDisconnection();
+		if (this.avmdsdip.connected()) this.avmdsdip.doDisconnection();
 		for (ProcessorServicesOutboundPort p : this.processorServicesPorts.values()) {
 			p.doDisconnection();
 		}
@@ -271,6 +534,9 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 				this.processorNotificationInboundPorts.get(uri).unpublishPort();
 			}
 			if (this.applicationVMManagementInboundPort.isPublished()) this.applicationVMManagementInboundPort.unpublishPort();
+			if (this.avmIntrospectionInboundPort.isPublished()) this.avmIntrospectionInboundPort.unpublishPort();
+			if (this.avmStaticStateDataInboundPort.isPublished()) this.avmStaticStateDataInboundPort.unpublishPort();
+			if (this.avmdsdip.isPublished()) this.avmdsdip.unpublishPort();
 		} catch (Exception e) {
 			throw new ComponentShutdownException("processor services outbound port disconnection" + " error", e);
 		}
@@ -287,8 +553,8 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 	 */
 	@Override
 	public void acceptRequestSubmission(final RequestI r) throws Exception {
-		this.taskQueue.add(new Task(r));
-		this.startTask();
+		this.queueTask(new Task(r), false);
+		this.startTasks();
 	}
 
 	/**
@@ -300,10 +566,48 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 			this.logMessage("ApplicationVM>>acceptRequestSubmissionAndNotify");
 		}
 		this.logMessage(this.vmURI + " queues request " + r.getRequestURI());
-		Task t = new Task(r);
-		this.taskQueue.add(t);
-		this.tasksToNotify.add(t.taskURI);
-		this.startTask();
+		this.queueTask(new Task(r), true);
+		this.startTasks();
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestSubmissionHandlerI#acceptRequestsSubmissionAndNotify(fr.sorbonne_u.datacenter.software.interfaces.RequestI[])
+	 */
+	@Override
+	public void acceptRequestsSubmissionAndNotify(final RequestI[] requests) throws Exception {
+		assert requests != null && requests.length > 0;
+
+		this.logMessage(this.vmURI + " queues " + requests.length + " requests");
+		for (RequestI r : requests) {
+			this.queueTask(new Task(r), true);
+		}
+		this.startTasks();
+	}
+
+	/**
+	 * give back waiting requests through the notification port, so they can run
+	 * on another VM, possibly none: first the
+	 * requests blocked out of the full queue, the last arrived first, then from
+	 * the queue, with the FIFO policy the oldest ones, otherwise the ones that
+	 * would be started last.
+	 * 
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestSubmissionHandlerI#acceptRequestsWithdrawalAndNotify(int)
+	 */
+	@Override
+	public void acceptRequestsWithdrawalAndNotify(final int n) throws Exception {
+		assert n > 0;
+
+		RequestI[] withdrawn = new RequestI[Math.min(n, this.blockedTasks.size() + this.taskQueue.size())];
+		for (int i = 0; i < withdrawn.length; i++) {
+			TaskI t = this.blockedTasks.isEmpty() ? this.taskQueue.shed() : this.blockedTasks.pollLast();
+			this.tasksToNotify.remove(t.getTaskURI());
+			withdrawn[i] = t.getRequest();
+		}
+
+		if (withdrawn.length > 0) {
+			this.logMessage(this.vmURI + " gives back " + withdrawn.length + " waiting requests");
+		}
+		this.requestNotificationOutboundPort.notifyRequestsWithdrawal(withdrawn);
 	}
 
 	/**
@@ -319,29 +623,93 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 	// ------------------------------------------------------------------------
 
 	/**
-	 * start a task if there is at least one in the queue, and an idle core on which
-	 * it can be executed.
+	 * add a task to the queue, applying the overflow policy if the queue is full;
+	 * the rejection of a dropped task which end had to be notified is notified.
 	 * 
 	 * <p>
 	 * <strong>Contract</strong>
 	 * </p>
 	 * 
 	 * <pre>
-	 * pre	true			// no precondition.
+	 * pre	t != null
 	 * post	true			// no post condition.
 	 * </pre>
 	 *
+	 * @param t      task to be queued.
+	 * @param notify true if the end of the task must be notified.
+	 */
+	private void queueTask(final TaskI t, final boolean notify) throws Exception {
+		assert t != null;
+
+		// blocked tasks enter the queue first
+		if (!this.blockedTasks.isEmpty() || !this.taskQueue.offer(t)) {
+			switch (this.taskQueueOverflowPolicy) {
+				case REJECT:
+					this.logMessage(this.vmURI + " queue full, rejects request " + t.getRequest().getRequestURI());
+					if (notify) this.requestNotificationOutboundPort.notifyRequestRejection(t.getRequest());
+					return;
+				case SHED_OLDEST:
+					TaskI shed = this.taskQueue.shed();
+					this.logMessage(this.vmURI + " queue full, sheds request " + shed.getRequest().getRequestURI());
+					if (this.tasksToNotify.remove(shed.getTaskURI())) {
+						this.requestNotificationOutboundPort.notifyRequestRejection(shed.getRequest());
+					}
+					this.taskQueue.offer(t);
+					break;
+				default:
+					this.blockedTasks.addLast(t);
+					break;
+			}
+		}
+
+		if (notify) this.tasksToNotify.add(t.getTaskURI());
+	}
+
+	/**
+	 * move blocked tasks to the queue, in their arrival order, while there is
+	 * room in it.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	blockedTasks.isEmpty() or taskQueue.isFull()
+	 * </pre>
+	 */
+	private void unblockTasks() {
+		while (!this.blockedTasks.isEmpty() && this.taskQueue.offer(this.blockedTasks.peekFirst())) {
+			this.blockedTasks.pollFirst();
+		}
+	}
+
+	/**
+	 * start tasks from the queue on all the idle cores, until either the queue is
+	 * empty or no core is idle; called whenever tasks are queued, a task ends or
+	 * cores are allocated, so new capacity is used at once.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	taskQueue.isEmpty() or allocatedCores.getIdleCount() == 0
+	 * </pre>
+	 *
 	 */
-	private void startTask() throws Exception {
-		assert !this.taskQueue.isEmpty();
-
-		AllocatedCore ac = this.findIdleCore();
-		if (ac != null) {
-			this.allocatedCoresIdleStatus.remove(ac);
-			this.allocatedCoresIdleStatus.put(ac, false);
-			TaskI t = this.taskQueue.remove();
+	private void startTasks() throws Exception {
+		while (!this.taskQueue.isEmpty()) {
+			int slot = this.allocatedCores.acquire();
+			if (slot < 0) break;
+
+			AllocatedCore ac = this.allocatedCores.get(slot);
+			TaskI t = this.taskQueue.poll();
+			this.unblockTasks();
 			this.logMessage(this.vmURI + " starts request " + t.getRequest().getRequestURI());
-			this.runningTasks.put(t.getTaskURI(), ac);
+			this.runningTasks.put(t.getTaskURI(), slot);
+			this.taskStartTimes[slot] = TimeManagement.getClock(this).nanoTime();
 			ProcessorServicesOutboundPort p = this.processorServicesPorts.get(ac.processorURI);
 			ProcessorServicesNotificationInboundPort np = this.processorNotificationInboundPorts.get(ac.processorURI);
 			p.executeTaskOnCoreAndNotify(t, ac.coreNo, np.getPortURI());
@@ -350,7 +718,7 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 
 	/**
 	 * update the data structures after the end of a task <code>t</code>, and if the
-	 * task queue is not empty, start another one.
+	 * task queue is not empty, start others on the idle cores.
 	 * 
 	 * <p>
 	 * <strong>Contract</strong>
@@ -367,71 +735,126 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 		assert t != null && this.isRunningTask(t);
 
 		this.logMessage(this.vmURI + " terminates request " + t.getRequest().getRequestURI());
-		AllocatedCore ac = this.runningTasks.remove(t.getTaskURI());
-		this.allocatedCoresIdleStatus.remove(ac);
-		this.allocatedCoresIdleStatus.put(ac, true);
+		int slot = this.runningTasks.remove(t.getTaskURI());
+		long serviceTime = (TimeManagement.getClock(this).nanoTime() - this.taskStartTimes[slot]) / 1000;
+		synchronized (this.serviceTimes) {
+			this.serviceTimes.record(serviceTime);
+		}
+		this.allocatedCores.release(slot);
 		if (this.tasksToNotify.contains(t.getTaskURI())) {
 			this.tasksToNotify.remove(t.getTaskURI());
-			this.requestNotificationOutboundPort.notifyRequestTermination(t.getRequest());
-		}
-		if (!this.taskQueue.isEmpty()) {
-			this.startTask();
+			this.notifyTermination(t.getRequest());
 		}
+		this.startTasks();
 	}
 
 	/**
-	 * return true if the internal data structures reflects the fact that the task
-	 * <code>t</code> is currently in running state.
+	 * add a terminated request to the pending notifications, and send them if
+	 * there are enough; otherwise make sure they are sent after the flush delay.
 	 * 
 	 * <p>
 	 * <strong>Contract</strong>
 	 * </p>
 	 * 
 	 * <pre>
-	 * pre	t != null
+	 * pre	r != null
 	 * post	true			// no post condition.
 	 * </pre>
 	 *
-	 * @param t the task to be tested.
-	 * @return true if the t is currently considered as running on a core.
+	 * @param r terminated request.
 	 */
-	private boolean isRunningTask(TaskI t) {
-		assert t != null;
+	private void notifyTermination(RequestI r) throws Exception {
+		synchronized (this.pendingNotifications) {
+			this.pendingTerminationTimes[this.pendingNotifications.size()] = TimeManagement.getClock(this).nanoTime();
+			this.pendingNotifications.add(r);
 
-		return this.runningTasks.containsKey(t.getTaskURI())
-				&& !this.allocatedCoresIdleStatus.get(this.runningTasks.get(t.getTaskURI()));
+			if (this.pendingNotifications.size() >= this.notificationBatchSize) {
+				if (this.notificationFlushFuture != null) this.notificationFlushFuture.cancel(false);
+				this.notificationFlushFuture = null;
+				this.sendPendingNotifications();
+
+			} else if (this.notificationFlushFuture == null) {
+				this.notificationFlushFuture = SimulationEngine.scheduleTask(this, new AbstractComponent.AbstractTask() {
+					@Override
+					public void run() {
+						try {
+							((ApplicationVM) this.getOwner()).flushPendingNotifications();
+						} catch (Exception e) {
+							throw new RuntimeException(e);
+						}
+					}
+				}, this.notificationFlushDelay);
+			}
+		}
 	}
 
 	/**
-	 * find an idle core and return its reference or null if none is.
+	 * send the pending notifications when the flush delay is over.
+	 */
+	private void flushPendingNotifications() throws Exception {
+		synchronized (this.pendingNotifications) {
+			this.notificationFlushFuture = null;
+			this.sendPendingNotifications();
+		}
+	}
+
+	/**
+	 * send the pending notifications, in a single call with their termination
+	 * times when they are aggregated.
 	 * 
 	 * <p>
 	 * <strong>Contract</strong>
 	 * </p>
 	 * 
 	 * <pre>
-	 * pre	true			// no precondition.
-	 * post	true			// no post condition.
+	 * pre	Thread.holdsLock(pendingNotifications)
+	 * post	pendingNotifications.isEmpty()
 	 * </pre>
-	 *
-	 * @return an idle core reference or null if none is.
 	 */
-	private AllocatedCore findIdleCore() {
-		AllocatedCore ret = null;
-		for (AllocatedCore ac : this.allocatedCoresIdleStatus.keySet()) {
-			if (this.allocatedCoresIdleStatus.get(ac)) {
-				ret = ac;
-				break;
+	private void sendPendingNotifications() throws Exception {
+		int n = this.pendingNotifications.size();
+		try {
+			if (n == 1 && this.notificationBatchSize == 1) {
+				// not aggregated, so notified as soon as it terminated
+				this.requestNotificationOutboundPort.notifyRequestTermination(this.pendingNotifications.get(0));
+			} else if (n > 0) {
+				this.requestNotificationOutboundPort.notifyRequestsTermination(
+						this.pendingNotifications.toArray(new RequestI[0]),
+						Arrays.copyOf(this.pendingTerminationTimes, n));
 			}
+		} finally {
+			this.pendingNotifications.clear();
 		}
-		return ret;
+	}
+
+	/**
+	 * return true if the internal data structures reflects the fact that the task
+	 * <code>t</code> is currently in running state.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	t != null
+	 * post	true			// no post condition.
+	 * </pre>
+	 *
+	 * @param t the task to be tested.
+	 * @return true if the t is currently considered as running on a core.
+	 */
+	private boolean isRunningTask(TaskI t) {
+		assert t != null;
+
+		Integer slot = this.runningTasks.get(t.getTaskURI());
+		return slot != null && !this.allocatedCores.isIdle(slot);
 	}
 
 	protected void printIdleStatus() {
 		System.out.println("----------");
-		for (AllocatedCore ac : this.allocatedCoresIdleStatus.keySet()) {
-			System.out
-					.println("*** " + ac.processorURI + " " + ac.coreNo + " " + this.allocatedCoresIdleStatus.get(ac));
+		for (int slot = 0; slot < this.allocatedCores.size(); slot++) {
+			AllocatedCore ac = this.allocatedCores.get(slot);
+			System.out.println("*** " + ac.processorURI + " " + ac.coreNo + " " + this.allocatedCores.isIdle(slot));
 		}
 		System.out.println("----------");
 	}
@@ -471,7 +894,7 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 	public void startUnlimitedPushing(int interval) throws Exception {
 		// first, send the static state if the corresponding port is connected
 		this.sendStaticState();
-		this.pushingFuture = this.scheduleTaskAtFixedRate(
+		this.pushingFuture = SimulationEngine.scheduleTaskAtFixedRate(this,
 			new AbstractComponent.AbstractTask() {
 				@Override
 				public void run() {
@@ -482,9 +905,8 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 					}
 				}
 			},
-			TimeManagement.acceleratedDelay(interval),
-			TimeManagement.acceleratedDelay(interval),
-			TimeUnit.MILLISECONDS);
+			interval,
+			interval);
 	}
 
 	/**
@@ -500,7 +922,7 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 		// first, send the static state if the corresponding port is connected
 		this.sendStaticState();
 
-		this.pushingFuture = this.scheduleTask(new AbstractComponent.AbstractTask() {
+		this.pushingFuture = SimulationEngine.scheduleTask(this, new AbstractComponent.AbstractTask() {
 			@Override
 			public void run() {
 				try {
@@ -509,7 +931,7 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 					throw new RuntimeException(e);
 				}
 			}
-		}, TimeManagement.acceleratedDelay(interval), TimeUnit.MILLISECONDS);
+		}, interval);
 	}
 
 	/**
@@ -530,7 +952,17 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 
 	private void sendDynamicState() throws Exception {
 		if (this.avmdsdip.connected()) {
-			this.avmdsdip.send(this.getDynamicState());
+			// the pushes run on the scheduled thread, while the allocated cores
+			// and the queues are changed by the services on the service thread,
+			// so the snapshot is taken there
+			ApplicationVMDynamicStateI dynamicState = this.handleRequestSync(
+					new AbstractComponent.AbstractService<ApplicationVMDynamicStateI>() {
+						@Override
+						public ApplicationVMDynamicStateI call() throws Exception {
+							return ((ApplicationVM) this.getOwner()).getDynamicState();
+						}
+					});
+			this.avmdsdip.send(dynamicState);
 		}
 	}
 
@@ -538,7 +970,7 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 		this.sendDynamicState();
 		final int fNumberOfRemainingPushes = n - 1;
 		if (fNumberOfRemainingPushes > 0) {
-			this.pushingFuture = this.scheduleTask(new AbstractComponent.AbstractTask() {
+			this.pushingFuture = SimulationEngine.scheduleTask(this, new AbstractComponent.AbstractTask() {
 				@Override
 				public void run() {
 					try {
@@ -547,17 +979,72 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 						throw new RuntimeException(e);
 					}
 				}
-			}, TimeManagement.acceleratedDelay(interval), TimeUnit.MILLISECONDS);
+			}, interval);
 
 		}
 	}
 
+	/**
+	 * return the static state of the application VM as an instance of
+	 * <code>ApplicationVMStaticStateI</code>.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return != null
+	 * </pre>
+	 *
+	 * @return the static state of the application VM.
+	 */
 	public ApplicationVMStaticStateI getStaticState() {
-		return null;
+		return new ApplicationVMStaticState(this.vmURI, this.taskQueueCapacity, this.taskQueueOverflowPolicy,
+				this.taskSchedulingPolicy);
 	}
 
+	/**
+	 * return a snapshot of the dynamic state of the application VM as an
+	 * instance of <code>ApplicationVMDynamicStateI</code>; the only allocations
+	 * are the snapshot and the copy of the service time counts. It reads the
+	 * allocated cores and the queues without locking them, so it must run on
+	 * the service thread of the application VM, as the services changing them.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return != null
+	 * </pre>
+	 *
+	 * @return the current dynamic state of the application VM.
+	 */
 	public ApplicationVMDynamicStateI getDynamicState() {
-		return null;
+		long completedTasks;
+		long[] serviceTimeCounts;
+		synchronized (this.serviceTimes) {
+			completedTasks = this.serviceTimes.getTotalCount();
+			serviceTimeCounts = this.serviceTimes.copyCounts();
+		}
+
+		int numberOfSlots = this.allocatedCores.size();
+		int numberOfCores = numberOfSlots / this.tasksPerCore;
+		int runningTasks = 0;
+		int busyCores = 0;
+		for (int core = 0; core < numberOfCores; core++) {
+			int busySlots = 0;
+			for (int slot = core * this.tasksPerCore; slot < (core + 1) * this.tasksPerCore; slot++) {
+				if (!this.allocatedCores.isIdle(slot)) busySlots++;
+			}
+			runningTasks += busySlots;
+			if (busySlots > 0) busyCores++;
+		}
+		return new ApplicationVMDynamicState(this.vmURI, numberOfCores,
+				this.taskQueue.size() + this.blockedTasks.size(), runningTasks,
+				busyCores, completedTasks, serviceTimeCounts);
 	}
 
 	// ------------------------------------------------------------------------
@@ -571,9 +1058,9 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 	public void allocateCores(AllocatedCore[] allocatedCores) throws Exception {
 		assert allocatedCores != null && allocatedCores.length != 0;
 
-		for (AllocatedCore allocatedCore : allocatedCores) {
-			this.allocatedCoresIdleStatus.put(allocatedCore, true);
-		}
+		// one slot per task the core runs at the same time
+		this.allocatedCores.addShared(allocatedCores, this.tasksPerCore);
+		this.taskStartTimes = Arrays.copyOf(this.taskStartTimes, this.allocatedCores.size());
 
 		// Link the VM with the newly allocated cores' processors if they are
 		// not yet.
@@ -593,6 +1080,9 @@ public class ApplicationVM extends AbstractComponent implements ProcessorService
 			}
 		}
 		this.logMessage("---> Received " + allocatedCores.length + " new cores");
+
+		// waiting tasks can start at once on the new cores
+		this.startTasks();
 	}
 
 	@Override
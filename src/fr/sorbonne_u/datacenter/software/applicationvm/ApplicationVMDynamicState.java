@@ -0,0 +1,162 @@
+package fr.sorbonne_u.datacenter.software.applicationvm;
+
+import fr.sorbonne_u.datacenter.data.AbstractTimeStampedData;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMDynamicStateI;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.ServiceTimeHistogram;
+
+/**
+ * The class <code>ApplicationVMDynamicState</code> implements objects
+ * representing a snapshot of the dynamic state of an application VM component
+ * to be pulled or pushed through the dynamic state data interface.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ * 
+ * Besides the service time histogram counts, which are copied once, the
+ * snapshot only holds primitive values.
+ * 
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant avmURI != null and serviceTimeCounts != null
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class ApplicationVMDynamicState extends AbstractTimeStampedData implements ApplicationVMDynamicStateI {
+	// ------------------------------------------------------------------------
+	// Instance variables and constants
+	// ------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	/** URI of the application VM. */
+	private final String avmURI;
+	/** number of cores allocated to the application VM. */
+	private final int numberOfCores;
+	/** number of requests waiting for a core. */
+	private final int queueLength;
+	/** number of requests running on the cores. */
+	private final int numberOfRunningTasks;
+	/** number of cores running at least one request. */
+	private final int numberOfBusyCores;
+	/** number of requests completed since the creation of the application VM. */
+	private final long numberOfCompletedTasks;
+	/** service time histogram counts. */
+	private final long[] serviceTimeCounts;
+
+	// ------------------------------------------------------------------------
+	// Constructors
+	// ------------------------------------------------------------------------
+
+	/**
+	 * create a snapshot of the dynamic state of an application VM component.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	avmURI != null and serviceTimeCounts != null
+	 * pre	numberOfRunningTasks &gt;= 0
+	 * pre	0 &lt;= numberOfBusyCores &lt;= min(numberOfCores, numberOfRunningTasks)
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param avmURI                 URI of the application VM.
+	 * @param numberOfCores          number of allocated cores.
+	 * @param queueLength            number of requests waiting for a core.
+	 * @param numberOfRunningTasks   number of requests running on the cores.
+	 * @param numberOfBusyCores      number of cores running at least one
+	 *                               request.
+	 * @param numberOfCompletedTasks number of completed requests.
+	 * @param serviceTimeCounts      service time histogram counts, not copied.
+	 */
+	ApplicationVMDynamicState(String avmURI, int numberOfCores, int queueLength, int numberOfRunningTasks,
+			int numberOfBusyCores, long numberOfCompletedTasks, long[] serviceTimeCounts) {
+		super();
+
+		assert avmURI != null && serviceTimeCounts != null;
+		assert numberOfRunningTasks >= 0;
+		assert numberOfBusyCores >= 0 && numberOfBusyCores <= Math.min(numberOfCores, numberOfRunningTasks);
+
+		this.avmURI = avmURI;
+		this.numberOfCores = numberOfCores;
+		this.queueLength = queueLength;
+		this.numberOfRunningTasks = numberOfRunningTasks;
+		this.numberOfBusyCores = numberOfBusyCores;
+		this.numberOfCompletedTasks = numberOfCompletedTasks;
+		this.serviceTimeCounts = serviceTimeCounts;
+	}
+
+	// ------------------------------------------------------------------------
+	// Methods
+	// ------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMDynamicStateI#getApplicationVMURI()
+	 */
+	@Override
+	public String getApplicationVMURI() {
+		return this.avmURI;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMDynamicStateI#getNumberOfCores()
+	 */
+	@Override
+	public int getNumberOfCores() {
+		return this.numberOfCores;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMDynamicStateI#getQueueLength()
+	 */
+	@Override
+	public int getQueueLength() {
+		return this.queueLength;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMDynamicStateI#getNumberOfRunningTasks()
+	 */
+	@Override
+	public int getNumberOfRunningTasks() {
+		return this.numberOfRunningTasks;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMDynamicStateI#getNumberOfCompletedTasks()
+	 */
+	@Override
+	public long getNumberOfCompletedTasks() {
+		return this.numberOfCompletedTasks;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMDynamicStateI#getBusyCoreRatio()
+	 */
+	@Override
+	public double getBusyCoreRatio() {
+		return this.numberOfCores == 0 ? 0.0 : (double) this.numberOfBusyCores / this.numberOfCores;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMDynamicStateI#getServiceTimeCounts()
+	 */
+	@Override
+	public long[] getServiceTimeCounts() {
+		return this.serviceTimeCounts;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMDynamicStateI#getServiceTimePercentile(double)
+	 */
+	@Override
+	public long getServiceTimePercentile(double percentile) {
+		return ServiceTimeHistogram.getValueAtPercentile(this.serviceTimeCounts, percentile);
+	}
+}
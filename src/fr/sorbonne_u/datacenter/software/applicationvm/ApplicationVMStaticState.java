@@ -0,0 +1,111 @@
+package fr.sorbonne_u.datacenter.software.applicationvm;
+
+import fr.sorbonne_u.datacenter.data.AbstractTimeStampedData;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMStaticStateI;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskQueueOverflowPolicy;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskSchedulingPolicy;
+
+/**
+ * The class <code>ApplicationVMStaticState</code> implements objects
+ * representing a snapshot of the static state of an application VM component
+ * to be pulled or pushed through the static state data interface.
+ *
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant avmURI != null and taskQueueCapacity &gt; 0
+ * invariant taskQueueOverflowPolicy != null and taskSchedulingPolicy != null
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class ApplicationVMStaticState extends AbstractTimeStampedData implements ApplicationVMStaticStateI {
+	// ------------------------------------------------------------------------
+	// Instance variables and constants
+	// ------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	/** URI of the application VM. */
+	private final String avmURI;
+	/** maximum number of requests waiting for a core. */
+	private final int taskQueueCapacity;
+	/** what to do with a request submitted when the queue is full. */
+	private final TaskQueueOverflowPolicy taskQueueOverflowPolicy;
+	/** order in which waiting requests are started. */
+	private final TaskSchedulingPolicy taskSchedulingPolicy;
+
+	// ------------------------------------------------------------------------
+	// Constructors
+	// ------------------------------------------------------------------------
+
+	/**
+	 * create a snapshot of the static state of an application VM component.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	avmURI != null and taskQueueCapacity &gt; 0
+	 * pre	taskQueueOverflowPolicy != null and taskSchedulingPolicy != null
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param avmURI                  URI of the application VM.
+	 * @param taskQueueCapacity       maximum number of requests waiting for a core.
+	 * @param taskQueueOverflowPolicy what to do with a request submitted when the
+	 *                                queue is full.
+	 * @param taskSchedulingPolicy    order in which waiting requests are started.
+	 */
+	ApplicationVMStaticState(String avmURI, int taskQueueCapacity, TaskQueueOverflowPolicy taskQueueOverflowPolicy,
+			TaskSchedulingPolicy taskSchedulingPolicy) {
+		super();
+
+		assert avmURI != null && taskQueueCapacity > 0;
+		assert taskQueueOverflowPolicy != null && taskSchedulingPolicy != null;
+
+		this.avmURI = avmURI;
+		this.taskQueueCapacity = taskQueueCapacity;
+		this.taskQueueOverflowPolicy = taskQueueOverflowPolicy;
+		this.taskSchedulingPolicy = taskSchedulingPolicy;
+	}
+
+	// ------------------------------------------------------------------------
+	// Methods
+	// ------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMStaticStateI#getApplicationVMURI()
+	 */
+	@Override
+	public String getApplicationVMURI() {
+		return this.avmURI;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMStaticStateI#getTaskQueueCapacity()
+	 */
+	@Override
+	public int getTaskQueueCapacity() {
+		return this.taskQueueCapacity;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMStaticStateI#getTaskQueueOverflowPolicy()
+	 */
+	@Override
+	public TaskQueueOverflowPolicy getTaskQueueOverflowPolicy() {
+		return this.taskQueueOverflowPolicy;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMStaticStateI#getTaskSchedulingPolicy()
+	 */
+	@Override
+	public TaskSchedulingPolicy getTaskSchedulingPolicy() {
+		return this.taskSchedulingPolicy;
+	}
+}
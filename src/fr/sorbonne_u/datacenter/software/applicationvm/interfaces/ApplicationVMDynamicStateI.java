@@ -2,6 +2,7 @@ package fr.sorbonne_u.datacenter.software.applicationvm.interfaces;
 
 import fr.sorbonne_u.components.interfaces.DataOfferedI;
 import fr.sorbonne_u.components.interfaces.DataRequiredI;
+import fr.sorbonne_u.datacenter.interfaces.TimeStampingI;
 
 /**
  * The interface <code>ApplicationVMDynamicStateI</code> defines the object
@@ -9,11 +10,154 @@ import fr.sorbonne_u.components.interfaces.DataRequiredI;
  * machines.
  *
  * <p>
+ * <strong>Description</strong>
+ * </p>
+ * 
+ * The counters and the service time histogram are cumulative since the
+ * creation of the application VM, so a consumer gets the throughput or the
+ * service times over an interval from the difference of two snapshots.
+ * 
+ * <p>
  * Created on : September 30, 2015
  * </p>
  * 
  * @author <a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
  */
-public interface ApplicationVMDynamicStateI extends DataOfferedI.DataI, DataRequiredI.DataI {
+public interface ApplicationVMDynamicStateI extends DataOfferedI.DataI, DataRequiredI.DataI, TimeStampingI {
+	/**
+	 * return the URI of the application VM.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return != null
+	 * </pre>
+	 *
+	 * @return the URI of the application VM.
+	 */
+	String getApplicationVMURI();
+
+	/**
+	 * return the number of cores allocated to the application VM.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return &gt;= 0
+	 * </pre>
+	 *
+	 * @return the number of allocated cores.
+	 */
+	int getNumberOfCores();
+
+	/**
+	 * return the number of requests waiting for a core.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return &gt;= 0
+	 * </pre>
+	 *
+	 * @return the length of the task queue.
+	 */
+	int getQueueLength();
+
+	/**
+	 * return the number of requests currently running on the cores.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return &gt;= 0 and return &lt;= getNumberOfCores()
+	 * </pre>
+	 *
+	 * @return the number of running requests.
+	 */
+	int getNumberOfRunningTasks();
+
+	/**
+	 * return the number of requests completed since the creation of the
+	 * application VM.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return &gt;= 0
+	 * </pre>
+	 *
+	 * @return the number of completed requests.
+	 */
+	long getNumberOfCompletedTasks();
+
+	/**
+	 * return the ratio of the allocated cores currently running a request.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return &gt;= 0.0 and return &lt;= 1.0
+	 * </pre>
+	 *
+	 * @return the busy core ratio, 0 when no core is allocated.
+	 */
+	double getBusyCoreRatio();
+
+	/**
+	 * return the counts of the service time histogram, where the count at index
+	 * <code>i</code> is the number of requests which service time in
+	 * microseconds is in the bucket <code>i</code> of
+	 * <code>ServiceTimeHistogram</code>.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return != null
+	 * </pre>
+	 *
+	 * @return the service time histogram counts.
+	 */
+	long[] getServiceTimeCounts();
 
+	/**
+	 * return an upper bound of the service time, in microseconds, under which
+	 * the given percentage of the completed requests were served.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	percentile &gt; 0.0 and percentile &lt;= 100.0
+	 * post	return &gt;= 0
+	 * </pre>
+	 *
+	 * @param percentile percentage of the completed requests.
+	 * @return the service time at this percentile, 0 when no request completed.
+	 */
+	long getServiceTimePercentile(double percentile);
 }
@@ -0,0 +1,65 @@
+package fr.sorbonne_u.datacenter.software.applicationvm.interfaces;
+
+/**
+ * The interface <code>ApplicationVMStateDataConsumerI</code> defines the
+ * consumer side methods used to receive state data pushed by an application
+ * VM, both static and dynamic.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ * 
+ * The interface must be implemented by all classes representing components
+ * that will consume as clients state data pushed by application VMs. They are
+ * used by <code>ApplicationVMStaticStateDataOutboundPort</code> and
+ * <code>ApplicationVMDynamicStateDataOutboundPort</code> to pass these data
+ * upon reception, with the URI of the application VM given at the creation of
+ * the outbound ports.
+ * 
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant		true
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public interface ApplicationVMStateDataConsumerI {
+	/**
+	 * accept the static data pushed by an application VM with the given URI.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	avmURI != null and staticState != null
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param avmURI      URI of the application VM sending the data.
+	 * @param staticState static state of this application VM.
+	 */
+	void acceptApplicationVMStaticData(String avmURI, ApplicationVMStaticStateI staticState) throws Exception;
+
+	/**
+	 * accept the dynamic data pushed by an application VM with the given URI.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	avmURI != null and currentDynamicState != null
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param avmURI              URI of the application VM sending the data.
+	 * @param currentDynamicState current dynamic state of this application VM.
+	 */
+	void acceptApplicationVMDynamicData(String avmURI, ApplicationVMDynamicStateI currentDynamicState)
+			throws Exception;
+}
@@ -3,6 +3,8 @@ package fr.sorbonne_u.datacenter.software.applicationvm.interfaces;
 import fr.sorbonne_u.components.interfaces.DataOfferedI;
 import fr.sorbonne_u.components.interfaces.DataRequiredI;
 import fr.sorbonne_u.datacenter.interfaces.TimeStampingI;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskQueueOverflowPolicy;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskSchedulingPolicy;
 
 /**
  * The interface <code>ApplicationVMStaticStateI</code> types the data objects
@@ -25,7 +27,73 @@ import fr.sorbonne_u.datacenter.interfaces.TimeStampingI;
  * </p>
  * 
  * @author <a href="mailto:Jacques.Malenfant@lip6.fr">Jacques Malenfant</a>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
  */
 public interface ApplicationVMStaticStateI extends DataOfferedI.DataI, DataRequiredI.DataI, TimeStampingI {
+	/**
+	 * return the URI of the application VM.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return != null
+	 * </pre>
+	 *
+	 * @return the URI of the application VM.
+	 */
+	String getApplicationVMURI();
+
+	/**
+	 * return the maximum number of requests waiting for a core.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return &gt; 0
+	 * </pre>
+	 *
+	 * @return the capacity of the task queue.
+	 */
+	int getTaskQueueCapacity();
+
+	/**
+	 * return what the application VM does with a request submitted when its
+	 * queue is full.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return != null
+	 * </pre>
+	 *
+	 * @return the overflow policy of the task queue.
+	 */
+	TaskQueueOverflowPolicy getTaskQueueOverflowPolicy();
 
+	/**
+	 * return the order in which waiting requests are started.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	return != null
+	 * </pre>
+	 *
+	 * @return the scheduling policy of the task queue.
+	 */
+	TaskSchedulingPolicy getTaskSchedulingPolicy();
 }
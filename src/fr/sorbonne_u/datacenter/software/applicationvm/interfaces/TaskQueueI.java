@@ -0,0 +1,50 @@
+package fr.sorbonne_u.datacenter.software.applicationvm.interfaces;
+
+/**
+ * The interface <code>TaskQueueI</code> defines the bounded queue of tasks
+ * waiting for a core in an application VM; the order in which tasks leave the
+ * queue depends on the implementation.
+ *
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant	0 &lt;= size() &lt;= getCapacity()
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public interface TaskQueueI {
+
+	/**
+	 * add a task if the queue is not full.
+	 *
+	 * @param t task to add.
+	 * @return true if the task was added, false if the queue is full.
+	 */
+	boolean offer(TaskI t);
+
+	/**
+	 * remove the next task to run.
+	 *
+	 * @return the next task to run, or null if the queue is empty.
+	 */
+	TaskI poll();
+
+	/**
+	 * remove the task to drop when the queue is full and tasks are shed.
+	 *
+	 * @return the task to drop, or null if the queue is empty.
+	 */
+	TaskI shed();
+
+	boolean isEmpty();
+
+	boolean isFull();
+
+	int size();
+
+	int getCapacity();
+}
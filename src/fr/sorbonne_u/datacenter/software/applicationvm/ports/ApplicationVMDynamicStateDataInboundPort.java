@@ -1,5 +1,6 @@
 package fr.sorbonne_u.datacenter.software.applicationvm.ports;
 
+import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.interfaces.DataOfferedI;
 import fr.sorbonne_u.datacenter.interfaces.ControlledDataOfferedI;
@@ -41,6 +42,11 @@ public class ApplicationVMDynamicStateDataInboundPort extends AbstractControlled
 	 */
 	@Override
 	public DataOfferedI.DataI get() throws Exception {
-		return null;
+		return this.getOwner().handleRequestSync(new AbstractComponent.AbstractService<DataOfferedI.DataI>() {
+			@Override
+			public DataOfferedI.DataI call() throws Exception {
+				return ((ApplicationVM) this.getOwner()).getDynamicState();
+			}
+		});
 	}
 }
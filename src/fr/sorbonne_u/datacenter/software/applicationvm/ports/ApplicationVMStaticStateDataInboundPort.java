@@ -1,9 +1,11 @@
 package fr.sorbonne_u.datacenter.software.applicationvm.ports;
 
+import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.interfaces.DataOfferedI.DataI;
 import fr.sorbonne_u.datacenter.interfaces.ControlledDataOfferedI;
 import fr.sorbonne_u.datacenter.ports.AbstractControlledDataInboundPort;
+import fr.sorbonne_u.datacenter.software.applicationvm.ApplicationVM;
 
 /**
  * The class <code>ApplicationVMStaticStateDataInboundPort</code> implements an
@@ -14,7 +16,8 @@ import fr.sorbonne_u.datacenter.ports.AbstractControlledDataInboundPort;
  * <strong>Description</strong>
  * </p>
  * 
- * TODO: TO BE COMPLETED
+ * Inbound port through which the application VM pushes its static state,
+ * once when pushing starts, or from which it can be pulled.
  * 
  * <p>
  * <strong>Invariant</strong>
@@ -36,10 +39,14 @@ public class ApplicationVMStaticStateDataInboundPort extends AbstractControlledD
 
 	public ApplicationVMStaticStateDataInboundPort(ComponentI owner) throws Exception {
 		super(owner);
+
+		assert owner instanceof ApplicationVM;
 	}
 
 	public ApplicationVMStaticStateDataInboundPort(String uri, ComponentI owner) throws Exception {
 		super(uri, owner);
+
+		assert owner instanceof ApplicationVM;
 	}
 
 	/**
@@ -47,6 +54,11 @@ public class ApplicationVMStaticStateDataInboundPort extends AbstractControlledD
 	 */
 	@Override
 	public DataI get() throws Exception {
-		return null;
+		return this.getOwner().handleRequestSync(new AbstractComponent.AbstractService<DataI>() {
+			@Override
+			public DataI call() throws Exception {
+				return ((ApplicationVM) this.getOwner()).getStaticState();
+			}
+		});
 	}
 }
@@ -0,0 +1,78 @@
+package fr.sorbonne_u.datacenter.software.applicationvm.ports;
+
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.interfaces.DataRequiredI;
+import fr.sorbonne_u.datacenter.ports.AbstractControlledDataOutboundPort;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMStaticStateI;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMStateDataConsumerI;
+
+/**
+ * The class <code>ApplicationVMStaticStateDataOutboundPort</code> is the
+ * client-side port to exchange static state data with an application VM
+ * component.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ * 
+ * Outbound port used to pull or push static state data from an application VM
+ * to a client implementing <code>ApplicationVMStateDataConsumerI</code>.
+ * 
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant		true
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class ApplicationVMStaticStateDataOutboundPort extends AbstractControlledDataOutboundPort {
+	// ------------------------------------------------------------------------
+	// Constants and instance variables
+	// ------------------------------------------------------------------------
+
+	private static final long serialVersionUID = 1L;
+	protected String avmURI;
+
+	// ------------------------------------------------------------------------
+	// Constructors
+	// ------------------------------------------------------------------------
+
+	public ApplicationVMStaticStateDataOutboundPort(ComponentI owner, String avmURI) throws Exception {
+		super(owner);
+		this.avmURI = avmURI;
+
+		assert owner instanceof ApplicationVMStateDataConsumerI;
+	}
+
+	public ApplicationVMStaticStateDataOutboundPort(String uri, ComponentI owner, String avmURI) throws Exception {
+		super(uri, owner);
+		this.avmURI = avmURI;
+
+		assert owner instanceof ApplicationVMStateDataConsumerI;
+	}
+
+	// ------------------------------------------------------------------------
+	// Methods
+	// ------------------------------------------------------------------------
+
+	/**
+	 * @see fr.sorbonne_u.components.interfaces.DataRequiredI.PushI#receive(fr.sorbonne_u.components.interfaces.DataRequiredI.DataI)
+	 */
+	@Override
+	public void receive(final DataRequiredI.DataI d) throws Exception {
+		final String uri = this.avmURI;
+		this.owner.handleRequestAsync(new AbstractComponent.AbstractService<Void>() {
+			@Override
+			public Void call() throws Exception {
+				((ApplicationVMStateDataConsumerI) this.getOwner()).acceptApplicationVMStaticData(uri,
+						((ApplicationVMStaticStateI) d));
+				return null;
+			}
+		});
+	}
+}
@@ -0,0 +1,110 @@
+package fr.sorbonne_u.datacenter.software.applicationvm.utils;
+
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskI;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskQueueI;
+
+/**
+ * The class <code>BoundedTaskQueue</code> implements a FIFO queue of tasks
+ * with a fixed capacity, in a ring buffer; it is the queue of the
+ * <code>FIFO</code> scheduling policy.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ * 
+ * The queue does not decide what to do when it is full: <code>offer</code>
+ * returns false and the application VM applies its
+ * <code>TaskQueueOverflowPolicy</code>.
+ * 
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant	0 &lt;= size() &lt;= getCapacity()
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class BoundedTaskQueue implements TaskQueueI {
+
+	private final TaskI[] tasks;
+	private int head;
+	private int size;
+
+	/**
+	 *
+	 * @param capacity maximum number of tasks in the queue.
+	 */
+	public BoundedTaskQueue(int capacity) {
+		assert capacity > 0;
+
+		this.tasks = new TaskI[capacity];
+		this.head = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * add a task at the end of the queue if it is not full.
+	 *
+	 * @param t task to add.
+	 * @return true if the task was added, false if the queue is full.
+	 */
+	@Override
+	public boolean offer(TaskI t) {
+		assert t != null;
+
+		if (this.size == this.tasks.length) return false;
+
+		this.tasks[(this.head + this.size) % this.tasks.length] = t;
+		this.size++;
+		return true;
+	}
+
+	/**
+	 * remove the task at the head of the queue.
+	 *
+	 * @return the oldest task, or null if the queue is empty.
+	 */
+	@Override
+	public TaskI poll() {
+		if (this.size == 0) return null;
+
+		TaskI t = this.tasks[this.head];
+		this.tasks[this.head] = null;
+		this.head = (this.head + 1) % this.tasks.length;
+		this.size--;
+		return t;
+	}
+
+	/**
+	 * remove the oldest task, as <code>poll</code>.
+	 *
+	 * @return the oldest task, or null if the queue is empty.
+	 */
+	@Override
+	public TaskI shed() {
+		return this.poll();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public boolean isFull() {
+		return this.size == this.tasks.length;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public int getCapacity() {
+		return this.tasks.length;
+	}
+}
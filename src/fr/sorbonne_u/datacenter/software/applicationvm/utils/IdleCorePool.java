@@ -0,0 +1,155 @@
+package fr.sorbonne_u.datacenter.software.applicationvm.utils;
+
+import java.util.Arrays;
+
+import fr.sorbonne_u.datacenter.hardware.computers.Computer.AllocatedCore;
+
+/**
+ * The class <code>IdleCorePool</code> keeps the cores allocated to an
+ * application VM in slots, with a free list of the idle ones.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ * 
+ * Each core gets a slot number when it is added. The idle slots are kept in a
+ * stack, so finding an idle core, marking it busy and marking it idle again
+ * are all done in constant time, without boxing.
+ * 
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant	0 &lt;= getIdleCount() &lt;= size()
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class IdleCorePool {
+
+	private AllocatedCore[] cores;
+	private boolean[] idle;
+	private int[] idleSlots;
+	private int size;
+	private int idleCount;
+
+	public IdleCorePool() {
+		this.cores = new AllocatedCore[4];
+		this.idle = new boolean[4];
+		this.idleSlots = new int[4];
+		this.size = 0;
+		this.idleCount = 0;
+	}
+
+	/**
+	 * add an idle core.
+	 *
+	 * @param ac core allocated to the application VM.
+	 * @return slot of the core.
+	 */
+	public int add(AllocatedCore ac) {
+		assert ac != null;
+
+		if (this.size == this.cores.length) {
+			int capacity = this.cores.length * 2;
+			this.cores = Arrays.copyOf(this.cores, capacity);
+			this.idle = Arrays.copyOf(this.idle, capacity);
+			this.idleSlots = Arrays.copyOf(this.idleSlots, capacity);
+		}
+
+		int slot = this.size++;
+		this.cores[slot] = ac;
+		this.release(slot);
+		return slot;
+	}
+
+	/**
+	 * add idle cores which can each run <code>seats</code> tasks at the same
+	 * time; the seats of a core get consecutive slots, so the core of a slot is
+	 * at index <code>slot / seats</code> in the allocation order, and the first
+	 * seats of all the cores are acquired before the second ones.
+	 *
+	 * @param acs   cores allocated to the application VM.
+	 * @param seats number of tasks each core can run at the same time.
+	 */
+	public void addShared(AllocatedCore[] acs, int seats) {
+		assert acs != null && seats > 0;
+
+		int base = this.size;
+		for (AllocatedCore ac : acs) {
+			for (int s = 0; s < seats; s++) {
+				this.add(ac);
+			}
+		}
+		// the idle slots are a stack: push the last seats first
+		this.idleCount -= acs.length * seats;
+		for (int s = seats - 1; s >= 0; s--) {
+			for (int c = acs.length - 1; c >= 0; c--) {
+				this.idleSlots[this.idleCount++] = base + c * seats + s;
+			}
+		}
+	}
+
+	/**
+	 * take an idle core and mark it busy.
+	 *
+	 * @return slot of the core, or -1 if no core is idle.
+	 */
+	public int acquire() {
+		if (this.idleCount == 0) return -1;
+
+		int slot = this.idleSlots[--this.idleCount];
+		this.idle[slot] = false;
+		return slot;
+	}
+
+	/**
+	 * mark a busy core idle.
+	 *
+	 * @param slot slot of the core.
+	 */
+	public void release(int slot) {
+		assert slot >= 0 && slot < this.size && !this.idle[slot];
+
+		this.idle[slot] = true;
+		this.idleSlots[this.idleCount++] = slot;
+	}
+
+	/**
+	 *
+	 * @param slot slot of a core.
+	 * @return the core in this slot.
+	 */
+	public AllocatedCore get(int slot) {
+		assert slot >= 0 && slot < this.size;
+		return this.cores[slot];
+	}
+
+	/**
+	 *
+	 * @param slot slot of a core.
+	 * @return true if the core is idle.
+	 */
+	public boolean isIdle(int slot) {
+		assert slot >= 0 && slot < this.size;
+		return this.idle[slot];
+	}
+
+	/**
+	 *
+	 * @return number of cores.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 *
+	 * @return number of idle cores.
+	 */
+	public int getIdleCount() {
+		return this.idleCount;
+	}
+}
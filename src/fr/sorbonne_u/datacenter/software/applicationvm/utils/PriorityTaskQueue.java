@@ -0,0 +1,168 @@
+package fr.sorbonne_u.datacenter.software.applicationvm.utils;
+
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskI;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskQueueI;
+
+/**
+ * The class <code>PriorityTaskQueue</code> implements a bounded queue of tasks
+ * ordered by a <code>TaskSchedulingPolicy</code>, in a binary min-heap.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ * 
+ * The scheduling key of each task is computed once when it is added and kept
+ * with an arrival number in parallel arrays, so tasks with the same key leave
+ * the queue in arrival order. When tasks are shed, the one that would be
+ * started last is dropped.
+ * 
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant	0 &lt;= size() &lt;= getCapacity()
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class PriorityTaskQueue implements TaskQueueI {
+
+	private final TaskSchedulingPolicy policy;
+	private final TaskI[] tasks;
+	private final long[] keys;
+	private final long[] arrivals;
+	private int size;
+	private long nextArrival;
+
+	/**
+	 *
+	 * @param capacity maximum number of tasks in the queue.
+	 * @param policy   order of the tasks.
+	 */
+	public PriorityTaskQueue(int capacity, TaskSchedulingPolicy policy) {
+		assert capacity > 0 && policy != null;
+
+		this.policy = policy;
+		this.tasks = new TaskI[capacity];
+		this.keys = new long[capacity];
+		this.arrivals = new long[capacity];
+		this.size = 0;
+		this.nextArrival = 0;
+	}
+
+	@Override
+	public boolean offer(TaskI t) {
+		assert t != null;
+
+		if (this.size == this.tasks.length) return false;
+
+		int i = this.size++;
+		this.tasks[i] = t;
+		this.keys[i] = this.policy.getSchedulingKey(t);
+		this.arrivals[i] = this.nextArrival++;
+		this.siftUp(i);
+		return true;
+	}
+
+	@Override
+	public TaskI poll() {
+		if (this.size == 0) return null;
+		return this.removeAt(0);
+	}
+
+	@Override
+	public TaskI shed() {
+		if (this.size == 0) return null;
+
+		// the task started last is a leaf
+		int last = this.size / 2;
+		for (int i = last + 1; i < this.size; i++) {
+			if (this.less(last, i)) last = i;
+		}
+		return this.removeAt(last);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	@Override
+	public boolean isFull() {
+		return this.size == this.tasks.length;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public int getCapacity() {
+		return this.tasks.length;
+	}
+
+	// Heap internals
+	// -------------------------------------------------------------------------
+
+	private TaskI removeAt(int i) {
+		TaskI t = this.tasks[i];
+		int last = --this.size;
+
+		if (i != last) {
+			this.move(last, i);
+			this.siftDown(i);
+			this.siftUp(i);
+		}
+		this.tasks[last] = null;
+		return t;
+	}
+
+	private boolean less(int i, int j) {
+		if (this.keys[i] != this.keys[j]) return this.keys[i] < this.keys[j];
+		return this.arrivals[i] < this.arrivals[j];
+	}
+
+	private void siftUp(int i) {
+		while (i > 0) {
+			int parent = (i - 1) / 2;
+			if (!this.less(i, parent)) break;
+			this.swap(i, parent);
+			i = parent;
+		}
+	}
+
+	private void siftDown(int i) {
+		while (true) {
+			int smallest = i;
+			int left = 2 * i + 1;
+			int right = left + 1;
+
+			if (left < this.size && this.less(left, smallest)) smallest = left;
+			if (right < this.size && this.less(right, smallest)) smallest = right;
+			if (smallest == i) break;
+
+			this.swap(i, smallest);
+			i = smallest;
+		}
+	}
+
+	private void move(int from, int to) {
+		this.tasks[to] = this.tasks[from];
+		this.keys[to] = this.keys[from];
+		this.arrivals[to] = this.arrivals[from];
+	}
+
+	private void swap(int i, int j) {
+		TaskI t = this.tasks[i];
+		long key = this.keys[i];
+		long arrival = this.arrivals[i];
+
+		this.move(j, i);
+		this.tasks[j] = t;
+		this.keys[j] = key;
+		this.arrivals[j] = arrival;
+	}
+}
@@ -0,0 +1,107 @@
+package fr.sorbonne_u.datacenter.software.applicationvm.utils;
+
+/**
+ * The class <code>ServiceTimeHistogram</code> counts the service times of the
+ * requests of an application VM in buckets of exponentially growing width.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ * 
+ * The bucket 0 counts the service times under 1 microsecond and the bucket
+ * <code>i &gt; 0</code> the ones in [2^(i-1), 2^i[ microseconds; the last
+ * bucket also counts all the longer ones. Recording a value is a constant time
+ * update of a <code>long</code> array, and a snapshot is a copy of this array.
+ * 
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant	getTotalCount() &gt;= 0
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class ServiceTimeHistogram {
+
+	/** Number of buckets, enough for service times up to half an hour. */
+	public static final int NUMBER_OF_BUCKETS = 32;
+
+	private final long[] counts;
+	private long totalCount;
+
+	public ServiceTimeHistogram() {
+		this.counts = new long[NUMBER_OF_BUCKETS];
+		this.totalCount = 0;
+	}
+
+	/**
+	 * count a service time.
+	 *
+	 * @param serviceTime service time in microseconds.
+	 */
+	public void record(long serviceTime) {
+		this.counts[bucketFor(serviceTime)]++;
+		this.totalCount++;
+	}
+
+	/**
+	 * @return number of service times counted.
+	 */
+	public long getTotalCount() {
+		return this.totalCount;
+	}
+
+	/**
+	 * @return a copy of the counts of the buckets.
+	 */
+	public long[] copyCounts() {
+		return this.counts.clone();
+	}
+
+	/**
+	 * @param serviceTime service time in microseconds.
+	 * @return bucket counting this service time.
+	 */
+	public static int bucketFor(long serviceTime) {
+		if (serviceTime <= 0) return 0;
+		return Math.min(NUMBER_OF_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(serviceTime));
+	}
+
+	/**
+	 * @param bucket bucket number.
+	 * @return largest service time in microseconds counted in this bucket.
+	 */
+	public static long getBucketUpperBound(int bucket) {
+		assert bucket >= 0 && bucket < NUMBER_OF_BUCKETS;
+
+		return bucket == NUMBER_OF_BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+	}
+
+	/**
+	 * upper bound of the service time under which the given percentage of the
+	 * counted service times are.
+	 *
+	 * @param counts     counts of the buckets, as returned by <code>copyCounts</code>.
+	 * @param percentile percentage of the counted service times.
+	 * @return service time in microseconds, 0 if nothing was counted.
+	 */
+	public static long getValueAtPercentile(long[] counts, double percentile) {
+		assert counts != null && counts.length == NUMBER_OF_BUCKETS;
+		assert percentile > 0.0 && percentile <= 100.0;
+
+		long total = 0;
+		for (long c : counts) total += c;
+		if (total == 0) return 0;
+
+		long rank = (long) Math.ceil(percentile / 100.0 * total);
+		long seen = 0;
+		for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) return getBucketUpperBound(i);
+		}
+		return getBucketUpperBound(NUMBER_OF_BUCKETS - 1);
+	}
+}
@@ -0,0 +1,26 @@
+package fr.sorbonne_u.datacenter.software.applicationvm.utils;
+
+/**
+ * What an application VM does with a request submitted while its task queue
+ * is full.
+ *
+ * <ul>
+ * <li><code>REJECT</code>: the new request is dropped.</li>
+ * <li><code>BLOCK</code>: the new request waits, in arrival order, until there
+ * is room in the queue; no request is lost.</li>
+ * <li><code>SHED_OLDEST</code>: the oldest waiting request is dropped to make
+ * room for the new one; with another scheduling policy than FIFO, the waiting
+ * request that would be started last is dropped.</li>
+ * </ul>
+ *
+ * The rejection of a dropped request is notified like its termination would
+ * have been.
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public enum TaskQueueOverflowPolicy {
+	REJECT,
+	BLOCK,
+	SHED_OLDEST
+}
@@ -0,0 +1,60 @@
+package fr.sorbonne_u.datacenter.software.applicationvm.utils;
+
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskI;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.TaskQueueI;
+import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
+import fr.sorbonne_u.datacenter.software.interfaces.ScheduledRequestI;
+
+/**
+ * Order in which an application VM starts its waiting tasks.
+ *
+ * <ul>
+ * <li><code>FIFO</code>: arrival order.</li>
+ * <li><code>SHORTEST_JOB_FIRST</code>: smallest predicted number of
+ * instructions first.</li>
+ * <li><code>EARLIEST_DEADLINE_FIRST</code>: earliest deadline first, requests
+ * without deadline last.</li>
+ * <li><code>PRIORITY</code>: most urgent priority class first.</li>
+ * </ul>
+ * 
+ * Ties are broken by arrival order.
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public enum TaskSchedulingPolicy {
+	FIFO,
+	SHORTEST_JOB_FIRST,
+	EARLIEST_DEADLINE_FIRST,
+	PRIORITY;
+
+	/**
+	 *
+	 * @param capacity maximum number of waiting tasks.
+	 * @return a new task queue ordered by this policy.
+	 */
+	public TaskQueueI createQueue(int capacity) {
+		if (this == FIFO) return new BoundedTaskQueue(capacity);
+		return new PriorityTaskQueue(capacity, this);
+	}
+
+	/**
+	 *
+	 * @param t task.
+	 * @return key of the task for this policy, the smallest key being started first.
+	 */
+	public long getSchedulingKey(TaskI t) {
+		RequestI r = t.getRequest();
+
+		switch (this) {
+			case SHORTEST_JOB_FIRST:
+				return r.getPredictedNumberOfInstructions();
+			case EARLIEST_DEADLINE_FIRST:
+				return r instanceof ScheduledRequestI ? ((ScheduledRequestI) r).getDeadline() : ScheduledRequestI.NO_DEADLINE;
+			case PRIORITY:
+				return r instanceof ScheduledRequestI ? ((ScheduledRequestI) r).getPriority() : ScheduledRequestI.DEFAULT_PRIORITY;
+			default:
+				return 0;
+		}
+	}
+}
@@ -38,4 +38,28 @@ public class RequestNotificationConnector extends AbstractConnector implements R
 	public void notifyRequestTermination(RequestI r) throws Exception {
 		((RequestNotificationI) this.offering).notifyRequestTermination(r);
 	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationI#notifyRequestsTermination(fr.sorbonne_u.datacenter.software.interfaces.RequestI[], long[])
+	 */
+	@Override
+	public void notifyRequestsTermination(RequestI[] requests, long[] terminationTimes) throws Exception {
+		((RequestNotificationI) this.offering).notifyRequestsTermination(requests, terminationTimes);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationI#notifyRequestRejection(fr.sorbonne_u.datacenter.software.interfaces.RequestI)
+	 */
+	@Override
+	public void notifyRequestRejection(RequestI r) throws Exception {
+		((RequestNotificationI) this.offering).notifyRequestRejection(r);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationI#notifyRequestsWithdrawal(fr.sorbonne_u.datacenter.software.interfaces.RequestI[])
+	 */
+	@Override
+	public void notifyRequestsWithdrawal(RequestI[] requests) throws Exception {
+		((RequestNotificationI) this.offering).notifyRequestsWithdrawal(requests);
+	}
 }
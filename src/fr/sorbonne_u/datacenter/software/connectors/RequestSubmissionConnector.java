@@ -46,4 +46,20 @@ public class RequestSubmissionConnector extends AbstractConnector implements Req
 	public void submitRequestAndNotify(RequestI r) throws Exception {
 		((RequestSubmissionI) this.offering).submitRequestAndNotify(r);
 	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestSubmissionI#submitRequestsAndNotify(fr.sorbonne_u.datacenter.software.interfaces.RequestI[])
+	 */
+	@Override
+	public void submitRequestsAndNotify(RequestI[] requests) throws Exception {
+		((RequestSubmissionI) this.offering).submitRequestsAndNotify(requests);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestSubmissionI#withdrawRequestsAndNotify(int)
+	 */
+	@Override
+	public void withdrawRequestsAndNotify(int n) throws Exception {
+		((RequestSubmissionI) this.offering).withdrawRequestsAndNotify(n);
+	}
 }
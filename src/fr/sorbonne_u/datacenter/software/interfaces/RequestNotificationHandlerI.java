@@ -31,4 +31,57 @@ public interface RequestNotificationHandlerI {
 	 * @param r terminated request.
 	 */
 	void acceptRequestTerminationNotification(RequestI r) throws Exception;
+
+	/**
+	 * process the termination notification of several requests.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	requests != null and requests.length &gt; 0
+	 * pre	terminationTimes != null and terminationTimes.length == requests.length
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param requests         terminated requests.
+	 * @param terminationTimes time at which each request terminated, in ns as
+	 *                         given by <code>ClockI.nanoTime</code>.
+	 */
+	void acceptRequestsTerminationNotification(RequestI[] requests, long[] terminationTimes) throws Exception;
+
+	/**
+	 * process the notification that a request was dropped without being
+	 * executed.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	r != null
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param r rejected request.
+	 */
+	void acceptRequestRejectionNotification(RequestI r) throws Exception;
+
+	/**
+	 * process the requests taken back from a request handler, which execution
+	 * did not start.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	requests != null
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param requests requests taken back, possibly none.
+	 */
+	void acceptRequestsWithdrawalNotification(RequestI[] requests) throws Exception;
 }
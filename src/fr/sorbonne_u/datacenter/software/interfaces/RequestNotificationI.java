@@ -41,4 +41,57 @@ public interface RequestNotificationI extends OfferedI, RequiredI {
 	 * @param r the request which termination is notified.
 	 */
 	void notifyRequestTermination(RequestI r) throws Exception;
+
+	/**
+	 * notify the termination of several requests in one call.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	requests != null and requests.length &gt; 0
+	 * pre	terminationTimes != null and terminationTimes.length == requests.length
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param requests         the requests which termination is notified.
+	 * @param terminationTimes time at which each request terminated, in ns as
+	 *                         given by <code>ClockI.nanoTime</code>.
+	 */
+	void notifyRequestsTermination(RequestI[] requests, long[] terminationTimes) throws Exception;
+
+	/**
+	 * notify that the request <code>r</code> was dropped without being
+	 * executed, because the queue of the VM was full.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	r != null
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param r the request which rejection is notified.
+	 */
+	void notifyRequestRejection(RequestI r) throws Exception;
+
+	/**
+	 * send back the requests taken back after a call to
+	 * <code>RequestSubmissionI#withdrawRequestsAndNotify</code>.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	requests != null
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param requests the requests taken back, possibly none.
+	 */
+	void notifyRequestsWithdrawal(RequestI[] requests) throws Exception;
 }
@@ -54,4 +54,37 @@ public interface RequestSubmissionHandlerI {
 	 * @param r the request to be executed.
 	 */
 	void acceptRequestSubmissionAndNotify(final RequestI r) throws Exception;
+
+	/**
+	 * accept the requests, execute them and notify their termination.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	requests != null and requests.length &gt; 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param requests the requests to be executed.
+	 */
+	void acceptRequestsSubmissionAndNotify(final RequestI[] requests) throws Exception;
+
+	/**
+	 * remove up to <code>n</code> requests which execution did not start yet
+	 * and send them back through the request notification port.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	n &gt; 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param n maximum number of requests to remove.
+	 */
+	void acceptRequestsWithdrawalAndNotify(final int n) throws Exception;
 }
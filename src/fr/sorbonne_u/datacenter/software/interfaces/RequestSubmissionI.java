@@ -58,4 +58,42 @@ public interface RequestSubmissionI extends OfferedI, RequiredI {
 	 * @param r request to be submitted.
 	 */
 	void submitRequestAndNotify(final RequestI r) throws Exception;
+
+	/**
+	 * submit several requests to a request handler in one call and require
+	 * notifications of their execution progress.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	requests != null and requests.length &gt; 0
+	 * pre	for all r in requests, r != null and r.getPredictedNumberOfInstructions() &gt;= 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param requests requests to be submitted.
+	 */
+	void submitRequestsAndNotify(final RequestI[] requests) throws Exception;
+
+	/**
+	 * ask the request handler to give back up to <code>n</code> requests
+	 * submitted to it and not started yet, so they can be submitted elsewhere;
+	 * the call returns at once and the requests taken back, possibly none, are
+	 * sent through <code>RequestNotificationI#notifyRequestsWithdrawal</code>.
+	 * Their termination will not be notified by this handler.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	n &gt; 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 *
+	 * @param n maximum number of requests to take back.
+	 */
+	void withdrawRequestsAndNotify(final int n) throws Exception;
 }
@@ -0,0 +1,66 @@
+package fr.sorbonne_u.datacenter.software.interfaces;
+
+/**
+ * The interface <code>ScheduledRequestI</code> extends requests with the
+ * information used by application VMs to order their waiting requests: a
+ * priority class and a deadline.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ * 
+ * Requests which do not implement this interface are considered of priority
+ * <code>DEFAULT_PRIORITY</code> and without deadline.
+ * 
+ * <p>
+ * <strong>Invariant</strong>
+ * </p>
+ * 
+ * <pre>
+ * invariant	getPriority() &gt;= 0
+ * </pre>
+ * 
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public interface ScheduledRequestI extends RequestI {
+
+	/** Priority of the requests without priority class. */
+	int DEFAULT_PRIORITY = 0;
+
+	/** Deadline of the requests without deadline. */
+	long NO_DEADLINE = Long.MAX_VALUE;
+
+	/**
+	 * return the priority class of the request, 0 being the most urgent.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true // no precondition.
+	 * post	return &gt;= 0
+	 * </pre>
+	 *
+	 * @return the priority class of the request.
+	 */
+	int getPriority();
+
+	/**
+	 * return the time in ms (as given by the clock of the request generator) before
+	 * which the request should be completed.
+	 * 
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * 
+	 * <pre>
+	 * pre	true // no precondition.
+	 * post	true // no postcondition.
+	 * </pre>
+	 *
+	 * @return the deadline of the request, or <code>NO_DEADLINE</code>.
+	 */
+	long getDeadline();
+}
@@ -91,4 +91,46 @@ public class RequestNotificationInboundPort extends AbstractInboundPort implemen
 			}
 		});
 	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationI#notifyRequestsTermination(fr.sorbonne_u.datacenter.software.interfaces.RequestI[], long[])
+	 */
+	@Override
+	public void notifyRequestsTermination(final RequestI[] requests, final long[] terminationTimes) throws Exception {
+		this.getOwner().handleRequestAsync(new AbstractComponent.AbstractService<Void>() {
+			@Override
+			public Void call() throws Exception {
+				((RequestNotificationHandlerI) this.getOwner()).acceptRequestsTerminationNotification(requests, terminationTimes);
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationI#notifyRequestRejection(fr.sorbonne_u.datacenter.software.interfaces.RequestI)
+	 */
+	@Override
+	public void notifyRequestRejection(final RequestI r) throws Exception {
+		this.getOwner().handleRequestAsync(new AbstractComponent.AbstractService<Void>() {
+			@Override
+			public Void call() throws Exception {
+				((RequestNotificationHandlerI) this.getOwner()).acceptRequestRejectionNotification(r);
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationI#notifyRequestsWithdrawal(fr.sorbonne_u.datacenter.software.interfaces.RequestI[])
+	 */
+	@Override
+	public void notifyRequestsWithdrawal(final RequestI[] requests) throws Exception {
+		this.getOwner().handleRequestAsync(new AbstractComponent.AbstractService<Void>() {
+			@Override
+			public Void call() throws Exception {
+				((RequestNotificationHandlerI) this.getOwner()).acceptRequestsWithdrawalNotification(requests);
+				return null;
+			}
+		});
+	}
 }
@@ -55,4 +55,28 @@ public class RequestNotificationOutboundPort extends AbstractOutboundPort implem
 	public void notifyRequestTermination(RequestI r) throws Exception {
 		((RequestNotificationI) this.connector).notifyRequestTermination(r);
 	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationI#notifyRequestsTermination(fr.sorbonne_u.datacenter.software.interfaces.RequestI[], long[])
+	 */
+	@Override
+	public void notifyRequestsTermination(RequestI[] requests, long[] terminationTimes) throws Exception {
+		((RequestNotificationI) this.connector).notifyRequestsTermination(requests, terminationTimes);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationI#notifyRequestRejection(fr.sorbonne_u.datacenter.software.interfaces.RequestI)
+	 */
+	@Override
+	public void notifyRequestRejection(RequestI r) throws Exception {
+		((RequestNotificationI) this.connector).notifyRequestRejection(r);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationI#notifyRequestsWithdrawal(fr.sorbonne_u.datacenter.software.interfaces.RequestI[])
+	 */
+	@Override
+	public void notifyRequestsWithdrawal(RequestI[] requests) throws Exception {
+		((RequestNotificationI) this.connector).notifyRequestsWithdrawal(requests);
+	}
 }
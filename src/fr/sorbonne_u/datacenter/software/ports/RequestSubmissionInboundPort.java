@@ -104,4 +104,32 @@ public class RequestSubmissionInboundPort extends AbstractInboundPort implements
 			}
 		});
 	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestSubmissionI#submitRequestsAndNotify(fr.sorbonne_u.datacenter.software.interfaces.RequestI[])
+	 */
+	@Override
+	public void submitRequestsAndNotify(final RequestI[] requests) throws Exception {
+		this.getOwner().handleRequestAsync(new AbstractComponent.AbstractService<Void>() {
+			@Override
+			public Void call() throws Exception {
+				((RequestSubmissionHandlerI) this.getOwner()).acceptRequestsSubmissionAndNotify(requests);
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestSubmissionI#withdrawRequestsAndNotify(int)
+	 */
+	@Override
+	public void withdrawRequestsAndNotify(final int n) throws Exception {
+		this.getOwner().handleRequestAsync(new AbstractComponent.AbstractService<Void>() {
+			@Override
+			public Void call() throws Exception {
+				((RequestSubmissionHandlerI) this.getOwner()).acceptRequestsWithdrawalAndNotify(n);
+				return null;
+			}
+		});
+	}
 }
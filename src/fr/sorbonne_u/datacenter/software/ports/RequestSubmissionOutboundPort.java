@@ -63,4 +63,20 @@ public class RequestSubmissionOutboundPort extends AbstractOutboundPort implemen
 	public void submitRequestAndNotify(RequestI r) throws Exception {
 		((RequestSubmissionI) this.connector).submitRequestAndNotify(r);
 	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestSubmissionI#submitRequestsAndNotify(fr.sorbonne_u.datacenter.software.interfaces.RequestI[])
+	 */
+	@Override
+	public void submitRequestsAndNotify(RequestI[] requests) throws Exception {
+		((RequestSubmissionI) this.connector).submitRequestsAndNotify(requests);
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.RequestSubmissionI#withdrawRequestsAndNotify(int)
+	 */
+	@Override
+	public void withdrawRequestsAndNotify(int n) throws Exception {
+		((RequestSubmissionI) this.connector).withdrawRequestsAndNotify(n);
+	}
 }
@@ -1,16 +1,18 @@
 package fr.sorbonne_u.datacenterclient.requestgenerator;
 
+import java.util.ArrayList;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import org.apache.commons.math3.random.RandomDataGenerator;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import fr.sorbonne_u.datacenter.TimeManagement;
+import fr.sorbonne_u.datacenter.simulation.SimulationEngine;
 import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
 import fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationHandlerI;
 import fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationI;
 import fr.sorbonne_u.datacenter.software.interfaces.RequestSubmissionI;
+import fr.sorbonne_u.datacenter.software.interfaces.ScheduledRequestI;
 import fr.sorbonne_u.datacenter.software.ports.RequestNotificationInboundPort;
 import fr.sorbonne_u.datacenter.software.ports.RequestSubmissionOutboundPort;
 import fr.sorbonne_u.datacenterclient.requestgenerator.interfaces.RequestGeneratorManagementI;
@@ -35,6 +37,16 @@ import fr.sorbonne_u.datacenterclient.utils.TimeProcessing;
  * <code>shutdown</code> uses the future returned when scheduling the next
  * request generation to cancel its execution.
  * 
+ * When a coalescing window is given, the requests arriving within the window
+ * after the first one are held and submitted together in a single call, to
+ * save a round trip per request when the provider is in another JVM.
+ * 
+ * When a number of priority classes or a mean relative deadline is given, the
+ * requests are instances of <code>ScheduledRequest</code>: their priority is
+ * drawn uniformly among the classes, and their deadline is their arrival time
+ * plus a delay following an exponential distribution, so the application VMs
+ * scheduling their queue by priority or by deadline have requests to order.
+ * 
  * Time is managed through the <code>TimeManagement</code> class which allows to
  * accelerated the simulation time compared to the real time. Hence, using this
  * feature, a simulation scenario of some duration can be executed either faster
@@ -99,6 +111,21 @@ public class RequestGenerator extends AbstractComponent implements RequestNotifi
 	/** a future pointing to the next request generation task. */
 	private Future<?> nextRequestTaskFuture;
 
+	/** the time window in ms during which arrivals are submitted together, 0 to submit each one. */
+	private long coalescingWindow;
+
+	/** the requests generated and not yet submitted. */
+	private ArrayList<RequestI> pendingRequests;
+
+	/** the time in ms between the first pending request and the next arrival. */
+	private long pendingTime;
+
+	/** the number of priority classes of the requests, 0 for requests without priority. */
+	private int numberOfPriorities;
+
+	/** the mean delay in ms between the arrival and the deadline of the requests, 0 for no deadline. */
+	private long meanRelativeDeadline;
+
 	// -------------------------------------------------------------------------
 	// Constructors
 	// -------------------------------------------------------------------------
@@ -137,6 +164,99 @@ public class RequestGenerator extends AbstractComponent implements RequestNotifi
 			String requestSubmissionInboundPortURI,
 			String requestSubmissionOutboundPortURI,
 			String requestNotificationInboundPortURI) throws Exception {
+		this(rgURI, meanInterArrivalTime, meanNumberOfInstructions, managementInboundPortURI,
+				requestSubmissionInboundPortURI, requestSubmissionOutboundPortURI,
+				requestNotificationInboundPortURI, 0L);
+	}
+
+	/**
+	 * create a request generator component submitting together the requests
+	 * arriving within a time window.
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * <pre>
+	 * pre	meanInterArrivalTime &gt; 0.0 and meanNumberOfInstructions &gt; 0
+	 * pre	requestSubmissionOutboundPortURI != null
+	 * pre	coalescingWindow &gt;= 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 * @param rgURI                             URI of the request generator
+	 *                                          component.
+	 * @param meanInterArrivalTime              mean inter-arrival time of the
+	 *                                          requests in ms.
+	 * @param meanNumberOfInstructions          mean number of instructions of the
+	 *                                          requests in ms.
+	 * @param managementInboundPortURI          URI of the management inbound port.
+	 * @param requestSubmissionInboundPortURI   URI of the inbound port to connect
+	 *                                          to the request processor.
+	 * @param requestNotificationInboundPortURI URI of the inbound port to receive
+	 *                                          notifications of the request
+	 *                                          execution progress.
+	 * @param coalescingWindow                  time window in ms during which
+	 *                                          arrivals are submitted together,
+	 *                                          0 to submit each one.
+	 */
+	public RequestGenerator(
+			String rgURI, 
+			Double meanInterArrivalTime, 
+			Long meanNumberOfInstructions,
+			String managementInboundPortURI, 
+			String requestSubmissionInboundPortURI,
+			String requestSubmissionOutboundPortURI,
+			String requestNotificationInboundPortURI,
+			Long coalescingWindow) throws Exception {
+		this(rgURI, meanInterArrivalTime, meanNumberOfInstructions, managementInboundPortURI,
+				requestSubmissionInboundPortURI, requestSubmissionOutboundPortURI,
+				requestNotificationInboundPortURI, coalescingWindow, 0, 0L);
+	}
+
+	/**
+	 * create a request generator component generating requests with a priority
+	 * and a deadline, for the application VMs scheduling their queue by priority
+	 * or by deadline.
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * <pre>
+	 * pre	meanInterArrivalTime &gt; 0.0 and meanNumberOfInstructions &gt; 0
+	 * pre	requestSubmissionOutboundPortURI != null
+	 * pre	coalescingWindow &gt;= 0
+	 * pre	numberOfPriorities &gt;= 0 and meanRelativeDeadline &gt;= 0
+	 * post	true			// no postcondition.
+	 * </pre>
+	 * @param rgURI                             URI of the request generator
+	 *                                          component.
+	 * @param meanInterArrivalTime              mean inter-arrival time of the
+	 *                                          requests in ms.
+	 * @param meanNumberOfInstructions          mean number of instructions of the
+	 *                                          requests in ms.
+	 * @param managementInboundPortURI          URI of the management inbound port.
+	 * @param requestSubmissionInboundPortURI   URI of the inbound port to connect
+	 *                                          to the request processor.
+	 * @param requestNotificationInboundPortURI URI of the inbound port to receive
+	 *                                          notifications of the request
+	 *                                          execution progress.
+	 * @param coalescingWindow                  time window in ms during which
+	 *                                          arrivals are submitted together,
+	 *                                          0 to submit each one.
+	 * @param numberOfPriorities                number of priority classes of the
+	 *                                          requests, 0 for no priority.
+	 * @param meanRelativeDeadline              mean delay in ms between the
+	 *                                          arrival and the deadline of the
+	 *                                          requests, 0 for no deadline.
+	 */
+	public RequestGenerator(
+			String rgURI, 
+			Double meanInterArrivalTime, 
+			Long meanNumberOfInstructions,
+			String managementInboundPortURI, 
+			String requestSubmissionInboundPortURI,
+			String requestSubmissionOutboundPortURI,
+			String requestNotificationInboundPortURI,
+			Long coalescingWindow,
+			Integer numberOfPriorities,
+			Long meanRelativeDeadline) throws Exception {
 		super(rgURI,1, 1);
 
 		// preconditions check
@@ -145,6 +265,8 @@ public class RequestGenerator extends AbstractComponent implements RequestNotifi
 		assert requestSubmissionInboundPortURI != null;
 		assert requestSubmissionOutboundPortURI != null;
 		assert requestNotificationInboundPortURI != null;
+		assert coalescingWindow >= 0;
+		assert numberOfPriorities >= 0 && meanRelativeDeadline >= 0;
 		
 		// initialization
 		this.rgURI = rgURI;
@@ -154,6 +276,11 @@ public class RequestGenerator extends AbstractComponent implements RequestNotifi
 		this.rng = new RandomDataGenerator();
 		this.rng.reSeed();
 		this.nextRequestTaskFuture = null;
+		this.coalescingWindow = coalescingWindow;
+		this.pendingRequests = new ArrayList<>();
+		this.pendingTime = 0;
+		this.numberOfPriorities = numberOfPriorities;
+		this.meanRelativeDeadline = meanRelativeDeadline;
 
 		this.addOfferedInterface(RequestGeneratorManagementI.class);
 		this.rgmip = new RequestGeneratorManagementInboundPort(managementInboundPortURI, this);
@@ -282,6 +409,11 @@ public class RequestGenerator extends AbstractComponent implements RequestNotifi
 				&& !(this.nextRequestTaskFuture.isCancelled() || this.nextRequestTaskFuture.isDone())) {
 			this.nextRequestTaskFuture.cancel(true);
 		}
+		try {
+			this.submitPendingRequests();
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
 	}
 
 	/**
@@ -340,7 +472,7 @@ public class RequestGenerator extends AbstractComponent implements RequestNotifi
 	private void generateNextRequest() throws Exception {
 		// generate a random number of instructions for the request.
 		long noi = (long) this.rng.nextExponential(this.meanNumberOfInstructions);
-		Request r = new Request(this.rgURI + "-" + this.counter++, noi);
+		Request r = this.createRequest(this.rgURI + "-" + this.counter++, noi);
 		// generate a random delay until the next request generation.
 		long interArrivalDelay = (long) this.rng.nextExponential(this.meanInterArrivalTime);
 
@@ -349,10 +481,14 @@ public class RequestGenerator extends AbstractComponent implements RequestNotifi
 					+ TimeProcessing.toString(System.currentTimeMillis() + interArrivalDelay)
 					+ " with number of instructions " + noi);
 		}
-		// submit the current request.
-		this.rsop.submitRequestAndNotify(r);
+		// submit the current request, or hold it until the end of the window.
+		this.pendingRequests.add(r);
+		this.pendingTime += interArrivalDelay;
+		if (this.pendingTime >= this.coalescingWindow) {
+			this.submitPendingRequests();
+		}
 		// schedule the next request generation.
-		this.nextRequestTaskFuture = this.scheduleTask(new AbstractComponent.AbstractTask() {
+		this.nextRequestTaskFuture = SimulationEngine.scheduleTask(this, new AbstractComponent.AbstractTask() {
 			@Override
 			public void run() {
 				try {
@@ -361,7 +497,60 @@ public class RequestGenerator extends AbstractComponent implements RequestNotifi
 					throw new RuntimeException(e);
 				}
 			}
-		}, TimeManagement.acceleratedDelay(interArrivalDelay), TimeUnit.MILLISECONDS);
+		}, interArrivalDelay);
+	}
+
+	/**
+	 * create a request, with a priority drawn among the priority classes and a
+	 * deadline drawn after its arrival when they are given.
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * <pre>
+	 * pre	uri != null and noi &gt;= 0
+	 * post	ret != null
+	 * </pre>
+	 * @param uri URI of the request.
+	 * @param noi number of instructions of the request.
+	 * @return the new request.
+	 */
+	private Request createRequest(String uri, long noi) {
+		if (this.numberOfPriorities == 0 && this.meanRelativeDeadline == 0) {
+			return new Request(uri, noi);
+		}
+		int priority = this.numberOfPriorities > 1
+				? this.rng.nextInt(0, this.numberOfPriorities - 1)
+				: ScheduledRequestI.DEFAULT_PRIORITY;
+		long deadline = this.meanRelativeDeadline > 0
+				? TimeManagement.getClock(this).currentTime()
+						+ (long) this.rng.nextExponential(this.meanRelativeDeadline)
+				: ScheduledRequestI.NO_DEADLINE;
+		return new ScheduledRequest(uri, noi, priority, deadline);
+	}
+
+	/**
+	 * submit the requests held during the coalescing window, in a single call
+	 * when there are several.
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * <pre>
+	 * pre	true			// no precondition.
+	 * post	pendingRequests.isEmpty()
+	 * </pre>
+	 */
+	private void submitPendingRequests() throws Exception {
+		if (this.pendingRequests.size() == 1) {
+			this.rsop.submitRequestAndNotify(this.pendingRequests.get(0));
+		} else if (this.pendingRequests.size() > 1) {
+			if (RequestGenerator.DEBUG_LEVEL == 2) {
+				this.logMessage("Request generator " + this.rgURI + " submitting " + this.pendingRequests.size()
+						+ " requests together");
+			}
+			this.rsop.submitRequestsAndNotify(this.pendingRequests.toArray(new RequestI[0]));
+		}
+		this.pendingRequests.clear();
+		this.pendingTime = 0;
 	}
 
 	/**
@@ -388,4 +577,58 @@ public class RequestGenerator extends AbstractComponent implements RequestNotifi
 					+ " has ended.");
 		}
 	}
+
+	/**
+	 * process an end of execution notification for several requests previously
+	 * submitted.
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * <pre>
+	 * pre	requests != null
+	 * post	true			// no postcondition.
+	 * </pre>
+	 * @param requests requests that just terminated.
+	 * @param terminationTimes time at which each request terminated.
+	 */
+	@Override
+	public void acceptRequestsTerminationNotification(RequestI[] requests, long[] terminationTimes) {
+		assert requests != null;
+
+		for (RequestI r : requests) {
+			this.acceptRequestTerminationNotification(r);
+		}
+	}
+
+	/**
+	 * process the notification that a request previously submitted was dropped
+	 * without being executed.
+	 * <p>
+	 * <strong>Contract</strong>
+	 * </p>
+	 * <pre>
+	 * pre	r != null
+	 * post	true			// no postcondition.
+	 * </pre>
+	 * @param r rejected request.
+	 */
+	@Override
+	public void acceptRequestRejectionNotification(RequestI r) {
+		assert r != null;
+
+		if (RequestGenerator.DEBUG_LEVEL == 2) {
+			this.logMessage("Request generator " + this.rgURI + " is notified that request " + r.getRequestURI()
+					+ " was rejected.");
+		}
+	}
+
+	/**
+	 * the request generator never takes back requests, so it has nothing to do
+	 * with requests withdrawn.
+	 *
+	 * @param requests requests taken back.
+	 */
+	@Override
+	public void acceptRequestsWithdrawalNotification(RequestI[] requests) {
+	}
 }
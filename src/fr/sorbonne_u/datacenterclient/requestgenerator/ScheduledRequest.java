@@ -0,0 +1,49 @@
+package fr.sorbonne_u.datacenterclient.requestgenerator;
+
+import fr.sorbonne_u.datacenter.software.interfaces.ScheduledRequestI;
+
+/**
+ * The class <code>ScheduledRequest</code> implements requests carrying a
+ * priority class and a deadline.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class ScheduledRequest extends Request implements ScheduledRequestI {
+
+	private static final long serialVersionUID = 1L;
+	private final int priority;
+	private final long deadline;
+
+	public ScheduledRequest(long numberOfInstructions, int priority, long deadline) {
+		super(numberOfInstructions);
+
+		assert priority >= 0;
+		this.priority = priority;
+		this.deadline = deadline;
+	}
+
+	ScheduledRequest(String uri, long numberOfInstructions, int priority, long deadline) {
+		super(uri, numberOfInstructions);
+
+		assert priority >= 0;
+		this.priority = priority;
+		this.deadline = deadline;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.ScheduledRequestI#getPriority()
+	 */
+	@Override
+	public int getPriority() {
+		return this.priority;
+	}
+
+	/**
+	 * @see fr.sorbonne_u.datacenter.software.interfaces.ScheduledRequestI#getDeadline()
+	 */
+	@Override
+	public long getDeadline() {
+		return this.deadline;
+	}
+}
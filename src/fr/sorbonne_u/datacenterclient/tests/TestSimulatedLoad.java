@@ -0,0 +1,197 @@
+package fr.sorbonne_u.datacenterclient.tests;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.cvm.AbstractCVM;
+import fr.sorbonne_u.datacenter.hardware.computers.Computer;
+import fr.sorbonne_u.datacenter.hardware.computers.Computer.AllocatedCore;
+import fr.sorbonne_u.datacenter.hardware.computers.connectors.ComputerServicesConnector;
+import fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI;
+import fr.sorbonne_u.datacenter.hardware.computers.ports.ComputerServicesOutboundPort;
+import fr.sorbonne_u.datacenter.hardware.processors.Processor;
+import fr.sorbonne_u.datacenter.simulation.SimulationEngine;
+import fr.sorbonne_u.datacenter.software.applicationvm.ApplicationVM;
+import fr.sorbonne_u.datacenter.software.applicationvm.connectors.ApplicationVMManagementConnector;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMManagementI;
+import fr.sorbonne_u.datacenter.software.applicationvm.ports.ApplicationVMManagementOutboundPort;
+import fr.sorbonne_u.datacenter.software.connectors.RequestNotificationConnector;
+import fr.sorbonne_u.datacenter.software.connectors.RequestSubmissionConnector;
+import fr.sorbonne_u.datacenterclient.requestgenerator.RequestGenerator;
+import fr.sorbonne_u.datacenterclient.requestgenerator.connectors.RequestGeneratorManagementConnector;
+import fr.sorbonne_u.datacenterclient.requestgenerator.interfaces.RequestGeneratorManagementI;
+import fr.sorbonne_u.datacenterclient.requestgenerator.ports.RequestGeneratorManagementOutboundPort;
+
+/**
+ * The class <code>TestSimulatedLoad</code> runs a request generator, an AVM
+ * and its computer in virtual time with the <code>SimulationEngine</code>, and
+ * checks that two hours of load are simulated in a few seconds.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ *
+ * The engine is enabled before the components are created, so the request
+ * arrivals of the generator and the ends of tasks of the cores are events of
+ * its calendar. The AVM gets the four cores of the computer, and receives a
+ * request every 2 s in the mean, each one taking 4 s at 1,5 GHz, so the cores
+ * are half busy. The scenario starts the generation, fires the events of two
+ * simulated hours and fails if the simulated clock did not reach them, if
+ * fewer events than requests were fired, or if it took more than
+ * <code>MAX_REAL_TIME</code> ms of real time.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class TestSimulatedLoad extends AbstractCVM {
+	// ------------------------------------------------------------------------
+	// Constants and instance variables
+	// ------------------------------------------------------------------------
+
+	private static final String ComputerServicesInboundPortURI = "csip";
+	private static final String ComputerServicesOutboundPortURI = "csop";
+	private static final String ComputerStaticStateDataInboundPortURI = "cssdip";
+	private static final String ComputerDynamicStateDataInboundPortURI = "cdsdip";
+	private static final String ApplicationVMManagementInboundPortURI = "avmip";
+	private static final String ApplicationVMManagementOutboundPortURI = "avmop";
+	private static final String RequestSubmissionInboundPortURI = "rsip";
+	private static final String RequestSubmissionOutboundPortURI = "rsop";
+	private static final String RequestNotificationInboundPortURI = "rnip";
+	private static final String RequestNotificationOutboundPortURI = "rnop";
+	private static final String RequestGeneratorManagementInboundPortURI = "rgmip";
+	private static final String RequestGeneratorManagementOutboundPortURI = "rgmop";
+
+	/** simulated duration of the run in ms: two hours. */
+	private static final long SIMULATED_TIME = 2L * 3600L * 1000L;
+	/** real duration in ms the run must not exceed. */
+	private static final long MAX_REAL_TIME = 60000L;
+	private static final double MEAN_INTER_ARRIVAL_TIME = 2000.0;
+	private static final long MEAN_NUMBER_OF_INSTRUCTIONS = 6000000000L;
+
+	private ApplicationVM vm;
+	private ComputerServicesOutboundPort csop;
+	private ApplicationVMManagementOutboundPort avmop;
+	private RequestGeneratorManagementOutboundPort rgmop;
+
+	private TestSimulatedLoad() throws Exception {
+		super();
+	}
+
+	@Override
+	public void deploy() throws Exception {
+		Processor.DEBUG = false;
+
+		// virtual time from the start, before any component schedules a task
+		SimulationEngine.enable(0L);
+
+		String computerURI = "computer0";
+		int numberOfProcessors = 2;
+		int numberOfCores = 2;
+		Set<Integer> admissibleFrequencies = new HashSet<>();
+		admissibleFrequencies.add(1500);
+		admissibleFrequencies.add(3000);
+		Map<Integer, Integer> processingPower = new HashMap<>();
+		processingPower.put(1500, 1500000);
+		processingPower.put(3000, 3000000);
+		Computer c = new Computer(computerURI, admissibleFrequencies, processingPower,
+				1500,
+				1500,
+				numberOfProcessors, numberOfCores, ComputerServicesInboundPortURI,
+				ComputerStaticStateDataInboundPortURI, ComputerDynamicStateDataInboundPortURI);
+		this.addDeployedComponent(c);
+
+		this.vm = new ApplicationVM("vm0",
+				ApplicationVMManagementInboundPortURI,
+				RequestSubmissionInboundPortURI,
+				RequestNotificationInboundPortURI,
+				RequestNotificationOutboundPortURI);
+		this.addDeployedComponent(this.vm);
+
+		RequestGenerator rg = new RequestGenerator("rg",
+				MEAN_INTER_ARRIVAL_TIME,
+				MEAN_NUMBER_OF_INSTRUCTIONS,
+				RequestGeneratorManagementInboundPortURI, RequestSubmissionInboundPortURI,
+				RequestSubmissionOutboundPortURI, RequestNotificationInboundPortURI);
+		this.addDeployedComponent(rg);
+
+		rg.doPortConnection(RequestSubmissionOutboundPortURI, RequestSubmissionInboundPortURI,
+				RequestSubmissionConnector.class.getCanonicalName());
+		this.vm.doPortConnection(RequestNotificationOutboundPortURI, RequestNotificationInboundPortURI,
+				RequestNotificationConnector.class.getCanonicalName());
+
+		ComponentI fake = new AbstractComponent(0, 0) {};
+		fake.addRequiredInterface(ComputerServicesI.class);
+		fake.addRequiredInterface(ApplicationVMManagementI.class);
+		fake.addRequiredInterface(RequestGeneratorManagementI.class);
+
+		this.csop = new ComputerServicesOutboundPort(ComputerServicesOutboundPortURI, fake);
+		this.csop.publishPort();
+		this.csop.doConnection(ComputerServicesInboundPortURI, ComputerServicesConnector.class.getCanonicalName());
+
+		this.avmop = new ApplicationVMManagementOutboundPort(ApplicationVMManagementOutboundPortURI, fake);
+		this.avmop.publishPort();
+		this.avmop.doConnection(ApplicationVMManagementInboundPortURI,
+				ApplicationVMManagementConnector.class.getCanonicalName());
+
+		this.rgmop = new RequestGeneratorManagementOutboundPort(RequestGeneratorManagementOutboundPortURI, fake);
+		this.rgmop.publishPort();
+		this.rgmop.doConnection(RequestGeneratorManagementInboundPortURI,
+				RequestGeneratorManagementConnector.class.getCanonicalName());
+
+		super.deploy();
+	}
+
+	@Override
+	public void shutdown() throws Exception {
+		this.csop.doDisconnection();
+		this.avmop.doDisconnection();
+		this.rgmop.doDisconnection();
+		SimulationEngine.disable();
+
+		super.shutdown();
+	}
+
+	private void testScenario() throws Exception {
+		AllocatedCore[] ac = this.csop.allocateCores(4);
+		this.avmop.allocateCores(ac);
+
+		this.rgmop.startGeneration();
+		long start = System.currentTimeMillis();
+		long fired = SimulationEngine.runUntil(SIMULATED_TIME);
+		long realTime = System.currentTimeMillis() - start;
+		this.rgmop.stopGeneration();
+
+		long expectedRequests = (long) (SIMULATED_TIME / MEAN_INTER_ARRIVAL_TIME);
+		System.out.println(SimulationEngine.getCurrentTime() / 1000L + " simulated s in " + realTime
+				+ " real ms, " + fired + " events fired (about " + expectedRequests + " requests)");
+
+		if (SimulationEngine.getCurrentTime() < SIMULATED_TIME) {
+			throw new Exception("the simulated clock stopped at " + SimulationEngine.getCurrentTime() + " ms");
+		}
+		if (fired < expectedRequests) {
+			throw new Exception("only " + fired + " events fired for about " + expectedRequests + " requests");
+		}
+		if (realTime > MAX_REAL_TIME) {
+			throw new Exception("two simulated hours took " + realTime + " real ms");
+		}
+	}
+
+	public static void main(String[] args) {
+		try {
+			final TestSimulatedLoad test = new TestSimulatedLoad();
+			test.deploy();
+			System.out.println("starting...");
+			test.start();
+			test.testScenario();
+			System.out.println("shutting down...");
+			test.shutdown();
+			System.out.println("ending...");
+			System.exit(0);
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
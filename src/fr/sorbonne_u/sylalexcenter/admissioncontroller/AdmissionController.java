@@ -12,17 +12,30 @@ import fr.sorbonne_u.components.pre.dcc.ports.DynamicComponentCreationOutboundPo
 import fr.sorbonne_u.components.reflection.connectors.ReflectionConnector;
 import fr.sorbonne_u.components.reflection.ports.ReflectionOutboundPort;
 import fr.sorbonne_u.datacenter.hardware.computers.Computer.AllocatedCore;
+import fr.sorbonne_u.datacenter.connectors.ControlledDataConnector;
 import fr.sorbonne_u.datacenter.hardware.computers.connectors.ComputerServicesConnector;
+import fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerDynamicStateI;
 import fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI;
+import fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerStateDataConsumerI;
+import fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerStaticStateI;
+import fr.sorbonne_u.datacenter.hardware.computers.ports.ComputerDynamicStateDataOutboundPort;
 import fr.sorbonne_u.datacenter.hardware.computers.ports.ComputerServicesOutboundPort;
 import fr.sorbonne_u.datacenter.hardware.computers.ports.ComputerStaticStateDataOutboundPort;
 import fr.sorbonne_u.datacenter.interfaces.ControlledDataRequiredI;
+import fr.sorbonne_u.datacenter.simulation.SimulationEngine;
 import fr.sorbonne_u.datacenter.software.applicationvm.ApplicationVM;
+import fr.sorbonne_u.datacenter.software.applicationvm.ApplicationVM.ApplicationVMPortTypes;
+import fr.sorbonne_u.datacenter.software.applicationvm.connectors.ApplicationVMIntrospectionConnector;
 import fr.sorbonne_u.datacenter.software.applicationvm.connectors.ApplicationVMManagementConnector;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMIntrospectionI;
+import fr.sorbonne_u.datacenter.software.applicationvm.ports.ApplicationVMIntrospectionOutboundPort;
 import fr.sorbonne_u.datacenter.software.applicationvm.ports.ApplicationVMManagementOutboundPort;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskQueueOverflowPolicy;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskSchedulingPolicy;
 import fr.sorbonne_u.datacenter.software.connectors.RequestNotificationConnector;
 import fr.sorbonne_u.datacenter.software.connectors.RequestSubmissionConnector;
 import fr.sorbonne_u.sylalexcenter.admissioncontroller.utils.AllocationMap;
+import fr.sorbonne_u.sylalexcenter.admissioncontroller.utils.CapacityIndex;
 import fr.sorbonne_u.sylalexcenter.application.connectors.ApplicationManagementConnector;
 import fr.sorbonne_u.sylalexcenter.application.connectors.ApplicationNotificationConnector;
 import fr.sorbonne_u.sylalexcenter.application.interfaces.ApplicationManagementI;
@@ -41,6 +54,7 @@ import fr.sorbonne_u.sylalexcenter.performancecontroller.ports.PerformanceContro
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.RequestDispatcher;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.connectors.RequestDispatcherManagementConnector;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.RequestDispatcherServicesHandlerI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.policies.DispatchPolicyType;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.ports.RequestDispatcherManagementOutboundPort;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.ports.RequestDispatcherServicesInboundPort;
 import fr.sorbonne_u.sylalexcenter.ringnetwork.RingNetwork;
@@ -48,10 +62,11 @@ import fr.sorbonne_u.sylalexcenter.ringnetwork.connectors.RingNetworkConnector;
 import fr.sorbonne_u.sylalexcenter.ringnetwork.ports.RingNetworkInboundPort;
 import fr.sorbonne_u.sylalexcenter.ringnetwork.ports.RingNetworkOutboundPort;
 import fr.sorbonne_u.sylalexcenter.ringnetwork.utils.AvmInformation;
+import fr.sorbonne_u.sylalexcenter.utils.EstimatorType;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
 
 /**
  *
@@ -66,6 +81,10 @@ import java.util.concurrent.TimeUnit;
  * (adding new AVM and removing AVM), and is notified when performance controllers add or remove cores in order
  * to update its own allocation map information
  *
+ * Admission controller receives the dynamic state of all computers, and keeps the free cores of each
+ * computer and processor in a capacity index, so it can choose where to allocate the cores of an AVM
+ * without asking every computer.
+ *
  * Admission controller maintains hash maps for each application:
  * Application URI -> ApplicationManagementInboundPortURI, ApplicationManagementOutboundPort
  *                 -> ApplicationNotificationInboundPortURI, ApplicationNotificationOutboundPort
@@ -75,15 +94,22 @@ import java.util.concurrent.TimeUnit;
  * @author Sylia Righi
  */
 public class AdmissionController extends AbstractComponent 
-	implements ApplicationSubmissionHandlerI, PerformanceControllerServicesHandlerI, RequestDispatcherServicesHandlerI {
+	implements ApplicationSubmissionHandlerI, PerformanceControllerServicesHandlerI, RequestDispatcherServicesHandlerI,
+		ComputerStateDataConsumerI {
 	
 	private static final String dynamicComponentCreationInboundPortURI = "";
 	
 	private static final int timer = 1000;
+
+	/** time in ms after which a core reservation not yet committed is released by its computer. */
+	private static final long coreReservationTTL = 5000;
 	
 	private final int numberOfComputers;
 	private final int numberOfApps;
 	private final int numberOfCoresPerAVM;
+	private final int numberOfDispatcherThreads;
+	private final EstimatorType executionTimeEstimatorType;
+	private final EstimatorType queueSizeEstimatorType;
 
 	/**
 	 * Array Lists of URIs for all computers available (both multi JVM and mono JVM)
@@ -95,6 +121,22 @@ public class AdmissionController extends AbstractComponent
 	
 	private ArrayList<ComputerServicesOutboundPort> csopList;
 	private ArrayList<ComputerStaticStateDataOutboundPort> cssdopList;
+	private ArrayList<ComputerDynamicStateDataOutboundPort> cdsdopList;
+
+	/**
+	 * Free cores of each computer and processor, from the computers dynamic state
+	 */
+	private CapacityIndex capacityIndex;
+
+	/**
+	 * Computer URI -> index of the computer in the computer lists
+	 */
+	private HashMap<String, Integer> computerIndexMap;
+
+	/**
+	 * Computer URI -> frequency -> processing power of a core, from the computers static state
+	 */
+	private HashMap<String, Map<Integer, Integer>> computerProcessingPower;
 
 	/**
 	 * Application URI -> Application Management Inbound Port URI
@@ -140,6 +182,14 @@ public class AdmissionController extends AbstractComponent
 	 */
 	private HashMap<String, String> rdURIMap;
 
+	/**
+	 * Each application chooses the scheduling policy of the queues of its AVMs,
+	 * also used for the AVMs added later
+	 *
+	 * Application URI -> Task Scheduling Policy
+	 */
+	private HashMap<String, TaskSchedulingPolicy> taskSchedulingPolicyMap = new HashMap<>();
+
 	private DynamicComponentCreationOutboundPort dccop;
 
 	private ReflectionOutboundPort rop;
@@ -174,6 +224,73 @@ public class AdmissionController extends AbstractComponent
 			ArrayList<String> applicationSubmissionInboundPortURIList,
 			ArrayList<String> applicationNotificationInboundPortURIList,
 			int numberOfCoresPerAVM) throws Exception {
+
+		this(computersURIList, computerServicesInboundPortURIList, computerStaticStateDataInboundPortURIList,
+				computerDynamicStateDataInboundPortURIList, appsURIList, applicationManagementInboundPortURIList,
+				applicationSubmissionInboundPortURIList, applicationNotificationInboundPortURIList,
+				numberOfCoresPerAVM, 1);
+	}
+
+	/**
+	 *
+	 * @param computersURIList all computer URIs
+	 * @param computerServicesInboundPortURIList all computer services inbound ports
+	 * @param computerStaticStateDataInboundPortURIList all computer static state data inbound ports
+	 * @param computerDynamicStateDataInboundPortURIList all computer dynamic state data inbound ports
+	 * @param appsURIList list of all application URIs
+	 * @param applicationManagementInboundPortURIList application management inbound ports
+	 * @param applicationSubmissionInboundPortURIList application submission inbound ports
+	 * @param applicationNotificationInboundPortURIList application notification inbound ports
+	 * @param numberOfCoresPerAVM number of cores to remove/add per AVM
+	 * @param numberOfDispatcherThreads number of threads of each request dispatcher
+	 */
+	public AdmissionController(
+			ArrayList<String> computersURIList,
+			ArrayList<String> computerServicesInboundPortURIList,
+			ArrayList<String> computerStaticStateDataInboundPortURIList,
+			ArrayList<String> computerDynamicStateDataInboundPortURIList,
+			ArrayList<String> appsURIList,
+			ArrayList<String> applicationManagementInboundPortURIList,
+			ArrayList<String> applicationSubmissionInboundPortURIList,
+			ArrayList<String> applicationNotificationInboundPortURIList,
+			int numberOfCoresPerAVM,
+			int numberOfDispatcherThreads) throws Exception {
+
+		this(computersURIList, computerServicesInboundPortURIList, computerStaticStateDataInboundPortURIList,
+				computerDynamicStateDataInboundPortURIList, appsURIList, applicationManagementInboundPortURIList,
+				applicationSubmissionInboundPortURIList, applicationNotificationInboundPortURIList,
+				numberOfCoresPerAVM, numberOfDispatcherThreads,
+				EstimatorType.TIME_DECAYED_AVERAGE, EstimatorType.SLIDING_WINDOW_MEAN);
+	}
+
+	/**
+	 *
+	 * @param computersURIList all computer URIs
+	 * @param computerServicesInboundPortURIList all computer services inbound ports
+	 * @param computerStaticStateDataInboundPortURIList all computer static state data inbound ports
+	 * @param computerDynamicStateDataInboundPortURIList all computer dynamic state data inbound ports
+	 * @param appsURIList list of all application URIs
+	 * @param applicationManagementInboundPortURIList application management inbound ports
+	 * @param applicationSubmissionInboundPortURIList application submission inbound ports
+	 * @param applicationNotificationInboundPortURIList application notification inbound ports
+	 * @param numberOfCoresPerAVM number of cores to remove/add per AVM
+	 * @param numberOfDispatcherThreads number of threads of each request dispatcher
+	 * @param executionTimeEstimatorType estimator of the execution time used by each request dispatcher
+	 * @param queueSizeEstimatorType estimator of the queue size used by each performance controller
+	 */
+	public AdmissionController(
+			ArrayList<String> computersURIList,
+			ArrayList<String> computerServicesInboundPortURIList,
+			ArrayList<String> computerStaticStateDataInboundPortURIList,
+			ArrayList<String> computerDynamicStateDataInboundPortURIList,
+			ArrayList<String> appsURIList,
+			ArrayList<String> applicationManagementInboundPortURIList,
+			ArrayList<String> applicationSubmissionInboundPortURIList,
+			ArrayList<String> applicationNotificationInboundPortURIList,
+			int numberOfCoresPerAVM,
+			int numberOfDispatcherThreads,
+			EstimatorType executionTimeEstimatorType,
+			EstimatorType queueSizeEstimatorType) throws Exception {
 		
 		super(1, 1);
 		
@@ -186,10 +303,15 @@ public class AdmissionController extends AbstractComponent
 		assert applicationNotificationInboundPortURIList != null && applicationNotificationInboundPortURIList.size() > 0;
 
 		assert numberOfCoresPerAVM > 0;
+		assert numberOfDispatcherThreads > 0;
+		assert executionTimeEstimatorType != null && queueSizeEstimatorType != null;
 			
 		this.numberOfComputers = computersURIList.size();
 		this.numberOfApps = appsURIList.size();
 		this.numberOfCoresPerAVM = numberOfCoresPerAVM;
+		this.numberOfDispatcherThreads = numberOfDispatcherThreads;
+		this.executionTimeEstimatorType = executionTimeEstimatorType;
+		this.queueSizeEstimatorType = queueSizeEstimatorType;
 		
 		// Computers
 		this.computersURIList = new ArrayList<>();
@@ -200,6 +322,10 @@ public class AdmissionController extends AbstractComponent
 		// Computer Ports
 		this.csopList = new ArrayList<>();
 		this.cssdopList = new ArrayList<>();
+		this.cdsdopList = new ArrayList<>();
+		this.capacityIndex = new CapacityIndex(numberOfComputers);
+		this.computerIndexMap = new HashMap<>();
+		this.computerProcessingPower = new HashMap<>();
 
 		this.addRequiredInterface(ComputerServicesI.class);
 		this.addOfferedInterface(DataRequiredI.PushI.class);
@@ -219,7 +345,12 @@ public class AdmissionController extends AbstractComponent
 			this.addPort(this.cssdopList.get(i));
 			this.cssdopList.get(i).publishPort();
 
+			this.cdsdopList.add(new ComputerDynamicStateDataOutboundPort(this, computersURIList.get(i)));
+			this.addPort(this.cdsdopList.get(i));
+			this.cdsdopList.get(i).publishPort();
+
 			this.computersURIList.add(computersURIList.get(i));
+			this.computerIndexMap.put(computersURIList.get(i), i);
 		}		
 		
 		// Application Ports
@@ -260,6 +391,7 @@ public class AdmissionController extends AbstractComponent
 		this.dccop.publishPort();
 
 		this.addRequiredInterface(PerformanceControllerManagementI.class);
+		this.addRequiredInterface(ApplicationVMIntrospectionI.class);
 		this.pcmopMap = new HashMap<>();
 		this.rdmopMap = new HashMap<>();
 		this.avmopMap = new HashMap<>();
@@ -290,11 +422,13 @@ public class AdmissionController extends AbstractComponent
 
 		assert this.csopList !=null;
 		assert this.cssdopList !=null;
+		assert this.cdsdopList !=null;
 		assert this.anopMap != null;
 	}
 	
 	/**
-	 * Connect computer outbound ports to inbound URIs.
+	 * Connect computer outbound ports to inbound URIs, fill the capacity index with the
+	 * current state of each computer and start receiving their dynamic state.
 	 * Connect application outbound ports to application inbound URI.
 	 * Connect dynamic component creator outbound port to inbound URI.
 	 */
@@ -307,6 +441,14 @@ public class AdmissionController extends AbstractComponent
 
 				this.doPortConnection(this.cssdopList.get(i).getPortURI(), this.computerStaticStateDataInboundPortURIList.get(i),
 						DataConnector.class.getCanonicalName());
+				this.acceptComputerStaticData(this.computersURIList.get(i),
+						(ComputerStaticStateI) this.cssdopList.get(i).request());
+
+				this.doPortConnection(this.cdsdopList.get(i).getPortURI(), this.computerDynamicStateDataInboundPortURIList.get(i),
+						ControlledDataConnector.class.getCanonicalName());
+				this.acceptComputerDynamicData(this.computersURIList.get(i),
+						(ComputerDynamicStateI) this.cdsdopList.get(i).request());
+				this.cdsdopList.get(i).startUnlimitedPushing(timer);
 			}
 			
 			for (HashMap.Entry<String, ApplicationManagementOutboundPort> entry : amopMap.entrySet()) {
@@ -344,6 +486,10 @@ public class AdmissionController extends AbstractComponent
 		try {
 			for (int i = 0; i < numberOfComputers; i++) {
 				if (this.csopList.get(i).connected()) this.csopList.get(i).doDisconnection();
+				if (this.cdsdopList.get(i).connected()) {
+					this.cdsdopList.get(i).stopPushing();
+					this.cdsdopList.get(i).doDisconnection();
+				}
 			}
 			if (this.dccop.connected()) this.dccop.doDisconnection();
 		} catch (Exception e) {
@@ -370,45 +516,75 @@ public class AdmissionController extends AbstractComponent
 
 	/**
 	 * Check if enough cores are available, and allocate them if found.
+	 * 
+	 * The cores of each AVM are reserved on the computer chosen by the capacity index,
+	 * and only once every AVM has its reservation are they all committed; otherwise the
+	 * reservations are aborted, so no core is allocated then released.
+	 * 
 	 * @param numberOfAVMs: number of AVMs needed to allocate
 	 * @return an array of AllocatedCore[] containing the data for each requested core, or null if no core is available
 	 * @throws Exception: exception
 	 */
 	private ArrayList<AllocationMap> isResourceAvailable (int numberOfAVMs) throws Exception {
-		ArrayList<AllocationMap> allocatedMap = new ArrayList<>();
-		
-		// have to check for each AVM to get core allocation map
+		// reserve the cores of each AVM
+		int[] computerIndexes = new int[numberOfAVMs];
+		String[] reservationIds = new String[numberOfAVMs];
 		for (int i = 0; i < numberOfAVMs; i++) {
-			
-			AllocatedCore[] allocatedCoresAVM;
-
-			for (int j = 0; j < this.csopList.size(); j++) {
-				ComputerServicesOutboundPort csop = this.csopList.get(j);
-				allocatedCoresAVM = csop.allocateCores(this.numberOfCoresPerAVM);
-
-				if (allocatedCoresAVM.length == this.numberOfCoresPerAVM) {
-					allocatedMap.add(new AllocationMap (
-							this.computersURIList.get(j),
-							csop,
-							allocatedCoresAVM));
-					break;
+			for (int attempt = 0; reservationIds[i] == null && attempt < this.numberOfComputers; attempt++) {
+				int j = this.capacityIndex.findComputer(this.numberOfCoresPerAVM);
+				if (j < 0) break;
+
+				reservationIds[i] = this.csopList.get(j).reserveCores(this.numberOfCoresPerAVM, coreReservationTTL);
+				if (reservationIds[i] != null) {
+					computerIndexes[i] = j;
+					this.capacityIndex.reserve(j, this.numberOfCoresPerAVM);
+				} else {
+					// the computer allocated cores since its last state
+					this.capacityIndex.limit(j, this.csopList.get(j).getFreeCoreCount());
 				}
+			}
 
-				csop.releaseCores(allocatedCoresAVM);
-			}			
-		}
-		
-		// if enough cores for each AVM
-		if (allocatedMap.size() == numberOfAVMs) {
-			return allocatedMap;
+			if (reservationIds[i] == null) {
+				this.abortReservations(computerIndexes, reservationIds, 0);
+				return null;
+			}
 		}
 
-		for (AllocationMap allocated : allocatedMap) {
-			ComputerServicesOutboundPort csop = allocated.getCsop();
-			csop.releaseCores(allocated.getAllocatedCores());
+		// commit them once every AVM has its cores
+		ArrayList<AllocationMap> allocatedMap = new ArrayList<>();
+		for (int i = 0; i < numberOfAVMs; i++) {
+			ComputerServicesOutboundPort csop = this.csopList.get(computerIndexes[i]);
+			AllocatedCore[] allocatedCoresAVM = csop.commitReservation(reservationIds[i]);
+
+			if (allocatedCoresAVM == null) {
+				// the reservation expired
+				for (AllocationMap allocated : allocatedMap) {
+					allocated.getCsop().releaseCores(allocated.getAllocatedCores());
+				}
+				this.abortReservations(computerIndexes, reservationIds, i + 1);
+				return null;
+			}
+
+			allocatedMap.add(new AllocationMap (
+					this.computersURIList.get(computerIndexes[i]),
+					csop,
+					allocatedCoresAVM));
 		}
 
-		return null;
+		return allocatedMap;
+	}
+
+	/**
+	 * Abort the core reservations from index <code>from</code>.
+	 * @param computerIndexes: index of the computer of each reservation
+	 * @param reservationIds: reservation ids, null after the last one made
+	 * @param from: index of the first reservation to abort
+	 * @throws Exception: exception
+	 */
+	private void abortReservations (int[] computerIndexes, String[] reservationIds, int from) throws Exception {
+		for (int i = from; i < reservationIds.length && reservationIds[i] != null; i++) {
+			this.csopList.get(computerIndexes[i]).abortReservation(reservationIds[i]);
+		}
 	}
 
 	/**
@@ -419,9 +595,12 @@ public class AdmissionController extends AbstractComponent
 	 *
 	 * @param appUri application URI
 	 * @param mustHaveCores number of cores required by application
+	 * @param dispatchPolicy dispatch policy for the application request dispatcher
+	 * @param taskSchedulingPolicy scheduling policy of the queues of the application AVMs
 	 */
 	@Override
-	public void acceptApplicationSubmissionAndNotify (String appUri, int mustHaveCores) throws Exception {
+	public void acceptApplicationSubmissionAndNotify (String appUri, int mustHaveCores, DispatchPolicyType dispatchPolicy,
+	                                                  TaskSchedulingPolicy taskSchedulingPolicy) throws Exception {
 		
 		// find out how many AVM are needed based on number of cores needed (divide and round up)
 		int numberOfAVMs = (int) Math.ceil((double)mustHaveCores / this.numberOfCoresPerAVM	);
@@ -436,7 +615,7 @@ public class AdmissionController extends AbstractComponent
 			ArrayList<AllocationMap> allocatedCores = this.isResourceAvailable(numberOfAVMs);
 
 			if (allocatedCores != null && allocatedCores.size() > 0) {
-				acceptApplication(appUri, numberOfAVMs, allocatedCores);
+				acceptApplication(appUri, numberOfAVMs, allocatedCores, dispatchPolicy, taskSchedulingPolicy);
 				this.anopMap.get(appUri).notifyApplicationAdmission(true);
 				
 			} else {
@@ -452,13 +631,16 @@ public class AdmissionController extends AbstractComponent
 	 * @param appUri: application URI
 	 * @param numberOfAVMs: number of AVMs needed
 	 * @param allocatedCores: number of cores allocated
+	 * @param dispatchPolicy: dispatch policy for the request dispatcher
+	 * @param taskSchedulingPolicy: scheduling policy of the AVM queues
 	 * @throws Exception: exception
 	 */
-	private void acceptApplication(String appUri, int numberOfAVMs, ArrayList<AllocationMap> allocatedCores) throws Exception {
+	private void acceptApplication(String appUri, int numberOfAVMs, ArrayList<AllocationMap> allocatedCores,
+	                               DispatchPolicyType dispatchPolicy, TaskSchedulingPolicy taskSchedulingPolicy) throws Exception {
 
 		this.logMessage("Admission controller allowed application " + appUri + " to be executed.");
 			
-		deployComponents(appUri, numberOfAVMs, allocatedCores);
+		deployComponents(appUri, numberOfAVMs, allocatedCores, dispatchPolicy, taskSchedulingPolicy);
 	}
 
 	/**
@@ -476,9 +658,14 @@ public class AdmissionController extends AbstractComponent
 	 * @param appUri: application uri
 	 * @param applicationVMCount: number of AVM that need to be deployed
 	 * @param allocatedMap: number of cores that need to be allocated
+	 * @param dispatchPolicy: dispatch policy for the request dispatcher
+	 * @param taskSchedulingPolicy: scheduling policy of the AVM queues
 	 * @throws Exception: creating components, connecting ports
 	 */
-	private void deployComponents(String appUri, int applicationVMCount, ArrayList<AllocationMap> allocatedMap) throws Exception {
+	private void deployComponents(String appUri, int applicationVMCount, ArrayList<AllocationMap> allocatedMap,
+	                              DispatchPolicyType dispatchPolicy, TaskSchedulingPolicy taskSchedulingPolicy) throws Exception {
+
+		this.taskSchedulingPolicyMap.put(appUri, taskSchedulingPolicy);
 
 		HashMap<String, AllocationMap> allocationMap = new HashMap<>();
 		
@@ -500,6 +687,7 @@ public class AdmissionController extends AbstractComponent
 		
 		ArrayList<String> requestDispatcherSubmissionOutboundPortURIList = new ArrayList<>();
 		ArrayList<String> requestDispatcherNotificationInboundPortURIList = new ArrayList<>();
+		ArrayList<Integer> avmCoresList = new ArrayList<>();
 
 		for (int i = 0; i < applicationVMCount; i++) {
 			avmURIList.add(appUri + "-avm" + i);
@@ -510,6 +698,7 @@ public class AdmissionController extends AbstractComponent
 
 			requestDispatcherNotificationInboundPortURIList.add(appUri + "-rdnip" + i);
 			requestDispatcherSubmissionOutboundPortURIList.add(appUri + "-rdsop" + i);
+			avmCoresList.add(allocatedMap.get(i).getNumberOfCoresPerAVM());
 		}
 
 		RequestDispatcherServicesInboundPort rdsvip = new RequestDispatcherServicesInboundPort(requestDispatcherServicesInboundPortURI, this);
@@ -528,7 +717,11 @@ public class AdmissionController extends AbstractComponent
 					requestDispatcherSubmissionOutboundPortURIList,
 					requestDispatcherNotificationInboundPortURIList,
 					requestDispatcherNotificationOutboundPortURI,
-					requestDispatcherDynamicStateDataInboundPortURI
+					requestDispatcherDynamicStateDataInboundPortURI,
+					avmCoresList,
+					dispatchPolicy,
+					this.numberOfDispatcherThreads,
+					this.executionTimeEstimatorType
 			});
 		} catch (Exception e) {
 			throw new Exception("Error creating Dispatcher " + e);
@@ -550,6 +743,7 @@ public class AdmissionController extends AbstractComponent
 
 		// Deploy applicationVMCount AVM
 		// --------------------------------------------------------------------
+		ArrayList<String> avmDynamicStateDataInboundPortURIList = new ArrayList<>();
 		for (int i = 0; i < applicationVMCount; i++) {
 			try {
 				this.dccop.createComponent(ApplicationVM.class.getCanonicalName(), new Object[] {
@@ -557,7 +751,12 @@ public class AdmissionController extends AbstractComponent
 						avmManagementInboundPortURIList.get(i), 
 						avmRequestSubmissionInboundPortURIList.get(i), 
 						avmRequestNotificationInboundPortURIList.get(i),
-						avmRequestNotificationOutboundPortURIList.get(i)
+						avmRequestNotificationOutboundPortURIList.get(i),
+						1,
+						0L,
+						ApplicationVM.DEFAULT_TASK_QUEUE_CAPACITY,
+						TaskQueueOverflowPolicy.BLOCK,
+						taskSchedulingPolicy
 				});
 			} catch (Exception e) {
 				throw new Exception("Error creating AVM " + i + " " + e);
@@ -581,6 +780,8 @@ public class AdmissionController extends AbstractComponent
 						avmRequestNotificationOutboundPortURIList.get(i),
 						requestDispatcherNotificationInboundPortURIList.get(i),
 						RequestNotificationConnector.class.getCanonicalName());
+
+				avmDynamicStateDataInboundPortURIList.add(findAVMDynamicStateDataInboundPortURI());
 			} catch (Exception e) {
 				throw new Exception("Error connecting Reflection Outbound Port for AVM " + e);
 			}
@@ -628,10 +829,13 @@ public class AdmissionController extends AbstractComponent
 					performanceControllerServicesInboundPortURI,
 					appUri,
 					rdURI,
+					requestDispatcherManagementInboundPortURI,
 					computersURIList,
 					allocationMap,
 					performanceControllerRingNetworkInboundPortURI,
-					performanceControllerRingNetworkOutboundPortURI
+					performanceControllerRingNetworkOutboundPortURI,
+					this.queueSizeEstimatorType,
+					this.getComputerProcessingPower()
 			});
 		} catch (Exception e) {
 			throw new Exception("Error creating Performance Controller " + e);
@@ -657,7 +861,17 @@ public class AdmissionController extends AbstractComponent
 		}
 
 		this.pcmopMap.get(performanceControllerURI).doConnectionWithRequestDispatcherForDynamicState(requestDispatcherDynamicStateDataInboundPortURI);
-		this.pcmopMap.get(performanceControllerURI).doConnectionWithComputerForDynamicState(computerDynamicStateDataInboundPortURIList);
+		// the performance controller gets its own dynamic state port on each computer,
+		// so it starts and stops its pushes without stopping those of the admission controller
+		ArrayList<String> performanceControllerDynamicStatePortURIs = new ArrayList<>();
+		for (int i = 0; i < numberOfComputers; i++) {
+			performanceControllerDynamicStatePortURIs.add(this.csopList.get(i).addDynamicStateDataInboundPort());
+		}
+		this.pcmopMap.get(performanceControllerURI).doConnectionWithComputerForDynamicState(performanceControllerDynamicStatePortURIs);
+		for (int i = 0; i < applicationVMCount; i++) {
+			this.pcmopMap.get(performanceControllerURI).doConnectionWithAVMForDynamicState(
+					avmURIList.get(i), avmDynamicStateDataInboundPortURIList.get(i));
+		}
 
 		for (int i = 0; i < applicationVMCount; i++) {
 			try {
@@ -735,7 +949,7 @@ public class AdmissionController extends AbstractComponent
 
 
 	private void checkRingNetwork() {
-		this.scheduleTask(
+		SimulationEngine.scheduleTask(this,
 			new AbstractComponent.AbstractTask() {
 
 				@Override
@@ -750,7 +964,7 @@ public class AdmissionController extends AbstractComponent
 					}
 				}
 
-			}, timer*6, TimeUnit.MILLISECONDS);
+			}, timer*6);
 	}
 
 	private boolean bufferUsed() {
@@ -781,6 +995,70 @@ public class AdmissionController extends AbstractComponent
 
 	}
 
+	/**
+	 * Accept static data from computer: keep the processing power of its cores,
+	 * given to the performance controllers to compute the AVM capacities.
+	 *
+	 * @param computerURI URI of the computer sending the data.
+	 * @param staticState static state of this computer.
+	 */
+	@Override
+	public void acceptComputerStaticData(String computerURI, ComputerStaticStateI staticState) {
+		if (staticState == null) return;
+
+		synchronized (this.computerProcessingPower) {
+			this.computerProcessingPower.put(computerURI, staticState.getProcessingPower());
+		}
+	}
+
+	/**
+	 * Find the dynamic state data inbound port of the AVM the reflection outbound port is
+	 * connected to, through its introspection port, as its URI is generated by the AVM.
+	 *
+	 * @return URI of the dynamic state data inbound port of the AVM
+	 */
+	private String findAVMDynamicStateDataInboundPortURI() throws Exception {
+		String[] avmIntrospectionInboundPortURIs = rop.findInboundPortURIsFromInterface(ApplicationVMIntrospectionI.class);
+
+		ApplicationVMIntrospectionOutboundPort avmiop = new ApplicationVMIntrospectionOutboundPort(this);
+		this.addPort(avmiop);
+		avmiop.publishPort();
+		this.doPortConnection(avmiop.getPortURI(), avmIntrospectionInboundPortURIs[0],
+				ApplicationVMIntrospectionConnector.class.getCanonicalName());
+
+		String avmDynamicStateDataInboundPortURI = avmiop.getAVMPortsURI().get(ApplicationVMPortTypes.DYNAMIC_STATE);
+
+		this.doPortDisconnection(avmiop.getPortURI());
+		avmiop.unpublishPort();
+		avmiop.destroyPort();
+
+		return avmDynamicStateDataInboundPortURI;
+	}
+
+	/**
+	 *
+	 * @return a copy of the processing power of the cores of each computer
+	 */
+	private HashMap<String, Map<Integer, Integer>> getComputerProcessingPower() {
+		synchronized (this.computerProcessingPower) {
+			return new HashMap<>(this.computerProcessingPower);
+		}
+	}
+
+	/**
+	 * Accept dynamic data from computer: update the free cores of the computer
+	 * in the capacity index.
+	 *
+	 * @param computerURI URI of the computer sending the data.
+	 * @param currentDynamicState current dynamic state of this computer.
+	 */
+	@Override
+	public void acceptComputerDynamicData(String computerURI, ComputerDynamicStateI currentDynamicState) {
+		if (currentDynamicState == null) return;
+
+		this.capacityIndex.update(this.computerIndexMap.get(computerURI), currentDynamicState.getCurrentFreeCores());
+	}
+
 	/**
 	 * Accept a request from performance controller to add cores for an
 	 * application, and update allocation map
@@ -823,7 +1101,7 @@ public class AdmissionController extends AbstractComponent
 	public void acceptRequestAddAVM(String appURI, String performanceControllerURI) throws Exception {
 		this.logMessage("Admission controller received request to add AVM for " + appURI);
 
-		ArrayList<AllocationMap> allocatedCores = this.isResourceAvailable(this.numberOfCoresPerAVM);
+		ArrayList<AllocationMap> allocatedCores = this.isResourceAvailable(1);
 
 		if (allocatedCores != null && allocatedCores.size() > 0) {
 			notifyDispatcherOfNewAVM(appURI, performanceControllerURI, allocatedCores);
@@ -927,7 +1205,12 @@ public class AdmissionController extends AbstractComponent
 					avmManagementInboundPortURI,
 					avmRequestSubmissionInboundPortURI,
 					avmRequestNotificationInboundPortURI,
-					avmRequestNotificationOutboundPortURI
+					avmRequestNotificationOutboundPortURI,
+					1,
+					0L,
+					ApplicationVM.DEFAULT_TASK_QUEUE_CAPACITY,
+					TaskQueueOverflowPolicy.BLOCK,
+					this.taskSchedulingPolicyMap.get(appUri)
 			});
 		} catch (Exception e) {
 			throw new Exception ("Error creating new AVM " + avmIndex + " " + e);
@@ -957,6 +1240,13 @@ public class AdmissionController extends AbstractComponent
 			throw new Exception ("Error connecting new AVM to dispatcher for notification " + e);
 		}
 
+		String avmDynamicStateDataInboundPortURI;
+		try {
+			avmDynamicStateDataInboundPortURI = findAVMDynamicStateDataInboundPortURI();
+		} catch (Exception e) {
+			throw new Exception ("Error finding new AVM dynamic state port " + e);
+		}
+
 		try {
 			rop.doConnection(this.rdURIMap.get(appUri), ReflectionConnector.class.getCanonicalName());
 		} catch (Exception e) {
@@ -981,6 +1271,8 @@ public class AdmissionController extends AbstractComponent
 		// Send information to Performance Controller
 		try {
 			this.pcmopMap.get(performanceControllerURI).notifyAVMAdded(avmURI, allocatedMap.get(0));
+			this.pcmopMap.get(performanceControllerURI).doConnectionWithAVMForDynamicState(avmURI,
+					avmDynamicStateDataInboundPortURI);
 		} catch (Exception e) {
 			throw new Exception ("Couldn't notify performance controller that new AVM was added" + e);
 		}
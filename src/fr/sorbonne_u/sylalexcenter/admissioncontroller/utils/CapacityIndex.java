@@ -0,0 +1,233 @@
+package fr.sorbonne_u.sylalexcenter.admissioncontroller.utils;
+
+/**
+ * Local index of the free cores of each computer and of each of their
+ * processors, kept by the admission controller from the dynamic states pushed
+ * by the computers.
+ *
+ * Two segment trees over the computers keep, for each range of computers, the
+ * largest number of free cores of one computer and of one processor, so the
+ * first computer able to host an AVM is found in O(log computers) without
+ * asking the computers, and updating a computer costs O(processors + log
+ * computers).
+ *
+ * A computer which never sent its state has no free core. As the pushed states
+ * are only sent periodically, cores reserved by the admission controller are
+ * also removed from the index as soon as they are reserved.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class CapacityIndex {
+
+	private final int numberOfComputers;
+
+	/** number of leaves of the trees, a power of two */
+	private final int leaves;
+
+	/** largest number of free cores of one computer of each range, leaves at [leaves, leaves + numberOfComputers) */
+	private final int[] computerTree;
+
+	/** largest number of free cores of one processor of each range */
+	private final int[] processorTree;
+
+	/** computer index -> free cores of each processor, null until its first state */
+	private final int[][] processorFreeCores;
+
+	/** computer index -> free cores */
+	private final int[] computerFreeCores;
+
+	public CapacityIndex(int numberOfComputers) {
+		assert numberOfComputers > 0;
+
+		this.numberOfComputers = numberOfComputers;
+		this.leaves = Integer.highestOneBit(Math.max(1, numberOfComputers - 1)) << 1;
+		this.computerTree = new int[2 * this.leaves];
+		this.processorTree = new int[2 * this.leaves];
+		this.processorFreeCores = new int[numberOfComputers][];
+		this.computerFreeCores = new int[numberOfComputers];
+	}
+
+	/**
+	 * Update the free cores of a computer from its last state.
+	 *
+	 * @param computerIndex index of the computer
+	 * @param freeCores free cores of each processor of the computer
+	 * @return true if the free cores of the computer changed
+	 */
+	public synchronized boolean update(int computerIndex, int[] freeCores) {
+		assert computerIndex >= 0 && computerIndex < this.numberOfComputers;
+		assert freeCores != null;
+
+		int[] current = this.processorFreeCores[computerIndex];
+		if (current != null && current.length == freeCores.length) {
+			boolean changed = false;
+			for (int p = 0; p < freeCores.length; p++) {
+				if (current[p] != freeCores[p]) {
+					current[p] = freeCores[p];
+					changed = true;
+				}
+			}
+			if (!changed) return false;
+		} else {
+			this.processorFreeCores[computerIndex] = freeCores.clone();
+		}
+
+		this.refresh(computerIndex);
+		return true;
+	}
+
+	/**
+	 * Remove cores reserved on a computer from the index, taking them from the
+	 * processors the computer takes them from: the processor with the fewest
+	 * free cores that still has enough of them, otherwise the processors with
+	 * the most free cores.
+	 *
+	 * @param computerIndex index of the computer
+	 * @param numberOfCores number of cores reserved
+	 */
+	public synchronized void reserve(int computerIndex, int numberOfCores) {
+		assert computerIndex >= 0 && computerIndex < this.numberOfComputers;
+
+		int[] freeCores = this.processorFreeCores[computerIndex];
+		if (freeCores == null) return;
+
+		int best = -1;
+		for (int p = 0; p < freeCores.length; p++) {
+			if (freeCores[p] >= numberOfCores && (best < 0 || freeCores[p] < freeCores[best])) {
+				best = p;
+			}
+		}
+
+		if (best >= 0) {
+			freeCores[best] -= numberOfCores;
+		} else {
+			int remaining = numberOfCores;
+			while (remaining > 0 && this.computerFreeCores[computerIndex] > 0) {
+				int most = 0;
+				for (int p = 1; p < freeCores.length; p++) {
+					if (freeCores[p] > freeCores[most]) most = p;
+				}
+				int taken = Math.min(remaining, freeCores[most]);
+				freeCores[most] -= taken;
+				this.computerFreeCores[computerIndex] -= taken;
+				remaining -= taken;
+			}
+		}
+
+		this.refresh(computerIndex);
+	}
+
+	/**
+	 * Lower the free cores of a computer to the number it currently reports,
+	 * when its state in the index proved to be out of date, taking the missing
+	 * cores from the processors with the most free cores; the next state sets
+	 * the exact free cores of each processor.
+	 *
+	 * @param computerIndex index of the computer
+	 * @param freeCores number of free cores reported by the computer
+	 */
+	public synchronized void limit(int computerIndex, int freeCores) {
+		assert computerIndex >= 0 && computerIndex < this.numberOfComputers;
+		assert freeCores >= 0;
+
+		int[] processorFreeCores = this.processorFreeCores[computerIndex];
+		if (processorFreeCores == null) return;
+
+		int excess = this.computerFreeCores[computerIndex] - freeCores;
+		while (excess > 0) {
+			int most = 0;
+			for (int p = 1; p < processorFreeCores.length; p++) {
+				if (processorFreeCores[p] > processorFreeCores[most]) most = p;
+			}
+			processorFreeCores[most]--;
+			excess--;
+		}
+		this.refresh(computerIndex);
+	}
+
+	/**
+	 * Find a computer to host an AVM: the first computer with a processor having
+	 * enough free cores, so the AVM cores are on one processor, otherwise the
+	 * first computer having enough free cores.
+	 *
+	 * @param numberOfCores number of cores of the AVM
+	 * @return the index of the computer, or -1 if no computer has enough free cores
+	 */
+	public synchronized int findComputer(int numberOfCores) {
+		assert numberOfCores > 0;
+
+		int computerIndex = this.findFirst(this.processorTree, numberOfCores);
+		if (computerIndex < 0) {
+			computerIndex = this.findFirst(this.computerTree, numberOfCores);
+		}
+		return computerIndex;
+	}
+
+	/**
+	 *
+	 * @param computerIndex index of the computer
+	 * @return number of free cores of the computer
+	 */
+	public synchronized int getFreeCores(int computerIndex) {
+		assert computerIndex >= 0 && computerIndex < this.numberOfComputers;
+		return this.computerFreeCores[computerIndex];
+	}
+
+	/**
+	 *
+	 * @param computerIndex index of the computer
+	 * @param processorNo number of a processor of the computer
+	 * @return number of free cores of the processor, 0 if the computer state is unknown
+	 */
+	public synchronized int getFreeCores(int computerIndex, int processorNo) {
+		assert computerIndex >= 0 && computerIndex < this.numberOfComputers;
+
+		int[] freeCores = this.processorFreeCores[computerIndex];
+		return freeCores == null ? 0 : freeCores[processorNo];
+	}
+
+	/**
+	 *
+	 * @return the largest number of free cores of one computer
+	 */
+	public synchronized int getMaxFreeCores() {
+		return this.computerTree[1];
+	}
+
+	/**
+	 * Recompute the free cores of a computer from those of its processors, and
+	 * the tree nodes above it.
+	 */
+	private void refresh(int computerIndex) {
+		int[] freeCores = this.processorFreeCores[computerIndex];
+		int total = 0;
+		int max = 0;
+		for (int free : freeCores) {
+			total += free;
+			max = Math.max(max, free);
+		}
+		this.computerFreeCores[computerIndex] = total;
+
+		int node = this.leaves + computerIndex;
+		this.computerTree[node] = total;
+		this.processorTree[node] = max;
+		for (node >>>= 1; node > 0; node >>>= 1) {
+			this.computerTree[node] = Math.max(this.computerTree[2 * node], this.computerTree[2 * node + 1]);
+			this.processorTree[node] = Math.max(this.processorTree[2 * node], this.processorTree[2 * node + 1]);
+		}
+	}
+
+	/**
+	 * Descend a tree to its leftmost leaf with a value of at least n.
+	 */
+	private int findFirst(int[] tree, int n) {
+		if (tree[1] < n) return -1;
+
+		int node = 1;
+		while (node < this.leaves) {
+			node = tree[2 * node] >= n ? 2 * node : 2 * node + 1;
+		}
+		return node - this.leaves;
+	}
+}
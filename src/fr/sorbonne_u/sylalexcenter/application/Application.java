@@ -9,6 +9,7 @@ import fr.sorbonne_u.components.pre.dcc.interfaces.DynamicComponentCreationI;
 import fr.sorbonne_u.components.pre.dcc.ports.DynamicComponentCreationOutboundPort;
 import fr.sorbonne_u.components.reflection.connectors.ReflectionConnector;
 import fr.sorbonne_u.components.reflection.ports.ReflectionOutboundPort;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskSchedulingPolicy;
 import fr.sorbonne_u.datacenter.software.connectors.RequestNotificationConnector;
 import fr.sorbonne_u.datacenter.software.connectors.RequestSubmissionConnector;
 import fr.sorbonne_u.datacenterclient.requestgenerator.RequestGenerator;
@@ -26,6 +27,7 @@ import fr.sorbonne_u.sylalexcenter.application.ports.ApplicationNotificationInbo
 import fr.sorbonne_u.sylalexcenter.application.ports.ApplicationServicesInboundPort;
 import fr.sorbonne_u.sylalexcenter.application.ports.ApplicationServicesOutboundPort;
 import fr.sorbonne_u.sylalexcenter.application.ports.ApplicationSubmissionOutboundPort;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.policies.DispatchPolicyType;
 
 /**
  * The class <code>Application</code> implements a an application component
@@ -39,6 +41,10 @@ import fr.sorbonne_u.sylalexcenter.application.ports.ApplicationSubmissionOutbou
  * The application deploys a RequestGenerator before each admission request, 
  * and if application is accepted, starts generating requests
  *
+ * The application chooses the dispatch policy of its request dispatcher and the
+ * scheduling policy of the queues of its AVMs. Its requests can be given a priority
+ * class and a deadline, for the AVMs scheduling them by priority or by deadline.
+ *
  * @author Alexandra Tudor
  * @author Sylia Righi
  */
@@ -60,6 +66,10 @@ public class Application extends AbstractComponent implements ApplicationManagem
 	private String applicationServicesInboundPortURI;
 
 	private int coresNeeded;
+	private DispatchPolicyType dispatchPolicy;
+	private TaskSchedulingPolicy taskSchedulingPolicy;
+	private Integer numberOfPriorities; //for the request generator
+	private Long meanRelativeDeadline; //for the request generator
 
 	private ApplicationServicesOutboundPort asvop;
 
@@ -91,6 +101,73 @@ public class Application extends AbstractComponent implements ApplicationManagem
 			String applicationSubmissionInboundPortURI,
 			String applicationNotificationInboundPortURI
 		) throws Exception {
+
+		this(appURI, coresNeeded, meanInterArrivalTime, meanNumberOfInstructions, applicationTime,
+				applicationManagementInboundPortURI, applicationServicesInboundPortURI,
+				applicationSubmissionInboundPortURI, applicationNotificationInboundPortURI,
+				DispatchPolicyType.LEAST_QUEUE);
+	}
+
+	/**
+	 * @param appURI: application uri
+	 * @param coresNeeded: minimum number of cores application needs to be able to run
+	 * @param meanInterArrivalTime: the mean inter-arrival time of requests in ms, for Request Generator
+	 * @param meanNumberOfInstructions: mean number of instructions of the requests in ms, for Request Generator
+	 * @param applicationServicesInboundPortURI: services handle admission communication
+	 * @param applicationSubmissionInboundPortURI: submissions handle requests to admission controller
+	 * @param applicationNotificationInboundPortURI: notifications handle termination requests
+	 * @param dispatchPolicy: dispatch policy used by the application request dispatcher
+	 * @throws Exception: throws Exception
+	 */
+	public Application (
+			String appURI, 
+			Integer coresNeeded, 
+			Double meanInterArrivalTime, 
+			Long meanNumberOfInstructions,
+			Long applicationTime,
+			String applicationManagementInboundPortURI,
+			String applicationServicesInboundPortURI,
+			String applicationSubmissionInboundPortURI,
+			String applicationNotificationInboundPortURI,
+			DispatchPolicyType dispatchPolicy
+		) throws Exception {
+
+		this(appURI, coresNeeded, meanInterArrivalTime, meanNumberOfInstructions, applicationTime,
+				applicationManagementInboundPortURI, applicationServicesInboundPortURI,
+				applicationSubmissionInboundPortURI, applicationNotificationInboundPortURI,
+				dispatchPolicy, TaskSchedulingPolicy.FIFO, 0, 0L);
+	}
+
+	/**
+	 * @param appURI: application uri
+	 * @param coresNeeded: minimum number of cores application needs to be able to run
+	 * @param meanInterArrivalTime: the mean inter-arrival time of requests in ms, for Request Generator
+	 * @param meanNumberOfInstructions: mean number of instructions of the requests in ms, for Request Generator
+	 * @param applicationServicesInboundPortURI: services handle admission communication
+	 * @param applicationSubmissionInboundPortURI: submissions handle requests to admission controller
+	 * @param applicationNotificationInboundPortURI: notifications handle termination requests
+	 * @param dispatchPolicy: dispatch policy used by the application request dispatcher
+	 * @param taskSchedulingPolicy: order in which the AVMs of the application start their waiting requests
+	 * @param numberOfPriorities: number of priority classes of the requests, 0 for no priority, for Request Generator
+	 * @param meanRelativeDeadline: mean delay in ms between the arrival and the deadline of the requests,
+	 *                            0 for no deadline, for Request Generator
+	 * @throws Exception: throws Exception
+	 */
+	public Application (
+			String appURI, 
+			Integer coresNeeded, 
+			Double meanInterArrivalTime, 
+			Long meanNumberOfInstructions,
+			Long applicationTime,
+			String applicationManagementInboundPortURI,
+			String applicationServicesInboundPortURI,
+			String applicationSubmissionInboundPortURI,
+			String applicationNotificationInboundPortURI,
+			DispatchPolicyType dispatchPolicy,
+			TaskSchedulingPolicy taskSchedulingPolicy,
+			Integer numberOfPriorities,
+			Long meanRelativeDeadline
+		) throws Exception {
 		
 		super(appURI, 1, 1);
 		
@@ -100,15 +177,22 @@ public class Application extends AbstractComponent implements ApplicationManagem
 		assert applicationServicesInboundPortURI != null;
 		assert applicationSubmissionInboundPortURI != null;
 		assert applicationNotificationInboundPortURI != null;
+		assert dispatchPolicy != null;
+		assert taskSchedulingPolicy != null;
+		assert numberOfPriorities >= 0 && meanRelativeDeadline >= 0;
 		
 		this.appURI = appURI;
 		this.applicationSubmissionInboundPortURI = applicationSubmissionInboundPortURI;
 		this.applicationServicesInboundPortURI = applicationServicesInboundPortURI;
 		this.coresNeeded = coresNeeded;
+		this.dispatchPolicy = dispatchPolicy;
+		this.taskSchedulingPolicy = taskSchedulingPolicy;
 		
 		// Request Generator
 		this.meanInterArrivalTime = meanInterArrivalTime;
 		this.meanNumberOfInstructions = meanNumberOfInstructions;
+		this.numberOfPriorities = numberOfPriorities;
+		this.meanRelativeDeadline = meanRelativeDeadline;
 
 		this.applicationTime = applicationTime;
 		
@@ -233,7 +317,7 @@ public class Application extends AbstractComponent implements ApplicationManagem
 		
 		deployGenerator();
 
-		this.asop.submitApplicationAndNotify (this.appURI, coresToReserve);
+		this.asop.submitApplicationAndNotify (this.appURI, coresToReserve, this.dispatchPolicy, this.taskSchedulingPolicy);
 	}
 
 	/**
@@ -270,7 +354,10 @@ public class Application extends AbstractComponent implements ApplicationManagem
 				this.requestGeneratorManagementInboundPortURI,
 				this.requestGeneratorSubmissionInboundPortURI,
 				this.requestGeneratorSubmissionOutboundPortURI,
-				this.requestGeneratorNotificationInboundPortURI
+				this.requestGeneratorNotificationInboundPortURI,
+				0L,
+				this.numberOfPriorities,
+				this.meanRelativeDeadline
 			});
 		} catch (Exception e) {
 			throw new Exception("Error dynamically creating Request Generator " + e);
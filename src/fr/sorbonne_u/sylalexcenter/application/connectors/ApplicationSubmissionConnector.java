@@ -2,6 +2,8 @@ package fr.sorbonne_u.sylalexcenter.application.connectors;
 
 import fr.sorbonne_u.components.connectors.AbstractConnector;
 import fr.sorbonne_u.sylalexcenter.application.interfaces.ApplicationSubmissionI;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskSchedulingPolicy;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.policies.DispatchPolicyType;
 
 /**
  * The class <code>ApplicationSubmissionConnector</code> defines a connector associated with
@@ -13,8 +15,9 @@ import fr.sorbonne_u.sylalexcenter.application.interfaces.ApplicationSubmissionI
 public class ApplicationSubmissionConnector extends AbstractConnector implements ApplicationSubmissionI {
 
 	@Override
-	public void submitApplicationAndNotify(String appUri, int mustHaveCores) throws Exception {
+	public void submitApplicationAndNotify(String appUri, int mustHaveCores, DispatchPolicyType dispatchPolicy,
+			TaskSchedulingPolicy taskSchedulingPolicy) throws Exception {
 		
-		((ApplicationSubmissionI)this.offering).submitApplicationAndNotify(appUri, mustHaveCores);		
+		((ApplicationSubmissionI)this.offering).submitApplicationAndNotify(appUri, mustHaveCores, dispatchPolicy, taskSchedulingPolicy);		
 	}
 }
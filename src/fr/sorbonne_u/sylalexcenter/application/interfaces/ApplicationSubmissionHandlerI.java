@@ -1,5 +1,8 @@
 package fr.sorbonne_u.sylalexcenter.application.interfaces;
 
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskSchedulingPolicy;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.policies.DispatchPolicyType;
+
 /**
  * The interface <code>ApplicationSubmissionHandlerI</code> defines
  * the admission submission service offered by the application component.
@@ -9,5 +12,6 @@ package fr.sorbonne_u.sylalexcenter.application.interfaces;
  */
 public interface ApplicationSubmissionHandlerI {
 	
-	void acceptApplicationSubmissionAndNotify (String appUri, int mustHaveCores) throws Exception;
+	void acceptApplicationSubmissionAndNotify (String appUri, int mustHaveCores, DispatchPolicyType dispatchPolicy,
+			TaskSchedulingPolicy taskSchedulingPolicy) throws Exception;
 }
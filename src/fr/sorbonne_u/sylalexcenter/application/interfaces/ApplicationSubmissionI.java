@@ -2,6 +2,8 @@ package fr.sorbonne_u.sylalexcenter.application.interfaces;
 
 import fr.sorbonne_u.components.interfaces.OfferedI;
 import fr.sorbonne_u.components.interfaces.RequiredI;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskSchedulingPolicy;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.policies.DispatchPolicyType;
 /**
  * The interface <code>ApplicationSubmissionI</code> defines
  * the admission submission service used by the application component.
@@ -11,5 +13,6 @@ import fr.sorbonne_u.components.interfaces.RequiredI;
  */
 public interface ApplicationSubmissionI extends OfferedI, RequiredI {
 	
-	void submitApplicationAndNotify(String appUri, int mustHaveCores) throws Exception;
+	void submitApplicationAndNotify(String appUri, int mustHaveCores, DispatchPolicyType dispatchPolicy,
+			TaskSchedulingPolicy taskSchedulingPolicy) throws Exception;
 }
@@ -5,6 +5,8 @@ import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractInboundPort;
 import fr.sorbonne_u.sylalexcenter.application.interfaces.ApplicationSubmissionHandlerI;
 import fr.sorbonne_u.sylalexcenter.application.interfaces.ApplicationSubmissionI;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskSchedulingPolicy;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.policies.DispatchPolicyType;
 
 /**
  * The class <code>ApplicationSubmissionInboundPort</code> defines
@@ -26,7 +28,8 @@ public class ApplicationSubmissionInboundPort extends AbstractInboundPort implem
 	}
 
 	@Override
-	public void submitApplicationAndNotify(String appUri, int mustHaveCores) throws Exception {
+	public void submitApplicationAndNotify(String appUri, int mustHaveCores, DispatchPolicyType dispatchPolicy,
+			TaskSchedulingPolicy taskSchedulingPolicy) throws Exception {
 		
 		final ApplicationSubmissionHandlerI appSubmissionHandler = (ApplicationSubmissionHandlerI) this.owner;
 
@@ -34,7 +37,7 @@ public class ApplicationSubmissionInboundPort extends AbstractInboundPort implem
 			new AbstractComponent.AbstractService<Void>() {
 				@Override
 				public Void call() throws Exception {
-					appSubmissionHandler.acceptApplicationSubmissionAndNotify(appUri, mustHaveCores);
+					appSubmissionHandler.acceptApplicationSubmissionAndNotify(appUri, mustHaveCores, dispatchPolicy, taskSchedulingPolicy);
 					return null;
 				}
 			});		
@@ -3,6 +3,8 @@ package fr.sorbonne_u.sylalexcenter.application.ports;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
 import fr.sorbonne_u.sylalexcenter.application.interfaces.ApplicationSubmissionI;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskSchedulingPolicy;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.policies.DispatchPolicyType;
 
 /**
  * The class <code>ApplicationSubmissionOutboundPort</code> defines
@@ -22,8 +24,9 @@ public class ApplicationSubmissionOutboundPort extends AbstractOutboundPort impl
 	}
 
 	@Override
-	public void submitApplicationAndNotify(String appUri, int mustHaveCores) throws Exception {
+	public void submitApplicationAndNotify(String appUri, int mustHaveCores, DispatchPolicyType dispatchPolicy,
+			TaskSchedulingPolicy taskSchedulingPolicy) throws Exception {
 		
-		((ApplicationSubmissionI)this.connector).submitApplicationAndNotify(appUri, mustHaveCores);		
+		((ApplicationSubmissionI)this.connector).submitApplicationAndNotify(appUri, mustHaveCores, dispatchPolicy, taskSchedulingPolicy);		
 	}
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package fr.sorbonne_u.sylalexcenter.performancecontroller;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import fr.sorbonne_u.components.interfaces.DataRequiredI;
+import fr.sorbonne_u.datacenter.clocks.ComponentClock;
 import fr.sorbonne_u.datacenter.connectors.ControlledDataConnector;
 import fr.sorbonne_u.datacenter.hardware.computers.Computer.AllocatedCore;
 import fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerDynamicStateI;
@@ -11,22 +12,32 @@ import fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerStaticStat
 import fr.sorbonne_u.datacenter.hardware.computers.ports.ComputerDynamicStateDataOutboundPort;
 import fr.sorbonne_u.datacenter.hardware.computers.ports.ComputerServicesOutboundPort;
 import fr.sorbonne_u.datacenter.interfaces.ControlledDataRequiredI;
+import fr.sorbonne_u.datacenter.simulation.SimulationEngine;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMDynamicStateI;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMStateDataConsumerI;
+import fr.sorbonne_u.datacenter.software.applicationvm.interfaces.ApplicationVMStaticStateI;
+import fr.sorbonne_u.datacenter.software.applicationvm.ports.ApplicationVMDynamicStateDataOutboundPort;
 import fr.sorbonne_u.sylalexcenter.admissioncontroller.utils.AllocationMap;
 import fr.sorbonne_u.sylalexcenter.performancecontroller.connectors.PerformanceControllerServicesConnector;
 import fr.sorbonne_u.sylalexcenter.performancecontroller.interfaces.PerformanceControllerManagementI;
 import fr.sorbonne_u.sylalexcenter.performancecontroller.interfaces.PerformanceControllerServicesI;
 import fr.sorbonne_u.sylalexcenter.performancecontroller.ports.PerformanceControllerManagementInboundPort;
 import fr.sorbonne_u.sylalexcenter.performancecontroller.ports.PerformanceControllerServicesOutboundPort;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.connectors.RequestDispatcherManagementConnector;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.RequestDispatcherDynamicStateI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.RequestDispatcherManagementI;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.RequestDispatcherStateDataConsumerI;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.ports.RequestDispatcherDynamicStateDataOutboundPort;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.ports.RequestDispatcherManagementOutboundPort;
 import fr.sorbonne_u.sylalexcenter.ringnetwork.ports.RingNetworkInboundPort;
 import fr.sorbonne_u.sylalexcenter.ringnetwork.ports.RingNetworkOutboundPort;
+import fr.sorbonne_u.sylalexcenter.utils.EstimatorType;
+import fr.sorbonne_u.sylalexcenter.utils.LatencyHistogram;
+import fr.sorbonne_u.sylalexcenter.utils.interfaces.EstimatorI;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 /**
  * The class <code>PerformanceController</code> implements a performance controller component
@@ -59,7 +70,8 @@ import java.util.concurrent.TimeUnit;
 public class PerformanceController extends AbstractComponent implements
 		PerformanceControllerManagementI,
 		RequestDispatcherStateDataConsumerI,
-		ComputerStateDataConsumerI {
+		ComputerStateDataConsumerI,
+		ApplicationVMStateDataConsumerI {
 
 	// Setup
 	// -----------------------------------------------------------------
@@ -76,6 +88,11 @@ public class PerformanceController extends AbstractComponent implements
 	private static final double executionTimeThresholdMaxCore = 3E10;
 	private static final double executionTimeThresholdMaxAVM = 5E10;
 
+	// number of requests waiting or running per allocated core, as estimated by the queue size estimator,
+	// above which resources are added even if the execution time is low, and below which they can be removed
+	private static final double queueSizePerCoreThresholdMax = 4.0;
+	private static final double queueSizePerCoreThresholdMin = 0.5;
+
 	// Component info
 	// -----------------------------------------------------------------
 	private String requestDispatcherURI;
@@ -86,7 +103,10 @@ public class PerformanceController extends AbstractComponent implements
 	private String performanceControllerServicesInboundPortURI;
 
 	private RequestDispatcherDynamicStateDataOutboundPort rddsdop;
+	private RequestDispatcherManagementOutboundPort rdmop;
+	private String requestDispatcherManagementInboundPortURI;
 	private ArrayList<ComputerDynamicStateDataOutboundPort> cdsdopList;
+	private HashMap<String, ApplicationVMDynamicStateDataOutboundPort> avmdsdopMap = new HashMap<>();
 
 	// Statistics
 	// -----------------------------------------------------------------
@@ -94,6 +114,10 @@ public class PerformanceController extends AbstractComponent implements
 	private double exponentialAverageExecutionTime;
 	private int totalRequestSubmitted;
 	private int totalRequestTerminated;
+	private EstimatorI queueSizeEstimator;
+	private double estimatedQueueSize;
+	private LatencyHistogram executionTimes = new LatencyHistogram(); //copy of the request dispatcher histogram
+	private HashMap<String, ApplicationVMDynamicStateI> avmDynamicStates = new HashMap<>(); //avmURI -> last dynamic state pushed by the AVM
 
 	private boolean upgradeRequestInProgress;
 	private boolean downgradeRequestInProgress;
@@ -101,6 +125,8 @@ public class PerformanceController extends AbstractComponent implements
 	// Allocation map for the AVMs.
 	// -----------------------------------------------------------------
 	private HashMap<String, AllocationMap> allocationMap;
+	private HashMap<String, Long> avmProcessingPower = new HashMap<>(); //avmURI -> last processing power sent to the request dispatcher
+	private HashMap<String, Map<Integer, Integer>> computerProcessingPower; //computerURI -> frequency -> processing power of a core
 
 	private RingNetworkInboundPort ringNetworkInboundPort;
 	private RingNetworkOutboundPort ringNetworkOutboundPort;
@@ -113,6 +139,7 @@ public class PerformanceController extends AbstractComponent implements
 	 * @param performanceControllerServicesInboundPortURI performance controller services inbound port URI
 	 * @param appURI application URI
 	 * @param requestDispatcherURI request dispatcher URI
+	 * @param requestDispatcherManagementInboundPortURI request dispatcher management inbound port URI
 	 * @param computersURIList list of all computer URI available
 	 * @param allocationMap allocation map for avm for this application
 	 * @param ringNetworkInboundPortURI inbound port for ring network
@@ -124,13 +151,56 @@ public class PerformanceController extends AbstractComponent implements
 			String performanceControllerServicesInboundPortURI,
 			String appURI,
 			String requestDispatcherURI,
+			String requestDispatcherManagementInboundPortURI,
 			ArrayList<String> computersURIList,
 			HashMap<String, AllocationMap> allocationMap,
 			String ringNetworkInboundPortURI,
 			String ringNetworkOutboundPortURI
+	) throws Exception {
+		this(performanceControllerURI, performanceControllerManagementInboundPortURI,
+				performanceControllerServicesInboundPortURI, appURI, requestDispatcherURI,
+				requestDispatcherManagementInboundPortURI, computersURIList, allocationMap,
+				ringNetworkInboundPortURI, ringNetworkOutboundPortURI, EstimatorType.SLIDING_WINDOW_MEAN,
+				new HashMap<>());
+	}
+
+	/**
+	 * Constructor. Set up ports and interfaces
+	 *
+	 * @param performanceControllerURI performance controller URI
+	 * @param performanceControllerManagementInboundPortURI performance controller management inbound port URI
+	 * @param performanceControllerServicesInboundPortURI performance controller services inbound port URI
+	 * @param appURI application URI
+	 * @param requestDispatcherURI request dispatcher URI
+	 * @param requestDispatcherManagementInboundPortURI request dispatcher management inbound port URI
+	 * @param computersURIList list of all computer URI available
+	 * @param allocationMap allocation map for avm for this application
+	 * @param ringNetworkInboundPortURI inbound port for ring network
+	 * @param ringNetworkOutboundPortURI outbound port for ring network
+	 * @param queueSizeEstimatorType estimator of the number of requests waiting or running
+	 * @param computerProcessingPower processing power of a core of each computer for each of its frequencies
+	 */
+	public PerformanceController (
+			String performanceControllerURI,
+			String performanceControllerManagementInboundPortURI,
+			String performanceControllerServicesInboundPortURI,
+			String appURI,
+			String requestDispatcherURI,
+			String requestDispatcherManagementInboundPortURI,
+			ArrayList<String> computersURIList,
+			HashMap<String, AllocationMap> allocationMap,
+			String ringNetworkInboundPortURI,
+			String ringNetworkOutboundPortURI,
+			EstimatorType queueSizeEstimatorType,
+			HashMap<String, Map<Integer, Integer>> computerProcessingPower
 	) throws Exception {
 		super(performanceControllerURI, 1, 1);
 
+		assert queueSizeEstimatorType != null;
+		assert computerProcessingPower != null;
+
+		this.queueSizeEstimator = queueSizeEstimatorType.createEstimator(new ComponentClock(this));
+		this.estimatedQueueSize = 0;
 		this.availableAVMsCount = 0;
 		this.exponentialAverageExecutionTime = 0;
 		this.totalRequestSubmitted = 0;
@@ -143,6 +213,7 @@ public class PerformanceController extends AbstractComponent implements
 		this.performanceControllerURI = performanceControllerURI;
 
 		this.allocationMap = new HashMap<>(allocationMap);
+		this.computerProcessingPower = new HashMap<>(computerProcessingPower);
 
 		this.addOfferedInterface(PerformanceControllerManagementI.class);
 		PerformanceControllerManagementInboundPort pcmip = new PerformanceControllerManagementInboundPort(performanceControllerManagementInboundPortURI, this);
@@ -163,6 +234,12 @@ public class PerformanceController extends AbstractComponent implements
 		this.addPort(this.rddsdop);
 		this.rddsdop.publishPort();
 
+		this.requestDispatcherManagementInboundPortURI = requestDispatcherManagementInboundPortURI;
+		this.addRequiredInterface(RequestDispatcherManagementI.class);
+		this.rdmop = new RequestDispatcherManagementOutboundPort(this);
+		this.addPort(this.rdmop);
+		this.rdmop.publishPort();
+
 		this.cdsdopList = new ArrayList<>();
 		for (int i = 0; i < computersURIList.size(); i++) {
 			this.cdsdopList.add(new ComputerDynamicStateDataOutboundPort(this, computersURIList.get(i)));
@@ -204,6 +281,14 @@ public class PerformanceController extends AbstractComponent implements
 			throw new ComponentStartException ("Error connecting performance controller service ports " + e);
 		}
 
+		try {
+			this.doPortConnection(this.rdmop.getPortURI(),
+					this.requestDispatcherManagementInboundPortURI,
+					RequestDispatcherManagementConnector.class.getCanonicalName());
+		} catch (Exception e) {
+			throw new ComponentStartException ("Error connecting request dispatcher management ports " + e);
+		}
+
 		try {
 			checkUsage();
 		} catch (Exception e) {
@@ -251,6 +336,30 @@ public class PerformanceController extends AbstractComponent implements
 		}
 	}
 
+	/**
+	 * Connect with an AVM in order to receive its dynamic state
+	 * @param avmURI AVM URI
+	 * @param avmDynamicStateDataInboundPortURI AVM dynamic state data inbound port URI
+	 */
+	@Override
+	public void doConnectionWithAVMForDynamicState (String avmURI, String avmDynamicStateDataInboundPortURI) throws Exception {
+		ApplicationVMDynamicStateDataOutboundPort avmdsdop = new ApplicationVMDynamicStateDataOutboundPort(this, avmURI);
+		this.addPort(avmdsdop);
+		avmdsdop.publishPort();
+		this.avmdsdopMap.put(avmURI, avmdsdop);
+
+		this.doPortConnection(
+				avmdsdop.getPortURI(),
+				avmDynamicStateDataInboundPortURI,
+				ControlledDataConnector.class.getCanonicalName());
+		try {
+			avmdsdop.startUnlimitedPushing(timer);
+
+		} catch (Exception e) {
+			throw new ComponentStartException("Unable to start pushing dynamic data from the AVM " + e);
+		}
+	}
+
 	/**
 	 * Receive notification that an AVM was added
 	 * @param avmURI new AVM URI
@@ -284,14 +393,26 @@ public class PerformanceController extends AbstractComponent implements
 	/**
 	 * Receive notification that the request to remove an AVM was completed.
 	 *
-	 * Remove the old AVM from the allocation map.
+	 * Remove the old AVM from the allocation map, and the port receiving its dynamic state,
+	 * already disconnected when the AVM was destroyed.
 	 * @param vmURI URI of removed AVM
 	 * @param appURI application URI
 	 */
 	@Override
-	public void notifyAVMRemoveComplete(String vmURI, String appURI) {
+	public void notifyAVMRemoveComplete(String vmURI, String appURI) throws Exception {
 		this.availableAVMsCount--;
 		this.allocationMap.remove(vmURI);
+		this.avmProcessingPower.remove(vmURI);
+
+		ApplicationVMDynamicStateDataOutboundPort avmdsdop = this.avmdsdopMap.remove(vmURI);
+		if (avmdsdop != null) {
+			if (avmdsdop.connected()) this.doPortDisconnection(avmdsdop.getPortURI());
+			avmdsdop.unpublishPort();
+			avmdsdop.destroyPort();
+		}
+		synchronized (this) {
+			this.avmDynamicStates.remove(vmURI);
+		}
 		this.logMessage("---> AVM " + vmURI + " was successfully removed. ");
 	}
 
@@ -299,9 +420,10 @@ public class PerformanceController extends AbstractComponent implements
 	 * Accept dynamic data from the request dispatcher.
 	 *
 	 * Every 1s, the request dispatcher pushes information on average request execution time,
-	 * total number of requests submitted and total number of requests terminated
+	 * total number of requests submitted and total number of requests terminated, and the
+	 * execution time histogram buckets changed since the last push, applied to a local copy.
 	 *
-	 * Calculate the next exponential moving average based on the values.
+	 * Calculate the next estimate of the queue size based on the values.
 	 * @param requestDispatcherURI URI of the request dispatcher
 	 * @param currentDynamicState request dispatcher dynamic state
 	 */
@@ -313,18 +435,58 @@ public class PerformanceController extends AbstractComponent implements
 		this.exponentialAverageExecutionTime = currentDynamicState.getExponentialAverageExecutionTime();
 		this.totalRequestSubmitted = currentDynamicState.getTotalRequestSubmitted();
 		this.totalRequestTerminated = currentDynamicState.getTotalRequestTerminated();
+		this.executionTimes.setBucketCounts(
+				currentDynamicState.getChangedLatencyBuckets(),
+				currentDynamicState.getChangedLatencyBucketCounts());
 
 		int queue = this.totalRequestSubmitted - this.totalRequestTerminated;
-		int sum = 0;
+		this.estimatedQueueSize = this.queueSizeEstimator.getNextEstimate(queue);
 
-		for (Map.Entry<String, AllocationMap> entry : allocationMap.entrySet()) {
-			sum += entry.getValue().getNumberOfCoresPerAVM();
-		}
 		this.logMessage("Avg exec time " + this.appURI + " with "
-				+ sum + " cores and "
+				+ this.getAllocatedCoreCount() + " cores and "
 				+ this.availableAVMsCount +  " AVMs: "
 				+ this.exponentialAverageExecutionTime + " "
-				+ " queue size " + queue);
+				+ " queue size " + queue
+				+ " (estimated " + this.estimatedQueueSize + ")"
+				+ " p95 " + this.executionTimes.getValueAtPercentile(95)
+				+ " p99 " + this.executionTimes.getValueAtPercentile(99));
+	}
+
+	/**
+	 * Accept static data from an AVM
+	 *
+	 * @param avmURI URI of the AVM sending the data.
+	 * @param staticState static state of this AVM.
+	 */
+	@Override
+	public void acceptApplicationVMStaticData(String avmURI, ApplicationVMStaticStateI staticState) {
+	}
+
+	/**
+	 * Accept dynamic data from an AVM
+	 *
+	 * Every 4s, each AVM of the application pushes the number of requests waiting for
+	 * one of its cores and the number of its busy cores. The last state of each AVM is kept
+	 * so cores are not removed from an AVM with requests waiting.
+	 *
+	 * @param avmURI URI of the AVM sending the data.
+	 * @param currentDynamicState current dynamic state of this AVM.
+	 */
+	@Override
+	public synchronized void acceptApplicationVMDynamicData(String avmURI, ApplicationVMDynamicStateI currentDynamicState) {
+		if (!this.avmdsdopMap.containsKey(avmURI)) return;
+
+		this.avmDynamicStates.put(avmURI, currentDynamicState);
+	}
+
+	/**
+	 *
+	 * @param avmURI AVM URI
+	 * @return true if the last dynamic state pushed by the AVM had requests waiting for a core
+	 */
+	private synchronized boolean hasWaitingRequests(String avmURI) {
+		ApplicationVMDynamicStateI state = this.avmDynamicStates.get(avmURI);
+		return state != null && state.getQueueLength() > 0;
 	}
 
 	/**
@@ -342,12 +504,64 @@ public class PerformanceController extends AbstractComponent implements
 	/**
 	 * Accept dynamic data from computer
 	 *
+	 * Compute the processing power of each AVM allocated on this computer from the current
+	 * frequencies of its cores, and notify the request dispatcher when it changed.
+	 *
 	 * @param computerURI URI of the computer sending the data.
 	 * @param currentDynamicState current dynamic state of this computer.
 	 */
 	@Override
 	public void acceptComputerDynamicData(String computerURI, ComputerDynamicStateI currentDynamicState) {
-		//currentDynamicState.getCurrentCoreFrequencies();
+		int[][] coreFrequencies = currentDynamicState.getCurrentCoreFrequencies();
+
+		for (Map.Entry<String, AllocationMap> entry : allocationMap.entrySet()) {
+			if (!entry.getValue().getComputerURI().equals(computerURI)) continue;
+
+			try {
+				updateAVMCapacity(entry.getKey(), entry.getValue(), coreFrequencies);
+			} catch (Exception e) {
+				throw new RuntimeException("Couldn't notify request dispatcher of AVM capacity " + e);
+			}
+		}
+	}
+
+	/**
+	 * Notify the request dispatcher of the AVM capacity if it changed since the last notification.
+	 *
+	 * The AVM processing power is the sum of the processing power of its cores at their
+	 * current frequency, as given by the processing power table of the computer. When the
+	 * table of the computer is not known or has no entry for the frequency of a core, the
+	 * power cannot be computed in the dispatcher's units, so the notification is skipped.
+	 *
+	 * @param avmURI AVM URI
+	 * @param allocation allocation map of the AVM
+	 * @param coreFrequencies current core frequencies of the AVM computer
+	 */
+	private void updateAVMCapacity(String avmURI, AllocationMap allocation, int[][] coreFrequencies) throws Exception {
+		Map<Integer, Integer> power = this.computerProcessingPower.get(allocation.getComputerURI());
+		long processingPower = 0;
+
+		if (power == null) {
+			this.logMessage("No processing power table for computer " + allocation.getComputerURI()
+					+ ", capacity of " + avmURI + " not notified.");
+			return;
+		}
+
+		for (AllocatedCore allocatedCore : allocation.getAllocatedCores()) {
+			int frequency = coreFrequencies[allocatedCore.processorNo][allocatedCore.coreNo];
+			Integer corePower = power.get(frequency);
+			if (corePower == null) {
+				this.logMessage("No processing power for frequency " + frequency + " on computer "
+						+ allocation.getComputerURI() + ", capacity of " + avmURI + " not notified.");
+				return;
+			}
+			processingPower += corePower;
+		}
+
+		Long previous = this.avmProcessingPower.put(avmURI, processingPower);
+		if (previous == null || previous != processingPower) {
+			this.rdmop.notifyDispatcherAVMCapacityChanged(avmURI, allocation.getNumberOfCoresPerAVM(), processingPower);
+		}
 	}
 
 	/**
@@ -359,7 +573,7 @@ public class PerformanceController extends AbstractComponent implements
 	 *
 	 */
 	private void checkUsage() {
-		this.scheduleTask(
+		SimulationEngine.scheduleTask(this,
 			new AbstractComponent.AbstractTask() {
 
 				@Override
@@ -377,11 +591,15 @@ public class PerformanceController extends AbstractComponent implements
 					}
 				}
 
-			}, timer*6, TimeUnit.MILLISECONDS);
+			}, timer*6);
 	}
 
 	/**
 	 * Check usage level
+	 *
+	 * A queue growing above queueSizePerCoreThresholdMax requests per core means the requests
+	 * wait even if their execution time is still low: cores are added at least.
+	 *
 	 * @return -1: usage is not high
 	 *          0: usage is moderately high, apply scenario level 0 (increase frequency)
 	 *          1: usage is very high, apply scenario level 1 (add cores)
@@ -390,6 +608,7 @@ public class PerformanceController extends AbstractComponent implements
 	private int isUsageHigh() {
 		if (this.exponentialAverageExecutionTime > executionTimeThresholdMaxAVM) return 2;
 		if (this.exponentialAverageExecutionTime > executionTimeThresholdMaxCore) return 1;
+		if (this.getEstimatedQueueSizePerCore() > queueSizePerCoreThresholdMax) return 1;
 		if (this.exponentialAverageExecutionTime > executionTimeThresholdMaxFreq) return 0;
 
 		return -1;
@@ -397,12 +616,18 @@ public class PerformanceController extends AbstractComponent implements
 
 	/**
 	 * Check usage level
+	 *
+	 * Resources are only removed when the estimated queue is below queueSizePerCoreThresholdMin
+	 * requests per core, so they are not removed while requests are waiting.
+	 *
 	 * @return -1: usage is not low
 	 *          0: usage is moderately low, apply scenario level 0 (increase frequency)
 	 *          1: usage is very low, apply scenario level 1 (add cores)
 	 *          2: usage is extremely low, apply scenario level 2 (add AVM)
 	 */
 	private int isUsageLow() {
+		if (this.getEstimatedQueueSizePerCore() >= queueSizePerCoreThresholdMin) return -1;
+
 		if (this.exponentialAverageExecutionTime < executionTimeThresholdMinAVM) return 2;
 		if (this.exponentialAverageExecutionTime < executionTimeThresholdMinCore) return 1;
 		if (this.exponentialAverageExecutionTime < executionTimeThresholdMinFreq) return 0;
@@ -410,6 +635,27 @@ public class PerformanceController extends AbstractComponent implements
 		return -1;
 	}
 
+	/**
+	 *
+	 * @return number of requests waiting or running per allocated core, as estimated by the queue size estimator
+	 */
+	private synchronized double getEstimatedQueueSizePerCore() {
+		return this.estimatedQueueSize / Math.max(1, this.getAllocatedCoreCount());
+	}
+
+	/**
+	 *
+	 * @return number of cores allocated to the AVMs of the application
+	 */
+	private int getAllocatedCoreCount() {
+		int sum = 0;
+
+		for (Map.Entry<String, AllocationMap> entry : allocationMap.entrySet()) {
+			sum += entry.getValue().getNumberOfCoresPerAVM();
+		}
+		return sum;
+	}
+
 	/**
 	 * Apply different upgrade scenarios based on usage:
 	 *           level 0, increase frequency
@@ -499,16 +745,11 @@ public class PerformanceController extends AbstractComponent implements
 		for (Map.Entry<String, AllocationMap> entry : allocationMap.entrySet()) {
 			AllocationMap value = entry.getValue();
 
-			AllocatedCore[] allocatedCores = value.getAllocatedCores();
-
-			for (AllocatedCore allocatedCore : allocatedCores) {
-				try {
-					if (value.getCsop().increaseFrequency(allocatedCore.coreNo, allocatedCore.processorNo)) {
-						num++;
-					}
-				} catch (Exception e) {
-					throw new RuntimeException("Couldn't increase frequency of " + allocatedCore.processorNo + " " + e);
-				}
+			// one call per AVM, the computer changing the cores of a processor together
+			try {
+				num += value.getCsop().increaseFrequencies(value.getAllocatedCores());
+			} catch (Exception e) {
+				throw new RuntimeException("Couldn't increase frequency of " + entry.getKey() + " " + e);
 			}
 		}
 		return num;
@@ -525,16 +766,11 @@ public class PerformanceController extends AbstractComponent implements
 		for (Map.Entry<String, AllocationMap> entry : allocationMap.entrySet()) {
 			AllocationMap value = entry.getValue();
 
-			AllocatedCore[] allocatedCores = value.getAllocatedCores();
-
-			for (AllocatedCore allocatedCore : allocatedCores) {
-				try {
-					if (value.getCsop().decreaseFrequency(allocatedCore.coreNo, allocatedCore.processorNo)) {
-						num++;
-					}
-				} catch (Exception e) {
-					throw new RuntimeException("Couldn't decrease frequency " + allocatedCore.processorNo + " " + e);
-				}
+			// one call per AVM, the computer changing the cores of a processor together
+			try {
+				num += value.getCsop().decreaseFrequencies(value.getAllocatedCores());
+			} catch (Exception e) {
+				throw new RuntimeException("Couldn't decrease frequency of " + entry.getKey() + " " + e);
 			}
 		}
 		return num;
@@ -565,13 +801,14 @@ public class PerformanceController extends AbstractComponent implements
 	}
 
 	/**
-	 * Remove cores
+	 * Remove cores from the first AVM with more than one core and no request waiting for a core
 	 * @return 0 if not possible to remove, number of cores removed otherwise
 	 */
 	private int removeCores() throws Exception {
 
 		for (Map.Entry<String, AllocationMap> entry : allocationMap.entrySet()) {
 			AllocationMap value = entry.getValue();
+			if (hasWaitingRequests(entry.getKey())) continue;
 
 
 			AllocatedCore[] allocatedCores = value.getAllocatedCores();
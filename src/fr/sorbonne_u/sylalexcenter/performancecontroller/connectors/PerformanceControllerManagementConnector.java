@@ -29,6 +29,13 @@ public class PerformanceControllerManagementConnector extends AbstractConnector
 				doConnectionWithComputerForDynamicState(computerDynamicStateInboundPortUri);
 	}
 
+	@Override
+	public void doConnectionWithAVMForDynamicState(String avmURI, String avmDynamicStateInboundPortUri) throws Exception {
+
+		((PerformanceControllerManagementI) this.offering).
+				doConnectionWithAVMForDynamicState(avmURI, avmDynamicStateInboundPortUri);
+	}
+
 	@Override
 	public void notifyAVMAdded(String avmURI, AllocationMap allocationMap) throws Exception {
 		((PerformanceControllerManagementI) this.offering).notifyAVMAdded(avmURI, allocationMap);
@@ -18,6 +18,8 @@ public interface PerformanceControllerManagementI {
 
 	void doConnectionWithComputerForDynamicState(ArrayList<String> computerDynamicStateInboundPortUri) throws Exception;
 
+	void doConnectionWithAVMForDynamicState(String avmURI, String avmDynamicStateInboundPortUri) throws Exception;
+
 	void notifyAVMAdded(String avmURI, AllocationMap allocationMap) throws Exception;
 
 	void notifyAVMAddRefused(String appURI) throws Exception;
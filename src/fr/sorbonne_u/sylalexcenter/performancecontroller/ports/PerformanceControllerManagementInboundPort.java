@@ -61,6 +61,20 @@ public class PerformanceControllerManagementInboundPort extends AbstractInboundP
 				});
 	}
 
+	@Override
+	public void doConnectionWithAVMForDynamicState(String avmURI, String avmDynamicStateInboundPortUri) throws Exception {
+		final PerformanceController performanceController = (PerformanceController) this.owner;
+
+		this.owner.handleRequestAsync(
+				new AbstractComponent.AbstractService<Void>() {
+					@Override
+					public Void call() throws Exception {
+						performanceController.doConnectionWithAVMForDynamicState(avmURI, avmDynamicStateInboundPortUri);
+						return null;
+					}
+				});
+	}
+
 	@Override
 	public void notifyAVMAdded(String avmURI, AllocationMap allocationMap) throws Exception {
 		final PerformanceController performanceController = (PerformanceController) this.owner;
@@ -110,7 +124,7 @@ public class PerformanceControllerManagementInboundPort extends AbstractInboundP
 		this.owner.handleRequestAsync(
 				new AbstractComponent.AbstractService<Void>() {
 					@Override
-					public Void call() {
+					public Void call() throws Exception {
 						performanceController.notifyAVMRemoveComplete(vmURI, appURI);
 						return null;
 					}
@@ -40,6 +40,12 @@ public class PerformanceControllerManagementOutboundPort extends AbstractOutboun
 				doConnectionWithComputerForDynamicState (computerDynamicStateInboundPortUri);
 	}
 
+	@Override
+	public void doConnectionWithAVMForDynamicState(String avmURI, String avmDynamicStateInboundPortUri) throws Exception {
+		((PerformanceControllerManagementI) this.connector).
+				doConnectionWithAVMForDynamicState (avmURI, avmDynamicStateInboundPortUri);
+	}
+
 	@Override
 	public void notifyAVMAdded(String avmURI, AllocationMap allocationMap) throws Exception {
 		((PerformanceControllerManagementI) this.connector).
@@ -1,20 +1,25 @@
 package fr.sorbonne_u.sylalexcenter.requestdispatcher;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import fr.sorbonne_u.components.interfaces.DataRequiredI;
-import fr.sorbonne_u.datacenter.TimeManagement;
+import fr.sorbonne_u.datacenter.clocks.ComponentClock;
+import fr.sorbonne_u.datacenter.interfaces.ClockI;
 import fr.sorbonne_u.datacenter.interfaces.ControlledDataOfferedI;
 import fr.sorbonne_u.datacenter.interfaces.ControlledDataRequiredI;
 import fr.sorbonne_u.datacenter.interfaces.PushModeControllingI;
+import fr.sorbonne_u.datacenter.simulation.SimulationEngine;
 import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
 import fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationHandlerI;
 import fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationI;
@@ -26,15 +31,23 @@ import fr.sorbonne_u.datacenter.software.ports.RequestSubmissionInboundPort;
 import fr.sorbonne_u.datacenter.software.ports.RequestSubmissionOutboundPort;
 import fr.sorbonne_u.sylalexcenter.admissioncontroller.utils.AllocationMap;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.connectors.RequestDispatcherServicesConnector;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.AVMLoadI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.DispatchPolicyI;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.RequestDispatcherDynamicStateI;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.RequestDispatcherManagementI;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.RequestDispatcherServicesI;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.ports.RequestDispatcherDynamicStateDataInboundPort;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.ports.RequestDispatcherManagementInboundPort;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.policies.DispatchPolicyType;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.ports.RequestDispatcherServicesOutboundPort;
-import fr.sorbonne_u.sylalexcenter.utils.ExponentialMovingAverage;
-
-import static java.util.Comparator.comparingInt;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.utils.AVMLoadHeap;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.utils.ConcurrentAVMLoad;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.utils.RequestTable;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.utils.StripedRequestTable;
+import fr.sorbonne_u.sylalexcenter.utils.EstimatorType;
+import fr.sorbonne_u.sylalexcenter.utils.LatencyPercentiles;
+import fr.sorbonne_u.sylalexcenter.utils.RollingLatencyHistogram;
+import fr.sorbonne_u.sylalexcenter.utils.interfaces.EstimatorI;
 
 /**
  * The class <code>RequestDispatcher</code> implements a request dispatcher.
@@ -46,9 +59,15 @@ import static java.util.Comparator.comparingInt;
  * The request dispatcher component will receive requests from the request
  * generator and forward them to an application's dedicated virtual machines.
  * 
- * When the request dispatcher receives a request, it goes through the list of
- * available application virtual machines (AVMs) and submits the request to the 
- * least used AVM (min number of requests in queue)
+ * When the request dispatcher receives a request, it asks its dispatch policy
+ * which of the available application virtual machines (AVMs) should receive it.
+ * The default policy submits the request to the least used AVM (min number of
+ * requests in queue)
+ *
+ * The request dispatcher can run several threads, so that submissions and
+ * termination notifications are handled in parallel. The number of requests in
+ * queue per AVM is then kept in atomic counters and the requests in flight in a
+ * striped table; calls to the dispatch policy are serialized.
  *
  * @author Alexandra Tudor
  * @author Sylia Righi
@@ -66,28 +85,50 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 	private String requestDispatcherServicesInboundPortURI;
 
 	private RequestSubmissionInboundPort rsip;
-	private HashMap<String, RequestSubmissionOutboundPort> rsopList = new HashMap<>();
-	private HashMap<String, RequestNotificationInboundPort> rnipList = new HashMap<>();
+	private ConcurrentHashMap<String, RequestSubmissionOutboundPort> rsopList = new ConcurrentHashMap<>();
+	private ConcurrentHashMap<String, RequestNotificationInboundPort> rnipList = new ConcurrentHashMap<>();
 	private RequestNotificationOutboundPort rnop;
 
 	private RequestDispatcherDynamicStateDataInboundPort rddsdip;
 	
 	// List of available avm
-	private ArrayList<String> vmURIList;
+	private List<String> vmURIList;
+
+	private AVMLoadI vmPriority; //vmURI -> number of requests in queue
+	private StripedRequestTable vmAllocation; //request URI -> vmURI, request start time
+	private ConcurrentHashMap<String, Integer> vmCores = new ConcurrentHashMap<>(); //vmURI -> number of cores, for AVMs not yet deployed
+	private ConcurrentHashMap<String, Integer> deployedVMCores = new ConcurrentHashMap<>(); //vmURI -> number of cores, for deployed AVMs
+	private HashMap<String, Integer> pendingVMCores = new HashMap<>(); //vmURI -> number of cores, for capacity changes received before the AVM is deployed
+	private HashMap<String, Long> pendingVMProcessingPower = new HashMap<>(); //vmURI -> processing power, for capacity changes received before the AVM is deployed
 
-	private HashMap<String, Integer> vmPriority = new HashMap<>(); //vmURI -> number of requests in queue
-	private HashMap<String, String> vmAllocation = new HashMap<>(); //request URI -> vmURI
-	private HashMap<String, Long> vmStartTime = new HashMap<>(); //request URI -> request start time
+	// an AVM with idle cores takes waiting requests from the most loaded AVM, one transfer at a time
+	private AtomicBoolean stealing = new AtomicBoolean(false);
+	private volatile String stealFromVM; //AVM asked to give back requests by the current transfer
+	private volatile String stealToVM; //AVM receiving the requests of the current transfer
+
+	// minimum number of requests waiting on the most loaded AVM for a transfer to be worth its messages
+	private static final int STEAL_THRESHOLD = 2;
+
+	// calls to the dispatch policy are synchronized on it
+	private DispatchPolicyI dispatchPolicy;
 
 	private String appURIRemoval;
 	private String performanceControllerURIRemoval;
-	private String markedForRemoval;
+	private volatile String markedForRemoval;
 
 	// Statistics
-	private double currentAverage;
-	private ExponentialMovingAverage exponentialMovingAverage;
-	private int totalRequestSubmitted;
-	private int totalRequestTerminated;
+	// estimator of the execution time sent to the performance controller, synchronized on itself
+	private volatile double currentAverage;
+	private EstimatorI executionTimeEstimator;
+	private AtomicInteger totalRequestSubmitted;
+	private AtomicInteger totalRequestTerminated;
+
+	// execution time histograms over the last minute, synchronized on themselves
+	private static final int LATENCY_WINDOW_INTERVALS = 6;
+	private static final long LATENCY_INTERVAL_LENGTH = 10000;
+	private ClockI clock;
+	private RollingLatencyHistogram latencies;
+	private ConcurrentHashMap<String, RollingLatencyHistogram> avmLatencies = new ConcurrentHashMap<>(); //vmURI -> histogram
 
 	// Data Pushing
 	private ScheduledFuture<?> pushingFuture;
@@ -103,6 +144,9 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 	 * @param requestDispatcherNotificationInboundPortURIList list of request dispatcher notification inbound port URIs
 	 * @param requestDispatcherNotificationOutboundPortURI request dispatcher notification outbound port URI
 	 * @param requestDispatcherDynamicStateDataInboundPortURI request dispatcher dynamic state data inbound port URI
+	 * @param vmCoresList number of cores allocated to each avm of vmURIList
+	 * @param dispatchPolicy dispatch policy chosen by the application
+	 * @param nbThreads number of threads handling submissions and notifications
 	 */
 	public RequestDispatcher (
 			String rdURI,
@@ -113,10 +157,52 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 			ArrayList<String> requestDispatcherSubmissionOutboundPortURIList,
 			ArrayList<String> requestDispatcherNotificationInboundPortURIList,
 			String requestDispatcherNotificationOutboundPortURI,
-			String requestDispatcherDynamicStateDataInboundPortURI
+			String requestDispatcherDynamicStateDataInboundPortURI,
+			ArrayList<Integer> vmCoresList,
+			DispatchPolicyType dispatchPolicy,
+			int nbThreads
+		) throws Exception {
+
+		this(rdURI, vmURIList, requestDispatcherManagementInboundPortURI, requestDispatcherServicesInboundPortURI,
+				requestDispatcherSubmissionInboundPortURI, requestDispatcherSubmissionOutboundPortURIList,
+				requestDispatcherNotificationInboundPortURIList, requestDispatcherNotificationOutboundPortURI,
+				requestDispatcherDynamicStateDataInboundPortURI, vmCoresList, dispatchPolicy, nbThreads,
+				EstimatorType.TIME_DECAYED_AVERAGE);
+	}
+
+	/**
+	 *
+	 * @param rdURI request dispatcher URI
+	 * @param vmURIList list of avm URIs available for the request dispatcher
+	 * @param requestDispatcherManagementInboundPortURI request dispatcher management inbound port URI
+	 * @param requestDispatcherServicesInboundPortURI request dispatcher services inbound port URI
+	 * @param requestDispatcherSubmissionInboundPortURI request dispatcher submission inbound port URI
+	 * @param requestDispatcherSubmissionOutboundPortURIList list of request dispatcher submission outbound port URIs
+	 * @param requestDispatcherNotificationInboundPortURIList list of request dispatcher notification inbound port URIs
+	 * @param requestDispatcherNotificationOutboundPortURI request dispatcher notification outbound port URI
+	 * @param requestDispatcherDynamicStateDataInboundPortURI request dispatcher dynamic state data inbound port URI
+	 * @param vmCoresList number of cores allocated to each avm of vmURIList
+	 * @param dispatchPolicy dispatch policy chosen by the application
+	 * @param nbThreads number of threads handling submissions and notifications
+	 * @param executionTimeEstimatorType estimator of the execution time sent to the performance controller
+	 */
+	public RequestDispatcher (
+			String rdURI,
+			ArrayList<String> vmURIList,
+			String requestDispatcherManagementInboundPortURI,
+			String requestDispatcherServicesInboundPortURI,
+			String requestDispatcherSubmissionInboundPortURI,
+			ArrayList<String> requestDispatcherSubmissionOutboundPortURIList,
+			ArrayList<String> requestDispatcherNotificationInboundPortURIList,
+			String requestDispatcherNotificationOutboundPortURI,
+			String requestDispatcherDynamicStateDataInboundPortURI,
+			ArrayList<Integer> vmCoresList,
+			DispatchPolicyType dispatchPolicy,
+			int nbThreads,
+			EstimatorType executionTimeEstimatorType
 		) throws Exception {
 		
-		super(rdURI,1, 1);
+		super(rdURI, nbThreads, 1);
 		
 		// preconditions check
 		assert rdURI != null;
@@ -127,14 +213,26 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 		assert requestDispatcherNotificationInboundPortURIList != null && requestDispatcherNotificationInboundPortURIList.size() > 0;
 		assert requestDispatcherNotificationOutboundPortURI != null;
 		assert requestDispatcherDynamicStateDataInboundPortURI != null;
+		assert vmCoresList != null && vmCoresList.size() == vmURIList.size();
+		assert dispatchPolicy != null;
+		assert nbThreads > 0;
+		assert executionTimeEstimatorType != null;
 
 		// initialization
 		this.rdURI = rdURI;
-		this.vmURIList = new ArrayList<>(vmURIList);
-		this.totalRequestSubmitted = 0;
-		this.totalRequestTerminated = 0;
+		this.vmURIList = new CopyOnWriteArrayList<>(vmURIList);
+		this.totalRequestSubmitted = new AtomicInteger(0);
+		this.totalRequestTerminated = new AtomicInteger(0);
 
-		this.exponentialMovingAverage = new ExponentialMovingAverage();
+		// the heap gives the least used AVM in O(1) but can only be used by one thread
+		this.vmPriority = nbThreads > 1 ? new ConcurrentAVMLoad() : new AVMLoadHeap();
+		this.vmAllocation = new StripedRequestTable(nbThreads);
+
+		// read when used, so the clock the component is given once created is followed
+		this.clock = new ComponentClock(this);
+		this.executionTimeEstimator = executionTimeEstimatorType.createEstimator(this.clock);
+		this.latencies = new RollingLatencyHistogram(LATENCY_WINDOW_INTERVALS, LATENCY_INTERVAL_LENGTH, this.clock);
+		this.dispatchPolicy = dispatchPolicy.createPolicy();
 
 		this.rdmip = new RequestDispatcherManagementInboundPort(requestDispatcherManagementInboundPortURI, this);
 		this.addPort(rdmip);
@@ -160,7 +258,9 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 		this.addRequiredInterface(ControlledDataRequiredI.ControlledPullI.class);
 
 		for (int i = 0; i < vmURIList.size(); i++ ) {
-			this.vmPriority.put(vmURIList.get(i), 0);
+			this.vmPriority.add(vmURIList.get(i));
+			this.dispatchPolicy.addAVM(vmURIList.get(i), vmCoresList.get(i));
+			this.deployedVMCores.put(vmURIList.get(i), vmCoresList.get(i));
 
 			this.addOfferedInterface(RequestNotificationI.class);
 			RequestNotificationInboundPort rnip = new RequestNotificationInboundPort(requestDispatcherNotificationInboundPortURIList.get(i), this);
@@ -267,7 +367,7 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 
 	/**
 	 * Accept a request submission from request generator, send it to the
-	 * least recently used AVM and and require notifications of request execution progress.
+	 * AVM chosen by the dispatch policy and require notifications of request execution progress.
 	 *
 	 * @param r request that just terminated.
 	 */
@@ -275,26 +375,91 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 	public void acceptRequestSubmissionAndNotify(RequestI r) throws Exception {
 		assert r != null;
 
-		HashMap<String, Integer> vmPriorityCopy = new HashMap<>(this.vmPriority);
-		vmPriorityCopy.remove(this.markedForRemoval);
-		String leastUsedVM = Collections.min(vmPriorityCopy.entrySet(), comparingInt(Map.Entry::getValue)).getKey();
+		String selectedVM;
+
+		// AVM marked for removal is excluded in vmPriority and skipped by the policy
+		synchronized (this.dispatchPolicy) {
+			selectedVM = this.dispatchPolicy.selectAVM(r, this.vmPriority);
 
-		if (leastUsedVM.length() > 0) {
-			int requests = this.vmPriority.get(leastUsedVM) + 1;
-			this.vmPriority.replace(leastUsedVM, requests);
+			if (selectedVM != null) {
+				this.vmPriority.increment(selectedVM);
+				this.dispatchPolicy.requestSubmitted(selectedVM, r);
+			}
+		}
 
-			this.vmAllocation.put(r.getRequestURI(), leastUsedVM);
-			this.vmStartTime.put(r.getRequestURI(), System.nanoTime());
+		if (selectedVM != null) {
+			RequestTable requests = this.vmAllocation.stripeFor(r.getRequestURI());
+			synchronized (requests) {
+				requests.put(r.getRequestURI(), selectedVM, this.clock.nanoTime());
+			}
 
 			this.logMessage ("Request dispatcher " + this.rdURI + " accepted request " + r.getRequestURI());
-			this.totalRequestSubmitted++;
-			this.rsopList.get(leastUsedVM).submitRequestAndNotify(r);
+			this.totalRequestSubmitted.incrementAndGet();
+			this.rsopList.get(selectedVM).submitRequestAndNotify(r);
 			
 		} else {
 			this.logMessage ("Request dispatcher " + this.rdURI + " refused request " + r.getRequestURI());
 		}
 	}
 
+	/**
+	 * Accept several requests from request generator: the dispatch policy chooses an AVM for
+	 * each request in one pass, then each AVM receives its requests in a single submission.
+	 *
+	 * @param requests requests submitted together
+	 */
+	@Override
+	public void acceptRequestsSubmissionAndNotify(RequestI[] requests) throws Exception {
+		assert requests != null && requests.length > 0;
+
+		String[] selectedVMs = new String[requests.length];
+
+		synchronized (this.dispatchPolicy) {
+			for (int i = 0; i < requests.length; i++) {
+				selectedVMs[i] = this.dispatchPolicy.selectAVM(requests[i], this.vmPriority);
+
+				if (selectedVMs[i] != null) {
+					this.vmPriority.increment(selectedVMs[i]);
+					this.dispatchPolicy.requestSubmitted(selectedVMs[i], requests[i]);
+				}
+			}
+		}
+
+		HashMap<String, ArrayList<RequestI>> batches = new HashMap<>(); //vmURI -> requests for this avm
+		long now = this.clock.nanoTime();
+
+		for (int i = 0; i < requests.length; i++) {
+			if (selectedVMs[i] == null) {
+				this.logMessage ("Request dispatcher " + this.rdURI + " refused request " + requests[i].getRequestURI());
+				continue;
+			}
+
+			RequestTable table = this.vmAllocation.stripeFor(requests[i].getRequestURI());
+			synchronized (table) {
+				table.put(requests[i].getRequestURI(), selectedVMs[i], now);
+			}
+			batches.computeIfAbsent(selectedVMs[i], k -> new ArrayList<>()).add(requests[i]);
+		}
+
+		for (Map.Entry<String, ArrayList<RequestI>> batch : batches.entrySet()) {
+			this.logMessage ("Request dispatcher " + this.rdURI + " accepted " + batch.getValue().size()
+					+ " requests for " + batch.getKey());
+			this.totalRequestSubmitted.addAndGet(batch.getValue().size());
+			this.rsopList.get(batch.getKey()).submitRequestsAndNotify(batch.getValue().toArray(new RequestI[0]));
+		}
+	}
+
+	/**
+	 * The request dispatcher sends requests on as soon as they arrive, so it never
+	 * holds waiting requests: give back none.
+	 *
+	 * @param n maximum number of requests to take back.
+	 */
+	@Override
+	public void acceptRequestsWithdrawalAndNotify(int n) throws Exception {
+		this.rnop.notifyRequestsWithdrawal(new RequestI[0]);
+	}
+
 	/**
 	 * Notify request generator that a request was terminated
 	 *
@@ -304,50 +469,349 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 	public void acceptRequestTerminationNotification(RequestI r) throws Exception {
 		assert r != null;
 
-		Long executionTime = System.nanoTime() - this.vmStartTime.get(r.getRequestURI());
+		long executionTime;
+		String vmURI;
+
+		RequestTable requests = this.vmAllocation.stripeFor(r.getRequestURI());
+		synchronized (requests) {
+			int slot = requests.indexOf(r.getRequestURI());
+			assert slot >= 0;
 
-		synchronized (this) {
-			currentAverage = exponentialMovingAverage.getNextAverage(executionTime);
+			executionTime = this.clock.nanoTime() - requests.getStartTime(slot);
+			vmURI = requests.getVM(slot);
+			requests.removeAt(slot);
 		}
-		String vmURI = this.vmAllocation.get(r.getRequestURI());
 
-		if (this.vmPriority.containsKey(vmURI)) {
-			int requests = this.vmPriority.get(vmURI) - 1;
-			this.vmPriority.replace(vmURI, requests);
+		synchronized (this.executionTimeEstimator) {
+			this.currentAverage = this.executionTimeEstimator.getNextEstimate(executionTime);
 		}
 
-		if (this.markedForRemoval != null && this.vmPriority.get(this.markedForRemoval) <= 0) {
-			// this avm was marked for removal and completed all its requests
-			this.rdsvop.notifyAVMRemovalComplete (this.markedForRemoval, this.appURIRemoval, this.performanceControllerURIRemoval);
-			this.vmURIList.remove(this.markedForRemoval);
-			this.vmPriority.remove(this.markedForRemoval);
-			this.markedForRemoval = null;
+		synchronized (this.latencies) {
+			this.latencies.record(executionTime);
+		}
+		RollingLatencyHistogram avmHistogram = this.avmLatencies.computeIfAbsent(vmURI,
+				k -> new RollingLatencyHistogram(LATENCY_WINDOW_INTERVALS, LATENCY_INTERVAL_LENGTH, this.clock));
+		synchronized (avmHistogram) {
+			avmHistogram.record(executionTime);
+		}
+
+		if (this.vmPriority.contains(vmURI)) {
+			this.vmPriority.decrement(vmURI);
+			synchronized (this.dispatchPolicy) {
+				this.dispatchPolicy.requestTerminated(vmURI, r);
+			}
 		}
 
-		this.vmStartTime.remove(r.getRequestURI());
-		this.vmAllocation.remove(r.getRequestURI());
+		this.completeAVMRemoval();
 
-		this.totalRequestTerminated++;
+		this.totalRequestTerminated.incrementAndGet();
 		this.logMessage ("Request dispatcher " + this.rdURI + " notified that request "
 				+ r.getRequestURI() + " has terminated");
+
+		this.stealRequests(vmURI);
+	}
+
+	/**
+	 * Apply the termination of several requests, sent together by an AVM, to the counters and
+	 * statistics: each lock is taken once for the whole batch.
+	 *
+	 * The execution times are measured up to the termination time of each request, so they do
+	 * not include the delay of the batch.
+	 *
+	 * @param requests requests that just terminated.
+	 * @param terminationTimes time at which each request terminated.
+	 */
+	@Override
+	public void acceptRequestsTerminationNotification(RequestI[] requests, long[] terminationTimes) throws Exception {
+		assert requests != null && requests.length > 0;
+		assert terminationTimes != null && terminationTimes.length == requests.length;
+
+		long[] executionTimes = new long[requests.length];
+		String[] vmURIs = new String[requests.length];
+
+		for (int i = 0; i < requests.length; i++) {
+			RequestTable table = this.vmAllocation.stripeFor(requests[i].getRequestURI());
+			synchronized (table) {
+				int slot = table.indexOf(requests[i].getRequestURI());
+				assert slot >= 0;
+
+				executionTimes[i] = terminationTimes[i] - table.getStartTime(slot);
+				vmURIs[i] = table.getVM(slot);
+				table.removeAt(slot);
+			}
+		}
+
+		synchronized (this.executionTimeEstimator) {
+			for (long executionTime : executionTimes) {
+				this.currentAverage = this.executionTimeEstimator.getNextEstimate(executionTime);
+			}
+		}
+
+		synchronized (this.latencies) {
+			for (long executionTime : executionTimes) {
+				this.latencies.record(executionTime);
+			}
+		}
+
+		// a batch comes from a single AVM, so the per AVM histogram is usually looked up once
+		RollingLatencyHistogram avmHistogram = null;
+		for (int i = 0; i < requests.length; i++) {
+			if (i == 0 || !vmURIs[i].equals(vmURIs[i - 1])) {
+				avmHistogram = this.avmLatencies.computeIfAbsent(vmURIs[i],
+						k -> new RollingLatencyHistogram(LATENCY_WINDOW_INTERVALS, LATENCY_INTERVAL_LENGTH, this.clock));
+			}
+			synchronized (avmHistogram) {
+				avmHistogram.record(executionTimes[i]);
+			}
+		}
+
+		synchronized (this.dispatchPolicy) {
+			for (int i = 0; i < requests.length; i++) {
+				if (this.vmPriority.contains(vmURIs[i])) {
+					this.vmPriority.decrement(vmURIs[i]);
+					this.dispatchPolicy.requestTerminated(vmURIs[i], requests[i]);
+				}
+			}
+		}
+
+		this.completeAVMRemoval();
+
+		this.totalRequestTerminated.addAndGet(requests.length);
+		this.logMessage ("Request dispatcher " + this.rdURI + " notified that " + requests.length
+				+ " requests have terminated");
+
+		this.stealRequests(vmURIs[requests.length - 1]);
 	}
 
+	/**
+	 * A request was dropped by its AVM because its queue was full: forget it, so the AVM
+	 * load and the removal of an AVM do not wait for it. It is not recorded in the
+	 * execution time statistics, but counted as terminated so it is no longer counted
+	 * in the queue size.
+	 *
+	 * @param r rejected request.
+	 */
+	@Override
+	public void acceptRequestRejectionNotification(RequestI r) throws Exception {
+		assert r != null;
+
+		String vmURI;
+
+		RequestTable requests = this.vmAllocation.stripeFor(r.getRequestURI());
+		synchronized (requests) {
+			int slot = requests.indexOf(r.getRequestURI());
+			if (slot < 0) return;
+
+			vmURI = requests.getVM(slot);
+			requests.removeAt(slot);
+		}
+
+		if (this.vmPriority.contains(vmURI)) {
+			this.vmPriority.decrement(vmURI);
+			synchronized (this.dispatchPolicy) {
+				this.dispatchPolicy.requestTerminated(vmURI, r);
+			}
+		}
+
+		this.completeAVMRemoval();
+
+		this.totalRequestTerminated.incrementAndGet();
+		this.logMessage ("Request dispatcher " + this.rdURI + " notified that request "
+				+ r.getRequestURI() + " was rejected by " + vmURI);
+	}
+
+
+	/**
+	 * Work stealing: if the AVM that just terminated requests has idle cores, and the AVM
+	 * with the largest backlog has at least <code>STEAL_THRESHOLD</code> requests waiting,
+	 * ask the busy AVM to give back some of them. The call returns at once: the requests
+	 * are received in <code>acceptRequestsWithdrawalNotification</code>, so no thread of
+	 * the request dispatcher waits for the AVM.
+	 *
+	 * @param idleVM AVM that just terminated requests
+	 */
+	private void stealRequests(String idleVM) throws Exception {
+		// another transfer is running, the next termination will try again
+		if (!this.stealing.compareAndSet(false, true)) return;
+
+		String busyVM = null;
+		int count;
+
+		synchronized (this.dispatchPolicy) {
+			int idleCores = 0;
+			if (this.vmPriority.contains(idleVM) && !this.vmPriority.isExcluded(idleVM)) {
+				idleCores = this.deployedVMCores.getOrDefault(idleVM, 1) - this.vmPriority.getRequests(idleVM);
+			}
+
+			int maxWaiting = STEAL_THRESHOLD - 1;
+			if (idleCores > 0) {
+				for (String vmURI : this.vmURIList) {
+					if (vmURI.equals(idleVM) || !this.vmPriority.contains(vmURI)) continue;
+
+					int waiting = this.vmPriority.getRequests(vmURI) - this.deployedVMCores.getOrDefault(vmURI, 1);
+					if (waiting > maxWaiting) {
+						maxWaiting = waiting;
+						busyVM = vmURI;
+					}
+				}
+			}
+
+			// at most half the backlog, so both AVMs end up with similar queues
+			count = Math.min(idleCores, (maxWaiting + 1) / 2);
+		}
+
+		if (busyVM == null) {
+			this.stealing.set(false);
+			return;
+		}
+
+		this.stealFromVM = busyVM;
+		this.stealToVM = idleVM;
+		try {
+			this.rsopList.get(busyVM).withdrawRequestsAndNotify(count);
+		} catch (Exception e) {
+			this.stealing.set(false);
+			throw e;
+		}
+	}
+
+	/**
+	 * End of a transfer started by <code>stealRequests</code>: send the requests the busy
+	 * AVM gave back to the idle AVM, or back to the busy AVM if the idle one can no longer
+	 * take them.
+	 *
+	 * The requests keep their start time, so their execution time includes the time
+	 * they waited on the first AVM.
+	 *
+	 * @param stolen requests given back by the busy AVM
+	 */
+	@Override
+	public void acceptRequestsWithdrawalNotification(RequestI[] stolen) throws Exception {
+		assert stolen != null;
+
+		String busyVM = this.stealFromVM;
+		String idleVM = this.stealToVM;
+
+		try {
+			if (stolen.length == 0) return;
+
+			boolean transferred;
+			synchronized (this.dispatchPolicy) {
+				// the idle AVM may have been marked for removal in the meantime
+				transferred = this.vmPriority.contains(idleVM) && !this.vmPriority.isExcluded(idleVM);
+
+				if (transferred) {
+					for (RequestI r : stolen) {
+						this.vmPriority.decrement(busyVM);
+						this.dispatchPolicy.requestTerminated(busyVM, r);
+						this.vmPriority.increment(idleVM);
+						this.dispatchPolicy.requestSubmitted(idleVM, r);
+					}
+				}
+			}
+
+			if (!transferred) {
+				this.rsopList.get(busyVM).submitRequestsAndNotify(stolen);
+				return;
+			}
+
+			for (RequestI r : stolen) {
+				RequestTable table = this.vmAllocation.stripeFor(r.getRequestURI());
+				synchronized (table) {
+					int slot = table.indexOf(r.getRequestURI());
+					assert slot >= 0;
+
+					table.put(r.getRequestURI(), idleVM, table.getStartTime(slot));
+				}
+			}
+
+			this.logMessage ("Request dispatcher " + this.rdURI + " moved " + stolen.length
+					+ " waiting requests from " + busyVM + " to " + idleVM);
+			this.rsopList.get(idleVM).submitRequestsAndNotify(stolen);
+
+		} finally {
+			this.stealing.set(false);
+		}
+
+		// the AVM marked for removal may have given its last requests
+		this.completeAVMRemoval();
+	}
+
+	/**
+	 * If the AVM marked for removal completed all its requests, remove it and notify
+	 * the admission controller. The check and the removal are done under the policy
+	 * lock, so only one thread removes it, and the others see it is no longer there.
+	 */
+	private void completeAVMRemoval() throws Exception {
+		String vmURI;
+		synchronized (this.dispatchPolicy) {
+			vmURI = this.markedForRemoval;
+			if (vmURI == null || !this.vmPriority.contains(vmURI) || this.vmPriority.getRequests(vmURI) > 0) return;
+
+			this.vmURIList.remove(vmURI);
+			this.vmPriority.remove(vmURI);
+			this.dispatchPolicy.removeAVM(vmURI);
+			this.markedForRemoval = null;
+			this.pendingVMCores.remove(vmURI);
+			this.pendingVMProcessingPower.remove(vmURI);
+		}
+		this.avmLatencies.remove(vmURI);
+		this.deployedVMCores.remove(vmURI);
+
+		// this avm was marked for removal and completed all its requests
+		this.rdsvop.notifyAVMRemovalComplete (vmURI, this.appURIRemoval, this.performanceControllerURIRemoval);
+	}
 
 	// Component dynamic state services
 	// -------------------------------------------------------------------------
 
 	/**
 	 * Request dispatcher dynamic data contains request dispatcher URI, current exponential moving average
-	 * total requests submitted, total requests terminated, and number of AVMs available
+	 * total requests submitted, total requests terminated, number of AVMs available, and execution
+	 * time percentiles over the last minute, overall and per AVM.
+	 *
+	 * The execution time histogram buckets changed since the previous pushed dynamic state are sent
+	 * too, so the receiver of the pushes can keep a copy of the whole histogram; pulling the state
+	 * does not clear them.
 	 * @return dynamic data
 	 */
 	public RequestDispatcherDynamicStateI getDynamicState() {
+		return this.getDynamicState(false);
+	}
+
+	/**
+	 * @param drain true to clear the changed histogram buckets once read, when pushing the state
+	 * @return dynamic data
+	 */
+	private RequestDispatcherDynamicStateI getDynamicState(boolean drain) {
+		LatencyPercentiles percentiles;
+		long[][] changedBucketCounts = new long[1][];
+		int[] changedBuckets;
+
+		synchronized (this.latencies) {
+			percentiles = this.latencies.getPercentiles();
+			changedBuckets = drain
+					? this.latencies.drainChangedBuckets(changedBucketCounts)
+					: this.latencies.getChangedBuckets(changedBucketCounts);
+		}
+
+		HashMap<String, LatencyPercentiles> avmPercentiles = new HashMap<>();
+		for (Map.Entry<String, RollingLatencyHistogram> entry : this.avmLatencies.entrySet()) {
+			synchronized (entry.getValue()) {
+				avmPercentiles.put(entry.getKey(), entry.getValue().getPercentiles());
+			}
+		}
+
 		return new RequestDispatcherDynamicState(
 				this.rdURI,
 				this.currentAverage,
 				this.vmURIList.size(),
-				this.totalRequestSubmitted,
-				this.totalRequestTerminated);
+				this.totalRequestSubmitted.get(),
+				this.totalRequestTerminated.get(),
+				percentiles,
+				avmPercentiles,
+				changedBuckets,
+				changedBucketCounts[0]);
 	}
 
 	/**
@@ -355,7 +819,7 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 	 */
 	private void sendDynamicState() throws Exception {
 		if (this.rddsdip.connected()) {
-			this.rddsdip.send(this.getDynamicState());
+			this.rddsdip.send(this.getDynamicState(true));
 		}
 	}
 
@@ -367,7 +831,7 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 		final int fNumberOfRemainingPushes = numberOfRemainingPushes - 1;
 		if (fNumberOfRemainingPushes > 0) {
 			final RequestDispatcher rd = this;
-			this.pushingFuture = this.scheduleTask(
+			this.pushingFuture = SimulationEngine.scheduleTask(this,
 				new AbstractComponent.AbstractTask() {
 					@Override
 					public void run() {
@@ -378,8 +842,7 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 						}
 					}
 				},
-				TimeManagement.acceleratedDelay(interval),
-				TimeUnit.MILLISECONDS);
+				interval);
 		}
 	}
 
@@ -391,7 +854,7 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 	public void startUnlimitedPushing(int interval) throws RuntimeException {
 		final RequestDispatcher rd = this;
 
-		this.pushingFuture = this.scheduleTaskAtFixedRate(
+		this.pushingFuture = SimulationEngine.scheduleTaskAtFixedRate(this,
 			new AbstractComponent.AbstractTask() {
 				@Override
 				public void run() {
@@ -402,9 +865,8 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 					}
 				}
 			},
-			TimeManagement.acceleratedDelay(interval),
-			TimeManagement.acceleratedDelay(interval),
-			TimeUnit.MILLISECONDS);
+			interval,
+			interval);
 	}
 
 	/**
@@ -419,7 +881,7 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 
 		this.logMessage(this.rdURI + " startLimitedPushing with interval " + interval + " ms for " + n + " times.");
 
-		this.pushingFuture = this.scheduleTask(
+		this.pushingFuture = SimulationEngine.scheduleTask(this,
 			new AbstractComponent.AbstractTask() {
 				@Override
 				public void run() {
@@ -430,8 +892,7 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 					}
 				}
 			},
-			TimeManagement.acceleratedDelay(interval),
-			TimeUnit.MILLISECONDS);
+			interval);
 	}
 
 	/**
@@ -481,6 +942,8 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 		this.addPort(rsop);
 		this.rsopList.get(avmURI).publishPort();
 
+		this.vmCores.put(avmURI, allocatedMap.get(0).getNumberOfCoresPerAVM());
+
 		// Notify Admission Controller that new ports are ready!
 		this.rdsvop.notifyNewAVMPortsReady(appURI,
 				performanceControllerURI,
@@ -498,8 +961,22 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 	 */
 	@Override
 	public void notifyDispatcherNewAVMDeployed(String avmURI) {
-		this.vmURIList.add(avmURI);
-		this.vmPriority.put(avmURI, 0);
+		synchronized (this.dispatchPolicy) {
+			Integer numberOfCores = this.vmCores.remove(avmURI);
+
+			this.vmURIList.add(avmURI);
+			this.vmPriority.add(avmURI);
+			this.dispatchPolicy.addAVM(avmURI, numberOfCores != null ? numberOfCores : 1);
+			this.deployedVMCores.put(avmURI, numberOfCores != null ? numberOfCores : 1);
+
+			// capacity changed before the AVM was deployed
+			Long processingPower = this.pendingVMProcessingPower.remove(avmURI);
+			Integer pendingCores = this.pendingVMCores.remove(avmURI);
+			if (processingPower != null) {
+				this.dispatchPolicy.updateAVMCapacity(avmURI, pendingCores, processingPower);
+				this.deployedVMCores.put(avmURI, pendingCores);
+			}
+		}
 	}
 
 	/**
@@ -513,12 +990,25 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 	 */
 	@Override
 	public void notifyDispatcherToRemoveAVM(String appURI, String performanceControllerURI) throws Exception {
-		if (this.markedForRemoval == null) {
-			this.markedForRemoval = Collections.min(this.vmPriority.entrySet(), comparingInt(Map.Entry::getValue)).getKey();
-			this.appURIRemoval = appURI;
-			this.performanceControllerURIRemoval = performanceControllerURI;
+		String removal = null;
+
+		synchronized (this.dispatchPolicy) {
+			if (this.markedForRemoval == null) {
+				removal = this.vmPriority.peekLeastUsed();
+				if (removal != null) {
+					this.vmPriority.setExcluded(removal, true);
+					this.appURIRemoval = appURI;
+					this.performanceControllerURIRemoval = performanceControllerURI;
+					this.markedForRemoval = removal;
+				}
+			}
+		}
 
-			this.logMessage("---> AVM " + markedForRemoval + " will be removed.");
+		if (removal != null) {
+			this.logMessage("---> AVM " + removal + " will be removed.");
+		} else if (this.markedForRemoval == null) {
+			this.logMessage("---> No AVM to remove");
+			this.rdsvop.notifyAVMRemovalRefused (appURI, performanceControllerURI);
 		} else {
 			this.logMessage("---> AVM removal already in progress " + this.markedForRemoval);
 			// refuse new removal:
@@ -526,4 +1016,29 @@ public class RequestDispatcher extends AbstractComponent implements RequestDispa
 		}
 
 	}
+
+	/**
+	 * Receive notification that the capacity of an AVM changed (cores added or removed,
+	 * core frequencies changed) and forward it to the dispatch policy. The capacity of
+	 * an AVM whose ports were created but which is not deployed yet is kept until it is
+	 * deployed. Notifications for any other AVM, such as one already removed, are dropped.
+	 *
+	 * @param avmURI AVM URI
+	 * @param numberOfCores number of cores allocated to the AVM
+	 * @param processingPower aggregate processing power of the AVM cores at their current frequencies
+	 */
+	@Override
+	public void notifyDispatcherAVMCapacityChanged(String avmURI, int numberOfCores, long processingPower) {
+		synchronized (this.dispatchPolicy) {
+			if (this.vmPriority.contains(avmURI)) {
+				this.dispatchPolicy.updateAVMCapacity(avmURI, numberOfCores, processingPower);
+				this.deployedVMCores.put(avmURI, numberOfCores);
+			} else if (this.vmCores.containsKey(avmURI)) {
+				this.pendingVMCores.put(avmURI, numberOfCores);
+				this.pendingVMProcessingPower.put(avmURI, processingPower);
+			} else {
+				this.logMessage("---> Capacity of unknown AVM " + avmURI + " ignored");
+			}
+		}
+	}
 }
@@ -1,6 +1,9 @@
 package fr.sorbonne_u.sylalexcenter.requestdispatcher;
 
+import java.util.Map;
+
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.RequestDispatcherDynamicStateI;
+import fr.sorbonne_u.sylalexcenter.utils.LatencyPercentiles;
 
 public class RequestDispatcherDynamicState implements RequestDispatcherDynamicStateI {
 
@@ -11,12 +14,21 @@ public class RequestDispatcherDynamicState implements RequestDispatcherDynamicSt
 	private final int totalRequestSubmitted;
 	private final int totalRequestTerminated;
 
+	private final LatencyPercentiles latencyPercentiles;
+	private final Map<String, LatencyPercentiles> avmLatencyPercentiles;
+	private final int[] changedLatencyBuckets;
+	private final long[] changedLatencyBucketCounts;
+
 	RequestDispatcherDynamicState(
 			String rdURI,
 			double exponentialAverageExecutionTime,
 			int availableAVMsCount,
 			int totalRequestSubmitted,
-			int totalRequestTerminated) {
+			int totalRequestTerminated,
+			LatencyPercentiles latencyPercentiles,
+			Map<String, LatencyPercentiles> avmLatencyPercentiles,
+			int[] changedLatencyBuckets,
+			long[] changedLatencyBucketCounts) {
 
 		super();
 		this.rdURI = rdURI;
@@ -24,6 +36,10 @@ public class RequestDispatcherDynamicState implements RequestDispatcherDynamicSt
 		this.availableAVMsCount = availableAVMsCount;
 		this.totalRequestSubmitted = totalRequestSubmitted;
 		this.totalRequestTerminated = totalRequestTerminated;
+		this.latencyPercentiles = latencyPercentiles;
+		this.avmLatencyPercentiles = avmLatencyPercentiles;
+		this.changedLatencyBuckets = changedLatencyBuckets;
+		this.changedLatencyBucketCounts = changedLatencyBucketCounts;
 	}
 
 	@Override
@@ -45,4 +61,24 @@ public class RequestDispatcherDynamicState implements RequestDispatcherDynamicSt
 	public int getTotalRequestTerminated() {
 		return this.totalRequestTerminated;
 	}
+
+	@Override
+	public LatencyPercentiles getLatencyPercentiles() {
+		return this.latencyPercentiles;
+	}
+
+	@Override
+	public Map<String, LatencyPercentiles> getAVMLatencyPercentiles() {
+		return this.avmLatencyPercentiles;
+	}
+
+	@Override
+	public int[] getChangedLatencyBuckets() {
+		return this.changedLatencyBuckets;
+	}
+
+	@Override
+	public long[] getChangedLatencyBucketCounts() {
+		return this.changedLatencyBucketCounts;
+	}
 }
@@ -45,4 +45,9 @@ public class RequestDispatcherManagementConnector extends AbstractConnector impl
 	public void notifyDispatcherToRemoveAVM(String appURI, String performanceControllerURI) throws Exception {
 		((RequestDispatcherManagementI)this.offering).notifyDispatcherToRemoveAVM(appURI, performanceControllerURI);
 	}
+
+	@Override
+	public void notifyDispatcherAVMCapacityChanged(String avmURI, int numberOfCores, long processingPower) throws Exception {
+		((RequestDispatcherManagementI)this.offering).notifyDispatcherAVMCapacityChanged(avmURI, numberOfCores, processingPower);
+	}
 }
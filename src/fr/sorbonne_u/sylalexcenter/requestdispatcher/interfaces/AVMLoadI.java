@@ -0,0 +1,38 @@
+package fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces;
+
+/**
+ * The interface <code>AVMLoadI</code> defines the number of requests in queue
+ * kept by the request dispatcher for each of its AVMs.
+ *
+ * An AVM can be excluded (e.g. marked for removal): its requests are still
+ * counted, but it must not be chosen for new requests.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public interface AVMLoadI {
+
+	void add(String vmURI);
+
+	void remove(String vmURI);
+
+	boolean contains(String vmURI);
+
+	int size();
+
+	int getRequests(String vmURI);
+
+	int increment(String vmURI);
+
+	int decrement(String vmURI);
+
+	void setExcluded(String vmURI, boolean excluded);
+
+	boolean isExcluded(String vmURI);
+
+	/**
+	 *
+	 * @return least used AVM which is not excluded, null if there is none
+	 */
+	String peekLeastUsed();
+}
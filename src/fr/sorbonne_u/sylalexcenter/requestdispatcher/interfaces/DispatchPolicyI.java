@@ -0,0 +1,70 @@
+package fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces;
+
+import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
+
+/**
+ * The interface <code>DispatchPolicyI</code> defines the strategy used by the
+ * request dispatcher to choose the AVM a request is submitted to.
+ *
+ * The request dispatcher keeps the number of requests in queue for each AVM
+ * (and which AVM is excluded because it is marked for removal) in an
+ * <code>AVMLoadI</code> given to the policy on each selection; a policy
+ * only keeps the extra state it needs, updated through the notification methods.
+ *
+ * Calls to a policy are serialized by the request dispatcher, even when it runs
+ * several threads, so a policy does not need to be thread-safe.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public interface DispatchPolicyI {
+
+	/**
+	 * A new AVM is available for dispatching
+	 *
+	 * @param vmURI AVM URI
+	 * @param numberOfCores number of cores allocated to the AVM
+	 */
+	void addAVM(String vmURI, int numberOfCores);
+
+	/**
+	 * An AVM was removed and must no longer be chosen
+	 *
+	 * @param vmURI AVM URI
+	 */
+	void removeAVM(String vmURI);
+
+	/**
+	 * The capacity of an AVM changed (cores added or removed, core frequencies changed)
+	 *
+	 * @param vmURI AVM URI
+	 * @param numberOfCores number of cores allocated to the AVM
+	 * @param processingPower aggregate processing power of the AVM cores at their current frequencies
+	 */
+	void updateAVMCapacity(String vmURI, int numberOfCores, long processingPower);
+
+	/**
+	 * Choose the AVM the request will be submitted to
+	 *
+	 * @param r request to dispatch
+	 * @param load number of requests in queue for each AVM
+	 * @return chosen AVM URI, or null if no AVM is available
+	 */
+	String selectAVM(RequestI r, AVMLoadI load);
+
+	/**
+	 * The request was submitted to the AVM
+	 *
+	 * @param vmURI AVM URI
+	 * @param r submitted request
+	 */
+	void requestSubmitted(String vmURI, RequestI r);
+
+	/**
+	 * The request submitted to the AVM has terminated
+	 *
+	 * @param vmURI AVM URI
+	 * @param r terminated request
+	 */
+	void requestTerminated(String vmURI, RequestI r);
+}
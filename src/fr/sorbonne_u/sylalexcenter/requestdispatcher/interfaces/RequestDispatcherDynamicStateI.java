@@ -2,11 +2,15 @@ package fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces;
 
 import fr.sorbonne_u.components.interfaces.DataOfferedI;
 import fr.sorbonne_u.components.interfaces.DataRequiredI;
+import fr.sorbonne_u.sylalexcenter.utils.LatencyPercentiles;
+
+import java.util.Map;
 
 /**
  * The interface <code>RequestDispatcherDynamicStateI</code> defines a dynamic state for the request
  * dispatcher, containing exponential average execution time, number of available AVMs, total requests
- * submitted and total requests terminated
+ * submitted, total requests terminated, and execution time percentiles over the last minute, overall
+ * and per AVM, with the execution time histogram buckets changed since the previous state
  *
  * @author Alexandra Tudor
  * @author Sylia Righi
@@ -20,4 +24,12 @@ public interface RequestDispatcherDynamicStateI extends DataOfferedI.DataI, Data
 	int getTotalRequestSubmitted();
 
 	int getTotalRequestTerminated();
+
+	LatencyPercentiles getLatencyPercentiles();
+
+	Map<String, LatencyPercentiles> getAVMLatencyPercentiles();
+
+	int[] getChangedLatencyBuckets();
+
+	long[] getChangedLatencyBucketCounts();
 }
@@ -7,7 +7,7 @@ import java.util.ArrayList;
 /**
  * The interface <code>RequestDispatcherManagementI</code> defines notification methods that allow
  * the request dispatcher to receive notifications from admission controller to deploy new AVM or
- * to remove an AVM
+ * to remove an AVM, and from performance controller when the capacity of an AVM changes
  *
  * @author Alexandra Tudor
  * @author Sylia Righi
@@ -26,4 +26,6 @@ public interface RequestDispatcherManagementI {
 	void notifyDispatcherNewAVMDeployed(String avmURI) throws Exception;
 
 	void notifyDispatcherToRemoveAVM (String appURI, String performanceControllerURI)throws Exception;
+
+	void notifyDispatcherAVMCapacityChanged (String avmURI, int numberOfCores, long processingPower) throws Exception;
 }
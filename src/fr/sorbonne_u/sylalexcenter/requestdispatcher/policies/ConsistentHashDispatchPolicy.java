@@ -0,0 +1,81 @@
+package fr.sorbonne_u.sylalexcenter.requestdispatcher.policies;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.AVMLoadI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.DispatchPolicyI;
+
+/**
+ * Consistent hashing of request URIs over a ring of AVMs: a request URI always
+ * goes to the same AVM, and adding or removing an AVM only moves the requests
+ * hashed to its part of the ring.
+ *
+ * Each AVM is placed on the ring several times (virtual nodes) to even out the
+ * load. Excluded AVMs are skipped by moving on to the next AVM on the ring.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class ConsistentHashDispatchPolicy implements DispatchPolicyI {
+
+	private static final int virtualNodes = 64;
+
+	private TreeMap<Integer, String> ring = new TreeMap<>(); //hash -> vmURI
+
+	@Override
+	public void addAVM(String vmURI, int numberOfCores) {
+		for (int i = 0; i < virtualNodes; i++) {
+			this.ring.put(hash(vmURI + "#" + i), vmURI);
+		}
+	}
+
+	@Override
+	public void removeAVM(String vmURI) {
+		for (int i = 0; i < virtualNodes; i++) {
+			this.ring.remove(hash(vmURI + "#" + i), vmURI);
+		}
+	}
+
+	@Override
+	public void updateAVMCapacity(String vmURI, int numberOfCores, long processingPower) {
+	}
+
+	@Override
+	public String selectAVM(RequestI r, AVMLoadI load) {
+		if (this.ring.isEmpty()) return null;
+
+		int h = hash(r.getRequestURI());
+
+		for (Map.Entry<Integer, String> entry : this.ring.tailMap(h, true).entrySet()) {
+			if (!load.isExcluded(entry.getValue())) return entry.getValue();
+		}
+		for (Map.Entry<Integer, String> entry : this.ring.headMap(h, false).entrySet()) {
+			if (!load.isExcluded(entry.getValue())) return entry.getValue();
+		}
+
+		return null;
+	}
+
+	@Override
+	public void requestSubmitted(String vmURI, RequestI r) {
+	}
+
+	@Override
+	public void requestTerminated(String vmURI, RequestI r) {
+	}
+
+	/**
+	 * Spread String.hashCode bits over the ring (murmur3 finalizer)
+	 */
+	private static int hash(String key) {
+		int h = key.hashCode();
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+}
@@ -0,0 +1,40 @@
+package fr.sorbonne_u.sylalexcenter.requestdispatcher.policies;
+
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.DispatchPolicyI;
+
+/**
+ * Dispatch policies an application can choose for its request dispatcher
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public enum DispatchPolicyType {
+
+	LEAST_QUEUE,
+	POWER_OF_TWO_CHOICES,
+	WEIGHTED_ROUND_ROBIN,
+	SHORTEST_EXPECTED_WORK,
+	EXPECTED_COMPLETION,
+	CONSISTENT_HASH;
+
+	/**
+	 *
+	 * @return a new instance of the dispatch policy
+	 */
+	public DispatchPolicyI createPolicy() {
+		switch (this) {
+			case POWER_OF_TWO_CHOICES:
+				return new PowerOfTwoChoicesDispatchPolicy();
+			case WEIGHTED_ROUND_ROBIN:
+				return new WeightedRoundRobinDispatchPolicy();
+			case SHORTEST_EXPECTED_WORK:
+				return new ShortestExpectedWorkDispatchPolicy();
+			case EXPECTED_COMPLETION:
+				return new ExpectedCompletionDispatchPolicy();
+			case CONSISTENT_HASH:
+				return new ConsistentHashDispatchPolicy();
+			default:
+				return new LeastQueueDispatchPolicy();
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package fr.sorbonne_u.sylalexcenter.requestdispatcher.policies;
+
+import java.util.ArrayList;
+
+import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.AVMLoadI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.DispatchPolicyI;
+
+/**
+ * Submit each request to the AVM with the earliest estimated completion time.
+ *
+ * For each AVM the policy keeps the predicted number of instructions of the
+ * requests not terminated yet. The estimated completion time of a request on an
+ * AVM is this outstanding work plus the request own instructions, divided by the
+ * AVM aggregate processing power at its current core frequencies.
+ *
+ * Until the processing power of an AVM is known (it is sent by the performance
+ * controller), it is estimated from its number of cores and the mean processing
+ * power per core of the other AVMs.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class ExpectedCompletionDispatchPolicy implements DispatchPolicyI {
+
+	private static class AVMCapacity {
+		private final String vmURI;
+		private int numberOfCores;
+		private long processingPower;
+		private long outstandingInstructions;
+
+		private AVMCapacity(String vmURI, int numberOfCores) {
+			this.vmURI = vmURI;
+			this.numberOfCores = Math.max(1, numberOfCores);
+			this.processingPower = 0;
+			this.outstandingInstructions = 0;
+		}
+	}
+
+	private ArrayList<AVMCapacity> avms = new ArrayList<>();
+
+	@Override
+	public void addAVM(String vmURI, int numberOfCores) {
+		this.avms.add(new AVMCapacity(vmURI, numberOfCores));
+	}
+
+	@Override
+	public void removeAVM(String vmURI) {
+		this.avms.removeIf(avm -> avm.vmURI.equals(vmURI));
+	}
+
+	@Override
+	public void updateAVMCapacity(String vmURI, int numberOfCores, long processingPower) {
+		AVMCapacity avm = this.find(vmURI);
+		if (avm == null) return;
+
+		avm.numberOfCores = Math.max(1, numberOfCores);
+		avm.processingPower = processingPower;
+	}
+
+	@Override
+	public String selectAVM(RequestI r, AVMLoadI load) {
+		double powerPerCore = this.getMeanProcessingPowerPerCore();
+
+		AVMCapacity selected = null;
+		double earliestCompletion = Double.MAX_VALUE;
+
+		for (int i = 0; i < this.avms.size(); i++) {
+			AVMCapacity avm = this.avms.get(i);
+			if (load.isExcluded(avm.vmURI)) continue;
+
+			double power = avm.processingPower > 0 ? avm.processingPower : powerPerCore * avm.numberOfCores;
+			double completion = (avm.outstandingInstructions + r.getPredictedNumberOfInstructions()) / power;
+
+			if (completion < earliestCompletion) {
+				earliestCompletion = completion;
+				selected = avm;
+			}
+		}
+
+		return selected == null ? null : selected.vmURI;
+	}
+
+	@Override
+	public void requestSubmitted(String vmURI, RequestI r) {
+		AVMCapacity avm = this.find(vmURI);
+		if (avm != null) avm.outstandingInstructions += r.getPredictedNumberOfInstructions();
+	}
+
+	@Override
+	public void requestTerminated(String vmURI, RequestI r) {
+		AVMCapacity avm = this.find(vmURI);
+		if (avm != null) avm.outstandingInstructions -= r.getPredictedNumberOfInstructions();
+	}
+
+	/**
+	 *
+	 * @return mean processing power per core of the AVMs with a known processing power, 1 if none is known
+	 */
+	private double getMeanProcessingPowerPerCore() {
+		long power = 0;
+		int cores = 0;
+
+		for (int i = 0; i < this.avms.size(); i++) {
+			AVMCapacity avm = this.avms.get(i);
+			if (avm.processingPower > 0) {
+				power += avm.processingPower;
+				cores += avm.numberOfCores;
+			}
+		}
+
+		return cores > 0 ? (double) power / cores : 1.0;
+	}
+
+	private AVMCapacity find(String vmURI) {
+		for (int i = 0; i < this.avms.size(); i++) {
+			if (this.avms.get(i).vmURI.equals(vmURI)) return this.avms.get(i);
+		}
+		return null;
+	}
+}
@@ -0,0 +1,39 @@
+package fr.sorbonne_u.sylalexcenter.requestdispatcher.policies;
+
+import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.AVMLoadI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.DispatchPolicyI;
+
+/**
+ * Submit each request to the least used AVM (min number of requests in queue)
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class LeastQueueDispatchPolicy implements DispatchPolicyI {
+
+	@Override
+	public void addAVM(String vmURI, int numberOfCores) {
+	}
+
+	@Override
+	public void removeAVM(String vmURI) {
+	}
+
+	@Override
+	public void updateAVMCapacity(String vmURI, int numberOfCores, long processingPower) {
+	}
+
+	@Override
+	public String selectAVM(RequestI r, AVMLoadI load) {
+		return load.peekLeastUsed();
+	}
+
+	@Override
+	public void requestSubmitted(String vmURI, RequestI r) {
+	}
+
+	@Override
+	public void requestTerminated(String vmURI, RequestI r) {
+	}
+}
@@ -0,0 +1,65 @@
+package fr.sorbonne_u.sylalexcenter.requestdispatcher.policies;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.AVMLoadI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.DispatchPolicyI;
+
+/**
+ * Pick two AVMs at random and submit the request to the one with
+ * fewer requests in queue.
+ *
+ * If both picks are excluded, fall back to the least used AVM.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class PowerOfTwoChoicesDispatchPolicy implements DispatchPolicyI {
+
+	private ArrayList<String> vmURIList = new ArrayList<>();
+	private Random random = new Random();
+
+	@Override
+	public void addAVM(String vmURI, int numberOfCores) {
+		this.vmURIList.add(vmURI);
+	}
+
+	@Override
+	public void removeAVM(String vmURI) {
+		this.vmURIList.remove(vmURI);
+	}
+
+	@Override
+	public void updateAVMCapacity(String vmURI, int numberOfCores, long processingPower) {
+	}
+
+	@Override
+	public String selectAVM(RequestI r, AVMLoadI load) {
+		int size = this.vmURIList.size();
+		if (size < 3) return load.peekLeastUsed();
+
+		int i = this.random.nextInt(size);
+		int j = this.random.nextInt(size - 1);
+		if (j >= i) j++;
+
+		String first = this.vmURIList.get(i);
+		String second = this.vmURIList.get(j);
+
+		if (load.isExcluded(first)) {
+			return load.isExcluded(second) ? load.peekLeastUsed() : second;
+		}
+		if (load.isExcluded(second)) return first;
+
+		return load.getRequests(first) <= load.getRequests(second) ? first : second;
+	}
+
+	@Override
+	public void requestSubmitted(String vmURI, RequestI r) {
+	}
+
+	@Override
+	public void requestTerminated(String vmURI, RequestI r) {
+	}
+}
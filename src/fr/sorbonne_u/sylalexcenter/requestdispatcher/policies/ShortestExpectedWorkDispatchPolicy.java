@@ -0,0 +1,77 @@
+package fr.sorbonne_u.sylalexcenter.requestdispatcher.policies;
+
+import java.util.ArrayList;
+
+import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.AVMLoadI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.DispatchPolicyI;
+
+/**
+ * Join the shortest expected work: submit each request to the AVM with the
+ * smallest sum of predicted number of instructions of the requests it has
+ * not terminated yet.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class ShortestExpectedWorkDispatchPolicy implements DispatchPolicyI {
+
+	private static class AVMWork {
+		private final String vmURI;
+		private long outstandingInstructions;
+
+		private AVMWork(String vmURI) {
+			this.vmURI = vmURI;
+			this.outstandingInstructions = 0;
+		}
+	}
+
+	private ArrayList<AVMWork> avms = new ArrayList<>();
+
+	@Override
+	public void addAVM(String vmURI, int numberOfCores) {
+		this.avms.add(new AVMWork(vmURI));
+	}
+
+	@Override
+	public void removeAVM(String vmURI) {
+		this.avms.removeIf(avm -> avm.vmURI.equals(vmURI));
+	}
+
+	@Override
+	public void updateAVMCapacity(String vmURI, int numberOfCores, long processingPower) {
+	}
+
+	@Override
+	public String selectAVM(RequestI r, AVMLoadI load) {
+		AVMWork selected = null;
+
+		for (int i = 0; i < this.avms.size(); i++) {
+			AVMWork avm = this.avms.get(i);
+			if (load.isExcluded(avm.vmURI)) continue;
+
+			if (selected == null || avm.outstandingInstructions < selected.outstandingInstructions) selected = avm;
+		}
+
+		return selected == null ? null : selected.vmURI;
+	}
+
+	@Override
+	public void requestSubmitted(String vmURI, RequestI r) {
+		AVMWork avm = this.find(vmURI);
+		if (avm != null) avm.outstandingInstructions += r.getPredictedNumberOfInstructions();
+	}
+
+	@Override
+	public void requestTerminated(String vmURI, RequestI r) {
+		AVMWork avm = this.find(vmURI);
+		if (avm != null) avm.outstandingInstructions -= r.getPredictedNumberOfInstructions();
+	}
+
+	private AVMWork find(String vmURI) {
+		for (int i = 0; i < this.avms.size(); i++) {
+			if (this.avms.get(i).vmURI.equals(vmURI)) return this.avms.get(i);
+		}
+		return null;
+	}
+}
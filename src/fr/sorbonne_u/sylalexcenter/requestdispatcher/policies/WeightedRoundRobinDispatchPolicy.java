@@ -0,0 +1,81 @@
+package fr.sorbonne_u.sylalexcenter.requestdispatcher.policies;
+
+import java.util.ArrayList;
+
+import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.AVMLoadI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.DispatchPolicyI;
+
+/**
+ * Smooth weighted round robin over the AVMs, each AVM being weighted by
+ * the number of cores allocated to it.
+ *
+ * On each selection every AVM current weight grows by its weight, the AVM
+ * with the highest current weight is chosen and its current weight is
+ * decreased by the total weight: an AVM with twice as many cores receives
+ * twice as many requests, interleaved with the other AVMs.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class WeightedRoundRobinDispatchPolicy implements DispatchPolicyI {
+
+	private static class WeightedAVM {
+		private final String vmURI;
+		private int weight;
+		private int currentWeight;
+
+		private WeightedAVM(String vmURI, int weight) {
+			this.vmURI = vmURI;
+			this.weight = weight;
+			this.currentWeight = 0;
+		}
+	}
+
+	private ArrayList<WeightedAVM> avms = new ArrayList<>();
+
+	@Override
+	public void addAVM(String vmURI, int numberOfCores) {
+		this.avms.add(new WeightedAVM(vmURI, Math.max(1, numberOfCores)));
+	}
+
+	@Override
+	public void removeAVM(String vmURI) {
+		this.avms.removeIf(avm -> avm.vmURI.equals(vmURI));
+	}
+
+	@Override
+	public void updateAVMCapacity(String vmURI, int numberOfCores, long processingPower) {
+		for (int i = 0; i < this.avms.size(); i++) {
+			if (this.avms.get(i).vmURI.equals(vmURI)) this.avms.get(i).weight = Math.max(1, numberOfCores);
+		}
+	}
+
+	@Override
+	public String selectAVM(RequestI r, AVMLoadI load) {
+		WeightedAVM selected = null;
+		int totalWeight = 0;
+
+		for (int i = 0; i < this.avms.size(); i++) {
+			WeightedAVM avm = this.avms.get(i);
+			if (load.isExcluded(avm.vmURI)) continue;
+
+			avm.currentWeight += avm.weight;
+			totalWeight += avm.weight;
+			if (selected == null || avm.currentWeight > selected.currentWeight) selected = avm;
+		}
+
+		if (selected == null) return null;
+
+		selected.currentWeight -= totalWeight;
+		return selected.vmURI;
+	}
+
+	@Override
+	public void requestSubmitted(String vmURI, RequestI r) {
+	}
+
+	@Override
+	public void requestTerminated(String vmURI, RequestI r) {
+	}
+}
@@ -87,4 +87,18 @@ public class RequestDispatcherManagementInboundPort extends AbstractInboundPort
 					}
 				});
 	}
+
+	@Override
+	public void notifyDispatcherAVMCapacityChanged(String avmURI, int numberOfCores, long processingPower) throws Exception {
+		final RequestDispatcher rd = (RequestDispatcher) this.owner;
+
+		this.owner.handleRequestAsync(
+				new AbstractComponent.AbstractService<Void>() {
+					@Override
+					public Void call() {
+						rd.notifyDispatcherAVMCapacityChanged(avmURI, numberOfCores, processingPower);
+						return null;
+					}
+				});
+	}
 }
@@ -54,4 +54,9 @@ public class RequestDispatcherManagementOutboundPort extends AbstractOutboundPor
 	public void notifyDispatcherToRemoveAVM(String appURI, String performanceControllerURI) throws Exception {
 		((RequestDispatcherManagementI)this.connector).notifyDispatcherToRemoveAVM(appURI, performanceControllerURI);
 	}
+
+	@Override
+	public void notifyDispatcherAVMCapacityChanged(String avmURI, int numberOfCores, long processingPower) throws Exception {
+		((RequestDispatcherManagementI)this.connector).notifyDispatcherAVMCapacityChanged(avmURI, numberOfCores, processingPower);
+	}
 }
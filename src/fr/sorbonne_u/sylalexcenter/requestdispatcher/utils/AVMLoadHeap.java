@@ -0,0 +1,227 @@
+package fr.sorbonne_u.sylalexcenter.requestdispatcher.utils;
+
+import java.util.HashMap;
+
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.AVMLoadI;
+
+/**
+ * Indexed min-heap of AVMs ordered by number of requests in queue.
+ *
+ * Every AVM keeps its position in the heap, so picking the least used AVM
+ * is O(1) and incrementing, decrementing, adding or removing an AVM is
+ * O(log n), without copying anything.
+ *
+ * An AVM can be excluded (e.g. marked for removal): it stays in the heap
+ * so its requests can still be counted down, but it is ordered after every
+ * other AVM and is never returned by <code>peekLeastUsed</code> while another
+ * AVM is available.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class AVMLoadHeap implements AVMLoadI {
+
+	private static class Entry {
+		private final String vmURI;
+		private int requests;
+		private boolean excluded;
+		private int index;
+
+		private Entry(String vmURI) {
+			this.vmURI = vmURI;
+		}
+	}
+
+	private Entry[] heap;
+	private int size;
+	private HashMap<String, Entry> entries = new HashMap<>(); //vmURI -> heap entry
+
+	public AVMLoadHeap() {
+		this.heap = new Entry[16];
+		this.size = 0;
+	}
+
+	/**
+	 * Add a new AVM with an empty queue
+	 *
+	 * @param vmURI AVM URI
+	 */
+	@Override
+	public void add(String vmURI) {
+		assert vmURI != null && !this.entries.containsKey(vmURI);
+
+		if (this.size == this.heap.length) {
+			Entry[] result = new Entry[this.heap.length * 2];
+			System.arraycopy(this.heap, 0, result, 0, this.size);
+			this.heap = result;
+		}
+
+		Entry e = new Entry(vmURI);
+		e.index = this.size;
+		this.heap[this.size++] = e;
+		this.entries.put(vmURI, e);
+		this.siftUp(e.index);
+	}
+
+	/**
+	 * Remove an AVM from the heap
+	 *
+	 * @param vmURI AVM URI
+	 */
+	@Override
+	public void remove(String vmURI) {
+		Entry e = this.entries.remove(vmURI);
+		if (e == null) return;
+
+		int i = e.index;
+		this.size--;
+		if (i != this.size) {
+			this.move(this.heap[this.size], i);
+			this.heap[this.size] = null;
+			this.siftDown(i);
+			this.siftUp(i);
+		} else {
+			this.heap[this.size] = null;
+		}
+	}
+
+	/**
+	 *
+	 * @param vmURI AVM URI
+	 * @return true if the AVM is in the heap
+	 */
+	@Override
+	public boolean contains(String vmURI) {
+		return this.entries.containsKey(vmURI);
+	}
+
+	/**
+	 *
+	 * @return number of AVMs in the heap, excluded ones included
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 *
+	 * @param vmURI AVM URI
+	 * @return number of requests in queue for the AVM
+	 */
+	@Override
+	public int getRequests(String vmURI) {
+		Entry e = this.entries.get(vmURI);
+		assert e != null;
+		return e.requests;
+	}
+
+	/**
+	 * Add one request to the AVM queue count
+	 *
+	 * @param vmURI AVM URI
+	 * @return new number of requests in queue
+	 */
+	@Override
+	public int increment(String vmURI) {
+		Entry e = this.entries.get(vmURI);
+		assert e != null;
+		e.requests++;
+		this.siftDown(e.index);
+		return e.requests;
+	}
+
+	/**
+	 * Remove one request from the AVM queue count
+	 *
+	 * @param vmURI AVM URI
+	 * @return new number of requests in queue
+	 */
+	@Override
+	public int decrement(String vmURI) {
+		Entry e = this.entries.get(vmURI);
+		assert e != null;
+		e.requests--;
+		this.siftUp(e.index);
+		return e.requests;
+	}
+
+	/**
+	 * Exclude (or include back) an AVM from the least used selection
+	 *
+	 * @param vmURI AVM URI
+	 * @param excluded true to exclude the AVM
+	 */
+	@Override
+	public void setExcluded(String vmURI, boolean excluded) {
+		Entry e = this.entries.get(vmURI);
+		assert e != null;
+		if (e.excluded == excluded) return;
+
+		e.excluded = excluded;
+		if (excluded) {
+			this.siftDown(e.index);
+		} else {
+			this.siftUp(e.index);
+		}
+	}
+
+	/**
+	 *
+	 * @param vmURI AVM URI
+	 * @return true if the AVM is excluded from the least used selection
+	 */
+	@Override
+	public boolean isExcluded(String vmURI) {
+		Entry e = this.entries.get(vmURI);
+		return e == null || e.excluded;
+	}
+
+	/**
+	 *
+	 * @return least used AVM which is not excluded, null if there is none
+	 */
+	@Override
+	public String peekLeastUsed() {
+		if (this.size == 0 || this.heap[0].excluded) return null;
+		return this.heap[0].vmURI;
+	}
+
+	// Heap internals
+	// -------------------------------------------------------------------------
+
+	private static boolean less(Entry a, Entry b) {
+		if (a.excluded != b.excluded) return b.excluded;
+		return a.requests < b.requests;
+	}
+
+	private void move(Entry e, int i) {
+		this.heap[i] = e;
+		e.index = i;
+	}
+
+	private void siftUp(int i) {
+		Entry e = this.heap[i];
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (!less(e, this.heap[parent])) break;
+			this.move(this.heap[parent], i);
+			i = parent;
+		}
+		this.move(e, i);
+	}
+
+	private void siftDown(int i) {
+		Entry e = this.heap[i];
+		int half = this.size >>> 1;
+		while (i < half) {
+			int child = 2 * i + 1;
+			int right = child + 1;
+			if (right < this.size && less(this.heap[right], this.heap[child])) child = right;
+			if (!less(this.heap[child], e)) break;
+			this.move(this.heap[child], i);
+			i = child;
+		}
+		this.move(e, i);
+	}
+}
@@ -0,0 +1,123 @@
+package fr.sorbonne_u.sylalexcenter.requestdispatcher.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.AVMLoadI;
+
+/**
+ * Number of requests in queue for each AVM, shared by the threads of a
+ * multi-threaded request dispatcher.
+ *
+ * Each AVM has its own atomic counter, so submissions and terminations on
+ * any thread update it without locking. The least used AVM is found by
+ * scanning a copy-on-write array of the counters, also without locking;
+ * only adding or removing an AVM (rare) is synchronized.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class ConcurrentAVMLoad implements AVMLoadI {
+
+	private static class Counter {
+		private final String vmURI;
+		private final AtomicInteger requests = new AtomicInteger();
+		private volatile boolean excluded;
+
+		private Counter(String vmURI) {
+			this.vmURI = vmURI;
+		}
+	}
+
+	private volatile Counter[] counters = new Counter[0];
+	private ConcurrentHashMap<String, Counter> entries = new ConcurrentHashMap<>(); //vmURI -> counter
+
+	@Override
+	public synchronized void add(String vmURI) {
+		assert vmURI != null && !this.entries.containsKey(vmURI);
+
+		Counter c = new Counter(vmURI);
+		Counter[] result = new Counter[this.counters.length + 1];
+		System.arraycopy(this.counters, 0, result, 0, this.counters.length);
+		result[this.counters.length] = c;
+
+		this.entries.put(vmURI, c);
+		this.counters = result;
+	}
+
+	@Override
+	public synchronized void remove(String vmURI) {
+		Counter c = this.entries.remove(vmURI);
+		if (c == null) return;
+
+		Counter[] result = new Counter[this.counters.length - 1];
+		int j = 0;
+		for (Counter counter : this.counters) {
+			if (counter != c) result[j++] = counter;
+		}
+		this.counters = result;
+	}
+
+	@Override
+	public boolean contains(String vmURI) {
+		return this.entries.containsKey(vmURI);
+	}
+
+	@Override
+	public int size() {
+		return this.counters.length;
+	}
+
+	@Override
+	public int getRequests(String vmURI) {
+		Counter c = this.entries.get(vmURI);
+		assert c != null;
+		return c.requests.get();
+	}
+
+	@Override
+	public int increment(String vmURI) {
+		Counter c = this.entries.get(vmURI);
+		assert c != null;
+		return c.requests.incrementAndGet();
+	}
+
+	@Override
+	public int decrement(String vmURI) {
+		Counter c = this.entries.get(vmURI);
+		assert c != null;
+		return c.requests.decrementAndGet();
+	}
+
+	@Override
+	public void setExcluded(String vmURI, boolean excluded) {
+		Counter c = this.entries.get(vmURI);
+		assert c != null;
+		c.excluded = excluded;
+	}
+
+	@Override
+	public boolean isExcluded(String vmURI) {
+		Counter c = this.entries.get(vmURI);
+		return c == null || c.excluded;
+	}
+
+	@Override
+	public String peekLeastUsed() {
+		Counter[] current = this.counters;
+		Counter selected = null;
+		int min = Integer.MAX_VALUE;
+
+		for (Counter c : current) {
+			if (c.excluded) continue;
+
+			int requests = c.requests.get();
+			if (requests < min) {
+				min = requests;
+				selected = c;
+			}
+		}
+
+		return selected == null ? null : selected.vmURI;
+	}
+}
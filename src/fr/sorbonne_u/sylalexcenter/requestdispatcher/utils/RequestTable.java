@@ -0,0 +1,165 @@
+package fr.sorbonne_u.sylalexcenter.requestdispatcher.utils;
+
+/**
+ * Table of the requests in flight in the request dispatcher: for each request URI,
+ * the AVM it was submitted to and its start time.
+ *
+ * Open addressing with linear probing over parallel arrays (request URIs,
+ * AVM URIs and primitive start times), so adding, looking up and removing a
+ * request creates no garbage. Removal shifts back the following entries of the
+ * probe sequence instead of leaving tombstones. The arrays only grow when the
+ * table is half full.
+ *
+ * A slot returned by <code>indexOf</code> is valid until the next
+ * <code>put</code> or <code>removeAt</code>.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class RequestTable {
+
+	private String[] requestURIs;
+	private String[] vmURIs;
+	private long[] startTimes;
+	private int mask;
+	private int size;
+
+	public RequestTable() {
+		this(1024);
+	}
+
+	/**
+	 *
+	 * @param expectedRequests expected number of requests in flight at the same time
+	 */
+	public RequestTable(int expectedRequests) {
+		int capacity = Integer.highestOneBit(Math.max(16, expectedRequests * 2) - 1) << 1;
+		this.allocate(capacity);
+	}
+
+	/**
+	 *
+	 * @return number of requests in flight
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Add a request in flight (or update it if it is already in the table)
+	 *
+	 * @param requestURI request URI
+	 * @param vmURI URI of the AVM the request was submitted to
+	 * @param startTime request start time
+	 */
+	public void put(String requestURI, String vmURI, long startTime) {
+		assert requestURI != null;
+
+		if ((this.size + 1) * 2 > this.requestURIs.length) this.grow();
+
+		int i = this.probe(requestURI);
+		if (this.requestURIs[i] == null) {
+			this.requestURIs[i] = requestURI;
+			this.size++;
+		}
+		this.vmURIs[i] = vmURI;
+		this.startTimes[i] = startTime;
+	}
+
+	/**
+	 *
+	 * @param requestURI request URI
+	 * @return slot of the request, -1 if the request is not in flight
+	 */
+	public int indexOf(String requestURI) {
+		int i = this.probe(requestURI);
+		return this.requestURIs[i] == null ? -1 : i;
+	}
+
+	/**
+	 *
+	 * @param slot slot returned by indexOf
+	 * @return URI of the AVM the request was submitted to
+	 */
+	public String getVM(int slot) {
+		return this.vmURIs[slot];
+	}
+
+	/**
+	 *
+	 * @param slot slot returned by indexOf
+	 * @return request start time
+	 */
+	public long getStartTime(int slot) {
+		return this.startTimes[slot];
+	}
+
+	/**
+	 * Remove the request in the slot
+	 *
+	 * @param slot slot returned by indexOf
+	 */
+	public void removeAt(int slot) {
+		assert this.requestURIs[slot] != null;
+
+		int hole = slot;
+		int i = (slot + 1) & this.mask;
+
+		// shift back the entries whose probe sequence crosses the hole
+		while (this.requestURIs[i] != null) {
+			int home = spread(this.requestURIs[i].hashCode()) & this.mask;
+			if (((i - home) & this.mask) >= ((i - hole) & this.mask)) {
+				this.requestURIs[hole] = this.requestURIs[i];
+				this.vmURIs[hole] = this.vmURIs[i];
+				this.startTimes[hole] = this.startTimes[i];
+				hole = i;
+			}
+			i = (i + 1) & this.mask;
+		}
+
+		this.requestURIs[hole] = null;
+		this.vmURIs[hole] = null;
+		this.size--;
+	}
+
+	// Table internals
+	// -------------------------------------------------------------------------
+
+	private static int spread(int h) {
+		return h ^ (h >>> 16);
+	}
+
+	private int probe(String requestURI) {
+		int i = spread(requestURI.hashCode()) & this.mask;
+		while (this.requestURIs[i] != null && !this.requestURIs[i].equals(requestURI)) {
+			i = (i + 1) & this.mask;
+		}
+		return i;
+	}
+
+	private void allocate(int capacity) {
+		this.requestURIs = new String[capacity];
+		this.vmURIs = new String[capacity];
+		this.startTimes = new long[capacity];
+		this.mask = capacity - 1;
+		this.size = 0;
+	}
+
+	private void grow() {
+		String[] oldRequestURIs = this.requestURIs;
+		String[] oldVmURIs = this.vmURIs;
+		long[] oldStartTimes = this.startTimes;
+
+		this.allocate(oldRequestURIs.length * 2);
+
+		for (int i = 0; i < oldRequestURIs.length; i++) {
+			if (oldRequestURIs[i] != null) {
+				int j = this.probe(oldRequestURIs[i]);
+				this.requestURIs[j] = oldRequestURIs[i];
+				this.vmURIs[j] = oldVmURIs[i];
+				this.startTimes[j] = oldStartTimes[i];
+				this.size++;
+			}
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package fr.sorbonne_u.sylalexcenter.requestdispatcher.utils;
+
+/**
+ * Requests in flight split over several <code>RequestTable</code> stripes,
+ * chosen by request URI hash, so the threads of a multi-threaded request
+ * dispatcher rarely contend on the same stripe.
+ *
+ * A stripe is not thread-safe by itself: callers synchronize on the stripe
+ * returned by <code>stripeFor</code> for the whole put, or lookup and removal.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class StripedRequestTable {
+
+	private final RequestTable[] stripes;
+	private final int mask;
+
+	/**
+	 *
+	 * @param concurrencyLevel expected number of threads using the table
+	 */
+	public StripedRequestTable(int concurrencyLevel) {
+		assert concurrencyLevel > 0;
+
+		// power of two stripes, a few per thread
+		int n = concurrencyLevel == 1 ? 1 : Integer.highestOneBit(concurrencyLevel * 4 - 1) << 1;
+		this.stripes = new RequestTable[n];
+		for (int i = 0; i < n; i++) {
+			this.stripes[i] = new RequestTable(Math.max(16, 1024 / n));
+		}
+		this.mask = n - 1;
+	}
+
+	/**
+	 *
+	 * @param requestURI request URI
+	 * @return stripe where the request is kept
+	 */
+	public RequestTable stripeFor(String requestURI) {
+		int h = requestURI.hashCode();
+		return this.stripes[(h ^ (h >>> 7) ^ (h >>> 16)) & this.mask];
+	}
+
+	/**
+	 *
+	 * @return number of requests in flight
+	 */
+	public int size() {
+		int size = 0;
+		for (RequestTable stripe : this.stripes) {
+			synchronized (stripe) {
+				size += stripe.size();
+			}
+		}
+		return size;
+	}
+}
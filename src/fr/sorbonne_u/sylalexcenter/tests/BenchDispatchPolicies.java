@@ -0,0 +1,86 @@
+package fr.sorbonne_u.sylalexcenter.tests;
+
+import java.util.Random;
+import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
+import fr.sorbonne_u.datacenterclient.requestgenerator.Request;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.AVMLoadI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.interfaces.DispatchPolicyI;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.policies.DispatchPolicyType;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.utils.AVMLoadHeap;
+
+/**
+ * The class <code>BenchDispatchPolicies</code> measures the dispatch overhead
+ * per request of each dispatch policy, with 16 AVMs of 1 to 4 cores.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ *
+ * Each request is chosen an AVM by the policy, then counted as submitted; the
+ * requests terminate in submission order once 256 of them are in flight, so
+ * the loads stay steady. This is the work the request dispatcher does for a
+ * request besides calling the AVM. No component is deployed.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class BenchDispatchPolicies {
+
+	private static final int AVMS = 16;
+	private static final int IN_FLIGHT = 256;
+	private static final int REQUESTS = 4096;
+	private static final int WARMUP_ROUNDS = 200;
+	private static final int ROUNDS = 1000;
+
+	public static void main(String[] args) {
+		System.out.println(AVMS + " AVMs, " + IN_FLIGHT + " requests in flight");
+
+		Random random = new Random(42);
+		RequestI[] requests = new RequestI[REQUESTS];
+		for (int i = 0; i < REQUESTS; i++) {
+			requests[i] = new Request(1000000000L + random.nextInt(1000000000));
+		}
+
+		for (DispatchPolicyType type : DispatchPolicyType.values()) {
+			bench(type, requests, WARMUP_ROUNDS);
+			long start = System.nanoTime();
+			long dispatched = bench(type, requests, ROUNDS);
+			long elapsed = System.nanoTime() - start;
+			System.out.println(type + " : " + dispatched + " requests dispatched, "
+					+ (elapsed / Math.max(1, dispatched)) + " ns per request");
+		}
+	}
+
+	private static long bench(DispatchPolicyType type, RequestI[] requests, int rounds) {
+		DispatchPolicyI policy = type.createPolicy();
+		AVMLoadI load = new AVMLoadHeap();
+		for (int i = 0; i < AVMS; i++) {
+			String vmURI = "avm-" + i;
+			load.add(vmURI);
+			policy.addAVM(vmURI, 1 + i % 4);
+			policy.updateAVMCapacity(vmURI, 1 + i % 4, (1 + i % 4) * 1500000L);
+		}
+
+		String[] inFlightVMs = new String[IN_FLIGHT];
+		RequestI[] inFlightRequests = new RequestI[IN_FLIGHT];
+		long dispatched = 0;
+		for (int r = 0; r < rounds; r++) {
+			for (RequestI request : requests) {
+				int slot = (int) (dispatched % IN_FLIGHT);
+				if (inFlightVMs[slot] != null) {
+					load.decrement(inFlightVMs[slot]);
+					policy.requestTerminated(inFlightVMs[slot], inFlightRequests[slot]);
+				}
+
+				String vmURI = policy.selectAVM(request, load);
+				load.increment(vmURI);
+				policy.requestSubmitted(vmURI, request);
+
+				inFlightVMs[slot] = vmURI;
+				inFlightRequests[slot] = request;
+				dispatched++;
+			}
+		}
+		return dispatched;
+	}
+}
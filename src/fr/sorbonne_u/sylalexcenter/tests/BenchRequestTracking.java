@@ -0,0 +1,116 @@
+package fr.sorbonne_u.sylalexcenter.tests;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.utils.RequestTable;
+import fr.sorbonne_u.sylalexcenter.utils.LatencyHistogram;
+
+/**
+ * The class <code>BenchRequestTracking</code> measures the time and the memory
+ * allocated per request to track the requests in flight in the request
+ * dispatcher, with <code>RequestTable</code> and with the former pair of
+ * <code>HashMap</code>s keyed by request URI, the start time being boxed.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ *
+ * 1000 requests are kept in flight, which is a load of 10k requests per
+ * second with an execution time of 100 ms: each new request is put in the
+ * table and the oldest one is removed, its execution time being recorded in a
+ * <code>LatencyHistogram</code>. The request URIs are created beforehand, as
+ * the requests come from the request generator. The allocated memory is read
+ * from the JVM thread allocation counter. No component is deployed.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class BenchRequestTracking {
+
+	private static final int IN_FLIGHT = 1000;
+	private static final int AVMS = 8;
+	private static final int WARMUP_ROUNDS = 200;
+	private static final int ROUNDS = 2000;
+
+	public static void main(String[] args) {
+		System.out.println(IN_FLIGHT + " requests in flight (10k req/s, 100 ms per request)");
+
+		String[] requestURIs = new String[2 * IN_FLIGHT];
+		for (int i = 0; i < requestURIs.length; i++) {
+			requestURIs[i] = java.util.UUID.randomUUID().toString();
+		}
+		String[] vmURIs = new String[AVMS];
+		for (int i = 0; i < AVMS; i++) {
+			vmURIs[i] = "avm-" + i;
+		}
+
+		benchTable(requestURIs, vmURIs, WARMUP_ROUNDS);
+		long bytes = allocatedBytes();
+		long start = System.nanoTime();
+		long requests = benchTable(requestURIs, vmURIs, ROUNDS);
+		report("RequestTable", requests, System.nanoTime() - start, allocatedBytes() - bytes);
+
+		benchHashMaps(requestURIs, vmURIs, WARMUP_ROUNDS);
+		bytes = allocatedBytes();
+		start = System.nanoTime();
+		requests = benchHashMaps(requestURIs, vmURIs, ROUNDS);
+		report("HashMaps", requests, System.nanoTime() - start, allocatedBytes() - bytes);
+	}
+
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+				.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static void report(String name, long requests, long elapsed, long bytes) {
+		System.out.println(name + " : " + requests + " requests, "
+				+ (elapsed / Math.max(1, requests)) + " ns and "
+				+ (bytes / Math.max(1, requests)) + " bytes allocated per request");
+	}
+
+	private static long benchTable(String[] requestURIs, String[] vmURIs, int rounds) {
+		RequestTable table = new RequestTable(IN_FLIGHT);
+		LatencyHistogram latencies = new LatencyHistogram();
+		long requests = 0;
+		long now = 0;
+		for (int r = 0; r < rounds; r++) {
+			for (int i = 0; i < requestURIs.length; i++) {
+				now += 100;
+				table.put(requestURIs[i], vmURIs[i % AVMS], now);
+
+				String oldest = requestURIs[(i + IN_FLIGHT) % requestURIs.length];
+				int slot = table.indexOf(oldest);
+				if (slot >= 0) {
+					latencies.record(now - table.getStartTime(slot));
+					table.removeAt(slot);
+				}
+				requests++;
+			}
+		}
+		return requests;
+	}
+
+	private static long benchHashMaps(String[] requestURIs, String[] vmURIs, int rounds) {
+		HashMap<String, String> vmAllocation = new HashMap<>();
+		HashMap<String, Long> vmStartTime = new HashMap<>();
+		LatencyHistogram latencies = new LatencyHistogram();
+		long requests = 0;
+		long now = 0;
+		for (int r = 0; r < rounds; r++) {
+			for (int i = 0; i < requestURIs.length; i++) {
+				now += 100;
+				vmAllocation.put(requestURIs[i], vmURIs[i % AVMS]);
+				vmStartTime.put(requestURIs[i], now);
+
+				String oldest = requestURIs[(i + IN_FLIGHT) % requestURIs.length];
+				Long startTime = vmStartTime.remove(oldest);
+				if (startTime != null) {
+					vmAllocation.remove(oldest);
+					latencies.record(now - startTime);
+				}
+				requests++;
+			}
+		}
+		return requests;
+	}
+}
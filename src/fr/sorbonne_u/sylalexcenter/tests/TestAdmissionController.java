@@ -10,8 +10,10 @@ import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.cvm.AbstractCVM;
 import fr.sorbonne_u.datacenter.hardware.computers.Computer;
 import fr.sorbonne_u.datacenter.hardware.tests.ComputerMonitor;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskSchedulingPolicy;
 import fr.sorbonne_u.sylalexcenter.admissioncontroller.AdmissionController;
 import fr.sorbonne_u.sylalexcenter.application.Application;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.policies.DispatchPolicyType;
 
 
 /**
@@ -34,7 +36,22 @@ public class TestAdmissionController extends AbstractCVM {
 	private static final Integer[] coresNeeded = new Integer[] {8, 2, 2, 2};
 	private static final Long[] meanNumberOfInstructions = new Long[] {6000000000L, 6000000000L, 12000000000L, 6000000000L};
 	private static final Double[] meanInterArrivalTime = new Double[] {1000.0, 1000.0, 1000.0, 1000.0};
+	private static final DispatchPolicyType[] dispatchPolicies = new DispatchPolicyType[] {
+			DispatchPolicyType.LEAST_QUEUE,
+			DispatchPolicyType.LEAST_QUEUE,
+			DispatchPolicyType.LEAST_QUEUE,
+			DispatchPolicyType.LEAST_QUEUE};
+	// the AVMs of the last three applications start their waiting requests by priority class,
+	// by deadline and by number of instructions
+	private static final TaskSchedulingPolicy[] taskSchedulingPolicies = new TaskSchedulingPolicy[] {
+			TaskSchedulingPolicy.FIFO,
+			TaskSchedulingPolicy.PRIORITY,
+			TaskSchedulingPolicy.EARLIEST_DEADLINE_FIRST,
+			TaskSchedulingPolicy.SHORTEST_JOB_FIRST};
+	private static final Integer[] numberOfPriorities = new Integer[] {0, 3, 0, 0};
+	private static final Long[] meanRelativeDeadline = new Long[] {0L, 0L, 20000L, 0L};
 	private static final Integer coresPerAVM = 2;
+	private static final Integer dispatcherThreads = 1;
 	private static final long applicationTime = 500000L;
 
 
@@ -48,7 +65,64 @@ public class TestAdmissionController extends AbstractCVM {
 //	private static final Integer[] coresNeeded = new Integer[] {12};
 //	private static final Long[] meanNumberOfInstructions = new Long[] {6000000000L};
 //	private static final Double[] meanInterArrivalTime = new Double[] {1000.0};
+//	private static final DispatchPolicyType[] dispatchPolicies = new DispatchPolicyType[] {DispatchPolicyType.LEAST_QUEUE};
+//	private static final TaskSchedulingPolicy[] taskSchedulingPolicies = new TaskSchedulingPolicy[] {TaskSchedulingPolicy.FIFO};
+//	private static final Integer[] numberOfPriorities = new Integer[] {0};
+//	private static final Long[] meanRelativeDeadline = new Long[] {0L};
 //	private static final Integer coresPerAVM = 2;
+//	private static final Integer dispatcherThreads = 1;
+//	private static final long applicationTime = 500000L;
+
+//	// Setup Scenario 3: scenario 1 with a different dispatch policy per application
+//	// -----------------------------------------------------------------
+//	private static final Integer numberOfComputers = 4;
+//	private static final Integer numberOfProcessors = 2;
+//	private static final Integer numberOfCores = 8;
+//	private static final Integer numberOfApplications = 4;
+//
+//	private static final Integer[] coresNeeded = new Integer[] {8, 2, 2, 2};
+//	private static final Long[] meanNumberOfInstructions = new Long[] {6000000000L, 6000000000L, 12000000000L, 6000000000L};
+//	private static final Double[] meanInterArrivalTime = new Double[] {1000.0, 1000.0, 1000.0, 1000.0};
+//	private static final DispatchPolicyType[] dispatchPolicies = new DispatchPolicyType[] {
+//			DispatchPolicyType.LEAST_QUEUE,
+//			DispatchPolicyType.POWER_OF_TWO_CHOICES,
+//			DispatchPolicyType.SHORTEST_EXPECTED_WORK,
+//			DispatchPolicyType.WEIGHTED_ROUND_ROBIN};
+//	private static final TaskSchedulingPolicy[] taskSchedulingPolicies = new TaskSchedulingPolicy[] {
+//			TaskSchedulingPolicy.FIFO,
+//			TaskSchedulingPolicy.FIFO,
+//			TaskSchedulingPolicy.FIFO,
+//			TaskSchedulingPolicy.FIFO};
+//	private static final Integer[] numberOfPriorities = new Integer[] {0, 0, 0, 0};
+//	private static final Long[] meanRelativeDeadline = new Long[] {0L, 0L, 0L, 0L};
+//	private static final Integer coresPerAVM = 2;
+//	private static final Integer dispatcherThreads = 1;
+//	private static final long applicationTime = 500000L;
+
+//	// Setup Scenario 4: scenario 1 with multi-threaded request dispatchers
+//	// -----------------------------------------------------------------
+//	private static final Integer numberOfComputers = 4;
+//	private static final Integer numberOfProcessors = 2;
+//	private static final Integer numberOfCores = 8;
+//	private static final Integer numberOfApplications = 4;
+//
+//	private static final Integer[] coresNeeded = new Integer[] {8, 2, 2, 2};
+//	private static final Long[] meanNumberOfInstructions = new Long[] {6000000000L, 6000000000L, 12000000000L, 6000000000L};
+//	private static final Double[] meanInterArrivalTime = new Double[] {1000.0, 1000.0, 1000.0, 1000.0};
+//	private static final DispatchPolicyType[] dispatchPolicies = new DispatchPolicyType[] {
+//			DispatchPolicyType.LEAST_QUEUE,
+//			DispatchPolicyType.LEAST_QUEUE,
+//			DispatchPolicyType.LEAST_QUEUE,
+//			DispatchPolicyType.LEAST_QUEUE};
+//	private static final TaskSchedulingPolicy[] taskSchedulingPolicies = new TaskSchedulingPolicy[] {
+//			TaskSchedulingPolicy.FIFO,
+//			TaskSchedulingPolicy.FIFO,
+//			TaskSchedulingPolicy.FIFO,
+//			TaskSchedulingPolicy.FIFO};
+//	private static final Integer[] numberOfPriorities = new Integer[] {0, 0, 0, 0};
+//	private static final Long[] meanRelativeDeadline = new Long[] {0L, 0L, 0L, 0L};
+//	private static final Integer coresPerAVM = 2;
+//	private static final Integer dispatcherThreads = 4;
 //	private static final long applicationTime = 500000L;
 
 	// Port URIs
@@ -154,7 +228,11 @@ public class TestAdmissionController extends AbstractCVM {
 					applicationManagementInboundPortURI + "_" + i,
 					applicationServicesInboundPortURI + "_" + i,
 					applicationSubmissionInboundPortURI + "_" + i,
-					applicationNotificationInboundPortURI + "_" + i
+					applicationNotificationInboundPortURI + "_" + i,
+					dispatchPolicies[i],
+					taskSchedulingPolicies[i],
+					numberOfPriorities[i],
+					meanRelativeDeadline[i]
 			);
 			this.addDeployedComponent(application);
 			application.toggleLogging();
@@ -182,7 +260,8 @@ public class TestAdmissionController extends AbstractCVM {
 				applicationManagementInboundPortURIList,
 				applicationSubmissionInboundPortURIList,
 				applicationNotificationInboundPortURIList,
-				coresPerAVM
+				coresPerAVM,
+				dispatcherThreads
 		);
 		this.addDeployedComponent(admissionController);
 		admissionController.toggleTracing();
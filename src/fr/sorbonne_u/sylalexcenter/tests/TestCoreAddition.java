@@ -0,0 +1,293 @@
+package fr.sorbonne_u.sylalexcenter.tests;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.cvm.AbstractCVM;
+import fr.sorbonne_u.datacenter.hardware.computers.Computer;
+import fr.sorbonne_u.datacenter.hardware.computers.Computer.AllocatedCore;
+import fr.sorbonne_u.datacenter.hardware.computers.connectors.ComputerServicesConnector;
+import fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI;
+import fr.sorbonne_u.datacenter.hardware.computers.ports.ComputerServicesOutboundPort;
+import fr.sorbonne_u.datacenter.software.applicationvm.ApplicationVM;
+import fr.sorbonne_u.datacenter.software.applicationvm.connectors.ApplicationVMManagementConnector;
+import fr.sorbonne_u.datacenter.software.applicationvm.ports.ApplicationVMManagementOutboundPort;
+import fr.sorbonne_u.datacenter.software.connectors.RequestNotificationConnector;
+import fr.sorbonne_u.datacenter.software.connectors.RequestSubmissionConnector;
+import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
+import fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationHandlerI;
+import fr.sorbonne_u.datacenter.software.interfaces.RequestSubmissionI;
+import fr.sorbonne_u.datacenter.software.ports.RequestNotificationInboundPort;
+import fr.sorbonne_u.datacenter.software.ports.RequestSubmissionOutboundPort;
+import fr.sorbonne_u.datacenterclient.requestgenerator.Request;
+
+/**
+ * The class <code>TestCoreAddition</code> deploys a single AVM on a computer
+ * and checks that cores allocated to it while requests are queued start
+ * draining the queue at once.
+ *
+ * The scenario queues a backlog of requests on the AVM with one core, and
+ * once a few of them terminated, allocates it three more cores. The AVM must
+ * start queued tasks on all the new cores right away, so the mean time
+ * between two terminations must drop to less than half of what it was with
+ * one core; otherwise the scenario fails. Without the dispatch loop, the new
+ * cores would only get a task when a later termination started one.
+ *
+ * Sorbonne University 2018-2019
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ *
+ */
+public class TestCoreAddition extends AbstractCVM {
+
+	/**
+	 * Record the time of each termination and count the rejected requests.
+	 */
+	public static class DrainMonitor extends AbstractComponent implements RequestNotificationHandlerI {
+
+		private final ArrayList<Long> terminationTimes = new ArrayList<>();
+		private int rejected;
+
+		DrainMonitor() {
+			super(1, 0);
+		}
+
+		@Override
+		public void acceptRequestTerminationNotification(RequestI r) {
+			synchronized (this.terminationTimes) {
+				this.terminationTimes.add(System.currentTimeMillis());
+			}
+			this.logMessage(" Request " + r.getRequestURI() + " has ended.");
+		}
+
+		@Override
+		public void acceptRequestsTerminationNotification(RequestI[] requests, long[] terminationTimes) {
+			for (RequestI r : requests) {
+				this.acceptRequestTerminationNotification(r);
+			}
+		}
+
+		@Override
+		public void acceptRequestRejectionNotification(RequestI r) {
+			synchronized (this.terminationTimes) {
+				this.rejected++;
+			}
+			this.logMessage(" Request " + r.getRequestURI() + " was rejected.");
+		}
+
+		@Override
+		public void acceptRequestsWithdrawalNotification(RequestI[] requests) {
+		}
+
+		int getTerminated() {
+			synchronized (this.terminationTimes) {
+				return this.terminationTimes.size();
+			}
+		}
+
+		long getTerminationTime(int i) {
+			synchronized (this.terminationTimes) {
+				return this.terminationTimes.get(i);
+			}
+		}
+
+		int getRejected() {
+			synchronized (this.terminationTimes) {
+				return this.rejected;
+			}
+		}
+	}
+
+	// Port URIs
+	// -----------------------------------------------------------------
+	private static final String computerServicesInboundPortURI = "csip";
+	private static final String computerServicesOutboundPortURI = "csop";
+	private static final String computerStaticStateDataInboundPortURI = "cssdip";
+	private static final String computerDynamicStateDataInboundPortURI = "cdsdip";
+	private static final String applicationVMManagementInboundPortURI = "avmip";
+	private static final String applicationVMManagementOutboundPortURI = "avmop";
+	private static final String requestSubmissionInboundPortURI = "rsip";
+	private static final String requestSubmissionOutboundPortURI = "rsop";
+	private static final String requestNotificationInboundPortURI = "rnip";
+	private static final String requestNotificationOutboundPortURI = "rnop";
+
+	// Scenario
+	// -----------------------------------------------------------------
+	private static final int backlog = 15;
+	/** terminations with one core before the cores are added */
+	private static final int terminatedBeforeAddition = 3;
+	private static final int addedCores = 3;
+	/** 2 s per request at 1,5 GHz */
+	private static final long numberOfInstructions = 3000000000L;
+
+	private ComputerServicesOutboundPort csop;
+
+	private TestCoreAddition() throws Exception {
+		super();
+	}
+
+	@Override
+	public void deploy() throws Exception {
+		String computerURI = "computer0";
+		int numberOfProcessors = 2;
+		int numberOfCores = 2;
+
+		Set<Integer> admissibleFrequencies = new HashSet<>();
+		admissibleFrequencies.add(1500);
+		admissibleFrequencies.add(3000);
+
+		Map<Integer, Integer> processingPower = new HashMap<>();
+		processingPower.put(1500, 1500000);
+		processingPower.put(3000, 3000000);
+
+		Computer c = new Computer(
+				computerURI,
+				admissibleFrequencies,
+				processingPower,
+				1500,
+				1500,
+				numberOfProcessors,
+				numberOfCores,
+				computerServicesInboundPortURI,
+				computerStaticStateDataInboundPortURI,
+				computerDynamicStateDataInboundPortURI
+		);
+		this.addDeployedComponent(c);
+
+		ComponentI fake = new AbstractComponent(0, 0) {};
+		fake.addRequiredInterface(ComputerServicesI.class);
+
+		this.csop = new ComputerServicesOutboundPort(computerServicesOutboundPortURI, fake);
+		this.csop.publishPort();
+		this.csop.doConnection(computerServicesInboundPortURI, ComputerServicesConnector.class.getCanonicalName());
+
+		super.deploy();
+	}
+
+	@Override
+	public void shutdown() throws Exception {
+		this.csop.doDisconnection();
+
+		super.shutdown();
+	}
+
+	private void testScenario() throws Exception {
+		ApplicationVM vm = new ApplicationVM(
+				"vm0",
+				applicationVMManagementInboundPortURI,
+				requestSubmissionInboundPortURI,
+				requestNotificationInboundPortURI,
+				requestNotificationOutboundPortURI
+		);
+		this.addDeployedComponent(vm);
+		vm.start();
+
+		ApplicationVMManagementOutboundPort avmPort = new ApplicationVMManagementOutboundPort(
+				applicationVMManagementOutboundPortURI,
+				new AbstractComponent(0, 0) {});
+		avmPort.publishPort();
+		avmPort.doConnection(applicationVMManagementInboundPortURI,
+				ApplicationVMManagementConnector.class.getCanonicalName());
+		avmPort.allocateCores(this.csop.allocateCores(1));
+
+		ComponentI fake = new AbstractComponent(0, 0) {};
+		fake.addRequiredInterface(RequestSubmissionI.class);
+
+		RequestSubmissionOutboundPort rsop = new RequestSubmissionOutboundPort(requestSubmissionOutboundPortURI, fake);
+		rsop.publishPort();
+		rsop.doConnection(requestSubmissionInboundPortURI, RequestSubmissionConnector.class.getCanonicalName());
+
+		DrainMonitor monitor = new DrainMonitor();
+		monitor.toggleLogging();
+		monitor.toggleTracing();
+		this.addDeployedComponent(monitor);
+		monitor.start();
+		RequestNotificationInboundPort rnip = new RequestNotificationInboundPort(requestNotificationInboundPortURI, monitor);
+		rnip.publishPort();
+
+		vm.doPortConnection(requestNotificationOutboundPortURI, requestNotificationInboundPortURI,
+				RequestNotificationConnector.class.getCanonicalName());
+
+		// Backlog on one core
+		for (int i = 0; i < backlog; i++) {
+			rsop.submitRequestAndNotify(new Request(numberOfInstructions));
+		}
+		this.waitTerminations(monitor, terminatedBeforeAddition);
+		double intervalBefore = (monitor.getTerminationTime(terminatedBeforeAddition - 1)
+				- monitor.getTerminationTime(0)) / (double) (terminatedBeforeAddition - 1);
+
+		// Add cores while the rest of the backlog is queued
+		long addition = System.currentTimeMillis();
+		AllocatedCore[] ac = this.csop.allocateCores(addedCores);
+		avmPort.allocateCores(ac);
+
+		this.waitTerminations(monitor, backlog);
+		double intervalAfter = (monitor.getTerminationTime(backlog - 1) - addition)
+				/ (double) (backlog - terminatedBeforeAddition);
+
+		System.out.println("Mean time between terminations with 1 core: " + intervalBefore + " ms, with "
+				+ (1 + ac.length) + " cores: " + intervalAfter + " ms");
+
+		rsop.doDisconnection();
+		rsop.unpublishPort();
+
+		if (monitor.getRejected() > 0) {
+			throw new Exception(monitor.getRejected() + " requests were rejected");
+		}
+		if (ac.length != addedCores) {
+			throw new Exception("only " + ac.length + " cores could be added");
+		}
+		if (intervalAfter * 2 >= intervalBefore) {
+			throw new Exception("the backlog did not drain faster after adding " + ac.length + " cores");
+		}
+	}
+
+	/**
+	 * Wait until the given number of requests terminated since the start.
+	 *
+	 * @param monitor notification consumer of the AVM
+	 * @param terminated number of terminated requests to wait for
+	 */
+	private void waitTerminations(DrainMonitor monitor, int terminated) throws Exception {
+		while (monitor.getTerminated() < terminated) {
+			Thread.sleep(100L);
+		}
+	}
+
+	public static void main(String[] args) {
+		try {
+			final TestCoreAddition test = new TestCoreAddition();
+			final AtomicReference<Exception> failure = new AtomicReference<>();
+			test.deploy();
+			System.out.println("starting...");
+			test.start();
+			Thread scenario = new Thread(() -> {
+				try {
+					test.testScenario();
+				} catch (Exception e) {
+					failure.set(e);
+				}
+			});
+			scenario.start();
+			scenario.join(120000L);
+			if (scenario.isAlive()) {
+				failure.compareAndSet(null, new Exception("the backlog did not drain within 120 s"));
+			}
+			System.out.println("shutting down...");
+			test.shutdown();
+			System.out.println("ending...");
+			if (failure.get() != null) {
+				failure.get().printStackTrace();
+				System.exit(1);
+			}
+			System.exit(0);
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package fr.sorbonne_u.sylalexcenter.tests;
+
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.datacenter.TimeManagement;
+import fr.sorbonne_u.datacenter.clocks.ComponentClock;
+import fr.sorbonne_u.datacenter.clocks.ManualClock;
+import fr.sorbonne_u.datacenter.clocks.WallClock;
+import fr.sorbonne_u.sylalexcenter.utils.RollingLatencyHistogram;
+import fr.sorbonne_u.sylalexcenter.utils.TimeDecayedMovingAverage;
+
+/**
+ * The class <code>TestManualClock</code> steps the time of a
+ * <code>ManualClock</code> and checks that the measures following it expire
+ * or decay when the clock says so, whatever the real time.
+ *
+ * <p>
+ * <strong>Description</strong>
+ * </p>
+ *
+ * The scenario checks in turn:
+ * - a rolling latency histogram of 4 intervals of 1 s keeps its latencies
+ *   while the clock stays within the window, and forgets them once it is over;
+ * - a time decayed average halves the weight of a value after one half-life;
+ * - a component given a manual clock with <code>TimeManagement.setClock</code>
+ *   is followed by the <code>ComponentClock</code> of its histogram, even when
+ *   the clock is set after the histogram is created, as for the request
+ *   dispatcher;
+ * - the default clock set with <code>TimeManagement.setClock</code> is the one
+ *   of the components without a clock of their own.
+ *
+ * No component is started, so the scenario runs without a CVM. It fails with
+ * an exception at the first wrong value.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class TestManualClock {
+
+	private static final int WINDOW_INTERVALS = 4;
+	private static final long INTERVAL_LENGTH = 1000;
+	private static final long HALF_LIFE = 10000;
+
+	private static void check(boolean condition, String message) throws Exception {
+		if (!condition) throw new Exception(message);
+	}
+
+	/**
+	 * Record latencies, then step the clock within the window and past it.
+	 */
+	private static void testWindowExpiry(ManualClock clock, RollingLatencyHistogram histogram) throws Exception {
+		for (int i = 0; i < 100; i++) {
+			histogram.record(20);
+		}
+		check(histogram.getPercentiles().getP50() == 20, "latencies missing from the window");
+
+		clock.advance(WINDOW_INTERVALS * INTERVAL_LENGTH - INTERVAL_LENGTH / 2);
+		check(histogram.getPercentiles().getP50() == 20, "latencies expired before the end of the window");
+
+		clock.advance(INTERVAL_LENGTH);
+		check(histogram.getPercentiles().getP50() == 0, "latencies kept after the end of the window");
+		check(histogram.getPercentiles().getMax() == 0, "maximum kept after the end of the window");
+
+		histogram.record(40);
+		check(histogram.getPercentiles().getP50() == 40, "latency recorded after the expiry missing");
+	}
+
+	private static void testRollingHistogram() throws Exception {
+		ManualClock clock = new ManualClock(0);
+		testWindowExpiry(clock, new RollingLatencyHistogram(WINDOW_INTERVALS, INTERVAL_LENGTH, clock));
+		System.out.println("rolling histogram: latencies expire with the manual clock");
+	}
+
+	private static void testTimeDecayedAverage() throws Exception {
+		ManualClock clock = new ManualClock(0);
+		TimeDecayedMovingAverage average = new TimeDecayedMovingAverage(HALF_LIFE, clock);
+
+		average.getNextEstimate(0);
+		clock.advance(HALF_LIFE);
+		double estimate = average.getNextEstimate(100);
+		check(Math.abs(estimate - 50) < 1e-9, "average after one half-life is " + estimate + " instead of 50");
+		System.out.println("time decayed average: halved after one half-life of the manual clock");
+	}
+
+	private static void testComponentClock() throws Exception {
+		ComponentI component = new AbstractComponent(0, 0) {};
+		RollingLatencyHistogram histogram = new RollingLatencyHistogram(WINDOW_INTERVALS, INTERVAL_LENGTH,
+				new ComponentClock(component));
+
+		// given once the histogram exists, as a component gets its clock once created
+		ManualClock clock = new ManualClock(TimeManagement.getClock().currentTime());
+		TimeManagement.setClock(component, clock);
+		try {
+			check(TimeManagement.getClock(component) == clock, "clock of the component not set");
+			testWindowExpiry(clock, histogram);
+		} finally {
+			TimeManagement.setClock(component, null);
+		}
+		System.out.println("component clock: follows the manual clock set after its creation");
+	}
+
+	private static void testDefaultClock() throws Exception {
+		ManualClock clock = new ManualClock(1000);
+		TimeManagement.setClock(clock);
+		try {
+			ComponentI component = new AbstractComponent(0, 0) {};
+			clock.advance(500);
+			check(TimeManagement.currentTime() == 1500, "default clock not set");
+			check(new ComponentClock(component).currentTime() == 1500,
+					"component without a clock not following the default one");
+		} finally {
+			TimeManagement.setClock(new WallClock());
+		}
+		System.out.println("default clock: followed by the components without a clock of their own");
+	}
+
+	public static void main(String[] args) {
+		try {
+			testRollingHistogram();
+			testTimeDecayedAverage();
+			testComponentClock();
+			testDefaultClock();
+		} catch (Exception e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
+		System.exit(0);
+	}
+}
@@ -14,6 +14,7 @@ import fr.sorbonne_u.datacenter.software.connectors.RequestNotificationConnector
 import fr.sorbonne_u.datacenter.software.connectors.RequestSubmissionConnector;
 import fr.sorbonne_u.datacenterclient.requestgenerator.RequestGenerator;
 import fr.sorbonne_u.sylalexcenter.requestdispatcher.RequestDispatcher;
+import fr.sorbonne_u.sylalexcenter.requestdispatcher.policies.DispatchPolicyType;
 
 /**
  * The class <code>TestRequestDispatcher</code> deploys a single AVM, with a 
@@ -144,9 +145,12 @@ public class TestRequestDispatcher extends AbstractCVM {
 		// --------------------------------------------------------------------
 		String rdURI = "rd0";
 		
+		ArrayList<Integer> vmCoresList = new ArrayList<>();
+
 		for (int i = 0; i < numAvm; i++) {
 			requestDispatcherSubmissionOutboundPortURIList.add("rdsop" + i);
 			requestDispatcherNotificationInboundPortURIList.add("rdnip" + i);
+			vmCoresList.add(4);
 		}
 
 		RequestDispatcher requestDispatcher = new RequestDispatcher(
@@ -158,7 +162,10 @@ public class TestRequestDispatcher extends AbstractCVM {
 				requestDispatcherSubmissionOutboundPortURIList,
 				requestDispatcherNotificationInboundPortURIList,
 				requestDispatcherNotificationOutboundPortURI,
-				requestDispatcherDynamicStateDataInboundPortURI
+				requestDispatcherDynamicStateDataInboundPortURI,
+				vmCoresList,
+				DispatchPolicyType.LEAST_QUEUE,
+				1
 		);
 		
 		this.addDeployedComponent(requestDispatcher);
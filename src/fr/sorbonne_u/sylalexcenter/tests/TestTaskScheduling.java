@@ -0,0 +1,322 @@
+package fr.sorbonne_u.sylalexcenter.tests;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import fr.sorbonne_u.components.AbstractComponent;
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.cvm.AbstractCVM;
+import fr.sorbonne_u.datacenter.hardware.computers.Computer;
+import fr.sorbonne_u.datacenter.hardware.computers.connectors.ComputerServicesConnector;
+import fr.sorbonne_u.datacenter.hardware.computers.interfaces.ComputerServicesI;
+import fr.sorbonne_u.datacenter.hardware.computers.ports.ComputerServicesOutboundPort;
+import fr.sorbonne_u.datacenter.software.applicationvm.ApplicationVM;
+import fr.sorbonne_u.datacenter.software.applicationvm.connectors.ApplicationVMManagementConnector;
+import fr.sorbonne_u.datacenter.software.applicationvm.ports.ApplicationVMManagementOutboundPort;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskQueueOverflowPolicy;
+import fr.sorbonne_u.datacenter.software.applicationvm.utils.TaskSchedulingPolicy;
+import fr.sorbonne_u.datacenter.software.connectors.RequestNotificationConnector;
+import fr.sorbonne_u.datacenter.software.connectors.RequestSubmissionConnector;
+import fr.sorbonne_u.datacenter.software.interfaces.RequestI;
+import fr.sorbonne_u.datacenter.software.interfaces.RequestNotificationHandlerI;
+import fr.sorbonne_u.datacenter.software.interfaces.RequestSubmissionI;
+import fr.sorbonne_u.datacenter.software.interfaces.ScheduledRequestI;
+import fr.sorbonne_u.datacenter.software.ports.RequestNotificationInboundPort;
+import fr.sorbonne_u.datacenter.software.ports.RequestSubmissionOutboundPort;
+import fr.sorbonne_u.datacenterclient.requestgenerator.Request;
+import fr.sorbonne_u.datacenterclient.requestgenerator.ScheduledRequest;
+
+/**
+ * The class <code>TestTaskScheduling</code> deploys an AVM with one core for
+ * each scheduling policy of the task queue, and checks that each one starts
+ * its waiting requests in the order of its policy.
+ *
+ * For each policy, a first request keeps the core busy while a backlog of
+ * scheduled requests, with shuffled numbers of instructions, priority classes
+ * and deadlines, is queued. With one core the requests terminate in the order
+ * they are started, so after the first one, the number of instructions must
+ * not decrease with SHORTEST_JOB_FIRST, the deadline with
+ * EARLIEST_DEADLINE_FIRST and the priority class with PRIORITY; otherwise the
+ * scenario fails.
+ *
+ * Sorbonne University 2018-2019
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ *
+ */
+public class TestTaskScheduling extends AbstractCVM {
+
+	/**
+	 * Record the terminated requests in their order of termination.
+	 */
+	public static class OrderMonitor extends AbstractComponent implements RequestNotificationHandlerI {
+
+		private final ArrayList<RequestI> terminated = new ArrayList<>();
+		private int rejected;
+
+		OrderMonitor() {
+			super(1, 0);
+		}
+
+		@Override
+		public void acceptRequestTerminationNotification(RequestI r) {
+			synchronized (this.terminated) {
+				this.terminated.add(r);
+			}
+		}
+
+		@Override
+		public void acceptRequestsTerminationNotification(RequestI[] requests, long[] terminationTimes) {
+			for (RequestI r : requests) {
+				this.acceptRequestTerminationNotification(r);
+			}
+		}
+
+		@Override
+		public void acceptRequestRejectionNotification(RequestI r) {
+			synchronized (this.terminated) {
+				this.rejected++;
+			}
+		}
+
+		@Override
+		public void acceptRequestsWithdrawalNotification(RequestI[] requests) {
+		}
+
+		int getTerminated() {
+			synchronized (this.terminated) {
+				return this.terminated.size();
+			}
+		}
+
+		RequestI getTerminatedRequest(int i) {
+			synchronized (this.terminated) {
+				return this.terminated.get(i);
+			}
+		}
+
+		int getRejected() {
+			synchronized (this.terminated) {
+				return this.rejected;
+			}
+		}
+	}
+
+	// Port URIs
+	// -----------------------------------------------------------------
+	private static final String computerServicesInboundPortURI = "csip";
+	private static final String computerServicesOutboundPortURI = "csop";
+	private static final String computerStaticStateDataInboundPortURI = "cssdip";
+	private static final String computerDynamicStateDataInboundPortURI = "cdsdip";
+
+	// Scenario
+	// -----------------------------------------------------------------
+	private static final TaskSchedulingPolicy[] policies = new TaskSchedulingPolicy[] {
+			TaskSchedulingPolicy.SHORTEST_JOB_FIRST,
+			TaskSchedulingPolicy.EARLIEST_DEADLINE_FIRST,
+			TaskSchedulingPolicy.PRIORITY};
+	/** 2 s at 1,5 GHz, while the backlog is queued */
+	private static final long firstRequestInstructions = 3000000000L;
+	/** 0,1 s at 1,5 GHz */
+	private static final long instructionsUnit = 150000000L;
+	private static final int[] instructions = new int[] {6, 2, 8, 4, 1, 7, 3, 5};
+	private static final int[] priorities = new int[] {2, 0, 1, 2, 0, 1, 0, 2};
+	private static final int[] relativeDeadlines = new int[] {5, 3, 8, 1, 7, 2, 6, 4};
+
+	private ComputerServicesOutboundPort csop;
+
+	private TestTaskScheduling() throws Exception {
+		super();
+	}
+
+	@Override
+	public void deploy() throws Exception {
+		String computerURI = "computer0";
+		int numberOfProcessors = 2;
+		int numberOfCores = 2;
+
+		Set<Integer> admissibleFrequencies = new HashSet<>();
+		admissibleFrequencies.add(1500);
+		admissibleFrequencies.add(3000);
+
+		Map<Integer, Integer> processingPower = new HashMap<>();
+		processingPower.put(1500, 1500000);
+		processingPower.put(3000, 3000000);
+
+		Computer c = new Computer(
+				computerURI,
+				admissibleFrequencies,
+				processingPower,
+				1500,
+				1500,
+				numberOfProcessors,
+				numberOfCores,
+				computerServicesInboundPortURI,
+				computerStaticStateDataInboundPortURI,
+				computerDynamicStateDataInboundPortURI
+		);
+		this.addDeployedComponent(c);
+
+		ComponentI fake = new AbstractComponent(0, 0) {};
+		fake.addRequiredInterface(ComputerServicesI.class);
+
+		this.csop = new ComputerServicesOutboundPort(computerServicesOutboundPortURI, fake);
+		this.csop.publishPort();
+		this.csop.doConnection(computerServicesInboundPortURI, ComputerServicesConnector.class.getCanonicalName());
+
+		super.deploy();
+	}
+
+	@Override
+	public void shutdown() throws Exception {
+		this.csop.doDisconnection();
+
+		super.shutdown();
+	}
+
+	private void testScenario() throws Exception {
+		for (TaskSchedulingPolicy policy : policies) {
+			this.testPolicy(policy);
+		}
+	}
+
+	/**
+	 * Queue the backlog behind a first request on an AVM with one core
+	 * scheduling its queue with the given policy, and check the termination
+	 * order.
+	 *
+	 * @param policy scheduling policy of the AVM task queue
+	 */
+	private void testPolicy(TaskSchedulingPolicy policy) throws Exception {
+		String suffix = "-" + policy.name();
+		String requestSubmissionInboundPortURI = "rsip" + suffix;
+		String requestNotificationInboundPortURI = "rnip" + suffix;
+		String requestNotificationOutboundPortURI = "rnop" + suffix;
+		String applicationVMManagementInboundPortURI = "avmip" + suffix;
+
+		ApplicationVM vm = new ApplicationVM(
+				"vm" + suffix,
+				applicationVMManagementInboundPortURI,
+				requestSubmissionInboundPortURI,
+				requestNotificationInboundPortURI,
+				requestNotificationOutboundPortURI,
+				1,
+				0L,
+				ApplicationVM.DEFAULT_TASK_QUEUE_CAPACITY,
+				TaskQueueOverflowPolicy.BLOCK,
+				policy
+		);
+		this.addDeployedComponent(vm);
+		vm.start();
+
+		ApplicationVMManagementOutboundPort avmPort = new ApplicationVMManagementOutboundPort(
+				"avmop" + suffix,
+				new AbstractComponent(0, 0) {});
+		avmPort.publishPort();
+		avmPort.doConnection(applicationVMManagementInboundPortURI,
+				ApplicationVMManagementConnector.class.getCanonicalName());
+		avmPort.allocateCores(this.csop.allocateCores(1));
+
+		ComponentI fake = new AbstractComponent(0, 0) {};
+		fake.addRequiredInterface(RequestSubmissionI.class);
+
+		RequestSubmissionOutboundPort rsop = new RequestSubmissionOutboundPort("rsop" + suffix, fake);
+		rsop.publishPort();
+		rsop.doConnection(requestSubmissionInboundPortURI, RequestSubmissionConnector.class.getCanonicalName());
+
+		OrderMonitor monitor = new OrderMonitor();
+		this.addDeployedComponent(monitor);
+		monitor.start();
+		RequestNotificationInboundPort rnip = new RequestNotificationInboundPort(requestNotificationInboundPortURI, monitor);
+		rnip.publishPort();
+
+		vm.doPortConnection(requestNotificationOutboundPortURI, requestNotificationInboundPortURI,
+				RequestNotificationConnector.class.getCanonicalName());
+
+		// the first request takes the core, the backlog waits behind it
+		rsop.submitRequestAndNotify(new Request(firstRequestInstructions));
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < instructions.length; i++) {
+			rsop.submitRequestAndNotify(new ScheduledRequest(instructions[i] * instructionsUnit, priorities[i],
+					now + relativeDeadlines[i] * 1000L));
+		}
+
+		while (monitor.getTerminated() < instructions.length + 1) {
+			Thread.sleep(100L);
+		}
+
+		rsop.doDisconnection();
+		rsop.unpublishPort();
+		avmPort.doDisconnection();
+		avmPort.unpublishPort();
+
+		StringBuilder order = new StringBuilder();
+		for (int i = 1; i <= instructions.length; i++) {
+			order.append(' ').append(schedulingKey(policy, monitor.getTerminatedRequest(i)));
+		}
+		System.out.println(policy + " keys in termination order:" + order);
+
+		if (monitor.getRejected() > 0) {
+			throw new Exception(monitor.getRejected() + " requests were rejected with " + policy);
+		}
+		for (int i = 2; i <= instructions.length; i++) {
+			if (schedulingKey(policy, monitor.getTerminatedRequest(i))
+					< schedulingKey(policy, monitor.getTerminatedRequest(i - 1))) {
+				throw new Exception("requests not started in the order of " + policy + ":" + order);
+			}
+		}
+	}
+
+	/**
+	 * @param policy scheduling policy
+	 * @param r      scheduled request
+	 * @return the value the policy orders the request by
+	 */
+	private static long schedulingKey(TaskSchedulingPolicy policy, RequestI r) {
+		ScheduledRequestI sr = (ScheduledRequestI) r;
+
+		switch (policy) {
+			case SHORTEST_JOB_FIRST:
+				return sr.getPredictedNumberOfInstructions();
+			case EARLIEST_DEADLINE_FIRST:
+				return sr.getDeadline();
+			default:
+				return sr.getPriority();
+		}
+	}
+
+	public static void main(String[] args) {
+		try {
+			final TestTaskScheduling test = new TestTaskScheduling();
+			final AtomicReference<Exception> failure = new AtomicReference<>();
+			test.deploy();
+			System.out.println("starting...");
+			test.start();
+			Thread scenario = new Thread(() -> {
+				try {
+					test.testScenario();
+				} catch (Exception e) {
+					failure.set(e);
+				}
+			});
+			scenario.start();
+			scenario.join(120000L);
+			if (scenario.isAlive()) {
+				failure.compareAndSet(null, new Exception("the requests did not terminate within 120 s"));
+			}
+			System.out.println("shutting down...");
+			test.shutdown();
+			System.out.println("ending...");
+			if (failure.get() != null) {
+				failure.get().printStackTrace();
+				System.exit(1);
+			}
+			System.exit(0);
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
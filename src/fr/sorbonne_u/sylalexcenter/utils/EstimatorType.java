@@ -0,0 +1,43 @@
+package fr.sorbonne_u.sylalexcenter.utils;
+
+import fr.sorbonne_u.datacenter.interfaces.ClockI;
+import fr.sorbonne_u.sylalexcenter.utils.interfaces.EstimatorI;
+
+/**
+ * Estimators the request dispatcher and the performance controller can use
+ * for their metrics
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public enum EstimatorType {
+
+	EXPONENTIAL_MOVING_AVERAGE,
+	TIME_DECAYED_AVERAGE,
+	SLIDING_WINDOW_MEAN,
+	MEDIAN,
+	P95;
+
+	private static final long halfLife = 10000;
+	private static final int windowSize = 100;
+
+	/**
+	 *
+	 * @param clock clock of the component using the estimator, for the estimators decayed by time
+	 * @return a new instance of the estimator
+	 */
+	public EstimatorI createEstimator(ClockI clock) {
+		switch (this) {
+			case TIME_DECAYED_AVERAGE:
+				return new TimeDecayedMovingAverage(halfLife, clock);
+			case SLIDING_WINDOW_MEAN:
+				return new SlidingWindowMean(windowSize);
+			case MEDIAN:
+				return new StreamingQuantile(0.5);
+			case P95:
+				return new StreamingQuantile(0.95);
+			default:
+				return new ExponentialMovingAverage();
+		}
+	}
+}
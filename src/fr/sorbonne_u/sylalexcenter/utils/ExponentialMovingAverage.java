@@ -1,5 +1,7 @@
 package fr.sorbonne_u.sylalexcenter.utils;
 
+import fr.sorbonne_u.sylalexcenter.utils.interfaces.EstimatorI;
+
 /**
  * Exponential moving Average
  * EMA [today] = (Price [today] x K) + (EMA [yesterday] x (1 – K))
@@ -9,10 +11,13 @@ package fr.sorbonne_u.sylalexcenter.utils;
  * K = 2 ÷(N + 1)
  * N = number of values
  *
+ * K goes to 0 as values are added, so the average reacts less and less to
+ * changes: see <code>TimeDecayedMovingAverage</code> for a constant reactivity.
+ *
  * @author Alexandra Tudor
  * @author Sylia Righi
  */
-public class ExponentialMovingAverage {
+public class ExponentialMovingAverage implements EstimatorI {
 
 	private long n;
 	private double k;
@@ -24,7 +29,7 @@ public class ExponentialMovingAverage {
 		this.previousEMA = 0;
 	}
 
-	public double getNextAverage(Long nextValue) {
+	public double getNextAverage(long nextValue) {
 		this.n++;
 		this.k = 2/(double)(n + 1);
 
@@ -32,4 +37,14 @@ public class ExponentialMovingAverage {
 
 		return this.previousEMA;
 	}
+
+	@Override
+	public double getNextEstimate(long nextValue) {
+		return this.getNextAverage(nextValue);
+	}
+
+	@Override
+	public double getEstimate() {
+		return this.previousEMA;
+	}
 }
@@ -0,0 +1,215 @@
+package fr.sorbonne_u.sylalexcenter.utils;
+
+/**
+ * Log-bucketed latency histogram (HDR-style)
+ *
+ * Each power of two is split into 8 linear sub-buckets, so a value is kept
+ * with less than 12.5% relative error over the whole range of long values,
+ * in 488 buckets. Values below 16 are exact.
+ *
+ * The histogram remembers which buckets changed since the last call to
+ * <code>drainChangedBuckets</code>, so only those need to be sent to a
+ * consumer keeping a copy of the histogram. <code>getChangedBuckets</code>
+ * reads them without clearing them, for the other consumers.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class LatencyHistogram {
+
+	private static final int subBucketBits = 3;
+	private static final int subBuckets = 1 << subBucketBits;
+
+	public static final int NUMBER_OF_BUCKETS = (64 - subBucketBits) * subBuckets;
+
+	private final long[] counts;
+	private long totalCount;
+	private long max;
+
+	private final boolean[] changed;
+	private final int[] changedBuckets;
+	private int changedCount;
+
+	public LatencyHistogram() {
+		this.counts = new long[NUMBER_OF_BUCKETS];
+		this.changed = new boolean[NUMBER_OF_BUCKETS];
+		this.changedBuckets = new int[NUMBER_OF_BUCKETS];
+		this.totalCount = 0;
+		this.max = 0;
+		this.changedCount = 0;
+	}
+
+	/**
+	 *
+	 * @param value value (non negative)
+	 * @return index of the bucket containing the value
+	 */
+	public static int bucketIndex(long value) {
+		if (value < subBuckets * 2) return (int) Math.max(0, value);
+
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - subBucketBits)) & (subBuckets - 1);
+		return (exponent - subBucketBits + 1) * subBuckets + subBucket;
+	}
+
+	/**
+	 *
+	 * @param index bucket index
+	 * @return highest value kept in the bucket
+	 */
+	public static long bucketUpperBound(int index) {
+		if (index < subBuckets * 2) return index;
+
+		int exponent = index / subBuckets + subBucketBits - 1;
+		long lower = (long) (subBuckets + index % subBuckets) << (exponent - subBucketBits);
+		return lower + (1L << (exponent - subBucketBits)) - 1;
+	}
+
+	/**
+	 * Add a value
+	 *
+	 * @param value value (non negative)
+	 */
+	public void record(long value) {
+		this.add(bucketIndex(value), 1);
+		if (value > this.max) this.max = value;
+	}
+
+	/**
+	 * Remove all the values of another histogram from this one
+	 *
+	 * @param other histogram whose values were added to this one
+	 */
+	public void subtract(LatencyHistogram other) {
+		for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+			if (other.counts[i] != 0) this.add(i, -other.counts[i]);
+		}
+	}
+
+	/**
+	 * Set the count of some buckets, as sent by <code>drainChangedBuckets</code>
+	 * of another histogram
+	 *
+	 * @param buckets bucket indexes
+	 * @param bucketCounts new counts of the buckets
+	 */
+	public void setBucketCounts(int[] buckets, long[] bucketCounts) {
+		for (int i = 0; i < buckets.length; i++) {
+			this.add(buckets[i], bucketCounts[i] - this.counts[buckets[i]]);
+		}
+		this.max = this.highestRecordedValue();
+	}
+
+	/**
+	 * Remove all values
+	 */
+	public void reset() {
+		for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+			if (this.counts[i] != 0) this.add(i, -this.counts[i]);
+		}
+		this.max = 0;
+	}
+
+	/**
+	 *
+	 * @return number of values
+	 */
+	public long getTotalCount() {
+		return this.totalCount;
+	}
+
+	/**
+	 *
+	 * @return highest value recorded (highest bucket upper bound for a copied histogram)
+	 */
+	public long getMax() {
+		return this.max;
+	}
+
+	/**
+	 *
+	 * @param percentile percentile between 0 and 100
+	 * @return value under which the percentile of values fall (upper bound of its bucket), 0 if empty
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (this.totalCount == 0) return 0;
+
+		long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * this.totalCount));
+		long cumulative = 0;
+
+		for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+			cumulative += this.counts[i];
+			if (cumulative >= target) return Math.min(bucketUpperBound(i), this.max);
+		}
+		return this.max;
+	}
+
+	/**
+	 *
+	 * @return p50, p95, p99 and max of the values
+	 */
+	public LatencyPercentiles getPercentiles() {
+		return new LatencyPercentiles(
+				this.getValueAtPercentile(50),
+				this.getValueAtPercentile(95),
+				this.getValueAtPercentile(99),
+				this.max);
+	}
+
+	/**
+	 * Buckets changed since the last call, with their current counts
+	 *
+	 * @param bucketCounts receives the counts of the changed buckets (array of the returned length)
+	 * @return indexes of the changed buckets
+	 */
+	public int[] drainChangedBuckets(long[][] bucketCounts) {
+		int[] buckets = this.getChangedBuckets(bucketCounts);
+
+		for (int bucket : buckets) {
+			this.changed[bucket] = false;
+		}
+		this.changedCount = 0;
+
+		return buckets;
+	}
+
+	/**
+	 * Buckets changed since the last call to <code>drainChangedBuckets</code>, with their
+	 * current counts, still kept as changed
+	 *
+	 * @param bucketCounts receives the counts of the changed buckets (array of the returned length)
+	 * @return indexes of the changed buckets
+	 */
+	public int[] getChangedBuckets(long[][] bucketCounts) {
+		int[] buckets = new int[this.changedCount];
+		long[] counts = new long[this.changedCount];
+
+		for (int i = 0; i < this.changedCount; i++) {
+			buckets[i] = this.changedBuckets[i];
+			counts[i] = this.counts[buckets[i]];
+		}
+
+		bucketCounts[0] = counts;
+		return buckets;
+	}
+
+	// Histogram internals
+	// -------------------------------------------------------------------------
+
+	private void add(int index, long count) {
+		this.counts[index] += count;
+		this.totalCount += count;
+
+		if (!this.changed[index]) {
+			this.changed[index] = true;
+			this.changedBuckets[this.changedCount++] = index;
+		}
+	}
+
+	private long highestRecordedValue() {
+		for (int i = NUMBER_OF_BUCKETS - 1; i >= 0; i--) {
+			if (this.counts[i] != 0) return bucketUpperBound(i);
+		}
+		return 0;
+	}
+}
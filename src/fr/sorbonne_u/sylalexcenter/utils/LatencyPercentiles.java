@@ -0,0 +1,48 @@
+package fr.sorbonne_u.sylalexcenter.utils;
+
+import java.io.Serializable;
+
+/**
+ * Percentiles of the latencies kept by a <code>LatencyHistogram</code>, sent
+ * along with the dynamic state of a component.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class LatencyPercentiles implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long p50;
+	private final long p95;
+	private final long p99;
+	private final long max;
+
+	public LatencyPercentiles(long p50, long p95, long p99, long max) {
+		this.p50 = p50;
+		this.p95 = p95;
+		this.p99 = p99;
+		this.max = max;
+	}
+
+	public long getP50() {
+		return this.p50;
+	}
+
+	public long getP95() {
+		return this.p95;
+	}
+
+	public long getP99() {
+		return this.p99;
+	}
+
+	public long getMax() {
+		return this.max;
+	}
+
+	@Override
+	public String toString() {
+		return "p50 " + this.p50 + ", p95 " + this.p95 + ", p99 " + this.p99 + ", max " + this.max;
+	}
+}
@@ -0,0 +1,113 @@
+package fr.sorbonne_u.sylalexcenter.utils;
+
+import fr.sorbonne_u.datacenter.interfaces.ClockI;
+
+/**
+ * Latency histogram over a rolling time window
+ *
+ * The window is split into intervals, each with its own histogram. When an
+ * interval is over, the oldest histogram is subtracted from the window
+ * histogram and reused for the new interval, so the window is kept up to date
+ * without summing all intervals again. The intervals follow the clock given
+ * to the histogram, usually the one of its owner component.
+ *
+ * Not thread-safe: callers synchronize on the instance.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class RollingLatencyHistogram {
+
+	private final LatencyHistogram[] intervals;
+	private final LatencyHistogram window;
+	private final long intervalLength;
+	private final ClockI clock;
+
+	private int current;
+	private long currentEnd;
+
+	/**
+	 *
+	 * @param numberOfIntervals number of intervals in the window
+	 * @param intervalLength length of an interval in milliseconds
+	 * @param clock clock giving the time of the intervals
+	 */
+	public RollingLatencyHistogram(int numberOfIntervals, long intervalLength, ClockI clock) {
+		assert numberOfIntervals > 0 && intervalLength > 0;
+		assert clock != null;
+
+		this.intervals = new LatencyHistogram[numberOfIntervals];
+		for (int i = 0; i < numberOfIntervals; i++) {
+			this.intervals[i] = new LatencyHistogram();
+		}
+		this.window = new LatencyHistogram();
+		this.intervalLength = intervalLength;
+		this.clock = clock;
+		this.current = 0;
+		this.currentEnd = clock.currentTime() + intervalLength;
+	}
+
+	/**
+	 * Add a latency
+	 *
+	 * @param latency latency (non negative)
+	 */
+	public void record(long latency) {
+		this.roll(this.clock.currentTime());
+		this.intervals[this.current].record(latency);
+		this.window.record(latency);
+	}
+
+	/**
+	 *
+	 * @return p50, p95, p99 and max over the window
+	 */
+	public LatencyPercentiles getPercentiles() {
+		this.roll(this.clock.currentTime());
+
+		LatencyPercentiles percentiles = this.window.getPercentiles();
+		long max = 0;
+		for (LatencyHistogram interval : this.intervals) {
+			max = Math.max(max, interval.getMax());
+		}
+		return new LatencyPercentiles(percentiles.getP50(), percentiles.getP95(), percentiles.getP99(), max);
+	}
+
+	/**
+	 * Window buckets changed since the last call, with their current counts
+	 *
+	 * @param bucketCounts receives the counts of the changed buckets
+	 * @return indexes of the changed buckets
+	 * @see LatencyHistogram#drainChangedBuckets(long[][])
+	 */
+	public int[] drainChangedBuckets(long[][] bucketCounts) {
+		this.roll(this.clock.currentTime());
+		return this.window.drainChangedBuckets(bucketCounts);
+	}
+
+	/**
+	 * Window buckets changed since the last drain, with their current counts, still kept as changed
+	 *
+	 * @param bucketCounts receives the counts of the changed buckets
+	 * @return indexes of the changed buckets
+	 * @see LatencyHistogram#getChangedBuckets(long[][])
+	 */
+	public int[] getChangedBuckets(long[][] bucketCounts) {
+		this.roll(this.clock.currentTime());
+		return this.window.getChangedBuckets(bucketCounts);
+	}
+
+	private void roll(long now) {
+		if (now < this.currentEnd) return;
+
+		long elapsed = (now - this.currentEnd) / this.intervalLength + 1;
+		int expired = (int) Math.min(elapsed, this.intervals.length);
+
+		for (int i = 0; i < expired; i++) {
+			this.current = (this.current + 1) % this.intervals.length;
+			this.window.subtract(this.intervals[this.current]);
+			this.intervals[this.current].reset();
+		}
+		this.currentEnd += elapsed * this.intervalLength;
+	}
+}
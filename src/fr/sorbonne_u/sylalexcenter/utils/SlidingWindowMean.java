@@ -0,0 +1,53 @@
+package fr.sorbonne_u.sylalexcenter.utils;
+
+import fr.sorbonne_u.sylalexcenter.utils.interfaces.EstimatorI;
+
+/**
+ * Mean of the last values added
+ *
+ * The values are kept in a ring buffer along with their sum, so adding a value
+ * only replaces the oldest one.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class SlidingWindowMean implements EstimatorI {
+
+	private final long[] values;
+	private int next;
+	private int count;
+	private long sum;
+
+	/**
+	 *
+	 * @param windowSize number of values in the window
+	 */
+	public SlidingWindowMean(int windowSize) {
+		assert windowSize > 0;
+
+		this.values = new long[windowSize];
+		this.next = 0;
+		this.count = 0;
+		this.sum = 0;
+	}
+
+	@Override
+	public double getNextEstimate(long nextValue) {
+		if (this.count == this.values.length) {
+			this.sum -= this.values[this.next];
+		} else {
+			this.count++;
+		}
+
+		this.values[this.next] = nextValue;
+		this.sum += nextValue;
+		this.next = (this.next + 1) % this.values.length;
+
+		return this.getEstimate();
+	}
+
+	@Override
+	public double getEstimate() {
+		return this.count == 0 ? 0 : (double) this.sum / this.count;
+	}
+}
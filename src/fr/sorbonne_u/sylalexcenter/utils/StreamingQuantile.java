@@ -0,0 +1,121 @@
+package fr.sorbonne_u.sylalexcenter.utils;
+
+import java.util.Arrays;
+
+import fr.sorbonne_u.sylalexcenter.utils.interfaces.EstimatorI;
+
+/**
+ * Streaming quantile estimation with the P² algorithm (Jain and Chlamtac)
+ *
+ * Five markers are kept: the minimum, the maximum, the estimated quantile and
+ * two intermediate quantiles. Each new value moves the marker positions, and
+ * the marker heights are adjusted with a piecewise parabolic prediction, so
+ * the quantile is estimated in constant time and memory.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class StreamingQuantile implements EstimatorI {
+
+	private final double[] heights = new double[5];
+	private final int[] positions = new int[5];
+	private final double[] desiredPositions = new double[5];
+	private final double[] increments = new double[5];
+	private int count;
+
+	/**
+	 *
+	 * @param quantile quantile to estimate, between 0 and 1
+	 */
+	public StreamingQuantile(double quantile) {
+		assert quantile > 0 && quantile < 1;
+
+		this.increments[0] = 0;
+		this.increments[1] = quantile / 2;
+		this.increments[2] = quantile;
+		this.increments[3] = (1 + quantile) / 2;
+		this.increments[4] = 1;
+
+		for (int i = 0; i < 5; i++) {
+			this.positions[i] = i + 1;
+			this.desiredPositions[i] = 1 + 4 * this.increments[i];
+		}
+		this.count = 0;
+	}
+
+	@Override
+	public double getNextEstimate(long nextValue) {
+		double x = nextValue;
+
+		// the first five values are the initial markers
+		if (this.count < 5) {
+			this.heights[this.count++] = x;
+			if (this.count == 5) Arrays.sort(this.heights);
+			return this.getEstimate();
+		}
+		this.count++;
+
+		int k;
+		if (x < this.heights[0]) {
+			this.heights[0] = x;
+			k = 0;
+		} else if (x >= this.heights[4]) {
+			this.heights[4] = x;
+			k = 3;
+		} else {
+			k = 0;
+			while (x >= this.heights[k + 1]) k++;
+		}
+
+		for (int i = k + 1; i < 5; i++) {
+			this.positions[i]++;
+		}
+		for (int i = 0; i < 5; i++) {
+			this.desiredPositions[i] += this.increments[i];
+		}
+
+		for (int i = 1; i < 4; i++) {
+			double d = this.desiredPositions[i] - this.positions[i];
+
+			if ((d >= 1 && this.positions[i + 1] - this.positions[i] > 1)
+					|| (d <= -1 && this.positions[i - 1] - this.positions[i] < -1)) {
+				int sign = d > 0 ? 1 : -1;
+				double height = this.parabolic(i, sign);
+
+				if (height <= this.heights[i - 1] || height >= this.heights[i + 1]) {
+					height = this.linear(i, sign);
+				}
+				this.heights[i] = height;
+				this.positions[i] += sign;
+			}
+		}
+
+		return this.heights[2];
+	}
+
+	@Override
+	public double getEstimate() {
+		if (this.count >= 5) return this.heights[2];
+		if (this.count == 0) return 0;
+
+		// not enough values for the markers yet: nearest rank in the values seen
+		double[] values = Arrays.copyOf(this.heights, this.count);
+		Arrays.sort(values);
+		int rank = (int) Math.ceil(this.increments[2] * this.count) - 1;
+		return values[Math.max(0, rank)];
+	}
+
+	private double parabolic(int i, int sign) {
+		double n = this.positions[i];
+		double nPrevious = this.positions[i - 1];
+		double nNext = this.positions[i + 1];
+
+		return this.heights[i] + sign / (nNext - nPrevious)
+				* ((n - nPrevious + sign) * (this.heights[i + 1] - this.heights[i]) / (nNext - n)
+				+ (nNext - n - sign) * (this.heights[i] - this.heights[i - 1]) / (n - nPrevious));
+	}
+
+	private double linear(int i, int sign) {
+		return this.heights[i] + sign * (this.heights[i + sign] - this.heights[i]) / (this.positions[i + sign] - this.positions[i]);
+	}
+}
@@ -0,0 +1,78 @@
+package fr.sorbonne_u.sylalexcenter.utils;
+
+import fr.sorbonne_u.datacenter.interfaces.ClockI;
+import fr.sorbonne_u.sylalexcenter.utils.interfaces.EstimatorI;
+
+/**
+ * Exponential moving average decayed by time
+ *
+ * The weight of a value is halved every half-life, whatever the number of
+ * values added in between:
+ *
+ * EMA [now] = value x K + EMA [previous] x (1 - K)
+ *
+ * where
+ *
+ * K = 1 - 2 ^ (- elapsed time ÷ half-life)
+ *
+ * Unlike <code>ExponentialMovingAverage</code>, the average reacts as fast to a
+ * change after thousands of values as after a few.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public class TimeDecayedMovingAverage implements EstimatorI {
+
+	private final double halfLife;
+	private final ClockI clock;
+	private double average;
+	private long lastTime;
+	private boolean empty;
+
+	/**
+	 *
+	 * @param halfLife time after which the weight of a value is halved, in milliseconds
+	 * @param clock clock giving the time of the values
+	 */
+	public TimeDecayedMovingAverage(long halfLife, ClockI clock) {
+		assert halfLife > 0;
+		assert clock != null;
+
+		this.halfLife = halfLife;
+		this.clock = clock;
+		this.average = 0;
+		this.lastTime = 0;
+		this.empty = true;
+	}
+
+	@Override
+	public double getNextEstimate(long nextValue) {
+		return this.getNextEstimate(nextValue, this.clock.currentTime());
+	}
+
+	/**
+	 * Add a value observed at a given time
+	 *
+	 * @param nextValue new value of the metric
+	 * @param time time of the value in milliseconds, not before the previous one
+	 * @return average including the new value
+	 */
+	public double getNextEstimate(long nextValue, long time) {
+		if (this.empty) {
+			this.average = nextValue;
+			this.empty = false;
+		} else {
+			long elapsed = Math.max(0, time - this.lastTime);
+			double k = 1 - Math.pow(2, -elapsed / this.halfLife);
+			this.average = nextValue * k + this.average * (1 - k);
+		}
+		this.lastTime = time;
+
+		return this.average;
+	}
+
+	@Override
+	public double getEstimate() {
+		return this.average;
+	}
+}
@@ -0,0 +1,27 @@
+package fr.sorbonne_u.sylalexcenter.utils.interfaces;
+
+/**
+ * The interface <code>EstimatorI</code> defines a streaming estimator of a metric
+ * (average, quantile, ...), updated with each new value without allocating.
+ *
+ * Estimators are not thread-safe: callers synchronize on the instance.
+ *
+ * @author Alexandra Tudor
+ * @author Sylia Righi
+ */
+public interface EstimatorI {
+
+	/**
+	 * Add a value
+	 *
+	 * @param nextValue new value of the metric
+	 * @return estimate including the new value
+	 */
+	double getNextEstimate(long nextValue);
+
+	/**
+	 *
+	 * @return current estimate, 0 if no value was added
+	 */
+	double getEstimate();
+}